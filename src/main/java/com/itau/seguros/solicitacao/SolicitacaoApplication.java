@@ -3,6 +3,7 @@ package com.itau.seguros.solicitacao;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Aplicação principal do MVP de Solicitação de Apólice de Seguros.
@@ -23,6 +24,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
  */
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class SolicitacaoApplication {
 
     public static void main(String[] args) {
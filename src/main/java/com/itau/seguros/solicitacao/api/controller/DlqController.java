@@ -0,0 +1,186 @@
+package com.itau.seguros.solicitacao.api.controller;
+
+import com.itau.seguros.solicitacao.api.dto.ReprocessamentoDlqDTO;
+import com.itau.seguros.solicitacao.application.service.ReprocessamentoDlq;
+import com.itau.seguros.solicitacao.application.service.ReprocessamentoDlqService;
+import com.itau.seguros.solicitacao.infrastructure.messaging.FiltroDlq;
+import com.itau.seguros.solicitacao.infrastructure.messaging.MensagemDlq;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Controller REST administrativo das DLQs.
+ *
+ * Permite inspecionar as mensagens que esgotaram as retentativas, sem
+ * removê-las, e reprocessá-las em segundo plano com taxa limitada,
+ * acompanhando, pausando e cancelando o reprocessamento.
+ */
+@RestController
+@RequestMapping("/api/admin/dlq")
+public class DlqController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DlqController.class);
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 500;
+
+    private final ReprocessamentoDlqService reprocessamentoService;
+
+    public DlqController(ReprocessamentoDlqService reprocessamentoService) {
+        this.reprocessamentoService = reprocessamentoService;
+    }
+
+    /**
+     * Lista uma página das mensagens da DLQ de uma fila.
+     *
+     * @param fila fila consumida, como solicitacao.recebida.queue
+     * @param pagina página, a partir de zero
+     * @param tamanho mensagens por página
+     * @param tipoEvento filtro opcional de tipo de evento
+     * @param solicitacaoId filtro opcional de solicitação
+     * @return mensagens da página, com o total da DLQ no cabeçalho X-Total-Count
+     */
+    @GetMapping("/{fila}/mensagens")
+    public ResponseEntity<List<MensagemDlq>> listarMensagens(
+            @PathVariable String fila,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "50") int tamanho,
+            @RequestParam(required = false) String tipoEvento,
+            @RequestParam(required = false) UUID solicitacaoId) {
+        if (pagina < 0 || tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Página deve ser positiva e o tamanho entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+
+        try {
+            List<MensagemDlq> mensagens = reprocessamentoService.listarMensagens(
+                fila, pagina, tamanho, new FiltroDlq(tipoEvento, solicitacaoId));
+            return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(reprocessamentoService.contarMensagens(fila)))
+                .body(mensagens);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * Inicia o reprocessamento da DLQ de uma fila.
+     *
+     * @param fila fila consumida
+     * @param tipoEvento republica apenas este tipo de evento, se informado
+     * @param solicitacaoId republica apenas esta solicitação, se informada
+     * @param maximo máximo de mensagens a republicar, se informado
+     * @return reprocessamento iniciado
+     */
+    @PostMapping("/{fila}/reprocessamentos")
+    public ResponseEntity<ReprocessamentoDlqDTO> reprocessar(
+            @PathVariable String fila,
+            @RequestParam(required = false) String tipoEvento,
+            @RequestParam(required = false) UUID solicitacaoId,
+            @RequestParam(required = false) Long maximo) {
+        logger.info("Recebida requisição de reprocessamento da DLQ da fila {}", fila);
+
+        if (maximo != null && maximo < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Máximo deve ser positivo");
+        }
+
+        try {
+            ReprocessamentoDlq reprocessamento = reprocessamentoService.iniciar(
+                fila, new FiltroDlq(tipoEvento, solicitacaoId), maximo);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toDTO(reprocessamento));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    /**
+     * Lista os reprocessamentos desta instância, do mais recente ao mais antigo.
+     */
+    @GetMapping("/reprocessamentos")
+    public ResponseEntity<List<ReprocessamentoDlqDTO>> listarReprocessamentos() {
+        return ResponseEntity.ok(reprocessamentoService.listar().stream().map(this::toDTO).toList());
+    }
+
+    /**
+     * Busca a situação e o progresso de um reprocessamento.
+     */
+    @GetMapping("/reprocessamentos/{id}")
+    public ResponseEntity<ReprocessamentoDlqDTO> buscarReprocessamento(@PathVariable UUID id) {
+        return executar(id, reprocessamentoService::buscar);
+    }
+
+    /**
+     * Pausa um reprocessamento em andamento.
+     */
+    @PostMapping("/reprocessamentos/{id}/pausar")
+    public ResponseEntity<ReprocessamentoDlqDTO> pausar(@PathVariable UUID id) {
+        return executar(id, reprocessamentoService::pausar);
+    }
+
+    /**
+     * Retoma um reprocessamento pausado.
+     */
+    @PostMapping("/reprocessamentos/{id}/retomar")
+    public ResponseEntity<ReprocessamentoDlqDTO> retomar(@PathVariable UUID id) {
+        return executar(id, reprocessamentoService::retomar);
+    }
+
+    /**
+     * Cancela um reprocessamento; as mensagens ainda não lidas ficam na DLQ.
+     */
+    @PostMapping("/reprocessamentos/{id}/cancelar")
+    public ResponseEntity<ReprocessamentoDlqDTO> cancelar(@PathVariable UUID id) {
+        return executar(id, reprocessamentoService::cancelar);
+    }
+
+    private ResponseEntity<ReprocessamentoDlqDTO> executar(
+            UUID id, Function<UUID, Optional<ReprocessamentoDlq>> operacao) {
+        try {
+            return operacao.apply(id)
+                .map(reprocessamento -> ResponseEntity.ok(toDTO(reprocessamento)))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Reprocessamento não encontrado"));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    private ReprocessamentoDlqDTO toDTO(ReprocessamentoDlq reprocessamento) {
+        long total = reprocessamento.getTotal();
+        int progresso = total == 0 || reprocessamento.getSituacao() == ReprocessamentoDlq.Situacao.CONCLUIDO
+            ? 100
+            : (int) Math.min(100, reprocessamento.getLidas() * 100 / total);
+        return new ReprocessamentoDlqDTO(
+            reprocessamento.getId(),
+            reprocessamento.getFila(),
+            reprocessamento.getSituacao().name(),
+            reprocessamento.getFiltro().tipoEvento(),
+            reprocessamento.getFiltro().solicitacaoId(),
+            reprocessamento.getMaximo(),
+            total,
+            reprocessamento.getLidas(),
+            reprocessamento.getRepublicadas(),
+            reprocessamento.getDuplicadas(),
+            reprocessamento.getJaProcessadas(),
+            reprocessamento.getMantidas(),
+            progresso,
+            reprocessamento.getIniciadoEm(),
+            reprocessamento.getFinalizadoEm(),
+            reprocessamento.getErro()
+        );
+    }
+}
@@ -2,17 +2,26 @@ package com.itau.seguros.solicitacao.api.controller;
 
 import com.itau.seguros.solicitacao.api.dto.SolicitacaoRequestDTO;
 import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResumoDTO;
+import com.itau.seguros.solicitacao.application.service.CriacaoAssincronaService;
+import com.itau.seguros.solicitacao.application.service.FilaEscritaCheiaException;
 import com.itau.seguros.solicitacao.application.service.SolicitacaoService;
+import com.itau.seguros.solicitacao.infrastructure.messaging.FilaEventosCheiaException;
+import com.itau.seguros.solicitacao.infrastructure.streaming.StatusSubscriptionRegistry;
 import io.micrometer.core.annotation.Timed;
-import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -28,25 +37,51 @@ public class SolicitacaoController {
     private static final Logger logger = LoggerFactory.getLogger(SolicitacaoController.class);
     
     private final SolicitacaoService service;
+    private final CriacaoAssincronaService criacaoAssincrona;
+    private final StatusSubscriptionRegistry subscriptionRegistry;
     
-    public SolicitacaoController(SolicitacaoService service) {
+    public SolicitacaoController(SolicitacaoService service,
+                                 CriacaoAssincronaService criacaoAssincrona,
+                                 StatusSubscriptionRegistry subscriptionRegistry) {
         this.service = service;
+        this.criacaoAssincrona = criacaoAssincrona;
+        this.subscriptionRegistry = subscriptionRegistry;
     }
     
     /**
      * Cria uma nova solicitação de apólice.
      * 
+     * Nos canais com criação assíncrona, a solicitação é apenas validada e
+     * aceita (202 Accepted, com o ID já atribuído) e gravada em lote logo
+     * depois; com a fila de gravação cheia, responde 503. Também responde
+     * 503 se o transporte de eventos em memória estiver cheio.
+     *
+     * O corpo é validado durante a leitura por {@code SolicitacaoRequestDeserializer};
+     * requisições inválidas são recusadas com 400 antes de chegar aqui.
+     * 
      * @param request dados da solicitação
-     * @return solicitação criada
+     * @return solicitação criada ou aceita
      */
     @PostMapping
     @Timed(value = "solicitacao.criar", description = "Tempo para criar uma solicitação")
-    public ResponseEntity<SolicitacaoResponseDTO> criar(@Valid @RequestBody SolicitacaoRequestDTO request) {
+    public ResponseEntity<SolicitacaoResponseDTO> criar(@RequestBody SolicitacaoRequestDTO request) {
         logger.info("Recebida requisição para criar solicitação");
         
         try {
+            if (criacaoAssincrona.isAssincrona(request.salesChannel())) {
+                SolicitacaoResponseDTO response = criacaoAssincrona.aceitar(request);
+                return ResponseEntity.accepted()
+                    .location(URI.create("/api/solicitacoes/" + response.id()))
+                    .body(response);
+            }
+            
             SolicitacaoResponseDTO response = service.criarSolicitacao(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (FilaEscritaCheiaException | FilaEventosCheiaException e) {
+            logger.warn("Solicitação recusada: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
         } catch (IllegalArgumentException e) {
             logger.warn("Erro de validação ao criar solicitação: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
@@ -68,6 +103,7 @@ public class SolicitacaoController {
         logger.info("Buscando solicitação por ID: {}", id);
         
         return service.buscarPorId(id)
+            .or(() -> criacaoAssincrona.buscarPendente(id))
             .map(ResponseEntity::ok)
             .orElseThrow(() -> {
                 logger.warn("Solicitação não encontrada: {}", id);
@@ -75,6 +111,43 @@ public class SolicitacaoController {
             });
     }
     
+    /**
+     * Acompanha as transições de status de uma solicitação via Server-Sent Events.
+     * 
+     * O histórico atual é enviado logo na abertura da conexão e cada nova
+     * transição é enviada assim que confirmada. A conexão é encerrada quando
+     * a solicitação atinge um estado final ou após o timeout configurado.
+     * 
+     * @param id ID da solicitação
+     * @return stream de eventos de status
+     */
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharStatus(@PathVariable UUID id) {
+        logger.info("Assinando eventos de status da solicitação: {}", id);
+        
+        // Assina antes de ler o estado atual para não perder transições concorrentes
+        SseEmitter emitter = subscriptionRegistry.assinar(id);
+        
+        Optional<SolicitacaoResponseDTO> solicitacao = service.buscarPorId(id)
+            .or(() -> criacaoAssincrona.buscarPendente(id));
+        if (solicitacao.isEmpty()) {
+            subscriptionRegistry.cancelar(id, emitter);
+            logger.warn("Solicitação não encontrada para acompanhamento: {}", id);
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Solicitação não encontrada");
+        }
+        
+        for (SolicitacaoResponseDTO.HistoricoStatusDTO historico : solicitacao.get().history()) {
+            subscriptionRegistry.enviar(emitter, historico);
+        }
+        
+        if (solicitacao.get().status().isEstadoFinal()) {
+            subscriptionRegistry.cancelar(id, emitter);
+            emitter.complete();
+        }
+        
+        return emitter;
+    }
+    
     /**
      * Busca solicitações por ID do cliente.
      * 
@@ -90,6 +163,21 @@ public class SolicitacaoController {
         return ResponseEntity.ok(solicitacoes);
     }
     
+    /**
+     * Lista o resumo das solicitações de um cliente, sem coberturas,
+     * assistências e histórico.
+     * 
+     * @param customerId ID do cliente
+     * @return resumos das solicitações do cliente
+     */
+    @GetMapping("/resumo")
+    @Timed(value = "solicitacao.listarResumo", description = "Tempo para listar o resumo das solicitações de um cliente")
+    public ResponseEntity<List<SolicitacaoResumoDTO>> listarResumo(@RequestParam UUID customerId) {
+        logger.info("Listando resumo das solicitações do cliente: {}", customerId);
+        
+        return ResponseEntity.ok(service.listarResumoPorCustomerId(customerId));
+    }
+    
     /**
      * Cancela uma solicitação.
      * 
@@ -0,0 +1,87 @@
+package com.itau.seguros.solicitacao.api.controller;
+
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.infrastructure.export.FormatoExportacao;
+import com.itau.seguros.solicitacao.infrastructure.export.SolicitacaoExporter;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controller REST para exportação em lote de solicitações.
+ *
+ * Gera extratos por período para operações e financeiro, escrevendo
+ * o resultado diretamente no corpo da resposta, sem acumular em memória.
+ */
+@RestController
+@RequestMapping("/api/solicitacoes/exportacao")
+public class SolicitacaoExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolicitacaoExportController.class);
+
+    private static final String CONTENT_TYPE_GZIP = "application/gzip";
+
+    private static final int BUFFER_GZIP = 64 * 1024;
+
+    private final SolicitacaoExporter exporter;
+
+    public SolicitacaoExportController(SolicitacaoExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    /**
+     * Exporta as solicitações criadas entre duas datas, com suas coberturas.
+     *
+     * @param dataInicio data inicial (inclusiva)
+     * @param dataFim data final (inclusiva)
+     * @param status filtro opcional de status
+     * @param formato NDJSON (padrão) ou CSV
+     * @param gzip se true, comprime o arquivo gerado
+     * @return stream com as solicitações exportadas
+     */
+    @GetMapping
+    @Timed(value = "solicitacao.exportar", description = "Tempo para iniciar a exportação de solicitações")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) StatusSolicitacao status,
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        logger.info("Recebida requisição de exportação de {} a {}", dataInicio, dataFim);
+
+        if (dataFim.isBefore(dataInicio)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data final deve ser igual ou posterior à data inicial");
+        }
+
+        StreamingResponseBody body = saida -> {
+            if (gzip) {
+                GZIPOutputStream saidaGzip = new GZIPOutputStream(saida, BUFFER_GZIP);
+                exporter.exportar(dataInicio.atStartOfDay(), dataFim.plusDays(1).atStartOfDay(), status, formato, saidaGzip);
+                saidaGzip.finish();
+            } else {
+                exporter.exportar(dataInicio.atStartOfDay(), dataFim.plusDays(1).atStartOfDay(), status, formato, saida);
+            }
+        };
+
+        String nomeArquivo = String.format("solicitacoes-%s-%s.%s%s",
+            dataInicio, dataFim, formato.getExtensao(), gzip ? ".gz" : "");
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, gzip ? CONTENT_TYPE_GZIP : formato.getContentType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nomeArquivo + "\"")
+            .body(body);
+    }
+}
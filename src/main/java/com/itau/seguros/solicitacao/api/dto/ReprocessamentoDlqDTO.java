@@ -0,0 +1,29 @@
+package com.itau.seguros.solicitacao.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO com a situação e o progresso de um reprocessamento de DLQ.
+ *
+ * O progresso é o percentual das mensagens presentes na DLQ no início
+ * que já foram lidas.
+ */
+public record ReprocessamentoDlqDTO(
+    UUID id,
+    String fila,
+    String situacao,
+    String tipoEvento,
+    UUID solicitacaoId,
+    Long maximo,
+    long total,
+    long lidas,
+    long republicadas,
+    long duplicadas,
+    long jaProcessadas,
+    long mantidas,
+    int progresso,
+    LocalDateTime iniciadoEm,
+    LocalDateTime finalizadoEm,
+    String erro
+) {}
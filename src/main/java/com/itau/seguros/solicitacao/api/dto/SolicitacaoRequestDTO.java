@@ -1,9 +1,11 @@
 package com.itau.seguros.solicitacao.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import jakarta.validation.constraints.*;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -13,7 +15,14 @@ import java.util.UUID;
  * 
  * Contém todas as informações necessárias para criar uma solicitação,
  * com validações básicas para garantir a integridade dos dados.
+ * 
+ * As validações são aplicadas durante a leitura do JSON por
+ * {@link SolicitacaoRequestDeserializer}; as anotações documentam as
+ * mesmas regras e continuam valendo para quem usar Bean Validation.
+ * Os limites dos valores monetários (mínimo de R$ 0,01, 8 e 10 dígitos
+ * inteiros e 2 decimais) são conferidos apenas pelo deserializador.
  */
+@JsonDeserialize(using = SolicitacaoRequestDeserializer.class)
 public record SolicitacaoRequestDTO(
     
     @NotNull(message = "ID do cliente é obrigatório")
@@ -32,18 +41,14 @@ public record SolicitacaoRequestDTO(
     String paymentMethod,
     
     @NotNull(message = "Valor do prêmio mensal é obrigatório")
-    @DecimalMin(value = "0.01", message = "Valor do prêmio mensal deve ser maior que zero")
-    @Digits(integer = 8, fraction = 2, message = "Valor do prêmio mensal deve ter no máximo 8 dígitos inteiros e 2 decimais")
-    BigDecimal totalMonthlyPremiumAmount,
+    Dinheiro totalMonthlyPremiumAmount,
     
     @NotNull(message = "Valor do capital segurado é obrigatório")
-    @DecimalMin(value = "0.01", message = "Valor do capital segurado deve ser maior que zero")
-    @Digits(integer = 10, fraction = 2, message = "Valor do capital segurado deve ter no máximo 10 dígitos inteiros e 2 decimais")
-    BigDecimal insuredAmount,
+    Dinheiro insuredAmount,
     
     @NotNull(message = "Coberturas são obrigatórias")
     @Size(min = 1, message = "Deve haver pelo menos uma cobertura")
-    Map<String, BigDecimal> coverages,
+    Map<String, Dinheiro> coverages,
     
     @NotNull(message = "Lista de assistências é obrigatória")
     List<String> assistances
@@ -54,15 +59,18 @@ public record SolicitacaoRequestDTO(
      * 
      * @return true se a validação passou
      */
+    @JsonIgnore
     public boolean isCoberturaValida() {
         if (coverages == null || coverages.isEmpty()) {
             return false;
         }
         
-        BigDecimal somaCoberturas = coverages.values().stream()
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-        return somaCoberturas.compareTo(insuredAmount) <= 0;
+        long somaCentavos = 0;
+        for (Dinheiro valor : coverages.values()) {
+            somaCentavos = Math.addExact(somaCentavos, valor.getCentavos());
+        }
+        
+        return somaCentavos <= insuredAmount.getCentavos();
     }
     
     /**
@@ -70,13 +78,18 @@ public record SolicitacaoRequestDTO(
      * 
      * @return true se todos os valores são válidos
      */
+    @JsonIgnore
     public boolean isValoresCoberturaValidos() {
         if (coverages == null) {
             return false;
         }
         
-        return coverages.values().stream()
-            .allMatch(valor -> valor != null && valor.compareTo(BigDecimal.ZERO) > 0);
+        for (Dinheiro valor : coverages.values()) {
+            if (valor == null || !valor.isPositivo()) {
+                return false;
+            }
+        }
+        return true;
     }
 }
 
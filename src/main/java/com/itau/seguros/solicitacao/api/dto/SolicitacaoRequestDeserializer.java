@@ -0,0 +1,245 @@
+package com.itau.seguros.solicitacao.api.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.infrastructure.json.DinheiroModule;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Deserializador de {@link SolicitacaoRequestDTO} que valida a requisição
+ * enquanto lê os tokens.
+ *
+ * Aplica as mesmas regras das anotações do DTO e as de coberturas
+ * ({@code isCoberturaValida} e {@code isValoresCoberturaValidos}) em uma
+ * única passada, sem montar a árvore JSON nem percorrer o mapa de
+ * coberturas outra vez: cada valor é conferido ao ser lido e somado ao
+ * total, que é comparado com o capital segurado assim que ambos são
+ * conhecidos. Valores monetários são lidos como {@link Dinheiro} direto
+ * do buffer do parser e somados em centavos. A primeira violação interrompe a leitura com um
+ * {@link com.fasterxml.jackson.databind.exc.MismatchedInputException},
+ * respondido como 400 pelo Spring MVC. Campos desconhecidos são ignorados.
+ */
+public class SolicitacaoRequestDeserializer extends StdDeserializer<SolicitacaoRequestDTO> {
+
+    public SolicitacaoRequestDeserializer() {
+        super(SolicitacaoRequestDTO.class);
+    }
+
+    @Override
+    public SolicitacaoRequestDTO deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (SolicitacaoRequestDTO) ctxt.handleUnexpectedToken(SolicitacaoRequestDTO.class, parser);
+        }
+
+        UUID customerId = null;
+        String productId = null;
+        CategoriaSeguro category = null;
+        String salesChannel = null;
+        String paymentMethod = null;
+        Dinheiro premium = null;
+        Dinheiro insuredAmount = null;
+        Map<String, Dinheiro> coverages = null;
+        long somaCoberturas = 0;
+        List<String> assistances = null;
+
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String campo = parser.currentName();
+            JsonToken valor = parser.nextToken();
+
+            switch (campo) {
+                case "customerId" -> customerId = lerUuid(parser, ctxt, valor);
+                case "productId" -> productId = lerTextoObrigatorio(parser, ctxt, valor,
+                    "ID do produto é obrigatório");
+                case "category" -> category = lerCategoria(parser, ctxt, valor);
+                case "salesChannel" -> salesChannel = lerTextoObrigatorio(parser, ctxt, valor,
+                    "Canal de vendas é obrigatório");
+                case "paymentMethod" -> paymentMethod = lerTextoObrigatorio(parser, ctxt, valor,
+                    "Forma de pagamento é obrigatória");
+                case "totalMonthlyPremiumAmount" -> premium = lerValor(parser, ctxt, 8,
+                    "Valor do prêmio mensal é obrigatório",
+                    "Valor do prêmio mensal deve ser maior que zero",
+                    "Valor do prêmio mensal deve ter no máximo 8 dígitos inteiros e 2 decimais");
+                case "insuredAmount" -> {
+                    insuredAmount = lerValor(parser, ctxt, 10,
+                        "Valor do capital segurado é obrigatório",
+                        "Valor do capital segurado deve ser maior que zero",
+                        "Valor do capital segurado deve ter no máximo 10 dígitos inteiros e 2 decimais");
+                    if (coverages != null) {
+                        verificarSoma(ctxt, somaCoberturas, insuredAmount);
+                    }
+                }
+                case "coverages" -> {
+                    if (valor != JsonToken.START_OBJECT) {
+                        falhar(ctxt, "Coberturas são obrigatórias");
+                    }
+                    coverages = new LinkedHashMap<>();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String cobertura = parser.currentName();
+                        parser.nextToken();
+                        Dinheiro valorCobertura = lerDinheiro(parser, ctxt);
+                        if (valorCobertura == null || !valorCobertura.isPositivo()) {
+                            falhar(ctxt, "Todos os valores de cobertura devem ser positivos");
+                        }
+                        coverages.put(cobertura, valorCobertura);
+                        somaCoberturas = somarCentavos(ctxt, somaCoberturas, valorCobertura);
+                        if (insuredAmount != null) {
+                            verificarSoma(ctxt, somaCoberturas, insuredAmount);
+                        }
+                    }
+                    if (coverages.isEmpty()) {
+                        falhar(ctxt, "Deve haver pelo menos uma cobertura");
+                    }
+                }
+                case "assistances" -> {
+                    if (valor != JsonToken.START_ARRAY) {
+                        falhar(ctxt, "Lista de assistências é obrigatória");
+                    }
+                    assistances = new ArrayList<>();
+                    for (JsonToken item = parser.nextToken(); item != JsonToken.END_ARRAY; item = parser.nextToken()) {
+                        if (item == JsonToken.VALUE_NULL) {
+                            assistances.add(null);
+                        } else if (item.isScalarValue()) {
+                            assistances.add(parser.getText());
+                        } else {
+                            falhar(ctxt, "Assistência inválida");
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (customerId == null) {
+            falhar(ctxt, "ID do cliente é obrigatório");
+        }
+        if (productId == null) {
+            falhar(ctxt, "ID do produto é obrigatório");
+        }
+        if (category == null) {
+            falhar(ctxt, "Categoria do seguro é obrigatória");
+        }
+        if (salesChannel == null) {
+            falhar(ctxt, "Canal de vendas é obrigatório");
+        }
+        if (paymentMethod == null) {
+            falhar(ctxt, "Forma de pagamento é obrigatória");
+        }
+        if (premium == null) {
+            falhar(ctxt, "Valor do prêmio mensal é obrigatório");
+        }
+        if (insuredAmount == null) {
+            falhar(ctxt, "Valor do capital segurado é obrigatório");
+        }
+        if (coverages == null) {
+            falhar(ctxt, "Coberturas são obrigatórias");
+        }
+        if (assistances == null) {
+            falhar(ctxt, "Lista de assistências é obrigatória");
+        }
+
+        return new SolicitacaoRequestDTO(customerId, productId, category, salesChannel, paymentMethod,
+            premium, insuredAmount, coverages, assistances);
+    }
+
+    private UUID lerUuid(JsonParser parser, DeserializationContext ctxt, JsonToken valor) throws IOException {
+        if (valor != JsonToken.VALUE_STRING) {
+            falhar(ctxt, "ID do cliente é obrigatório");
+        }
+        try {
+            return UUID.fromString(parser.getText());
+        } catch (IllegalArgumentException e) {
+            return falhar(ctxt, "ID do cliente inválido");
+        }
+    }
+
+    private CategoriaSeguro lerCategoria(JsonParser parser, DeserializationContext ctxt, JsonToken valor)
+            throws IOException {
+        if (valor != JsonToken.VALUE_STRING) {
+            falhar(ctxt, "Categoria do seguro é obrigatória");
+        }
+        try {
+            return CategoriaSeguro.valueOf(parser.getText());
+        } catch (IllegalArgumentException e) {
+            return falhar(ctxt, "Categoria do seguro inválida");
+        }
+    }
+
+    /**
+     * Equivalente a {@code @NotBlank}.
+     */
+    private String lerTextoObrigatorio(JsonParser parser, DeserializationContext ctxt, JsonToken valor,
+                                       String mensagem) throws IOException {
+        if (!valor.isScalarValue() || valor == JsonToken.VALUE_NULL) {
+            falhar(ctxt, mensagem);
+        }
+        String texto = parser.getText();
+        if (texto.isBlank()) {
+            falhar(ctxt, mensagem);
+        }
+        return texto;
+    }
+
+    /**
+     * Equivalente a {@code @NotNull @DecimalMin("0.01") @Digits(integer, fraction = 2)}.
+     */
+    private Dinheiro lerValor(JsonParser parser, DeserializationContext ctxt, int digitosInteiros,
+                              String obrigatorio, String minimo, String digitos)
+            throws IOException {
+        Dinheiro dinheiro;
+        try {
+            dinheiro = DinheiroModule.ler(parser);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return falhar(ctxt, digitos);
+        }
+        if (dinheiro == null) {
+            falhar(ctxt, obrigatorio);
+        }
+        if (!dinheiro.isPositivo()) {
+            falhar(ctxt, minimo);
+        }
+        if (!dinheiro.cabeEm(digitosInteiros)) {
+            falhar(ctxt, digitos);
+        }
+        return dinheiro;
+    }
+
+    private Dinheiro lerDinheiro(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        try {
+            return DinheiroModule.ler(parser);
+        } catch (NumberFormatException | ArithmeticException e) {
+            return falhar(ctxt, e.getMessage());
+        }
+    }
+
+    private long somarCentavos(DeserializationContext ctxt, long soma, Dinheiro valor) throws IOException {
+        try {
+            return Math.addExact(soma, valor.getCentavos());
+        } catch (ArithmeticException e) {
+            return falhar(ctxt, "Soma das coberturas não pode exceder o capital segurado");
+        }
+    }
+
+    private void verificarSoma(DeserializationContext ctxt, long somaCentavos, Dinheiro insuredAmount)
+            throws IOException {
+        if (somaCentavos > insuredAmount.getCentavos()) {
+            falhar(ctxt, "Soma das coberturas não pode exceder o capital segurado");
+        }
+    }
+
+    private <T> T falhar(DeserializationContext ctxt, String mensagem) throws IOException {
+        return ctxt.reportInputMismatch(this, "%s", mensagem);
+    }
+}
@@ -1,9 +1,9 @@
 package com.itau.seguros.solicitacao.api.dto;
 
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -25,9 +25,9 @@ public record SolicitacaoResponseDTO(
     StatusSolicitacao status,
     LocalDateTime createdAt,
     LocalDateTime finishedAt,
-    BigDecimal totalMonthlyPremiumAmount,
-    BigDecimal insuredAmount,
-    Map<String, BigDecimal> coverages,
+    Dinheiro totalMonthlyPremiumAmount,
+    Dinheiro insuredAmount,
+    Map<String, Dinheiro> coverages,
     List<String> assistances,
     List<HistoricoStatusDTO> history
 ) {
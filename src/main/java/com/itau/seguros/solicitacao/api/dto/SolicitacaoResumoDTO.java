@@ -0,0 +1,23 @@
+package com.itau.seguros.solicitacao.api.dto;
+
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO para listagens de solicitações.
+ * 
+ * Contém apenas os dados de identificação e estado, sem coberturas,
+ * assistências ou histórico.
+ */
+public record SolicitacaoResumoDTO(
+    UUID id,
+    UUID customerId,
+    String productId,
+    CategoriaSeguro category,
+    StatusSolicitacao status,
+    LocalDateTime createdAt,
+    LocalDateTime finishedAt
+) {}
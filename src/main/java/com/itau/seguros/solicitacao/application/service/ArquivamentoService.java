@@ -0,0 +1,154 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.archive.ArquivoSolicitacoes;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serviço de arquivamento de solicitações finalizadas.
+ *
+ * Periodicamente move solicitações em estado final, finalizadas há mais
+ * tempo que o configurado, das tabelas quentes para o arquivo. Cada lote
+ * roda em sua própria transação, com pausa entre lotes e limite de lotes
+ * por execução, para não competir com o tráfego de solicitações ativas.
+ *
+ * Com o event store habilitado, o arquivo recebe o status e o histórico
+ * registrados nele, e as solicitações arquivadas saem do índice.
+ */
+@Service
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true")
+public class ArquivamentoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArquivamentoService.class);
+
+    private final SolicitacaoRepository repository;
+    private final ArquivoSolicitacoes arquivo;
+    private final StatusEventStore statusEventStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter arquivadasCounter;
+
+    private final Duration idadeMinima;
+    private final int tamanhoLote;
+    private final int maxLotesPorExecucao;
+    private final Duration pausaEntreLotes;
+
+    public ArquivamentoService(SolicitacaoRepository repository,
+                               ArquivoSolicitacoes arquivo,
+                               StatusEventStore statusEventStore,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry registry,
+                               @Value("${app.archive.idade-minima:90d}") Duration idadeMinima,
+                               @Value("${app.archive.tamanho-lote:500}") int tamanhoLote,
+                               @Value("${app.archive.max-lotes-por-execucao:20}") int maxLotesPorExecucao,
+                               @Value("${app.archive.pausa-entre-lotes:200ms}") Duration pausaEntreLotes) {
+        this.repository = repository;
+        this.arquivo = arquivo;
+        this.statusEventStore = statusEventStore;
+        this.transactionTemplate = transactionTemplate;
+        this.idadeMinima = idadeMinima;
+        this.tamanhoLote = tamanhoLote;
+        this.maxLotesPorExecucao = maxLotesPorExecucao;
+        this.pausaEntreLotes = pausaEntreLotes;
+        this.arquivadasCounter = Counter.builder("solicitacao.arquivadas")
+            .description("Total de solicitações finalizadas movidas para o arquivo")
+            .register(registry);
+    }
+
+    /**
+     * Execução agendada do arquivamento.
+     */
+    @Scheduled(fixedDelayString = "${app.archive.intervalo:PT1H}", initialDelayString = "${app.archive.atraso-inicial:PT5M}")
+    public void executarAgendado() {
+        arquivarFinalizadas(LocalDateTime.now().minus(idadeMinima));
+    }
+
+    /**
+     * Arquiva as solicitações finalizadas antes da data limite, em lotes.
+     *
+     * @param limite data limite de finalização (exclusiva)
+     * @return quantidade de solicitações arquivadas
+     */
+    public int arquivarFinalizadas(LocalDateTime limite) {
+        logger.info("Iniciando arquivamento de solicitações finalizadas antes de {}", limite);
+
+        int total = 0;
+        for (int lote = 0; lote < maxLotesPorExecucao; lote++) {
+            Integer arquivadas = transactionTemplate.execute(status -> arquivarLote(limite));
+            if (arquivadas == null || arquivadas == 0) {
+                break;
+            }
+
+            total += arquivadas;
+            arquivadasCounter.increment(arquivadas);
+
+            if (arquivadas < tamanhoLote || !pausar()) {
+                break;
+            }
+        }
+
+        logger.info("Arquivamento concluído: {} solicitações arquivadas", total);
+        return total;
+    }
+
+    /**
+     * Move um lote para o arquivo e remove as linhas das tabelas quentes.
+     */
+    private int arquivarLote(LocalDateTime limite) {
+        List<UUID> ids = repository.findIdsFinalizadasAntesDe(limite, PageRequest.of(0, tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<SolicitacaoApolice> solicitacoes = repository.findAllByIdInWithHistory(ids);
+        List<SolicitacaoResponseDTO> snapshots = solicitacoes.stream()
+            .map(SolicitacaoService::mapearParaResponseDTO)
+            .map(this::aplicarEstadoAtual)
+            .toList();
+
+        arquivo.arquivar(snapshots);
+        repository.deleteAll(solicitacoes);
+        statusEventStore.remover(ids);
+
+        logger.debug("Lote de {} solicitações arquivado", solicitacoes.size());
+        return solicitacoes.size();
+    }
+
+    private SolicitacaoResponseDTO aplicarEstadoAtual(SolicitacaoResponseDTO dto) {
+        if (!statusEventStore.isAtivo()) {
+            return dto;
+        }
+        return statusEventStore.buscar(dto.id())
+            .map(estado -> SolicitacaoService.comEstado(dto, estado))
+            .orElse(dto);
+    }
+
+    /**
+     * Aguarda entre lotes; retorna false se a thread for interrompida.
+     */
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausaEntreLotes.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,516 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoRequestDTO;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import com.itau.seguros.solicitacao.domain.model.HistoricoStatus;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventProducer;
+import com.itau.seguros.solicitacao.infrastructure.writebehind.WriteAheadLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Criação assíncrona de solicitações (202 Accepted) com gravação em lote.
+ *
+ * Para os canais configurados, a solicitação é validada, recebe o ID e é
+ * registrada em um log local de escrita antecipada antes da resposta. Um
+ * único escritor drena a fila em lotes: grava o lote inteiro em uma
+ * transação e publica os eventos {@code SOLICITACAO_RECEBIDA} em um único
+ * canal do broker. Só então os registros do log são descartados; se o
+ * processo cair antes disso, as solicitações aceitas são regravadas na
+ * inicialização.
+ *
+ * A capacidade da fila é limitada; acima dela, a solicitação é recusada
+ * com {@link FilaEscritaCheiaException} antes de ser registrada.
+ *
+ * Falhas transitórias (banco ou broker fora do ar) são repetidas até
+ * passarem. Um lote recusado pelo banco é dividido ao meio até isolar as
+ * solicitações com problema; cada uma é tentada algumas vezes e, se
+ * continuar falhando, é copiada para o diretório {@code descartadas} do
+ * log, para reprocessamento manual, sem travar as seguintes.
+ */
+@Service
+public class CriacaoAssincronaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CriacaoAssincronaService.class);
+
+    private static final long ESPERA_INICIAL_MS = 100;
+    private static final long ESPERA_MAXIMA_MS = 5_000;
+
+    /**
+     * Conteúdo de cada registro do log: o suficiente para recriar a solicitação.
+     */
+    record RegistroAceito(UUID id, LocalDateTime createdAt, SolicitacaoRequestDTO request) {
+    }
+
+    private record Pendente(SolicitacaoApolice solicitacao, WriteAheadLog.Posicao posicao, byte[] registro) {
+    }
+
+    private final SolicitacaoRepository repository;
+    private final SolicitacaoEventProducer eventProducer;
+    private final StatusEventStore statusEventStore;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final boolean ativo;
+    private final Set<String> canais;
+    private final int tamanhoLote;
+    private final int maxTentativas;
+    private final Path diretorio;
+    private final long tamanhoSegmento;
+    private final boolean sincronizar;
+
+    private final Semaphore capacidade;
+    private final BlockingQueue<Pendente> fila = new LinkedBlockingQueue<>();
+    private final Map<UUID, SolicitacaoApolice> pendentes = new ConcurrentHashMap<>();
+    private final Object ordemFila = new Object();
+    private final Counter aceitasCounter;
+    private final Counter gravadasCounter;
+    private final Counter recusadasCounter;
+    private final Counter descartadasCounter;
+
+    private WriteAheadLog wal;
+    private Thread escritor;
+    private volatile boolean executando;
+
+    public CriacaoAssincronaService(SolicitacaoRepository repository,
+                                    SolicitacaoEventProducer eventProducer,
+                                    StatusEventStore statusEventStore,
+                                    TransactionTemplate transactionTemplate,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry registry,
+                                    @Value("${app.criacao-assincrona.enabled:false}") boolean ativo,
+                                    @Value("${app.criacao-assincrona.canais:}") List<String> canais,
+                                    @Value("${app.criacao-assincrona.capacidade:10000}") int capacidade,
+                                    @Value("${app.criacao-assincrona.tamanho-lote:500}") int tamanhoLote,
+                                    @Value("${app.criacao-assincrona.max-tentativas:3}") int maxTentativas,
+                                    @Value("${app.criacao-assincrona.diretorio:data/wal-solicitacoes}") String diretorio,
+                                    @Value("${app.criacao-assincrona.tamanho-segmento:67108864}") long tamanhoSegmento,
+                                    @Value("${app.criacao-assincrona.sincronizar:true}") boolean sincronizar) {
+        this.repository = repository;
+        this.eventProducer = eventProducer;
+        this.statusEventStore = statusEventStore;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ativo = ativo;
+        this.canais = canais.stream().map(CriacaoAssincronaService::normalizar).collect(Collectors.toUnmodifiableSet());
+        this.capacidade = new Semaphore(capacidade);
+        this.tamanhoLote = tamanhoLote;
+        this.maxTentativas = maxTentativas;
+        this.diretorio = Path.of(diretorio);
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.sincronizar = sincronizar;
+
+        Gauge.builder("solicitacao.criacao.assincrona.pendentes", fila, BlockingQueue::size)
+            .description("Solicitações aceitas aguardando gravação")
+            .register(registry);
+        this.aceitasCounter = Counter.builder("solicitacao.criacao.assincrona.aceitas")
+            .description("Solicitações aceitas no modo assíncrono")
+            .register(registry);
+        this.gravadasCounter = Counter.builder("solicitacao.criacao.assincrona.gravadas")
+            .description("Solicitações aceitas gravadas no banco")
+            .register(registry);
+        this.recusadasCounter = Counter.builder("solicitacao.criacao.assincrona.recusadas")
+            .description("Solicitações recusadas com a fila de gravação cheia")
+            .register(registry);
+        this.descartadasCounter = Counter.builder("solicitacao.criacao.assincrona.descartadas")
+            .description("Solicitações aceitas que o banco recusou e foram separadas para reprocessamento")
+            .register(registry);
+    }
+
+    /**
+     * Abre o log, inicia o escritor e regrava as solicitações aceitas antes
+     * de uma queda.
+     *
+     * O escritor começa antes da recuperação para ir liberando a capacidade
+     * enquanto ela enfileira: um log com mais solicitações que a capacidade
+     * é regravado aos poucos, em vez de travar a inicialização.
+     */
+    @PostConstruct
+    public void iniciar() throws IOException {
+        if (!ativo) {
+            return;
+        }
+
+        wal = new WriteAheadLog(diretorio, tamanhoSegmento, sincronizar);
+
+        executando = true;
+        escritor = new Thread(this::executarEscritor, "escritor-solicitacoes");
+        escritor.setDaemon(true);
+        escritor.start();
+
+        try {
+            recuperar();
+        } catch (IOException | RuntimeException e) {
+            executando = false;
+            throw e;
+        }
+        logger.info("Criação assíncrona ativa para os canais {}", canais);
+    }
+
+    /**
+     * Indica se as solicitações do canal são criadas no modo assíncrono.
+     *
+     * @param salesChannel canal de vendas
+     * @return true se o modo assíncrono está ativo para o canal
+     */
+    public boolean isAssincrona(String salesChannel) {
+        return ativo && salesChannel != null && canais.contains(normalizar(salesChannel));
+    }
+
+    /**
+     * Valida e aceita uma solicitação para gravação posterior.
+     *
+     * Quando retorna, a solicitação está no log local (e em disco, se a
+     * sincronização estiver ativa) e será gravada mesmo após uma queda.
+     * Se apenas a sincronização com o disco falhar, a solicitação já está
+     * na fila do escritor e continua aceita: será gravada, mas até lá pode
+     * não sobreviver a uma queda.
+     *
+     * @param request dados da solicitação
+     * @return solicitação aceita, com o ID atribuído e status RECEBIDO
+     * @throws IllegalArgumentException se a solicitação for inválida
+     * @throws FilaEscritaCheiaException se a fila de gravação estiver cheia
+     */
+    public SolicitacaoResponseDTO aceitar(SolicitacaoRequestDTO request) {
+        SolicitacaoService.validarCriacao(request);
+
+        if (!capacidade.tryAcquire()) {
+            recusadasCounter.increment();
+            throw new FilaEscritaCheiaException("Fila de gravação de solicitações cheia");
+        }
+
+        SolicitacaoApolice solicitacao = criarEntidade(UUID.randomUUID(), LocalDateTime.now(), request);
+        WriteAheadLog.Posicao posicao;
+        try {
+            byte[] registro = objectMapper.writeValueAsBytes(
+                new RegistroAceito(solicitacao.getId(), solicitacao.getCreatedAt(), request));
+
+            // A fila segue a ordem do log, para que a confirmação de um lote
+            // nunca apague registros ainda não gravados
+            synchronized (ordemFila) {
+                posicao = wal.escrever(registro);
+                pendentes.put(solicitacao.getId(), solicitacao);
+                fila.add(new Pendente(solicitacao, posicao, registro));
+            }
+        } catch (IOException e) {
+            capacidade.release();
+            throw new UncheckedIOException("Falha ao registrar a solicitação no log de escrita", e);
+        }
+
+        try {
+            wal.sincronizar(posicao);
+        } catch (IOException e) {
+            // Já na fila: o escritor grava a solicitação e libera a vaga, então recusá-la aqui levaria o
+            // cliente a repetir uma criação que vai acontecer
+            logger.error("Falha ao sincronizar o log de escrita; solicitação {} aceita sem garantia em disco",
+                        solicitacao.getId(), e);
+        }
+
+        aceitasCounter.increment();
+        logger.info("Solicitação {} aceita para gravação assíncrona", solicitacao.getId());
+        return SolicitacaoService.mapearParaResponseDTO(solicitacao);
+    }
+
+    /**
+     * Busca uma solicitação aceita que ainda não foi gravada.
+     *
+     * @param id ID da solicitação
+     * @return solicitação pendente, se existir
+     */
+    public Optional<SolicitacaoResponseDTO> buscarPendente(UUID id) {
+        return Optional.ofNullable(pendentes.get(id)).map(SolicitacaoService::mapearParaResponseDTO);
+    }
+
+    /**
+     * Para de aceitar solicitações e grava as pendentes antes de fechar o log.
+     */
+    @PreDestroy
+    public void encerrar() throws IOException, InterruptedException {
+        if (!ativo || wal == null) {
+            return;
+        }
+
+        executando = false;
+        escritor.join(TimeUnit.SECONDS.toMillis(30));
+        wal.close();
+    }
+
+    /**
+     * Drena a fila em lotes. Um lote que falha é repetido, sem os itens já
+     * confirmados, antes de qualquer lote seguinte: confirmar um registro
+     * posterior apagaria do log os segmentos do lote que falhou. Durante o
+     * encerramento, o escritor para no primeiro lote que falha, e ele e os
+     * seguintes continuam no log para a próxima inicialização.
+     */
+    private void executarEscritor() {
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+        long espera = ESPERA_INICIAL_MS;
+        while (executando || !fila.isEmpty() || !lote.isEmpty()) {
+            try {
+                if (lote.isEmpty()) {
+                    Pendente primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                    if (primeiro == null) {
+                        continue;
+                    }
+                    lote.add(primeiro);
+                    fila.drainTo(lote, tamanhoLote - 1);
+                }
+
+                gravar(lote);
+                lote.clear();
+                espera = ESPERA_INICIAL_MS;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!executando) {
+                    logger.warn("Escritor encerrado com {} solicitações no lote e {} na fila; serão regravadas "
+                               + "na próxima inicialização: {}", lote.size(), fila.size(), e.getMessage());
+                    return;
+                }
+                // Partes do lote podem ter sido confirmadas antes da falha
+                lote.removeIf(pendente -> !pendentes.containsKey(pendente.solicitacao().getId()));
+                logger.error("Falha ao gravar lote de {} solicitações, nova tentativa em {} ms",
+                            lote.size(), espera, e);
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException interrompido) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_MS);
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em uma transação e publica os eventos, repetindo com
+     * espera crescente as falhas transitórias. Se o banco recusar o lote,
+     * divide-o para isolar as solicitações com problema.
+     */
+    private void gravar(List<Pendente> lote) throws InterruptedException {
+        List<SolicitacaoApolice> solicitacoes = lote.stream().map(Pendente::solicitacao).toList();
+
+        int recusas = 0;
+        long espera = ESPERA_INICIAL_MS;
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> repository.saveAll(solicitacoes));
+                break;
+            } catch (RuntimeException e) {
+                if (!executando) {
+                    // Encerrando: o escritor para, e o lote é regravado a partir do log na próxima inicialização
+                    throw e;
+                }
+                if (falhaPermanente(e)) {
+                    if (lote.size() > 1) {
+                        logger.warn("Lote de {} solicitações recusado pelo banco, dividindo: {}",
+                                   lote.size(), e.getMessage());
+                        int meio = lote.size() / 2;
+                        gravar(lote.subList(0, meio));
+                        gravar(lote.subList(meio, lote.size()));
+                        return;
+                    }
+                    if (++recusas >= maxTentativas) {
+                        descartar(lote.get(0), e);
+                        return;
+                    }
+                }
+                logger.warn("Falha ao gravar lote de {} solicitações, nova tentativa em {} ms: {}",
+                           lote.size(), espera, e.getMessage());
+                Thread.sleep(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_MS);
+            }
+        }
+
+        publicar(solicitacoes);
+        confirmar(lote);
+        gravadasCounter.increment(lote.size());
+        logger.debug("Lote de {} solicitações gravado", lote.size());
+    }
+
+    /**
+     * Registra a criação no event store e publica os eventos das
+     * solicitações gravadas, repetindo até o broker aceitar.
+     */
+    private void publicar(List<SolicitacaoApolice> solicitacoes) throws InterruptedException {
+        List<SolicitacaoRecebidaEvent> eventos = solicitacoes.stream()
+            .map(CriacaoAssincronaService::eventoRecebida)
+            .toList();
+
+        boolean registrado = false;
+        long espera = ESPERA_INICIAL_MS;
+        while (true) {
+            try {
+                if (!registrado) {
+                    registrarNoEventStore(solicitacoes);
+                    registrado = true;
+                }
+                eventProducer.publicarEventos(eventos);
+                return;
+            } catch (RuntimeException e) {
+                if (!executando) {
+                    throw e;
+                }
+                logger.warn("Falha ao publicar lote de {} solicitações, nova tentativa em {} ms: {}",
+                           solicitacoes.size(), espera, e.getMessage());
+                Thread.sleep(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_MS);
+            }
+        }
+    }
+
+    /**
+     * Copia para o diretório de descartadas a solicitação que o banco
+     * continua recusando, para que não trave as seguintes.
+     */
+    private void descartar(Pendente pendente, RuntimeException causa) {
+        UUID id = pendente.solicitacao().getId();
+        try {
+            Path descartadas = Files.createDirectories(diretorio.resolve("descartadas"));
+            Files.write(descartadas.resolve(id + ".json"), pendente.registro());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao separar a solicitação " + id + " para reprocessamento", e);
+        }
+
+        confirmar(List.of(pendente));
+        descartadasCounter.increment();
+        logger.error("Solicitação {} recusada pelo banco após {} tentativas; separada para reprocessamento",
+                    id, maxTentativas, causa);
+    }
+
+    private void confirmar(List<Pendente> lote) {
+        wal.confirmarAte(lote.get(lote.size() - 1).posicao());
+        lote.forEach(pendente -> pendentes.remove(pendente.solicitacao().getId()));
+        capacidade.release(lote.size());
+    }
+
+    /**
+     * Erros que se repetem a cada tentativa com os mesmos dados, como
+     * violações de restrição; falhas de conexão e de transação são
+     * consideradas transitórias.
+     */
+    private static boolean falhaPermanente(RuntimeException e) {
+        if (e instanceof DataAccessResourceFailureException || e instanceof TransactionException) {
+            return false;
+        }
+        return e instanceof NonTransientDataAccessException || !(e instanceof DataAccessException);
+    }
+
+    /**
+     * Regrava as solicitações do log que não chegaram ao banco e republica
+     * o evento das que foram gravadas mas podem não ter sido publicadas.
+     */
+    private void recuperar() throws IOException {
+        List<WriteAheadLog.Registro> registros = wal.recuperar();
+        if (registros.isEmpty()) {
+            wal.confirmarAte(new WriteAheadLog.Posicao(wal.getSegmentoAtual(), 0));
+            return;
+        }
+
+        List<SolicitacaoRecebidaEvent> republicar = new ArrayList<>();
+        int regravadas = 0;
+        for (WriteAheadLog.Registro registro : registros) {
+            RegistroAceito aceito = objectMapper.readValue(registro.conteudo(), RegistroAceito.class);
+            Optional<SolicitacaoApolice> existente = repository.findById(aceito.id());
+
+            if (existente.isEmpty()) {
+                SolicitacaoApolice solicitacao = criarEntidade(aceito.id(), aceito.createdAt(), aceito.request());
+                capacidade.acquireUninterruptibly();
+                pendentes.put(solicitacao.getId(), solicitacao);
+                fila.add(new Pendente(solicitacao, registro.posicao(), registro.conteudo()));
+                regravadas++;
+            } else if (existente.get().getStatus() == StatusSolicitacao.RECEBIDO) {
+                republicar.add(eventoRecebida(existente.get()));
+            }
+        }
+
+        eventProducer.publicarEventos(republicar);
+        if (regravadas == 0) {
+            wal.confirmarAte(new WriteAheadLog.Posicao(wal.getSegmentoAtual(), 0));
+        }
+        logger.info("Recuperação do WAL: {} solicitações a regravar, {} eventos republicados",
+                   regravadas, republicar.size());
+    }
+
+    private void registrarNoEventStore(List<SolicitacaoApolice> solicitacoes) {
+        if (!statusEventStore.isAtivo()) {
+            return;
+        }
+        for (SolicitacaoApolice solicitacao : solicitacoes) {
+            // Numa nova tentativa, as já registradas são puladas
+            if (statusEventStore.buscar(solicitacao.getId()).isEmpty()) {
+                HistoricoStatus inicial = solicitacao.getHistory().get(0);
+                statusEventStore.registrarCriacao(solicitacao.getId(), inicial.getTimestamp(), inicial.getObservacao());
+            }
+        }
+    }
+
+    private static SolicitacaoApolice criarEntidade(UUID id, LocalDateTime createdAt, SolicitacaoRequestDTO request) {
+        return new SolicitacaoApolice(
+            id,
+            createdAt,
+            request.customerId(),
+            request.productId(),
+            request.category(),
+            request.salesChannel(),
+            request.paymentMethod(),
+            request.totalMonthlyPremiumAmount(),
+            request.insuredAmount(),
+            request.coverages(),
+            request.assistances()
+        );
+    }
+
+    private static SolicitacaoRecebidaEvent eventoRecebida(SolicitacaoApolice solicitacao) {
+        return new SolicitacaoRecebidaEvent(
+            solicitacao.getId(),
+            solicitacao.getCustomerId(),
+            solicitacao.getProductId(),
+            solicitacao.getCategory(),
+            solicitacao.getInsuredAmount(),
+            solicitacao.getSalesChannel()
+        );
+    }
+
+    private static String normalizar(String canal) {
+        return canal.trim().toUpperCase(Locale.ROOT);
+    }
+}
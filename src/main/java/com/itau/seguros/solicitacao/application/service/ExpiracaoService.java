@@ -0,0 +1,236 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.ChaveSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.admission.ControleAdmissao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço de expiração de solicitações paradas.
+ *
+ * Solicitações em RECEBIDO, VALIDADO ou PENDENTE ficam nesse estado para
+ * sempre quando o evento de pagamento ou de subscrição não chega, e contam
+ * como ativas para o cliente. Periodicamente, as criadas há mais tempo que
+ * o prazo configurado passam para EXPIRADA. O prazo conta da criação, e não
+ * da entrada no status atual: uma solicitação que acabou de chegar a
+ * PENDENTE expira se foi criada antes do limite.
+ *
+ * Para cada status, as candidatas são lidas por varredura por chave
+ * (created_at, id) no índice (status, created_at, id), sem OFFSET nem
+ * varredura da tabela, e cada página vira um lote das transições em massa,
+ * com sua própria transação curta. O limite de lotes vale para a execução
+ * inteira; a cada execução a varredura começa por um status diferente,
+ * para que um acúmulo em um deles não impeça a expiração dos demais.
+ * Antes de cada lote, se a API estiver sob carga, a expiração espera com
+ * pausas crescentes e, passada a espera máxima, deixa o restante para a
+ * próxima execução.
+ */
+@Service
+@ConditionalOnProperty(name = "app.expiracao.enabled", havingValue = "true")
+public class ExpiracaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiracaoService.class);
+
+    static final String OBSERVACAO = "Expirada sem conclusão dentro do prazo";
+
+    private final SolicitacaoRepository repository;
+    private final TransicaoEmMassaService transicaoEmMassaService;
+    private final ControleAdmissao controleAdmissao;
+
+    private final Map<StatusSolicitacao, Counter> expiradasCounter = new EnumMap<>(StatusSolicitacao.class);
+    private final Map<StatusSolicitacao, AtomicLong> defasagemSegundos = new EnumMap<>(StatusSolicitacao.class);
+    private final AtomicInteger proximoInicio = new AtomicInteger();
+    private final Counter adiamentosCounter;
+    private final Timer loteTimer;
+
+    private final Duration prazo;
+    private final int tamanhoLote;
+    private final int maxLotesPorExecucao;
+    private final Duration pausaEntreLotes;
+    private final Duration pausaSobCarga;
+    private final Duration esperaMaximaSobCarga;
+
+    public ExpiracaoService(SolicitacaoRepository repository,
+                            TransicaoEmMassaService transicaoEmMassaService,
+                            ControleAdmissao controleAdmissao,
+                            MeterRegistry registry,
+                            @Value("${app.expiracao.prazo:30d}") Duration prazo,
+                            @Value("${app.expiracao.tamanho-lote:500}") int tamanhoLote,
+                            @Value("${app.expiracao.max-lotes-por-execucao:100}") int maxLotesPorExecucao,
+                            @Value("${app.expiracao.pausa-entre-lotes:100ms}") Duration pausaEntreLotes,
+                            @Value("${app.expiracao.pausa-sob-carga:1s}") Duration pausaSobCarga,
+                            @Value("${app.expiracao.espera-maxima-sob-carga:2m}") Duration esperaMaximaSobCarga) {
+        this.repository = repository;
+        this.transicaoEmMassaService = transicaoEmMassaService;
+        this.controleAdmissao = controleAdmissao;
+        this.prazo = prazo;
+        this.tamanhoLote = tamanhoLote;
+        this.maxLotesPorExecucao = maxLotesPorExecucao;
+        this.pausaEntreLotes = pausaEntreLotes;
+        this.pausaSobCarga = pausaSobCarga;
+        this.esperaMaximaSobCarga = esperaMaximaSobCarga;
+
+        for (StatusSolicitacao status : StatusSolicitacao.EXPIRADA.getOrigensPermitidas()) {
+            String tag = status.name().toLowerCase(Locale.ROOT);
+            expiradasCounter.put(status, Counter.builder("solicitacao.expiradas")
+                .tag("status", tag)
+                .description("Total de solicitações expiradas, por status de origem")
+                .register(registry));
+
+            AtomicLong defasagem = new AtomicLong();
+            defasagemSegundos.put(status, defasagem);
+            Gauge.builder("expiracao.defasagem", defasagem, AtomicLong::get)
+                .tag("status", tag)
+                .baseUnit("seconds")
+                .description("Distância entre a última chave varrida e o limite de criação; zero ao final da varredura")
+                .register(registry);
+        }
+        this.adiamentosCounter = Counter.builder("expiracao.adiamentos")
+            .description("Esperas da expiração por carga na API")
+            .register(registry);
+        this.loteTimer = Timer.builder("expiracao.lote")
+            .description("Duração de cada lote da expiração")
+            .register(registry);
+    }
+
+    /**
+     * Execução agendada da expiração.
+     */
+    @Scheduled(fixedDelayString = "${app.expiracao.intervalo:PT15M}", initialDelayString = "${app.expiracao.atraso-inicial:PT5M}")
+    public void executarAgendado() {
+        if (!transicaoEmMassaService.isDisponivel()) {
+            logger.debug("Expiração ignorada: transições em massa indisponíveis com o event store habilitado");
+            return;
+        }
+        expirarParadas(LocalDateTime.now().minus(prazo));
+    }
+
+    /**
+     * Expira as solicitações em status não finais criadas antes da data
+     * limite, em lotes.
+     *
+     * @param limite data limite de criação (exclusiva)
+     * @return quantidade de solicitações expiradas
+     */
+    public int expirarParadas(LocalDateTime limite) {
+        logger.info("Iniciando expiração de solicitações criadas antes de {}", limite);
+
+        int total = 0;
+        int lotes = 0;
+        for (StatusSolicitacao status : origensDaExecucao()) {
+            AtomicLong defasagem = defasagemSegundos.get(status);
+            ChaveSolicitacao ultima = null;
+            boolean varrido = false;
+
+            while (lotes < maxLotesPorExecucao) {
+                if (!aguardarCarga()) {
+                    logger.info("Expiração interrompida por carga na API: {} solicitações expiradas", total);
+                    return total;
+                }
+
+                List<ChaveSolicitacao> chaves = ultima == null
+                    ? repository.findChavesCriadasAntesDe(status, limite, PageRequest.of(0, tamanhoLote))
+                    : repository.findChavesCriadasAntesDeApos(status, limite, ultima.getCreatedAt(), ultima.getId(),
+                                                             PageRequest.of(0, tamanhoLote));
+                if (chaves.isEmpty()) {
+                    varrido = true;
+                    break;
+                }
+
+                List<ChaveSolicitacao> pagina = chaves;
+                Integer expiradas = loteTimer.record(() -> transicaoEmMassaService.transicionar(
+                    pagina.stream().map(ChaveSolicitacao::getId).toList(), StatusSolicitacao.EXPIRADA, OBSERVACAO));
+
+                total += expiradas;
+                lotes++;
+                expiradasCounter.get(status).increment(expiradas);
+                ultima = chaves.get(chaves.size() - 1);
+                defasagem.set(Duration.between(ultima.getCreatedAt(), limite).toSeconds());
+
+                if (chaves.size() < tamanhoLote) {
+                    varrido = true;
+                    break;
+                }
+                if (!pausar(pausaEntreLotes)) {
+                    break;
+                }
+            }
+            // Parada pelo limite de lotes ou por interrupção: a defasagem continua valendo
+            if (varrido) {
+                defasagem.set(0);
+            }
+        }
+
+        logger.info("Expiração concluída: {} solicitações expiradas em {} lotes", total, lotes);
+        return total;
+    }
+
+    /**
+     * Status de origem na ordem desta execução, começando por um diferente
+     * a cada chamada.
+     */
+    private List<StatusSolicitacao> origensDaExecucao() {
+        List<StatusSolicitacao> origens = new ArrayList<>(StatusSolicitacao.EXPIRADA.getOrigensPermitidas());
+        int inicio = Math.floorMod(proximoInicio.getAndIncrement(), origens.size());
+        Collections.rotate(origens, -inicio);
+        return origens;
+    }
+
+    /**
+     * Espera, com pausas que dobram a cada verificação, enquanto a API
+     * estiver sob carga.
+     *
+     * @return false se a espera máxima passar ou a thread for interrompida
+     */
+    private boolean aguardarCarga() {
+        Duration pausa = pausaSobCarga;
+        Duration esperado = Duration.ZERO;
+        while (controleAdmissao.isSobCarga()) {
+            if (esperado.compareTo(esperaMaximaSobCarga) >= 0) {
+                return false;
+            }
+            adiamentosCounter.increment();
+            if (!pausar(pausa)) {
+                return false;
+            }
+            esperado = esperado.plus(pausa);
+            pausa = pausa.multipliedBy(2);
+        }
+        return true;
+    }
+
+    /**
+     * Aguarda; retorna false se a thread for interrompida.
+     */
+    private boolean pausar(Duration pausa) {
+        try {
+            Thread.sleep(pausa.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
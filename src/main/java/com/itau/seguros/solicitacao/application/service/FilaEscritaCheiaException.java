@@ -0,0 +1,12 @@
+package com.itau.seguros.solicitacao.application.service;
+
+/**
+ * Indica que a fila de criação assíncrona está cheia e a solicitação
+ * não pôde ser aceita.
+ */
+public class FilaEscritaCheiaException extends RuntimeException {
+
+    public FilaEscritaCheiaException(String message) {
+        super(message);
+    }
+}
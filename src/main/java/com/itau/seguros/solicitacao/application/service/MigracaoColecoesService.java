@@ -0,0 +1,126 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Migração das coberturas e assistências para a coluna compacta.
+ *
+ * Com o armazenamento compacto habilitado, as novas solicitações já são
+ * gravadas na coluna {@code colecoes}; as anteriores continuam legíveis a
+ * partir das tabelas {@code solicitacao_coberturas} e
+ * {@code solicitacao_assistencias} e são migradas por esta tarefa. Cada
+ * lote roda em sua própria transação, codificando as coleções na coluna e
+ * removendo as linhas das tabelas, com pausa entre lotes e limite de lotes
+ * por execução, como no arquivamento.
+ */
+@Service
+@ConditionalOnProperty(name = "app.colecoes-compactas.enabled", havingValue = "true")
+public class MigracaoColecoesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigracaoColecoesService.class);
+
+    private final SolicitacaoRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter migradasCounter;
+
+    private final int tamanhoLote;
+    private final int maxLotesPorExecucao;
+    private final Duration pausaEntreLotes;
+
+    public MigracaoColecoesService(SolicitacaoRepository repository,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry registry,
+                                   @Value("${app.colecoes-compactas.migracao.tamanho-lote:500}") int tamanhoLote,
+                                   @Value("${app.colecoes-compactas.migracao.max-lotes-por-execucao:20}") int maxLotesPorExecucao,
+                                   @Value("${app.colecoes-compactas.migracao.pausa-entre-lotes:200ms}") Duration pausaEntreLotes) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.maxLotesPorExecucao = maxLotesPorExecucao;
+        this.pausaEntreLotes = pausaEntreLotes;
+        this.migradasCounter = Counter.builder("solicitacao.colecoes.migradas")
+            .description("Total de solicitações com coleções migradas para a coluna compacta")
+            .register(registry);
+    }
+
+    /**
+     * Execução agendada da migração.
+     */
+    @Scheduled(fixedDelayString = "${app.colecoes-compactas.migracao.intervalo:PT10M}",
+               initialDelayString = "${app.colecoes-compactas.migracao.atraso-inicial:PT1M}")
+    public void executarAgendado() {
+        migrar();
+    }
+
+    /**
+     * Migra as solicitações com coleções nas tabelas, em lotes.
+     *
+     * @return quantidade de solicitações migradas
+     */
+    public int migrar() {
+        int total = 0;
+        for (int lote = 0; lote < maxLotesPorExecucao; lote++) {
+            Integer migradas = transactionTemplate.execute(status -> migrarLote());
+            if (migradas == null || migradas == 0) {
+                break;
+            }
+
+            total += migradas;
+            migradasCounter.increment(migradas);
+
+            if (migradas < tamanhoLote || !pausar()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            logger.info("Migração de coleções: {} solicitações migradas para a coluna compacta", total);
+        }
+        return total;
+    }
+
+    /**
+     * Codifica as coleções de um lote; o flush do commit grava a coluna e
+     * remove as linhas das tabelas de coleções.
+     */
+    private int migrarLote() {
+        List<UUID> ids = repository.findIdsComColecoesNaoCompactadas(PageRequest.of(0, tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<SolicitacaoApolice> solicitacoes = repository.findAllById(ids);
+        solicitacoes.forEach(SolicitacaoApolice::compactarColecoes);
+
+        logger.debug("Lote de {} solicitações migrado para a coluna compacta", solicitacoes.size());
+        return solicitacoes.size();
+    }
+
+    /**
+     * Aguarda entre lotes; retorna false se a thread for interrompida.
+     */
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausaEntreLotes.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
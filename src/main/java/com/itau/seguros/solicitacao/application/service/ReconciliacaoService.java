@@ -0,0 +1,332 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoEvent;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoValidadaEvent;
+import com.itau.seguros.solicitacao.domain.model.CheckpointReconciliacao;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.model.TentativaReconciliacao;
+import com.itau.seguros.solicitacao.domain.repository.ChaveHistorico;
+import com.itau.seguros.solicitacao.domain.repository.CheckpointReconciliacaoRepository;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.domain.repository.TentativaReconciliacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventProducer;
+import com.itau.seguros.solicitacao.infrastructure.ratelimit.LimiteTaxa;
+import com.itau.seguros.solicitacao.infrastructure.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço de reconciliação de solicitações paradas por perda de evento.
+ *
+ * Uma solicitação fica em RECEBIDO se o {@link SolicitacaoRecebidaEvent} se
+ * perder antes da validação, e em VALIDADO se o
+ * {@link SolicitacaoValidadaEvent} não chegar ao fluxo de pagamento.
+ * Periodicamente, as que estão no status há mais tempo que o SLA dele,
+ * contado do último registro do histórico, têm o evento republicado. Os
+ * consumidores já ignoram eventos de solicitações que mudaram de status.
+ *
+ * As candidatas são lidas por varredura por chave (timestamp, id) no
+ * índice (status, timestamp, id) do histórico, a partir da posição salva
+ * em {@link CheckpointReconciliacao}: cada execução examina apenas os
+ * registros que passaram do SLA desde a anterior. Cada republicação é
+ * registrada em {@link TentativaReconciliacao}, na mesma transação que
+ * avança a posição; as que continuam paradas são tentadas de novo com
+ * intervalos que dobram, até o máximo de tentativas. A publicação consome
+ * tokens de um balde próprio, o que limita a taxa de eventos enviados ao
+ * broker.
+ *
+ * Não é suportado com o event store habilitado, em que o histórico de
+ * status não é gravado em {@code historico_status}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reconciliacao.enabled", havingValue = "true")
+public class ReconciliacaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliacaoService.class);
+
+    private static final String CHAVE_BALDE = "reconciliacao";
+
+    private final SolicitacaoRepository repository;
+    private final CheckpointReconciliacaoRepository checkpointRepository;
+    private final TentativaReconciliacaoRepository tentativaRepository;
+    private final SolicitacaoEventProducer eventProducer;
+    private final StatusEventStore statusEventStore;
+    private final TokenBucketStore tokenBucketStore;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<StatusSolicitacao, Duration> slas = new EnumMap<>(StatusSolicitacao.class);
+    private final Map<StatusSolicitacao, Counter> republicadasCounter = new EnumMap<>(StatusSolicitacao.class);
+    private final Map<StatusSolicitacao, AtomicLong> defasagemSegundos = new EnumMap<>(StatusSolicitacao.class);
+    private final Counter falhasCounter;
+    private final Counter esgotadasCounter;
+
+    private final int tamanhoLote;
+    private final int maxLotesPorExecucao;
+    private final int maxTentativas;
+    private final LimiteTaxa taxa;
+    private final Duration janelaInicial;
+
+    public ReconciliacaoService(SolicitacaoRepository repository,
+                                CheckpointReconciliacaoRepository checkpointRepository,
+                                TentativaReconciliacaoRepository tentativaRepository,
+                                SolicitacaoEventProducer eventProducer,
+                                StatusEventStore statusEventStore,
+                                TokenBucketStore tokenBucketStore,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry registry,
+                                @Value("${app.reconciliacao.sla.recebido:5m}") Duration slaRecebido,
+                                @Value("${app.reconciliacao.sla.validado:1h}") Duration slaValidado,
+                                @Value("${app.reconciliacao.tamanho-lote:100}") int tamanhoLote,
+                                @Value("${app.reconciliacao.max-lotes-por-execucao:50}") int maxLotesPorExecucao,
+                                @Value("${app.reconciliacao.max-tentativas:5}") int maxTentativas,
+                                @Value("${app.reconciliacao.taxa:20/100}") String taxa,
+                                @Value("${app.reconciliacao.janela-inicial:7d}") Duration janelaInicial) {
+        this.repository = repository;
+        this.checkpointRepository = checkpointRepository;
+        this.tentativaRepository = tentativaRepository;
+        this.eventProducer = eventProducer;
+        this.statusEventStore = statusEventStore;
+        this.tokenBucketStore = tokenBucketStore;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+        this.maxLotesPorExecucao = maxLotesPorExecucao;
+        this.maxTentativas = maxTentativas;
+        this.taxa = LimiteTaxa.parse(taxa);
+        this.janelaInicial = janelaInicial;
+
+        slas.put(StatusSolicitacao.RECEBIDO, slaRecebido);
+        slas.put(StatusSolicitacao.VALIDADO, slaValidado);
+
+        for (StatusSolicitacao status : slas.keySet()) {
+            String tag = status.name().toLowerCase(Locale.ROOT);
+            republicadasCounter.put(status, Counter.builder("reconciliacao.republicadas")
+                .tag("status", tag)
+                .description("Eventos republicados para solicitações paradas, por status")
+                .register(registry));
+
+            AtomicLong defasagem = new AtomicLong();
+            defasagemSegundos.put(status, defasagem);
+            Gauge.builder("reconciliacao.defasagem", defasagem, AtomicLong::get)
+                .tag("status", tag)
+                .baseUnit("seconds")
+                .description("Distância entre a posição salva da varredura e o limite do SLA")
+                .register(registry);
+        }
+        this.falhasCounter = Counter.builder("reconciliacao.falhas")
+            .description("Republicações que falharam ao publicar no broker")
+            .register(registry);
+        this.esgotadasCounter = Counter.builder("reconciliacao.esgotadas")
+            .description("Solicitações que atingiram o máximo de tentativas de reconciliação")
+            .register(registry);
+    }
+
+    /**
+     * Execução agendada da reconciliação.
+     */
+    @Scheduled(fixedDelayString = "${app.reconciliacao.intervalo:PT1M}", initialDelayString = "${app.reconciliacao.atraso-inicial:PT2M}")
+    public void executarAgendado() {
+        if (statusEventStore.isAtivo()) {
+            logger.debug("Reconciliação ignorada: histórico de status fora da tabela com o event store habilitado");
+            return;
+        }
+        reconciliar(LocalDateTime.now());
+    }
+
+    /**
+     * Republica os eventos das solicitações paradas além do SLA e das
+     * tentativas anteriores vencidas.
+     *
+     * @param agora instante de referência
+     * @return quantidade de eventos republicados
+     */
+    public int reconciliar(LocalDateTime agora) {
+        int total = 0;
+        int lotes = 0;
+        for (Map.Entry<StatusSolicitacao, Duration> sla : slas.entrySet()) {
+            StatusSolicitacao status = sla.getKey();
+
+            // Retentativas vencidas; as novas tentativas vencem no futuro
+            while (lotes < maxLotesPorExecucao) {
+                List<TentativaReconciliacao> vencidas = tentativaRepository.findVencidas(
+                    status, agora, PageRequest.of(0, tamanhoLote));
+                if (vencidas.isEmpty()) {
+                    break;
+                }
+
+                Map<UUID, Integer> numeros = new LinkedHashMap<>();
+                vencidas.forEach(tentativa -> numeros.put(tentativa.getSolicitacaoId(), tentativa.getNumero() + 1));
+                Lote lote = republicar(status, sla.getValue(), numeros, agora, null);
+                total += lote.republicadas();
+                lotes++;
+                if (lote.falhou()) {
+                    return total;
+                }
+                if (vencidas.size() < tamanhoLote) {
+                    break;
+                }
+            }
+
+            // Novas paradas, a partir da posição salva
+            LocalDateTime limite = agora.minus(sla.getValue());
+            CheckpointReconciliacao checkpoint = checkpointRepository.findById(status)
+                .orElseGet(() -> new CheckpointReconciliacao(status, limite.minus(janelaInicial)));
+            AtomicLong defasagem = defasagemSegundos.get(status);
+
+            while (lotes < maxLotesPorExecucao) {
+                List<ChaveHistorico> chaves = repository.findParadasApos(status, limite, checkpoint.getTimestamp(),
+                    checkpoint.getHistoricoId(), PageRequest.of(0, tamanhoLote));
+                boolean ultimaPagina = chaves.size() < tamanhoLote;
+                if (!ultimaPagina) {
+                    ChaveHistorico ultima = chaves.get(chaves.size() - 1);
+                    checkpoint.avancar(ultima.getTimestamp(), ultima.getHistoricoId());
+                } else if (limite.isAfter(checkpoint.getTimestamp())) {
+                    // Nada mais antes do limite: registros no próprio limite ficam para a próxima execução
+                    checkpoint.avancar(limite, 0L);
+                }
+
+                Map<UUID, Integer> numeros = new LinkedHashMap<>();
+                chaves.forEach(chave -> numeros.put(chave.getSolicitacaoId(), 1));
+                Lote lote = republicar(status, sla.getValue(), numeros, agora, checkpoint);
+                total += lote.republicadas();
+                lotes++;
+                checkpoint = lote.checkpoint();
+                defasagem.set(Math.max(0, Duration.between(checkpoint.getTimestamp(), limite).toSeconds()));
+                if (lote.falhou()) {
+                    return total;
+                }
+                if (ultimaPagina) {
+                    break;
+                }
+            }
+        }
+
+        if (total > 0) {
+            logger.info("Reconciliação concluída: {} eventos republicados em {} lotes", total, lotes);
+        }
+        return total;
+    }
+
+    /**
+     * Resultado de um lote: eventos republicados, se a publicação falhou e
+     * a posição gravada.
+     */
+    private record Lote(int republicadas, boolean falhou, CheckpointReconciliacao checkpoint) {
+    }
+
+    /**
+     * Republica os eventos das solicitações que continuam no status e
+     * registra as tentativas, encerrando as anteriores, junto com a nova
+     * posição da varredura, se houver.
+     *
+     * @param numeros número da tentativa por ID de solicitação
+     */
+    private Lote republicar(StatusSolicitacao status, Duration sla, Map<UUID, Integer> numeros,
+                            LocalDateTime agora, CheckpointReconciliacao checkpoint) {
+        List<SolicitacaoApolice> paradas = numeros.isEmpty() ? List.of()
+            : repository.findAllById(numeros.keySet()).stream()
+                .filter(solicitacao -> solicitacao.getStatus() == status)
+                .toList();
+        List<SolicitacaoEvent> eventos = paradas.stream().map(this::criarEvento).toList();
+
+        String erro = null;
+        if (!eventos.isEmpty()) {
+            aguardarTokens(eventos.size());
+            try {
+                eventProducer.publicarEventos(eventos);
+            } catch (RuntimeException e) {
+                logger.warn("Falha ao republicar {} eventos de solicitações em {}: {}",
+                           eventos.size(), status, e.getMessage());
+                erro = e.getMessage();
+                falhasCounter.increment(eventos.size());
+            }
+        }
+
+        List<TentativaReconciliacao> tentativas = new ArrayList<>(paradas.size());
+        for (int i = 0; i < paradas.size(); i++) {
+            SolicitacaoApolice solicitacao = paradas.get(i);
+            int numero = numeros.get(solicitacao.getId());
+            LocalDateTime proxima = null;
+            if (numero < maxTentativas) {
+                proxima = agora.plus(sla.multipliedBy(1L << Math.min(numero - 1, 16)));
+            } else {
+                logger.warn("Solicitação {} parada em {} após {} tentativas de reconciliação",
+                           solicitacao.getId(), status, numero);
+                esgotadasCounter.increment();
+            }
+            tentativas.add(new TentativaReconciliacao(solicitacao.getId(), status, eventos.get(i).getEventType(),
+                                                      numero, agora, erro, proxima));
+        }
+
+        CheckpointReconciliacao gravado = transactionTemplate.execute(tx -> {
+            // Encerra também as de solicitações que deixaram de estar paradas
+            if (!numeros.isEmpty()) {
+                tentativaRepository.encerrarAbertas(numeros.keySet());
+            }
+            tentativaRepository.saveAll(tentativas);
+            return checkpoint == null ? null : checkpointRepository.save(checkpoint);
+        });
+
+        if (erro == null) {
+            republicadasCounter.get(status).increment(eventos.size());
+        }
+        return new Lote(erro == null ? eventos.size() : 0, erro != null, gravado);
+    }
+
+    /**
+     * Recria o evento que leva a solicitação adiante a partir do status.
+     * A classificação de risco não é gravada, então o evento de validação
+     * republicado segue sem ela.
+     */
+    private SolicitacaoEvent criarEvento(SolicitacaoApolice solicitacao) {
+        return switch (solicitacao.getStatus()) {
+            case RECEBIDO -> new SolicitacaoRecebidaEvent(solicitacao.getId(), solicitacao.getCustomerId(),
+                solicitacao.getProductId(), solicitacao.getCategory(), solicitacao.getInsuredAmount(),
+                solicitacao.getSalesChannel());
+            case VALIDADO -> new SolicitacaoValidadaEvent(solicitacao.getId(), solicitacao.getCustomerId(),
+                solicitacao.getProductId(), solicitacao.getCategory(), solicitacao.getInsuredAmount(), null);
+            default -> throw new IllegalStateException("Sem evento a republicar para o status " + solicitacao.getStatus());
+        };
+    }
+
+    /**
+     * Consome um token por evento do balde da reconciliação, aguardando
+     * quando ele estiver vazio.
+     */
+    private void aguardarTokens(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            long espera;
+            while ((espera = tokenBucketStore.tentarConsumir(CHAVE_BALDE, taxa)) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(espera);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
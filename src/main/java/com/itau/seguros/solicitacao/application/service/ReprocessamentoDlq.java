@@ -0,0 +1,198 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.infrastructure.messaging.FiltroDlq;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado e progresso de um reprocessamento de DLQ.
+ *
+ * Atualizado pelo thread do reprocessamento e lido pela API; a pausa e
+ * o cancelamento são pedidos pela API e atendidos antes da próxima
+ * mensagem.
+ */
+public class ReprocessamentoDlq {
+
+    /**
+     * Situação do reprocessamento.
+     */
+    public enum Situacao {
+        EM_ANDAMENTO, PAUSADO, CONCLUIDO, CANCELADO, FALHOU;
+
+        public boolean isFinal() {
+            return this == CONCLUIDO || this == CANCELADO || this == FALHOU;
+        }
+    }
+
+    private final UUID id;
+    private final String fila;
+    private final FiltroDlq filtro;
+    private final long total;
+    private final Long maximo;
+    private final LocalDateTime iniciadoEm = LocalDateTime.now();
+
+    private final AtomicLong lidas = new AtomicLong();
+    private final AtomicLong republicadas = new AtomicLong();
+    private final AtomicLong duplicadas = new AtomicLong();
+    private final AtomicLong jaProcessadas = new AtomicLong();
+    private final AtomicLong mantidas = new AtomicLong();
+
+    private volatile Situacao situacao = Situacao.EM_ANDAMENTO;
+    private volatile LocalDateTime finalizadoEm;
+    private volatile String erro;
+
+    /**
+     * @param id ID do reprocessamento
+     * @param fila fila consumida cuja DLQ é reprocessada
+     * @param filtro mensagens a republicar; as demais ficam na DLQ
+     * @param total mensagens na DLQ no início, que limitam a leitura
+     * @param maximo máximo de mensagens a republicar, ou null
+     */
+    public ReprocessamentoDlq(UUID id, String fila, FiltroDlq filtro, long total, Long maximo) {
+        this.id = id;
+        this.fila = fila;
+        this.filtro = filtro;
+        this.total = total;
+        this.maximo = maximo;
+    }
+
+    /**
+     * Bloqueia enquanto estiver pausado.
+     *
+     * @return false se foi cancelado
+     */
+    synchronized boolean aguardarRetomada() throws InterruptedException {
+        while (situacao == Situacao.PAUSADO) {
+            wait();
+        }
+        return situacao == Situacao.EM_ANDAMENTO;
+    }
+
+    synchronized void pausar() {
+        exigir(Situacao.EM_ANDAMENTO);
+        situacao = Situacao.PAUSADO;
+    }
+
+    synchronized void retomar() {
+        exigir(Situacao.PAUSADO);
+        situacao = Situacao.EM_ANDAMENTO;
+        notifyAll();
+    }
+
+    synchronized void cancelar() {
+        if (situacao.isFinal()) {
+            throw new IllegalStateException("Reprocessamento já finalizado: " + situacao);
+        }
+        finalizar(Situacao.CANCELADO, null);
+    }
+
+    synchronized void concluir() {
+        if (!situacao.isFinal()) {
+            finalizar(Situacao.CONCLUIDO, null);
+        }
+    }
+
+    synchronized void falhar(String mensagem) {
+        finalizar(Situacao.FALHOU, mensagem);
+    }
+
+    private void finalizar(Situacao situacaoFinal, String mensagem) {
+        situacao = situacaoFinal;
+        erro = mensagem;
+        finalizadoEm = LocalDateTime.now();
+        notifyAll();
+    }
+
+    private void exigir(Situacao esperada) {
+        if (situacao != esperada) {
+            throw new IllegalStateException("Reprocessamento está " + situacao);
+        }
+    }
+
+    /**
+     * @return true se a leitura deve parar: DLQ inicial percorrida ou
+     *         máximo de republicações atingido
+     */
+    boolean isEsgotado() {
+        return lidas.get() >= total || (maximo != null && republicadas.get() >= maximo);
+    }
+
+    void registrarLida() {
+        lidas.incrementAndGet();
+    }
+
+    void registrarRepublicada() {
+        republicadas.incrementAndGet();
+    }
+
+    void registrarDuplicada() {
+        duplicadas.incrementAndGet();
+    }
+
+    void registrarJaProcessada() {
+        jaProcessadas.incrementAndGet();
+    }
+
+    void registrarMantida() {
+        mantidas.incrementAndGet();
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public String getFila() {
+        return fila;
+    }
+
+    public FiltroDlq getFiltro() {
+        return filtro;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Long getMaximo() {
+        return maximo;
+    }
+
+    public LocalDateTime getIniciadoEm() {
+        return iniciadoEm;
+    }
+
+    public LocalDateTime getFinalizadoEm() {
+        return finalizadoEm;
+    }
+
+    public Situacao getSituacao() {
+        return situacao;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public long getLidas() {
+        return lidas.get();
+    }
+
+    public long getRepublicadas() {
+        return republicadas.get();
+    }
+
+    public long getDuplicadas() {
+        return duplicadas.get();
+    }
+
+    public long getJaProcessadas() {
+        return jaProcessadas.get();
+    }
+
+    public long getMantidas() {
+        return mantidas.get();
+    }
+}
@@ -0,0 +1,248 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.infrastructure.messaging.FiltroDlq;
+import com.itau.seguros.solicitacao.infrastructure.messaging.GerenciadorDlq;
+import com.itau.seguros.solicitacao.infrastructure.messaging.GerenciadorDlq.Destino;
+import com.itau.seguros.solicitacao.infrastructure.messaging.MensagemDlq;
+import com.itau.seguros.solicitacao.infrastructure.ratelimit.LimiteTaxa;
+import com.itau.seguros.solicitacao.infrastructure.ratelimit.TokenBucketStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serviço de inspeção e reprocessamento das DLQs.
+ *
+ * O reprocessamento roda em segundo plano, um por fila, e republica as
+ * mensagens da DLQ na fila de origem consumindo tokens de um balde por
+ * fila, para não sobrecarregar a API de Fraudes e o banco ao fim de uma
+ * indisponibilidade. Percorre apenas as mensagens que estavam na DLQ no
+ * início; as que não atendem ao filtro voltam ao fim da DLQ.
+ *
+ * Mensagens já processadas não são republicadas: a mesma solicitação e
+ * o mesmo evento repetidos no reprocessamento são descartados, assim como
+ * os eventos de solicitações que já saíram do status em que o consumidor
+ * da fila age (RECEBIDO para as filas de validação, VALIDADO para o pagamento e
+ * PENDENTE para a subscrição) ou que não existem mais.
+ *
+ * O estado dos reprocessamentos fica em memória, na instância que os
+ * executa.
+ */
+@Service
+public class ReprocessamentoDlqService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReprocessamentoDlqService.class);
+
+    private final GerenciadorDlq gerenciadorDlq;
+    private final StatusSolicitacaoService statusService;
+    private final TokenBucketStore tokenBucketStore;
+    private final MeterRegistry registry;
+    private final LimiteTaxa taxa;
+
+    private final Map<String, StatusSolicitacao> statusConsumido = new HashMap<>();
+    private final Map<UUID, ReprocessamentoDlq> reprocessamentos = new ConcurrentHashMap<>();
+
+    public ReprocessamentoDlqService(GerenciadorDlq gerenciadorDlq,
+                                     StatusSolicitacaoService statusService,
+                                     TokenBucketStore tokenBucketStore,
+                                     MeterRegistry registry,
+                                     @Value("${app.rabbitmq.queues.solicitacao-recebida}") String solicitacaoRecebidaQueue,
+                                     @Value("${app.rabbitmq.queues.solicitacao-recebida-alta}") String solicitacaoRecebidaAltaQueue,
+                                     @Value("${app.rabbitmq.queues.solicitacao-recebida-baixa}") String solicitacaoRecebidaBaixaQueue,
+                                     @Value("${app.rabbitmq.queues.pagamento-confirmado}") String pagamentoConfirmadoQueue,
+                                     @Value("${app.rabbitmq.queues.subscricao-autorizada}") String subscricaoAutorizadaQueue,
+                                     @Value("${app.rabbitmq.dlq.reprocessamento.taxa:20/20}") String taxa) {
+        this.gerenciadorDlq = gerenciadorDlq;
+        this.statusService = statusService;
+        this.tokenBucketStore = tokenBucketStore;
+        this.registry = registry;
+        this.taxa = LimiteTaxa.parse(taxa);
+
+        statusConsumido.put(solicitacaoRecebidaQueue, StatusSolicitacao.RECEBIDO);
+        statusConsumido.put(solicitacaoRecebidaAltaQueue, StatusSolicitacao.RECEBIDO);
+        statusConsumido.put(solicitacaoRecebidaBaixaQueue, StatusSolicitacao.RECEBIDO);
+        statusConsumido.put(pagamentoConfirmadoQueue, StatusSolicitacao.VALIDADO);
+        statusConsumido.put(subscricaoAutorizadaQueue, StatusSolicitacao.PENDENTE);
+    }
+
+    /**
+     * Lista uma página das mensagens da DLQ de uma fila, sem removê-las.
+     *
+     * @param fila fila consumida
+     * @param pagina página, a partir de zero
+     * @param tamanho mensagens por página
+     * @param filtro filtro por tipo de evento e solicitação
+     * @return mensagens da página
+     * @throws IllegalArgumentException se a fila for desconhecida
+     */
+    public List<MensagemDlq> listarMensagens(String fila, int pagina, int tamanho, FiltroDlq filtro) {
+        return gerenciadorDlq.listar(fila, pagina, tamanho, filtro);
+    }
+
+    /**
+     * Quantidade de mensagens na DLQ de uma fila.
+     *
+     * @throws IllegalArgumentException se a fila for desconhecida
+     */
+    public long contarMensagens(String fila) {
+        return gerenciadorDlq.contar(fila);
+    }
+
+    /**
+     * Inicia o reprocessamento da DLQ de uma fila em segundo plano.
+     *
+     * @param fila fila consumida
+     * @param filtro mensagens a republicar
+     * @param maximo máximo de mensagens a republicar, ou null
+     * @return reprocessamento iniciado
+     * @throws IllegalArgumentException se a fila for desconhecida
+     * @throws IllegalStateException se já houver um reprocessamento da fila em andamento
+     */
+    public synchronized ReprocessamentoDlq iniciar(String fila, FiltroDlq filtro, Long maximo) {
+        gerenciadorDlq.validarFila(fila);
+        boolean emAndamento = reprocessamentos.values().stream()
+            .anyMatch(existente -> existente.getFila().equals(fila) && !existente.getSituacao().isFinal());
+        if (emAndamento) {
+            throw new IllegalStateException("Já existe um reprocessamento em andamento para a fila " + fila);
+        }
+
+        ReprocessamentoDlq reprocessamento = new ReprocessamentoDlq(
+            UUID.randomUUID(), fila, filtro, gerenciadorDlq.contar(fila), maximo);
+        reprocessamentos.put(reprocessamento.getId(), reprocessamento);
+
+        Thread executor = new Thread(() -> executar(reprocessamento), "reprocessamento-dlq-" + fila);
+        executor.setDaemon(true);
+        executor.start();
+
+        logger.info("Reprocessamento {} da DLQ da fila {} iniciado com {} mensagens",
+                   reprocessamento.getId(), fila, reprocessamento.getTotal());
+        return reprocessamento;
+    }
+
+    public Optional<ReprocessamentoDlq> buscar(UUID id) {
+        return Optional.ofNullable(reprocessamentos.get(id));
+    }
+
+    /**
+     * @return reprocessamentos desta instância, do mais recente ao mais antigo
+     */
+    public List<ReprocessamentoDlq> listar() {
+        return reprocessamentos.values().stream()
+            .sorted(Comparator.comparing(ReprocessamentoDlq::getIniciadoEm).reversed())
+            .toList();
+    }
+
+    /**
+     * @throws IllegalStateException se não estiver em andamento
+     */
+    public Optional<ReprocessamentoDlq> pausar(UUID id) {
+        return buscar(id).map(reprocessamento -> {
+            reprocessamento.pausar();
+            return reprocessamento;
+        });
+    }
+
+    /**
+     * @throws IllegalStateException se não estiver pausado
+     */
+    public Optional<ReprocessamentoDlq> retomar(UUID id) {
+        return buscar(id).map(reprocessamento -> {
+            reprocessamento.retomar();
+            return reprocessamento;
+        });
+    }
+
+    /**
+     * @throws IllegalStateException se já estiver finalizado
+     */
+    public Optional<ReprocessamentoDlq> cancelar(UUID id) {
+        return buscar(id).map(reprocessamento -> {
+            reprocessamento.cancelar();
+            return reprocessamento;
+        });
+    }
+
+    private void executar(ReprocessamentoDlq reprocessamento) {
+        String fila = reprocessamento.getFila();
+        String chaveBalde = "reprocessamento-dlq:" + fila;
+        Set<String> vistas = new HashSet<>();
+
+        try {
+            while (!reprocessamento.isEsgotado() && reprocessamento.aguardarRetomada()) {
+                aguardarToken(chaveBalde);
+                Optional<Destino> destino = gerenciadorDlq.encaminharProxima(fila,
+                    mensagem -> decidir(reprocessamento, mensagem, vistas));
+                if (destino.isEmpty()) {
+                    break;
+                }
+                Counter.builder("mensageria.dlq.reprocessadas")
+                    .tag("fila", fila)
+                    .tag("destino", destino.get().name().toLowerCase())
+                    .description("Mensagens lidas pelos reprocessamentos de DLQ, por destino")
+                    .register(registry)
+                    .increment();
+            }
+            reprocessamento.concluir();
+            logger.info("Reprocessamento {} da fila {} finalizado: {} lidas, {} republicadas, {} duplicadas, "
+                      + "{} já processadas", reprocessamento.getId(), fila, reprocessamento.getLidas(),
+                       reprocessamento.getRepublicadas(), reprocessamento.getDuplicadas(),
+                       reprocessamento.getJaProcessadas());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reprocessamento.falhar("Interrompido");
+        } catch (RuntimeException e) {
+            logger.error("Falha no reprocessamento {} da fila {}: {}", reprocessamento.getId(), fila, e.getMessage(), e);
+            reprocessamento.falhar(e.getMessage());
+        }
+    }
+
+    private Destino decidir(ReprocessamentoDlq reprocessamento, MensagemDlq mensagem, Set<String> vistas) {
+        reprocessamento.registrarLida();
+
+        if (!reprocessamento.getFiltro().aceita(mensagem)) {
+            reprocessamento.registrarMantida();
+            return Destino.MANTER;
+        }
+
+        UUID solicitacaoId = mensagem.solicitacaoId();
+        if (solicitacaoId != null) {
+            if (!vistas.add(mensagem.tipoEvento() + ":" + solicitacaoId)) {
+                reprocessamento.registrarDuplicada();
+                return Destino.DESCARTAR;
+            }
+            StatusSolicitacao esperado = statusConsumido.get(reprocessamento.getFila());
+            if (esperado != null && statusService.buscarStatus(solicitacaoId).filter(esperado::equals).isEmpty()) {
+                reprocessamento.registrarJaProcessada();
+                return Destino.DESCARTAR;
+            }
+        }
+
+        reprocessamento.registrarRepublicada();
+        return Destino.REPUBLICAR;
+    }
+
+    /**
+     * Consome um token do balde da fila, aguardando quando ele estiver vazio.
+     */
+    private void aguardarToken(String chave) throws InterruptedException {
+        long espera;
+        while ((espera = tokenBucketStore.tentarConsumir(chave, taxa)) > 0) {
+            TimeUnit.NANOSECONDS.sleep(espera);
+        }
+    }
+}
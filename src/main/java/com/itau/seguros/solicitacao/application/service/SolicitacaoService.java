@@ -3,22 +3,33 @@ package com.itau.seguros.solicitacao.application.service;
 import com.itau.seguros.solicitacao.api.dto.FraudeResponseDTO;
 import com.itau.seguros.solicitacao.api.dto.SolicitacaoRequestDTO;
 import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResumoDTO;
 import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
 import com.itau.seguros.solicitacao.domain.event.SolicitacaoRejeitadaEvent;
 import com.itau.seguros.solicitacao.domain.event.SolicitacaoValidadaEvent;
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.HistoricoStatus;
 import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
 import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
 import com.itau.seguros.solicitacao.domain.rule.RegraValidacaoCliente;
+import com.itau.seguros.solicitacao.infrastructure.archive.ArquivoSolicitacoes;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusSnapshotIndex.EstadoStatus;
 import com.itau.seguros.solicitacao.infrastructure.external.ApiFraudesClient;
 import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventProducer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -38,15 +49,27 @@ public class SolicitacaoService {
     private final ApiFraudesClient apiFraudesClient;
     private final RegraValidacaoCliente regraValidacao;
     private final SolicitacaoEventProducer eventProducer;
+    private final ArquivoSolicitacoes arquivo;
+    private final StatusEventStore statusEventStore;
+    private final StatusSolicitacaoService statusService;
+    private final ApplicationEventPublisher eventPublisher;
     
     public SolicitacaoService(SolicitacaoRepository repository,
                              ApiFraudesClient apiFraudesClient,
                              RegraValidacaoCliente regraValidacao,
-                             SolicitacaoEventProducer eventProducer) {
+                             SolicitacaoEventProducer eventProducer,
+                             ArquivoSolicitacoes arquivo,
+                             StatusEventStore statusEventStore,
+                             StatusSolicitacaoService statusService,
+                             ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.apiFraudesClient = apiFraudesClient;
         this.regraValidacao = regraValidacao;
         this.eventProducer = eventProducer;
+        this.arquivo = arquivo;
+        this.statusEventStore = statusEventStore;
+        this.statusService = statusService;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -65,13 +88,7 @@ public class SolicitacaoService {
             logger.info("Criando nova solicitação para cliente {}", request.customerId());
             
             // Validações de negócio
-            if (!request.isCoberturaValida()) {
-                throw new IllegalArgumentException("Soma das coberturas não pode exceder o capital segurado");
-            }
-            
-            if (!request.isValoresCoberturaValidos()) {
-                throw new IllegalArgumentException("Todos os valores de cobertura devem ser positivos");
-            }
+            validarCriacao(request);
             
             // Cria a entidade
             SolicitacaoApolice solicitacao = new SolicitacaoApolice(
@@ -89,6 +106,11 @@ public class SolicitacaoService {
             // Persiste
             solicitacao = repository.save(solicitacao);
             
+            if (statusEventStore.isAtivo()) {
+                HistoricoStatus inicial = solicitacao.getHistory().get(0);
+                statusEventStore.registrarCriacao(solicitacao.getId(), inicial.getTimestamp(), inicial.getObservacao());
+            }
+            
             logger.info("Solicitação {} criada com sucesso", solicitacao.getId());
             
             // Publica evento para processamento assíncrono
@@ -97,7 +119,8 @@ public class SolicitacaoService {
                 solicitacao.getCustomerId(),
                 solicitacao.getProductId(),
                 solicitacao.getCategory(),
-                solicitacao.getInsuredAmount()
+                solicitacao.getInsuredAmount(),
+                solicitacao.getSalesChannel()
             );
             
             eventProducer.publicarEvento(event);
@@ -110,7 +133,34 @@ public class SolicitacaoService {
     }
     
     /**
-     * Busca uma solicitação por ID.
+     * Aplica as validações de negócio da criação que não são cobertas
+     * pelas anotações do DTO.
+     * 
+     * @param request dados da solicitação
+     * @throws IllegalArgumentException se a solicitação for inválida
+     */
+    public static void validarCriacao(SolicitacaoRequestDTO request) {
+        if (request.coverages() == null || request.coverages().isEmpty()) {
+            throw new IllegalArgumentException("Soma das coberturas não pode exceder o capital segurado");
+        }
+        
+        // Uma única passada pelas coberturas: valores positivos e soma em centavos
+        long somaCentavos = 0;
+        for (Dinheiro valor : request.coverages().values()) {
+            if (valor == null || !valor.isPositivo()) {
+                throw new IllegalArgumentException("Todos os valores de cobertura devem ser positivos");
+            }
+            somaCentavos = Math.addExact(somaCentavos, valor.getCentavos());
+        }
+        
+        if (somaCentavos > request.insuredAmount().getCentavos()) {
+            throw new IllegalArgumentException("Soma das coberturas não pode exceder o capital segurado");
+        }
+    }
+    
+    /**
+     * Busca uma solicitação por ID, recorrendo ao arquivo quando a
+     * solicitação já foi finalizada e arquivada.
      * 
      * @param id ID da solicitação
      * @return solicitação encontrada
@@ -120,7 +170,9 @@ public class SolicitacaoService {
         logger.info("Buscando solicitação por ID: {}", id);
         
         return repository.findByIdWithHistory(id)
-            .map(this::mapearParaResponseDTO);
+            .map(SolicitacaoService::mapearParaResponseDTO)
+            .map(this::aplicarEstadoAtual)
+            .or(() -> arquivo.buscarPorId(id));
     }
     
     /**
@@ -134,7 +186,44 @@ public class SolicitacaoService {
         logger.info("Buscando solicitações do cliente: {}", customerId);
         
         return repository.findByCustomerIdWithHistory(customerId).stream()
-            .map(this::mapearParaResponseDTO)
+            .map(SolicitacaoService::mapearParaResponseDTO)
+            .map(this::aplicarEstadoAtual)
+            .toList();
+    }
+    
+    /**
+     * Lista o resumo das solicitações de um cliente, das mais recentes
+     * para as mais antigas, sem carregar coberturas e histórico.
+     * 
+     * @param customerId ID do cliente
+     * @return resumos das solicitações do cliente
+     */
+    @Transactional(readOnly = true)
+    public List<SolicitacaoResumoDTO> listarResumoPorCustomerId(UUID customerId) {
+        logger.info("Listando resumo das solicitações do cliente: {}", customerId);
+        
+        return repository.findResumoByCustomerIdOrderByCreatedAtDesc(customerId).stream()
+            .map(resumo -> {
+                StatusSolicitacao status = resumo.getStatus();
+                LocalDateTime finishedAt = resumo.getFinishedAt();
+                if (statusEventStore.isAtivo()) {
+                    Optional<EstadoStatus> estado = statusEventStore.buscar(resumo.getId());
+                    if (estado.isPresent()) {
+                        status = estado.get().status();
+                        finishedAt = estado.get().finishedAt();
+                    }
+                }
+                
+                return new SolicitacaoResumoDTO(
+                    resumo.getId(),
+                    resumo.getCustomerId(),
+                    resumo.getProductId(),
+                    resumo.getCategory(),
+                    status,
+                    resumo.getCreatedAt(),
+                    finishedAt
+                );
+            })
             .toList();
     }
     
@@ -147,6 +236,10 @@ public class SolicitacaoService {
     public Optional<SolicitacaoResponseDTO> cancelarSolicitacao(UUID id) {
         logger.info("Cancelando solicitação: {}", id);
         
+        if (statusEventStore.isAtivo()) {
+            return cancelarViaEventStore(id);
+        }
+        
         return repository.findById(id)
             .map(solicitacao -> {
                 if (!solicitacao.podeCancelar()) {
@@ -182,78 +275,241 @@ public class SolicitacaoService {
             }
             
             SolicitacaoApolice solicitacao = optionalSolicitacao.get();
+            validar(solicitacao.getId(), solicitacao.getCustomerId(), solicitacao.getProductId(),
+                    solicitacao.getCategory(), solicitacao.getInsuredAmount(),
+                    (novoStatus, observacao) -> {
+                        statusService.alterarStatus(solicitacao, novoStatus, observacao);
+                        return true;
+                    });
+            
+        } catch (Exception e) {
+            logger.error("Erro ao processar validação da solicitação {}", solicitacaoId, e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+    
+    /**
+     * Processa a validação a partir dos dados carregados no evento, sem ler
+     * a solicitação do banco: a consulta à API de Fraudes e as regras usam
+     * cliente, categoria e capital segurado do próprio evento, e o banco só
+     * recebe a alteração condicional de status (se ainda RECEBIDO) e o
+     * registro no histórico.
+     * 
+     * Eventos sem esses dados, publicados por versões anteriores, seguem
+     * pela validação que lê a solicitação.
+     * 
+     * @param event evento de solicitação recebida
+     */
+    public void processarValidacao(SolicitacaoRecebidaEvent event) {
+        UUID solicitacaoId = event.getSolicitacaoId();
+        if (event.getCustomerId() == null || event.getCategory() == null || event.getInsuredAmount() == null) {
+            processarValidacao(solicitacaoId);
+            return;
+        }
+        
+        String transactionId = UUID.randomUUID().toString();
+        MDC.put("transactionId", transactionId);
+        MDC.put("solicitacaoId", solicitacaoId.toString());
+        
+        try {
+            logger.info("Processando validação da solicitação {} a partir do evento", solicitacaoId);
+            
+            validar(solicitacaoId, event.getCustomerId(), event.getProductId(),
+                    event.getCategory(), event.getInsuredAmount(),
+                    (novoStatus, observacao) -> alterarStatusSeRecebida(solicitacaoId, novoStatus, observacao));
+            
+        } catch (Exception e) {
+            logger.error("Erro ao processar validação da solicitação {}", solicitacaoId, e);
+            throw e;
+        } finally {
+            MDC.clear();
+        }
+    }
+    
+    /**
+     * Transição de status aplicada ao fim da validação.
+     */
+    @FunctionalInterface
+    private interface TransicaoValidacao {
+        
+        /**
+         * @return false se a solicitação não estava mais apta à transição
+         */
+        boolean aplicar(StatusSolicitacao novoStatus, String observacao);
+    }
+    
+    /**
+     * Consulta a API de Fraudes, aplica as regras de capital segurado e
+     * publica o evento de validação ou de rejeição.
+     */
+    private void validar(UUID solicitacaoId, UUID customerId, String productId, CategoriaSeguro category,
+                         Dinheiro insuredAmount, TransicaoValidacao transicao) {
+        // Consulta API de Fraudes
+        FraudeResponseDTO fraudeResponse = apiFraudesClient.consultarClassificacaoRisco(solicitacaoId, customerId);
+        
+        logger.info("Cliente {} classificado como {}", customerId, fraudeResponse.classification());
+        
+        // Aplica regras de validação
+        boolean aprovado = regraValidacao.validarCapitalSegurado(
+            fraudeResponse.classification(),
+            category,
+            insuredAmount
+        );
+        
+        if (aprovado) {
+            if (!transicao.aplicar(StatusSolicitacao.VALIDADO, "Validação aprovada pela API de Fraudes")) {
+                logger.warn("Solicitação {} não encontrada ou já validada; evento ignorado", solicitacaoId);
+                return;
+            }
             
-            // Consulta API de Fraudes
-            FraudeResponseDTO fraudeResponse = apiFraudesClient.consultarClassificacaoRisco(
-                solicitacaoId, solicitacao.getCustomerId()
+            // Publica evento de validação
+            SolicitacaoValidadaEvent event = new SolicitacaoValidadaEvent(
+                solicitacaoId,
+                customerId,
+                productId,
+                category,
+                insuredAmount,
+                fraudeResponse.classification()
             );
+            eventProducer.publicarEvento(event);
             
-            logger.info("Cliente {} classificado como {}", solicitacao.getCustomerId(), fraudeResponse.classification());
+            logger.info("Solicitação {} validada com sucesso", solicitacaoId);
             
-            // Aplica regras de validação
-            boolean aprovado = regraValidacao.validarCapitalSegurado(
+        } else {
+            String motivoRejeicao = regraValidacao.obterMensagemRejeicao(
                 fraudeResponse.classification(),
-                solicitacao.getCategory(),
-                solicitacao.getInsuredAmount()
+                category,
+                insuredAmount
             );
             
-            if (aprovado) {
-                solicitacao.alterarStatus(StatusSolicitacao.VALIDADO, "Validação aprovada pela API de Fraudes");
-                repository.save(solicitacao);
-                
-                // Publica evento de validação
-                SolicitacaoValidadaEvent event = new SolicitacaoValidadaEvent(
-                    solicitacao.getId(),
-                    solicitacao.getCustomerId(),
-                    solicitacao.getProductId(),
-                    solicitacao.getCategory(),
-                    solicitacao.getInsuredAmount(),
-                    fraudeResponse.classification()
-                );
-                eventProducer.publicarEvento(event);
-                
-                logger.info("Solicitação {} validada com sucesso", solicitacaoId);
-                
-            } else {
-                String motivoRejeicao = regraValidacao.obterMensagemRejeicao(
-                    fraudeResponse.classification(),
-                    solicitacao.getCategory(),
-                    solicitacao.getInsuredAmount()
-                );
-                
-                solicitacao.alterarStatus(StatusSolicitacao.REJEITADA, motivoRejeicao);
-                repository.save(solicitacao);
-                
-                // Publica evento de rejeição
-                SolicitacaoRejeitadaEvent event = new SolicitacaoRejeitadaEvent(
-                    solicitacao.getId(),
-                    solicitacao.getCustomerId(),
-                    solicitacao.getProductId(),
-                    solicitacao.getCategory(),
-                    solicitacao.getInsuredAmount(),
-                    fraudeResponse.classification(),
-                    motivoRejeicao
-                );
-                eventProducer.publicarEvento(event);
-                
-                logger.info("Solicitação {} rejeitada: {}", solicitacaoId, motivoRejeicao);
+            if (!transicao.aplicar(StatusSolicitacao.REJEITADA, motivoRejeicao)) {
+                logger.warn("Solicitação {} não encontrada ou já validada; evento ignorado", solicitacaoId);
+                return;
             }
             
-        } catch (Exception e) {
-            logger.error("Erro ao processar validação da solicitação {}", solicitacaoId, e);
-            throw e;
-        } finally {
-            MDC.clear();
+            // Publica evento de rejeição
+            SolicitacaoRejeitadaEvent event = new SolicitacaoRejeitadaEvent(
+                solicitacaoId,
+                customerId,
+                productId,
+                category,
+                insuredAmount,
+                fraudeResponse.classification(),
+                motivoRejeicao
+            );
+            eventProducer.publicarEvento(event);
+            
+            logger.info("Solicitação {} rejeitada: {}", solicitacaoId, motivoRejeicao);
         }
     }
     
+    /**
+     * Cancela uma solicitação registrando a transição no event store,
+     * sem carregar e regravar o agregado.
+     */
+    private Optional<SolicitacaoResponseDTO> cancelarViaEventStore(UUID id) {
+        return statusEventStore.buscar(id)
+            .flatMap(estado -> {
+                if (estado.status().isEstadoFinal()) {
+                    throw new IllegalStateException("Solicitação não pode ser cancelada no estado atual: " + estado.status());
+                }
+                
+                EstadoStatus cancelada = statusEventStore.transicionar(
+                    id, StatusSolicitacao.CANCELADA, "Cancelamento solicitado pelo cliente");
+                logger.info("Solicitação {} cancelada com sucesso", id);
+                
+                // O índice só recebe a transição após o commit
+                return repository.findById(id)
+                    .map(SolicitacaoService::mapearParaResponseDTO)
+                    .map(dto -> comEstado(dto, cancelada));
+            });
+    }
+    
+    /**
+     * Aplica uma transição a partir de RECEBIDO sem carregar o agregado:
+     * um UPDATE condicionado ao status atual e o INSERT do histórico, ou a
+     * comparação e troca no event store, quando habilitado. Entregas
+     * repetidas do mesmo evento, mesmo concorrentes, não encontram mais a
+     * solicitação em RECEBIDO.
+     * 
+     * @return false se a solicitação não existe ou já saiu de RECEBIDO
+     * @throws IllegalStateException se a transição não for permitida
+     * @throws NoSuchElementException se a solicitação ainda não estiver na
+     *         tabela, para que o evento seja tentado de novo
+     */
+    private boolean alterarStatusSeRecebida(UUID id, StatusSolicitacao novoStatus, String observacao) {
+        if (!StatusSolicitacao.RECEBIDO.podeTransicionarPara(novoStatus)) {
+            throw new IllegalStateException(
+                String.format("Transição de %s para %s não é permitida", StatusSolicitacao.RECEBIDO, novoStatus)
+            );
+        }
+        
+        if (statusEventStore.isAtivo()) {
+            return statusEventStore.transicionarSeAtual(id, StatusSolicitacao.RECEBIDO, novoStatus, observacao)
+                .isPresent();
+        }
+        
+        LocalDateTime agora = LocalDateTime.now();
+        int alteradas = repository.atualizarStatusSeAtual(id, StatusSolicitacao.RECEBIDO, novoStatus,
+                                                          novoStatus.isEstadoFinal() ? agora : null);
+        if (alteradas == 0) {
+            return false;
+        }
+        repository.inserirHistorico(id, novoStatus.name(), agora, observacao);
+        
+        // Mesmo evento que a entidade publicaria, para os assinantes de status
+        eventPublisher.publishEvent(new StatusAlteradoEvent(id, novoStatus, agora, observacao));
+        return true;
+    }
+    
+    /**
+     * Substitui status, data de finalização e histórico pelo estado do
+     * event store, que é a fonte da verdade quando habilitado.
+     */
+    private SolicitacaoResponseDTO aplicarEstadoAtual(SolicitacaoResponseDTO dto) {
+        if (!statusEventStore.isAtivo()) {
+            return dto;
+        }
+        
+        return statusEventStore.buscar(dto.id())
+            .map(estado -> comEstado(dto, estado))
+            .orElse(dto);
+    }
+    
+    /**
+     * Cópia do DTO com status, data de finalização e histórico do estado
+     * registrado no event store.
+     */
+    static SolicitacaoResponseDTO comEstado(SolicitacaoResponseDTO dto, EstadoStatus estado) {
+        return new SolicitacaoResponseDTO(
+            dto.id(),
+            dto.customerId(),
+            dto.productId(),
+            dto.category(),
+            dto.salesChannel(),
+            dto.paymentMethod(),
+            estado.status(),
+            dto.createdAt(),
+            estado.finishedAt(),
+            dto.totalMonthlyPremiumAmount(),
+            dto.insuredAmount(),
+            dto.coverages(),
+            dto.assistances(),
+            estado.historico().stream()
+                .map(h -> new SolicitacaoResponseDTO.HistoricoStatusDTO(h.status(), h.timestamp(), h.observacao()))
+                .toList()
+        );
+    }
+    
     /**
      * Mapeia uma entidade SolicitacaoApolice para DTO de resposta.
      * 
      * @param solicitacao entidade a ser mapeada
      * @return DTO de resposta
      */
-    private SolicitacaoResponseDTO mapearParaResponseDTO(SolicitacaoApolice solicitacao) {
+    static SolicitacaoResponseDTO mapearParaResponseDTO(SolicitacaoApolice solicitacao) {
         List<SolicitacaoResponseDTO.HistoricoStatusDTO> historicoDTO = solicitacao.getHistory().stream()
             .map(h -> new SolicitacaoResponseDTO.HistoricoStatusDTO(
                 h.getStatus(),
@@ -0,0 +1,85 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusSnapshotIndex.EstadoStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Leitura e transição do status das solicitações pelo event store, quando
+ * habilitado, ou pelo agregado JPA.
+ *
+ * Ponto único para os consumidores de eventos, o reprocessamento das DLQs
+ * e o serviço de solicitações escolherem entre os dois caminhos.
+ */
+@Service
+public class StatusSolicitacaoService {
+
+    private final SolicitacaoRepository repository;
+    private final StatusEventStore statusEventStore;
+
+    public StatusSolicitacaoService(SolicitacaoRepository repository, StatusEventStore statusEventStore) {
+        this.repository = repository;
+        this.statusEventStore = statusEventStore;
+    }
+
+    /**
+     * Status atual da solicitação.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @return status, se a solicitação existir
+     */
+    public Optional<StatusSolicitacao> buscarStatus(UUID solicitacaoId) {
+        if (statusEventStore.isAtivo()) {
+            return statusEventStore.buscar(solicitacaoId).map(EstadoStatus::status);
+        }
+        return repository.findById(solicitacaoId).map(SolicitacaoApolice::getStatus);
+    }
+
+    /**
+     * Aplica uma transição de status.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @param novoStatus novo status
+     * @param observacao observação sobre a mudança
+     * @throws IllegalStateException se a transição não for permitida
+     * @throws NoSuchElementException se a solicitação não existir
+     */
+    public void alterarStatus(UUID solicitacaoId, StatusSolicitacao novoStatus, String observacao) {
+        if (statusEventStore.isAtivo()) {
+            statusEventStore.transicionar(solicitacaoId, novoStatus, observacao);
+            return;
+        }
+
+        alterarNoAgregado(repository.findById(solicitacaoId).orElseThrow(), novoStatus, observacao);
+    }
+
+    /**
+     * Aplica uma transição de status a uma solicitação já carregada, sem
+     * lê-la de novo quando o event store está desabilitado.
+     *
+     * @param solicitacao solicitação
+     * @param novoStatus novo status
+     * @param observacao observação sobre a mudança
+     * @throws IllegalStateException se a transição não for permitida
+     */
+    public void alterarStatus(SolicitacaoApolice solicitacao, StatusSolicitacao novoStatus, String observacao) {
+        if (statusEventStore.isAtivo()) {
+            statusEventStore.transicionar(solicitacao.getId(), novoStatus, observacao);
+            return;
+        }
+
+        alterarNoAgregado(solicitacao, novoStatus, observacao);
+    }
+
+    private void alterarNoAgregado(SolicitacaoApolice solicitacao, StatusSolicitacao novoStatus, String observacao) {
+        solicitacao.alterarStatus(novoStatus, observacao);
+        repository.save(solicitacao);
+    }
+}
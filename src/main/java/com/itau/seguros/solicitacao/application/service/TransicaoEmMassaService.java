@@ -0,0 +1,215 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Serviço de transições de status em massa (cancelamento de uma linha de
+ * produto, expiração de solicitações paradas, aprovações em lote).
+ *
+ * Em vez de carregar cada agregado e validar a transição em Java, a tabela
+ * de transições de {@link StatusSolicitacao} é convertida nos status de
+ * origem permitidos para o destino, e cada lote vira três statements: a
+ * seleção com bloqueio das solicitações em um desses status, um
+ * {@code INSERT ... SELECT} do histórico e um {@code UPDATE ... WHERE
+ * status IN (...)}. Cada lote roda em sua própria transação, e os eventos
+ * de status do lote são publicados depois do commit.
+ *
+ * Não é suportado com o event store habilitado, em que cada transição
+ * precisa passar pelo log de status.
+ */
+@Service
+public class TransicaoEmMassaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransicaoEmMassaService.class);
+
+    private final SolicitacaoRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatusEventStore statusEventStore;
+    private final MeterRegistry registry;
+
+    private final int tamanhoLote;
+
+    public TransicaoEmMassaService(SolicitacaoRepository repository,
+                                   TransactionTemplate transactionTemplate,
+                                   ApplicationEventPublisher eventPublisher,
+                                   StatusEventStore statusEventStore,
+                                   MeterRegistry registry,
+                                   @Value("${app.transicao-em-massa.tamanho-lote:1000}") int tamanhoLote) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.statusEventStore = statusEventStore;
+        this.registry = registry;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * @return false com o event store habilitado, em que as transições em
+     *         massa são recusadas
+     */
+    public boolean isDisponivel() {
+        return !statusEventStore.isAtivo();
+    }
+
+    /**
+     * Transiciona todas as solicitações de um produto que podem ir para o
+     * status de destino; as demais são mantidas.
+     *
+     * @param productId ID do produto
+     * @param destino status de destino
+     * @param observacao observação registrada no histórico
+     * @return quantidade de solicitações transicionadas
+     */
+    public int transicionarPorProduto(String productId, StatusSolicitacao destino, String observacao) {
+        logger.info("Transicionando solicitações do produto {} para {}", productId, destino);
+
+        return executar(destino.getOrigensPermitidas(), destino, observacao, (lote, origens) -> {
+            List<UUID> ids = repository.findIdsParaTransicaoPorProduto(productId, origens,
+                                                                       PageRequest.of(0, tamanhoLote));
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Transiciona as solicitações em um status, criadas antes de uma data.
+     *
+     * @param origem status de origem
+     * @param limite data limite de criação (exclusiva)
+     * @param destino status de destino
+     * @param observacao observação registrada no histórico
+     * @return quantidade de solicitações transicionadas
+     * @throws IllegalStateException se a transição não for permitida
+     */
+    public int transicionarCriadasAntesDe(StatusSolicitacao origem, LocalDateTime limite,
+                                          StatusSolicitacao destino, String observacao) {
+        if (!origem.podeTransicionarPara(destino)) {
+            throw new IllegalStateException(
+                String.format("Transição de %s para %s não é permitida", origem, destino)
+            );
+        }
+        logger.info("Transicionando solicitações em {} criadas antes de {} para {}", origem, limite, destino);
+
+        return executar(EnumSet.of(origem), destino, observacao, (lote, origens) -> {
+            List<UUID> ids = repository.findIdsParaTransicaoCriadasAntesDe(origens, limite,
+                                                                           PageRequest.of(0, tamanhoLote));
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Transiciona as solicitações informadas que podem ir para o status de
+     * destino; as que não existem ou estão em outro status são ignoradas.
+     *
+     * @param ids IDs das solicitações
+     * @param destino status de destino
+     * @param observacao observação registrada no histórico
+     * @return quantidade de solicitações transicionadas
+     */
+    public int transicionar(Collection<UUID> ids, StatusSolicitacao destino, String observacao) {
+        logger.info("Transicionando {} solicitações para {}", ids.size(), destino);
+
+        List<UUID> todos = List.copyOf(ids);
+        return executar(destino.getOrigensPermitidas(), destino, observacao, (lote, origens) -> {
+            int inicio = lote * tamanhoLote;
+            if (inicio >= todos.size()) {
+                return null;
+            }
+            return repository.findIdsParaTransicao(
+                todos.subList(inicio, Math.min(inicio + tamanhoLote, todos.size())), origens);
+        });
+    }
+
+    /**
+     * Seleção do próximo lote, executada na transação do lote.
+     */
+    @FunctionalInterface
+    private interface SeletorLote {
+
+        /**
+         * @return IDs bloqueados para transição, ou null se não houver mais lotes
+         */
+        List<UUID> selecionar(int lote, Set<StatusSolicitacao> origens);
+    }
+
+    private int executar(Set<StatusSolicitacao> origens, StatusSolicitacao destino, String observacao,
+                         SeletorLote seletor) {
+        if (!isDisponivel()) {
+            throw new IllegalStateException("Transições em massa não são suportadas com o event store habilitado");
+        }
+        if (origens.isEmpty()) {
+            return 0;
+        }
+
+        List<String> nomesOrigens = origens.stream().map(StatusSolicitacao::name).toList();
+        Counter transicionadas = Counter.builder("solicitacao.transicoes.em-massa")
+            .description("Total de solicitações transicionadas em massa")
+            .tag("status", destino.name())
+            .register(registry);
+
+        int total = 0;
+        for (int lote = 0; ; lote++) {
+            int numeroLote = lote;
+            List<StatusAlteradoEvent> eventos = transactionTemplate.execute(status -> {
+                List<UUID> ids = seletor.selecionar(numeroLote, origens);
+                return ids == null ? null : transicionarLote(ids, origens, nomesOrigens, destino, observacao);
+            });
+            if (eventos == null) {
+                break;
+            }
+
+            // Lote confirmado: notifica os assinantes de status
+            eventos.forEach(eventPublisher::publishEvent);
+            total += eventos.size();
+            transicionadas.increment(eventos.size());
+        }
+
+        logger.info("Transição em massa para {} concluída: {} solicitações", destino, total);
+        return total;
+    }
+
+    /**
+     * Registra o histórico e altera o status de um lote já bloqueado.
+     */
+    private List<StatusAlteradoEvent> transicionarLote(List<UUID> ids, Set<StatusSolicitacao> origens,
+                                                       List<String> nomesOrigens, StatusSolicitacao destino,
+                                                       String observacao) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        // Histórico antes do UPDATE, enquanto as linhas ainda estão nos status de origem
+        repository.inserirHistoricoEmMassa(ids, nomesOrigens, destino.name(), agora, observacao);
+        int alteradas = repository.atualizarStatusEmMassa(ids, origens, destino,
+                                                          destino.isEstadoFinal() ? agora : null);
+
+        logger.debug("Lote de {} solicitações transicionado para {}", alteradas, destino);
+
+        List<StatusAlteradoEvent> eventos = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            eventos.add(new StatusAlteradoEvent(id, destino, agora, observacao));
+        }
+        return eventos;
+    }
+}
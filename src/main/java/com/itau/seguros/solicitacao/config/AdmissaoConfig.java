@@ -0,0 +1,32 @@
+package com.itau.seguros.solicitacao.config;
+
+import com.itau.seguros.solicitacao.infrastructure.admission.AdmissaoFilter;
+import com.itau.seguros.solicitacao.infrastructure.admission.ControleAdmissao;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuração do controle de admissão da API de solicitações.
+ *
+ * O filtro roda logo depois dos filtros de observabilidade, para que as
+ * recusas apareçam nas métricas HTTP, e antes de qualquer leitura do corpo.
+ */
+@Configuration
+public class AdmissaoConfig {
+
+    /**
+     * Registra o filtro de admissão para a criação e as consultas de solicitações.
+     *
+     * @param controle controle de admissão
+     * @return registro do filtro
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissaoFilter> admissaoFilter(ControleAdmissao controle) {
+        FilterRegistrationBean<AdmissaoFilter> registro = new FilterRegistrationBean<>(new AdmissaoFilter(controle));
+        registro.addUrlPatterns("/api/solicitacoes", "/api/solicitacoes/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
@@ -0,0 +1,33 @@
+package com.itau.seguros.solicitacao.config;
+
+import com.itau.seguros.solicitacao.infrastructure.idempotency.ControleIdempotencia;
+import com.itau.seguros.solicitacao.infrastructure.idempotency.IdempotenciaFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuração do suporte a Idempotency-Key na criação de solicitações.
+ *
+ * O filtro roda depois do limitador de taxa e antes do controle de
+ * admissão, para que as retentativas repetidas não ocupem vagas de
+ * concorrência.
+ */
+@Configuration
+public class IdempotenciaConfig {
+
+    /**
+     * Registra o filtro de idempotência para a criação de solicitações.
+     *
+     * @param controle controle de idempotência
+     * @return registro do filtro
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(ControleIdempotencia controle) {
+        FilterRegistrationBean<IdempotenciaFilter> registro = new FilterRegistrationBean<>(new IdempotenciaFilter(controle));
+        registro.addUrlPatterns("/api/solicitacoes");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 7);
+        return registro;
+    }
+}
@@ -0,0 +1,60 @@
+package com.itau.seguros.solicitacao.config;
+
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Configuração da inicialização preguiçosa do profile {@code fast-startup}.
+ *
+ * Com {@code spring.main.lazy-initialization} habilitado, um bean só é
+ * criado no primeiro uso. Os consumidores RabbitMQ não podem esperar por
+ * isso: seus listeners são registrados quando o bean é criado, e sem eles
+ * a instância sobe sem consumir nenhuma fila. As tarefas agendadas já são
+ * mantidas ansiosas pelo próprio Spring Boot.
+ *
+ * Com os repositórios em modo diferido, o EntityManagerFactory é montado
+ * em segundo plano, e os conversores que o Hibernate pede ao Spring nesse
+ * thread não podem depender de beans ainda não criados: o thread principal
+ * segura o registro de singletons enquanto espera o EntityManagerFactory.
+ *
+ * Fora do profile, as duas definições não alteram o comportamento.
+ */
+@Configuration
+public class InicializacaoRapidaConfig {
+
+    /**
+     * Mantém ansiosos os beans com métodos {@link RabbitListener}.
+     *
+     * @return filtro de exclusão da inicialização preguiçosa
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter consumidoresRabbitLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && consumidorRabbit(beanType);
+    }
+
+    /**
+     * Cria o {@link DicionarioTermos}, injetado no {@code TermoConverter},
+     * antes do EntityManagerFactory.
+     *
+     * @return pós-processador que adiciona a dependência
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor dicionarioAntesDoEntityManagerFactory() {
+        return new EntityManagerFactoryDependsOnPostProcessor(DicionarioTermos.class);
+    }
+
+    static boolean consumidorRabbit(Class<?> beanType) {
+        if (AnnotatedElementUtils.hasAnnotation(beanType, RabbitListener.class)) {
+            return true;
+        }
+        return !MethodIntrospector.selectMethods(beanType,
+            (MethodIntrospector.MetadataLookup<RabbitListener>) metodo ->
+                AnnotatedElementUtils.findMergedAnnotation(metodo, RabbitListener.class)).isEmpty();
+    }
+}
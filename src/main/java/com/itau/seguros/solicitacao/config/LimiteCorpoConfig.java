@@ -0,0 +1,34 @@
+package com.itau.seguros.solicitacao.config;
+
+import com.itau.seguros.solicitacao.infrastructure.web.LimiteCorpoFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuração do tamanho máximo do corpo na criação de solicitações.
+ *
+ * O filtro roda antes do limitador de taxa (ver {@link RateLimitConfig}),
+ * que identifica o canal de vendas pelo corpo; assim nenhum filtro lê um
+ * corpo maior que o limite.
+ */
+@Configuration
+public class LimiteCorpoConfig {
+
+    /**
+     * Registra o filtro de tamanho de corpo para a criação de solicitações.
+     *
+     * @param tamanhoMaximo bytes que o corpo pode ter
+     * @return registro do filtro
+     */
+    @Bean
+    public FilterRegistrationBean<LimiteCorpoFilter> limiteCorpoFilter(
+            @Value("${app.solicitacoes.tamanho-maximo-corpo:65536}") int tamanhoMaximo) {
+        FilterRegistrationBean<LimiteCorpoFilter> registro = new FilterRegistrationBean<>(new LimiteCorpoFilter(tamanhoMaximo));
+        registro.addUrlPatterns("/api/solicitacoes");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registro;
+    }
+}
@@ -74,15 +74,5 @@ public class MetricasConfig {
             .description("Tempo de resposta da API de Fraudes")
             .register(registry);
     }
-    
-    /**
-     * Temporizador para processamento de eventos.
-     */
-    @Bean
-    public Timer processamentoEventosTimer(MeterRegistry registry) {
-        return Timer.builder("eventos.processamento.tempo")
-            .description("Tempo de processamento de eventos")
-            .register(registry);
-    }
 }
 
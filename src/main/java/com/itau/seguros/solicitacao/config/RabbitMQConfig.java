@@ -1,19 +1,36 @@
 package com.itau.seguros.solicitacao.config;
 
+import com.itau.seguros.solicitacao.infrastructure.json.DinheiroModule;
+import com.itau.seguros.solicitacao.infrastructure.messaging.MedidorLatenciaListener;
+import com.itau.seguros.solicitacao.infrastructure.messaging.PoliticaRetentativa;
+import com.itau.seguros.solicitacao.infrastructure.messaging.RetentativaMensagemInterceptor;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuração do RabbitMQ para mensageria.
  * 
  * Define exchanges, filas, bindings e conversores para
  * suportar a arquitetura orientada a eventos.
+ * 
+ * Cada fila tem uma DLQ ({@code <fila>.dlq}), destino do dead-letter da
+ * fila, e uma fila de espera por nível de retentativa, cujo TTL devolve a
+ * mensagem à fila de origem. As falhas dos listeners são encaminhadas
+ * pelo {@link RetentativaMensagemInterceptor}.
+ * 
+ * As solicitações recebidas têm uma fila por faixa de prioridade; a
+ * faixa normal usa a fila original.
  */
 @Configuration
 public class RabbitMQConfig {
@@ -24,6 +41,12 @@ public class RabbitMQConfig {
     @Value("${app.rabbitmq.queues.solicitacao-recebida}")
     private String solicitacaoRecebidaQueue;
     
+    @Value("${app.rabbitmq.queues.solicitacao-recebida-alta}")
+    private String solicitacaoRecebidaAltaQueue;
+    
+    @Value("${app.rabbitmq.queues.solicitacao-recebida-baixa}")
+    private String solicitacaoRecebidaBaixaQueue;
+    
     @Value("${app.rabbitmq.queues.solicitacao-validada}")
     private String solicitacaoValidadaQueue;
     
@@ -39,6 +62,12 @@ public class RabbitMQConfig {
     @Value("${app.rabbitmq.routing-keys.solicitacao-recebida}")
     private String solicitacaoRecebidaRoutingKey;
     
+    @Value("${app.rabbitmq.routing-keys.solicitacao-recebida-alta}")
+    private String solicitacaoRecebidaAltaRoutingKey;
+    
+    @Value("${app.rabbitmq.routing-keys.solicitacao-recebida-baixa}")
+    private String solicitacaoRecebidaBaixaRoutingKey;
+    
     @Value("${app.rabbitmq.routing-keys.solicitacao-validada}")
     private String solicitacaoValidadaRoutingKey;
     
@@ -58,6 +87,7 @@ public class RabbitMQConfig {
     public MessageConverter jsonMessageConverter() {
     com.fasterxml.jackson.databind.ObjectMapper objectMapper = new com.fasterxml.jackson.databind.ObjectMapper();
     objectMapper.registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
+    objectMapper.registerModule(new DinheiroModule());
     return new Jackson2JsonMessageConverter(objectMapper);
     }
     
@@ -71,6 +101,48 @@ public class RabbitMQConfig {
         return template;
     }
     
+    /**
+     * Configura a fábrica de containers dos listeners com o tratamento de
+     * falhas por retentativa atrasada; nenhuma mensagem volta à fila de
+     * origem imediatamente. A latência medida inclui esse tratamento. Com o
+     * transporte em memória os containers não são iniciados.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            MedidorLatenciaListener medidorLatencia,
+            RetentativaMensagemInterceptor retentativaInterceptor,
+            @Value("${app.mensageria.transporte:rabbitmq}") String transporte) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAdviceChain(medidorLatencia, retentativaInterceptor);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAutoStartup("rabbitmq".equals(transporte));
+        return factory;
+    }
+    
+    /**
+     * Declara as DLQs e as filas de espera de retentativa de todas as filas.
+     */
+    @Bean
+    public Declarables filasRetentativa(PoliticaRetentativa politica) {
+        List<Declarable> filas = new ArrayList<>();
+        for (String fila : List.of(solicitacaoRecebidaQueue, solicitacaoRecebidaAltaQueue, solicitacaoRecebidaBaixaQueue,
+                                   solicitacaoValidadaQueue, solicitacaoRejeitadaQueue,
+                                   pagamentoConfirmadoQueue, subscricaoAutorizadaQueue)) {
+            filas.add(QueueBuilder.durable(PoliticaRetentativa.filaDlq(fila)).build());
+            for (int nivel = 0; nivel < politica.getNiveis(); nivel++) {
+                filas.add(QueueBuilder.durable(politica.filaEspera(fila, nivel))
+                    .ttl((int) politica.getAtraso(nivel).toMillis())
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(fila)
+                    .build());
+            }
+        }
+        return new Declarables(filas);
+    }
+    
     /**
      * Configura o exchange para solicitações.
      */
@@ -86,7 +158,29 @@ public class RabbitMQConfig {
     public Queue solicitacaoRecebidaQueue() {
         return QueueBuilder.durable(solicitacaoRecebidaQueue)
             .withArgument("x-dead-letter-exchange", "")
-            .withArgument("x-dead-letter-routing-key", solicitacaoRecebidaQueue + ".dlq")
+            .withArgument("x-dead-letter-routing-key", PoliticaRetentativa.filaDlq(solicitacaoRecebidaQueue))
+            .build();
+    }
+    
+    /**
+     * Configura a fila para solicitações recebidas de prioridade alta.
+     */
+    @Bean
+    public Queue solicitacaoRecebidaAltaQueue() {
+        return QueueBuilder.durable(solicitacaoRecebidaAltaQueue)
+            .withArgument("x-dead-letter-exchange", "")
+            .withArgument("x-dead-letter-routing-key", PoliticaRetentativa.filaDlq(solicitacaoRecebidaAltaQueue))
+            .build();
+    }
+    
+    /**
+     * Configura a fila para solicitações recebidas de prioridade baixa.
+     */
+    @Bean
+    public Queue solicitacaoRecebidaBaixaQueue() {
+        return QueueBuilder.durable(solicitacaoRecebidaBaixaQueue)
+            .withArgument("x-dead-letter-exchange", "")
+            .withArgument("x-dead-letter-routing-key", PoliticaRetentativa.filaDlq(solicitacaoRecebidaBaixaQueue))
             .build();
     }
     
@@ -97,7 +191,7 @@ public class RabbitMQConfig {
     public Queue solicitacaoValidadaQueue() {
         return QueueBuilder.durable(solicitacaoValidadaQueue)
             .withArgument("x-dead-letter-exchange", "")
-            .withArgument("x-dead-letter-routing-key", solicitacaoValidadaQueue + ".dlq")
+            .withArgument("x-dead-letter-routing-key", PoliticaRetentativa.filaDlq(solicitacaoValidadaQueue))
             .build();
     }
     
@@ -108,7 +202,7 @@ public class RabbitMQConfig {
     public Queue solicitacaoRejeitadaQueue() {
         return QueueBuilder.durable(solicitacaoRejeitadaQueue)
             .withArgument("x-dead-letter-exchange", "")
-            .withArgument("x-dead-letter-routing-key", solicitacaoRejeitadaQueue + ".dlq")
+            .withArgument("x-dead-letter-routing-key", PoliticaRetentativa.filaDlq(solicitacaoRejeitadaQueue))
             .build();
     }
     
@@ -119,7 +213,7 @@ public class RabbitMQConfig {
     public Queue pagamentoConfirmadoQueue() {
         return QueueBuilder.durable(pagamentoConfirmadoQueue)
             .withArgument("x-dead-letter-exchange", "")
-            .withArgument("x-dead-letter-routing-key", pagamentoConfirmadoQueue + ".dlq")
+            .withArgument("x-dead-letter-routing-key", PoliticaRetentativa.filaDlq(pagamentoConfirmadoQueue))
             .build();
     }
     
@@ -130,7 +224,7 @@ public class RabbitMQConfig {
     public Queue subscricaoAutorizadaQueue() {
         return QueueBuilder.durable(subscricaoAutorizadaQueue)
             .withArgument("x-dead-letter-exchange", "")
-            .withArgument("x-dead-letter-routing-key", subscricaoAutorizadaQueue + ".dlq")
+            .withArgument("x-dead-letter-routing-key", PoliticaRetentativa.filaDlq(subscricaoAutorizadaQueue))
             .build();
     }
     
@@ -145,6 +239,28 @@ public class RabbitMQConfig {
             .with(solicitacaoRecebidaRoutingKey);
     }
     
+    /**
+     * Binding para solicitações recebidas de prioridade alta.
+     */
+    @Bean
+    public Binding solicitacaoRecebidaAltaBinding() {
+        return BindingBuilder
+            .bind(solicitacaoRecebidaAltaQueue())
+            .to(solicitacaoExchange())
+            .with(solicitacaoRecebidaAltaRoutingKey);
+    }
+    
+    /**
+     * Binding para solicitações recebidas de prioridade baixa.
+     */
+    @Bean
+    public Binding solicitacaoRecebidaBaixaBinding() {
+        return BindingBuilder
+            .bind(solicitacaoRecebidaBaixaQueue())
+            .to(solicitacaoExchange())
+            .with(solicitacaoRecebidaBaixaRoutingKey);
+    }
+    
     /**
      * Binding para solicitações validadas.
      */
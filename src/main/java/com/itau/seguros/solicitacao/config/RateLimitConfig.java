@@ -0,0 +1,32 @@
+package com.itau.seguros.solicitacao.config;
+
+import com.itau.seguros.solicitacao.infrastructure.ratelimit.LimitadorTaxa;
+import com.itau.seguros.solicitacao.infrastructure.ratelimit.RateLimitFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuração do limitador de taxa da API de solicitações.
+ *
+ * O filtro roda antes do controle de admissão (ver {@link AdmissaoConfig}),
+ * para que requisições acima da taxa não ocupem vagas de concorrência.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Registra o filtro de limite de taxa para todos os endpoints de solicitações.
+     *
+     * @param limitador limitador de taxa
+     * @return registro do filtro
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(LimitadorTaxa limitador) {
+        FilterRegistrationBean<RateLimitFilter> registro = new FilterRegistrationBean<>(new RateLimitFilter(limitador));
+        registro.addUrlPatterns("/api/solicitacoes", "/api/solicitacoes/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registro;
+    }
+}
@@ -1,10 +1,10 @@
 package com.itau.seguros.solicitacao.domain.event;
 
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -24,7 +24,7 @@ public abstract class SolicitacaoEvent implements Serializable {
     private final String productId;
     private final CategoriaSeguro category;
     private final StatusSolicitacao status;
-    private final BigDecimal insuredAmount;
+    private final Dinheiro insuredAmount;
     private final LocalDateTime timestamp;
     
     /**
@@ -39,7 +39,7 @@ public abstract class SolicitacaoEvent implements Serializable {
      */
     protected SolicitacaoEvent(UUID solicitacaoId, UUID customerId, String productId,
                              CategoriaSeguro category, StatusSolicitacao status,
-                             BigDecimal insuredAmount) {
+                             Dinheiro insuredAmount) {
         this.id = UUID.randomUUID();
         this.solicitacaoId = solicitacaoId;
         this.customerId = customerId;
@@ -83,7 +83,7 @@ public abstract class SolicitacaoEvent implements Serializable {
         return status;
     }
     
-    public BigDecimal getInsuredAmount() {
+    public Dinheiro getInsuredAmount() {
         return insuredAmount;
     }
     
@@ -1,9 +1,9 @@
 package com.itau.seguros.solicitacao.domain.event;
 
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 /**
@@ -16,6 +16,8 @@ public class SolicitacaoRecebidaEvent extends SolicitacaoEvent {
     
     private static final String EVENT_TYPE = "SOLICITACAO_RECEBIDA";
     
+    private final String salesChannel;
+    
     /**
      * Construtor para evento de solicitação recebida.
      * 
@@ -24,15 +26,22 @@ public class SolicitacaoRecebidaEvent extends SolicitacaoEvent {
      * @param productId ID do produto
      * @param category categoria do seguro
      * @param insuredAmount valor do capital segurado
+     * @param salesChannel canal de vendas, usado na prioridade do evento
      */
     public SolicitacaoRecebidaEvent(UUID solicitacaoId, UUID customerId, String productId,
-                                   CategoriaSeguro category, BigDecimal insuredAmount) {
+                                   CategoriaSeguro category, Dinheiro insuredAmount,
+                                   String salesChannel) {
         super(solicitacaoId, customerId, productId, category, StatusSolicitacao.RECEBIDO, insuredAmount);
+        this.salesChannel = salesChannel;
     }
     
     @Override
     public String getEventType() {
         return EVENT_TYPE;
     }
+    
+    public String getSalesChannel() {
+        return salesChannel;
+    }
 }
 
@@ -1,10 +1,10 @@
 package com.itau.seguros.solicitacao.domain.event;
 
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
 import com.itau.seguros.solicitacao.domain.model.TipoCliente;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 /**
@@ -34,7 +34,7 @@ public class SolicitacaoRejeitadaEvent extends SolicitacaoEvent {
      * @param motivoRejeicao motivo da rejeição
      */
     public SolicitacaoRejeitadaEvent(UUID solicitacaoId, UUID customerId, String productId,
-                                    CategoriaSeguro category, BigDecimal insuredAmount,
+                                    CategoriaSeguro category, Dinheiro insuredAmount,
                                     TipoCliente tipoCliente, String motivoRejeicao) {
         super(solicitacaoId, customerId, productId, category, StatusSolicitacao.REJEITADA, insuredAmount);
         this.tipoCliente = tipoCliente;
@@ -1,10 +1,10 @@
 package com.itau.seguros.solicitacao.domain.event;
 
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
 import com.itau.seguros.solicitacao.domain.model.TipoCliente;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 /**
@@ -31,7 +31,7 @@ public class SolicitacaoValidadaEvent extends SolicitacaoEvent {
      * @param tipoCliente classificação de risco do cliente
      */
     public SolicitacaoValidadaEvent(UUID solicitacaoId, UUID customerId, String productId,
-                                   CategoriaSeguro category, BigDecimal insuredAmount,
+                                   CategoriaSeguro category, Dinheiro insuredAmount,
                                    TipoCliente tipoCliente) {
         super(solicitacaoId, customerId, productId, category, StatusSolicitacao.VALIDADO, insuredAmount);
         this.tipoCliente = tipoCliente;
@@ -0,0 +1,25 @@
+package com.itau.seguros.solicitacao.domain.event;
+
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento de domínio interno, registrado pela entidade a cada transição
+ * de status e publicado pelo Spring Data ao salvar o agregado.
+ *
+ * Diferente dos eventos de {@link SolicitacaoEvent}, não trafega pelo
+ * broker: é consumido apenas dentro do processo, após o commit.
+ *
+ * @param solicitacaoId ID da solicitação
+ * @param status novo status
+ * @param timestamp momento da mudança
+ * @param observacao observação registrada no histórico
+ */
+public record StatusAlteradoEvent(
+    UUID solicitacaoId,
+    StatusSolicitacao status,
+    LocalDateTime timestamp,
+    String observacao
+) {}
@@ -0,0 +1,99 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade que guarda até onde a reconciliação já varreu o histórico de
+ * status, por status.
+ *
+ * A posição é a chave (timestamp, id) do último registro de histórico
+ * examinado; a execução seguinte continua a partir dela em vez de varrer
+ * o histórico inteiro de novo.
+ */
+@Entity
+@Table(name = "checkpoint_reconciliacao")
+public class CheckpointReconciliacao {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20)
+    private StatusSolicitacao status;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "historico_id", nullable = false)
+    private Long historicoId;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    // Construtor padrão para JPA
+    protected CheckpointReconciliacao() {}
+
+    /**
+     * Construtor para a posição inicial da varredura de um status.
+     *
+     * @param status status varrido
+     * @param timestamp timestamp a partir do qual a varredura começa
+     */
+    public CheckpointReconciliacao(StatusSolicitacao status, LocalDateTime timestamp) {
+        this.status = status;
+        this.timestamp = timestamp;
+        this.historicoId = 0L;
+        this.atualizadoEm = LocalDateTime.now();
+    }
+
+    /**
+     * Avança a posição para a chave informada.
+     *
+     * @param timestamp timestamp do último registro examinado
+     * @param historicoId ID do último registro examinado
+     */
+    public void avancar(LocalDateTime timestamp, Long historicoId) {
+        this.timestamp = timestamp;
+        this.historicoId = historicoId;
+        this.atualizadoEm = LocalDateTime.now();
+    }
+
+    // Getters
+    public StatusSolicitacao getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public Long getHistoricoId() {
+        return historicoId;
+    }
+
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CheckpointReconciliacao that = (CheckpointReconciliacao) o;
+        return status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(status);
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointReconciliacao{" +
+                "status=" + status +
+                ", timestamp=" + timestamp +
+                ", historicoId=" + historicoId +
+                '}';
+    }
+}
@@ -0,0 +1,28 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Aplica o armazenamento compacto de coleções às novas solicitações.
+ *
+ * Com {@code app.colecoes-compactas.enabled}, coberturas e assistências
+ * são movidas para a coluna {@code colecoes} antes do INSERT, sem gravar
+ * linhas em {@code solicitacao_coberturas} e {@code solicitacao_assistencias}.
+ * Instanciado pelo Hibernate através do contêiner de beans do Spring.
+ */
+public class ColecoesCompactasListener {
+
+    private final boolean ativo;
+
+    public ColecoesCompactasListener(@Value("${app.colecoes-compactas.enabled:false}") boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    @PrePersist
+    void compactar(SolicitacaoApolice solicitacao) {
+        if (ativo) {
+            solicitacao.compactarColecoes();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coberturas e assistências de uma solicitação codificadas em um único
+ * valor binário, gravado na coluna {@code colecoes} de
+ * {@code solicitacao_apolice}.
+ *
+ * Imutável. Lida do banco, guarda apenas os bytes: a decodificação é
+ * feita no primeiro acesso a {@link #getCoverages()} ou
+ * {@link #getAssistances()}, de modo que carregar a entidade sem usar as
+ * coleções não tem custo além da própria coluna.
+ *
+ * Formato (versão 1): um byte de versão, seguido da quantidade de
+ * coberturas e de cada par nome/valor em centavos, e da quantidade de
+ * assistências e de cada nome. Quantidades e tamanhos são varints; os
+ * centavos são varints em zigzag; textos são UTF-8 com o tamanho somado
+ * de 1, reservando 0 para {@code null}.
+ */
+public final class ColecoesSolicitacao {
+
+    private static final byte VERSAO = 1;
+
+    private final byte[] codificado;
+
+    private volatile Map<String, Dinheiro> coverages;
+    private volatile List<String> assistances;
+
+    private ColecoesSolicitacao(byte[] codificado) {
+        this.codificado = codificado;
+    }
+
+    /**
+     * Codifica as coleções informadas.
+     *
+     * @param coverages coberturas contratadas
+     * @param assistances assistências contratadas
+     * @return coleções codificadas
+     */
+    public static ColecoesSolicitacao de(Map<String, Dinheiro> coverages, List<String> assistances) {
+        Escritor escritor = new Escritor();
+        escritor.escreverByte(VERSAO);
+        escritor.escreverVarint(coverages.size());
+        for (Map.Entry<String, Dinheiro> cobertura : coverages.entrySet()) {
+            escritor.escreverTexto(cobertura.getKey());
+            long centavos = cobertura.getValue().getCentavos();
+            escritor.escreverVarint((centavos << 1) ^ (centavos >> 63));
+        }
+        escritor.escreverVarint(assistances.size());
+        for (String assistencia : assistances) {
+            escritor.escreverTexto(assistencia);
+        }
+
+        ColecoesSolicitacao colecoes = new ColecoesSolicitacao(escritor.bytes());
+        colecoes.coverages = Collections.unmodifiableMap(new LinkedHashMap<>(coverages));
+        colecoes.assistances = Collections.unmodifiableList(new ArrayList<>(assistances));
+        return colecoes;
+    }
+
+    /**
+     * Envolve um valor lido do banco, sem decodificá-lo.
+     *
+     * @param codificado bytes no formato desta classe
+     * @return coleções a decodificar no primeiro acesso
+     */
+    public static ColecoesSolicitacao codificadas(byte[] codificado) {
+        return new ColecoesSolicitacao(codificado);
+    }
+
+    /**
+     * @return bytes a gravar na coluna; não devem ser alterados
+     */
+    public byte[] getCodificado() {
+        return codificado;
+    }
+
+    public Map<String, Dinheiro> getCoverages() {
+        if (coverages == null) {
+            decodificar();
+        }
+        return coverages;
+    }
+
+    public List<String> getAssistances() {
+        if (assistances == null) {
+            decodificar();
+        }
+        return assistances;
+    }
+
+    /**
+     * Decodificações concorrentes produzem o mesmo resultado; a última prevalece.
+     */
+    private void decodificar() {
+        Leitor leitor = new Leitor(codificado);
+        byte versao = leitor.lerByte();
+        if (versao != VERSAO) {
+            throw new IllegalStateException("Versão de coleções codificadas não suportada: " + versao);
+        }
+
+        int quantidadeCoberturas = (int) leitor.lerVarint();
+        Map<String, Dinheiro> coberturas = new LinkedHashMap<>(quantidadeCoberturas * 4 / 3 + 1);
+        for (int i = 0; i < quantidadeCoberturas; i++) {
+            String nome = leitor.lerTexto();
+            long zigzag = leitor.lerVarint();
+            coberturas.put(nome, Dinheiro.deCentavos((zigzag >>> 1) ^ -(zigzag & 1)));
+        }
+
+        int quantidadeAssistencias = (int) leitor.lerVarint();
+        List<String> assistencias = new ArrayList<>(quantidadeAssistencias);
+        for (int i = 0; i < quantidadeAssistencias; i++) {
+            assistencias.add(leitor.lerTexto());
+        }
+
+        this.assistances = Collections.unmodifiableList(assistencias);
+        this.coverages = Collections.unmodifiableMap(coberturas);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof ColecoesSolicitacao outras && Arrays.equals(codificado, outras.codificado);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(codificado);
+    }
+
+    @Override
+    public String toString() {
+        return "ColecoesSolicitacao{" + codificado.length + " bytes}";
+    }
+
+    private static final class Escritor {
+
+        private byte[] buffer = new byte[128];
+        private int tamanho;
+
+        void escreverByte(int valor) {
+            if (tamanho == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[tamanho++] = (byte) valor;
+        }
+
+        void escreverVarint(long valor) {
+            while ((valor & ~0x7FL) != 0) {
+                escreverByte((int) (valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            escreverByte((int) valor);
+        }
+
+        void escreverTexto(String texto) {
+            if (texto == null) {
+                escreverVarint(0);
+                return;
+            }
+            byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+            escreverVarint(utf8.length + 1L);
+            if (tamanho + utf8.length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, tamanho + utf8.length));
+            }
+            System.arraycopy(utf8, 0, buffer, tamanho, utf8.length);
+            tamanho += utf8.length;
+        }
+
+        byte[] bytes() {
+            return Arrays.copyOf(buffer, tamanho);
+        }
+    }
+
+    private static final class Leitor {
+
+        private final byte[] bytes;
+        private int posicao;
+
+        Leitor(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte lerByte() {
+            return bytes[posicao++];
+        }
+
+        long lerVarint() {
+            long valor = 0;
+            for (int deslocamento = 0; ; deslocamento += 7) {
+                byte b = lerByte();
+                valor |= (long) (b & 0x7F) << deslocamento;
+                if (b >= 0) {
+                    return valor;
+                }
+            }
+        }
+
+        String lerTexto() {
+            int tamanho = (int) lerVarint() - 1;
+            if (tamanho < 0) {
+                return null;
+            }
+            String texto = new String(bytes, posicao, tamanho, StandardCharsets.UTF_8);
+            posicao += tamanho;
+            return texto;
+        }
+    }
+}
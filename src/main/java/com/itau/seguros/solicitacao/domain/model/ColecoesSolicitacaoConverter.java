@@ -0,0 +1,22 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava {@link ColecoesSolicitacao} como binário. Na leitura apenas
+ * envolve os bytes; a decodificação fica para o primeiro acesso.
+ */
+@Converter(autoApply = true)
+public class ColecoesSolicitacaoConverter implements AttributeConverter<ColecoesSolicitacao, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(ColecoesSolicitacao colecoes) {
+        return colecoes == null ? null : colecoes.getCodificado();
+    }
+
+    @Override
+    public ColecoesSolicitacao convertToEntityAttribute(byte[] codificado) {
+        return codificado == null ? null : ColecoesSolicitacao.codificadas(codificado);
+    }
+}
@@ -0,0 +1,276 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário em reais com precisão de centavos.
+ *
+ * Imutável e representado por um {@code long} de centavos: somas e
+ * comparações são aritmética primitiva, sem alocar {@link BigDecimal}.
+ * Operações que excederiam a faixa de um {@code long} lançam
+ * {@link ArithmeticException}. Valores com mais de duas casas decimais
+ * significativas são recusados em vez de arredondados.
+ */
+public final class Dinheiro implements Comparable<Dinheiro>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    /**
+     * Maior quantidade de caracteres de {@link #escrever}: sinal, 17 dígitos
+     * inteiros, ponto e 2 decimais.
+     */
+    public static final int TAMANHO_MAXIMO_TEXTO = 21;
+
+    /**
+     * Maior expoente aceito em notação científica; acima dele o valor não
+     * cabe em centavos, ou é zero, e o BigDecimal custaria tempo
+     * proporcional ao expoente.
+     */
+    private static final int EXPOENTE_MAXIMO = 20;
+
+    private static final long[] POTENCIAS_DE_10 = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+        1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+        10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+        10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private final long centavos;
+
+    private Dinheiro(long centavos) {
+        this.centavos = centavos;
+    }
+
+    /**
+     * @param centavos valor em centavos
+     * @return valor correspondente
+     */
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    /**
+     * @param reais valor inteiro em reais
+     * @return valor correspondente
+     * @throws ArithmeticException se o valor não couber em centavos
+     */
+    public static Dinheiro deReais(long reais) {
+        return deCentavos(Math.multiplyExact(reais, 100L));
+    }
+
+    /**
+     * @param valor valor decimal com no máximo duas casas significativas
+     * @return valor correspondente
+     * @throws ArithmeticException se houver mais de duas casas decimais
+     *         significativas ou se o valor não couber em centavos
+     */
+    public static Dinheiro de(BigDecimal valor) {
+        return deCentavos(valor.setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Interpreta um valor decimal ({@code "275000.50"}, {@code "-10"}).
+     *
+     * @param texto valor em notação decimal
+     * @return valor correspondente
+     * @throws NumberFormatException se o texto não for um número ou tiver
+     *         mais de duas casas decimais significativas
+     * @throws ArithmeticException se o valor não couber em centavos
+     */
+    public static Dinheiro parse(CharSequence texto) {
+        int tamanho = texto.length();
+        char[] caracteres = new char[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            caracteres[i] = texto.charAt(i);
+        }
+        return parse(caracteres, 0, tamanho);
+    }
+
+    /**
+     * Interpreta um valor decimal a partir de um trecho de um buffer de
+     * caracteres, como o devolvido por {@code JsonParser#getTextCharacters()},
+     * sem criar Strings intermediárias.
+     *
+     * @param texto buffer de caracteres
+     * @param inicio posição do primeiro caractere
+     * @param tamanho quantidade de caracteres
+     * @return valor correspondente
+     * @throws NumberFormatException se o texto não for um número ou tiver
+     *         mais de duas casas decimais significativas
+     * @throws ArithmeticException se o valor não couber em centavos
+     */
+    public static Dinheiro parse(char[] texto, int inicio, int tamanho) {
+        int fim = inicio + tamanho;
+        int i = inicio;
+        boolean negativo = false;
+        if (i < fim && (texto[i] == '-' || texto[i] == '+')) {
+            negativo = texto[i] == '-';
+            i++;
+        }
+
+        long reais = 0;
+        int digitos = 0;
+        for (; i < fim && texto[i] >= '0' && texto[i] <= '9'; i++, digitos++) {
+            reais = Math.addExact(Math.multiplyExact(reais, 10L), texto[i] - '0');
+        }
+
+        long fracao = 0;
+        int casas = 0;
+        if (i < fim && texto[i] == '.') {
+            for (i++; i < fim && texto[i] >= '0' && texto[i] <= '9'; i++, digitos++) {
+                if (casas < 2) {
+                    fracao = fracao * 10 + (texto[i] - '0');
+                    casas++;
+                } else if (texto[i] != '0') {
+                    throw new NumberFormatException("Valor monetário com mais de 2 casas decimais: "
+                        + new String(texto, inicio, tamanho));
+                }
+            }
+        }
+
+        if (i < fim && (texto[i] == 'e' || texto[i] == 'E') && digitos > 0) {
+            // Notação científica é rara em valores monetários; delega ao BigDecimal,
+            // mas só com expoente limitado, pois o custo de setScale cresce com ele
+            validarExpoente(texto, i + 1, fim, inicio, tamanho);
+            return de(new BigDecimal(texto, inicio, tamanho));
+        }
+        if (i != fim || digitos == 0) {
+            throw new NumberFormatException("Valor monetário inválido: " + new String(texto, inicio, tamanho));
+        }
+
+        long total = Math.addExact(Math.multiplyExact(reais, 100L), casas == 1 ? fracao * 10 : fracao);
+        return deCentavos(negativo ? -total : total);
+    }
+
+    /**
+     * @throws NumberFormatException se o expoente estiver vazio ou passar de
+     *         {@value #EXPOENTE_MAXIMO} em valor absoluto
+     */
+    private static void validarExpoente(char[] texto, int i, int fim, int inicio, int tamanho) {
+        if (i < fim && (texto[i] == '-' || texto[i] == '+')) {
+            i++;
+        }
+        int expoente = 0;
+        int digitos = 0;
+        for (; i < fim && texto[i] >= '0' && texto[i] <= '9'; i++, digitos++) {
+            expoente = expoente * 10 + (texto[i] - '0');
+            if (expoente > EXPOENTE_MAXIMO) {
+                throw new NumberFormatException("Expoente fora do limite em valor monetário: "
+                    + new String(texto, inicio, tamanho));
+            }
+        }
+        if (i != fim || digitos == 0) {
+            throw new NumberFormatException("Valor monetário inválido: " + new String(texto, inicio, tamanho));
+        }
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    /**
+     * @throws ArithmeticException em caso de overflow
+     */
+    public Dinheiro somar(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    /**
+     * @throws ArithmeticException em caso de overflow
+     */
+    public Dinheiro subtrair(Dinheiro outro) {
+        return deCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    public boolean isPositivo() {
+        return centavos > 0;
+    }
+
+    public boolean maiorQue(Dinheiro outro) {
+        return centavos > outro.centavos;
+    }
+
+    /**
+     * Indica se o valor tem no máximo a quantidade de dígitos inteiros
+     * informada, como em {@code @Digits(integer = digitosInteiros, fraction = 2)}.
+     *
+     * @param digitosInteiros máximo de dígitos antes da vírgula
+     * @return true se o valor cabe na quantidade de dígitos
+     */
+    public boolean cabeEm(int digitosInteiros) {
+        int digitos = digitosInteiros + 2;
+        return digitos >= POTENCIAS_DE_10.length || Math.abs(centavos) < POTENCIAS_DE_10[digitos];
+    }
+
+    /**
+     * @return valor decimal com escala 2
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Dinheiro outro && centavos == outro.centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    /**
+     * Escreve o valor em notação decimal com duas casas, sem alocar.
+     *
+     * @param destino buffer com pelo menos {@value #TAMANHO_MAXIMO_TEXTO} posições livres
+     * @param inicio posição do primeiro caractere
+     * @return quantidade de caracteres escritos
+     */
+    public int escrever(char[] destino, int inicio) {
+        if (centavos == Long.MIN_VALUE) {
+            String texto = toBigDecimal().toPlainString();
+            texto.getChars(0, texto.length(), destino, inicio);
+            return texto.length();
+        }
+
+        long absoluto = Math.abs(centavos);
+        int digitosReais = 1;
+        for (long reais = absoluto / 100; reais >= 10; reais /= 10) {
+            digitosReais++;
+        }
+
+        int tamanho = (centavos < 0 ? 1 : 0) + digitosReais + 3;
+        int posicao = inicio + tamanho;
+        destino[--posicao] = (char) ('0' + absoluto % 10);
+        destino[--posicao] = (char) ('0' + absoluto / 10 % 10);
+        destino[--posicao] = '.';
+        long reais = absoluto / 100;
+        for (int i = 0; i < digitosReais; i++, reais /= 10) {
+            destino[--posicao] = (char) ('0' + reais % 10);
+        }
+        if (centavos < 0) {
+            destino[--posicao] = '-';
+        }
+        return tamanho;
+    }
+
+    /**
+     * @return valor em notação decimal com duas casas ({@code "275000.50"})
+     */
+    @Override
+    public String toString() {
+        char[] texto = new char[TAMANHO_MAXIMO_TEXTO];
+        return new String(texto, 0, escrever(texto, 0));
+    }
+}
@@ -0,0 +1,27 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Grava {@link Dinheiro} nas colunas decimais existentes, com a precisão
+ * e a escala declaradas em cada {@code @Column}.
+ *
+ * Aplicado automaticamente a todos os atributos do tipo, inclusive os
+ * valores de coleções como as coberturas.
+ */
+@Converter(autoApply = true)
+public class DinheiroConverter implements AttributeConverter<Dinheiro, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Dinheiro valor) {
+        return valor == null ? null : valor.toBigDecimal();
+    }
+
+    @Override
+    public Dinheiro convertToEntityAttribute(BigDecimal valor) {
+        return valor == null ? null : Dinheiro.de(valor);
+    }
+}
@@ -12,11 +12,16 @@ import java.util.Objects;
  * e rastreabilidade do ciclo de vida da solicitação.
  */
 @Entity
-@Table(name = "historico_status")
+@Table(name = "historico_status", indexes = {
+    // Varredura por chave da reconciliação
+    @Index(name = "idx_historico_status_status_timestamp", columnList = "status, timestamp, id")
+})
 public class HistoricoStatus {
     
+    // Sequência com alocação em blocos: IDENTITY impediria inserts em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "historico_status_seq")
+    @SequenceGenerator(name = "historico_status_seq", sequenceName = "historico_status_seq", allocationSize = 50)
     private Long id;
     
     @Enumerated(EnumType.STRING)
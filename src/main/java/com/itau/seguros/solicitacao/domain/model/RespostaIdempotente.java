@@ -0,0 +1,177 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade que guarda a resposta original de uma requisição feita com
+ * o cabeçalho Idempotency-Key.
+ *
+ * Retentativas com a mesma chave recebem os mesmos bytes e cabeçalhos de
+ * volta, sem executar de novo a criação da solicitação. O hash do corpo
+ * permite recusar a reutilização da chave para uma requisição diferente.
+ *
+ * Enquanto a requisição original executa, o registro fica pendente, sem
+ * resposta, e serve de reserva da chave entre instâncias.
+ */
+@Entity
+@Table(name = "resposta_idempotente", indexes = {
+    @Index(name = "idx_resposta_idempotente_expira_em", columnList = "expira_em")
+})
+public class RespostaIdempotente implements Persistable<String> {
+
+    @Id
+    @Column(name = "chave", length = 255)
+    private String chave;
+
+    @Column(name = "hash_requisicao", nullable = false, length = 64)
+    private String hashRequisicao;
+
+    @Column(name = "status_http", nullable = false)
+    private int statusHttp;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    // Um cabeçalho por linha, no formato "Nome: valor"
+    @Column(name = "cabecalhos", length = 4000)
+    private String cabecalhos;
+
+    @Lob
+    @Column(name = "corpo", nullable = false)
+    private byte[] corpo;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "pendente", nullable = false)
+    private boolean pendente;
+
+    @Transient
+    private boolean novo = true;
+
+    // Construtor padrão para JPA
+    protected RespostaIdempotente() {}
+
+    /**
+     * Construtor para registrar a resposta de uma requisição.
+     *
+     * @param chave valor do cabeçalho Idempotency-Key
+     * @param hashRequisicao hash SHA-256 do corpo da requisição
+     * @param statusHttp status HTTP da resposta
+     * @param contentType tipo de conteúdo da resposta
+     * @param cabecalhos demais cabeçalhos da resposta, um por linha, pode ser nulo
+     * @param corpo bytes da resposta
+     * @param expiraEm data a partir da qual a chave pode ser descartada
+     */
+    public RespostaIdempotente(String chave, String hashRequisicao, int statusHttp,
+                               String contentType, String cabecalhos, byte[] corpo, LocalDateTime expiraEm) {
+        this.chave = chave;
+        this.hashRequisicao = hashRequisicao;
+        this.statusHttp = statusHttp;
+        this.contentType = contentType;
+        this.cabecalhos = cabecalhos;
+        this.corpo = corpo;
+        this.criadoEm = LocalDateTime.now();
+        this.expiraEm = expiraEm;
+    }
+
+    /**
+     * Cria a reserva de uma chave cuja requisição original vai executar.
+     *
+     * @param chave valor do cabeçalho Idempotency-Key
+     * @param hashRequisicao hash SHA-256 do corpo da requisição
+     * @param expiraEm data a partir da qual a reserva pode ser tomada por outra execução
+     * @return registro pendente, sem resposta
+     */
+    public static RespostaIdempotente reserva(String chave, String hashRequisicao, LocalDateTime expiraEm) {
+        RespostaIdempotente reserva = new RespostaIdempotente(chave, hashRequisicao, 0, null, null, new byte[0], expiraEm);
+        reserva.pendente = true;
+        return reserva;
+    }
+
+    /**
+     * Evita o SELECT do merge ao inserir, já que a chave é atribuída.
+     */
+    @PostLoad
+    @PostPersist
+    void marcarPersistida() {
+        this.novo = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    // Getters
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public String getHashRequisicao() {
+        return hashRequisicao;
+    }
+
+    public int getStatusHttp() {
+        return statusHttp;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getCabecalhos() {
+        return cabecalhos;
+    }
+
+    public byte[] getCorpo() {
+        return corpo;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public boolean isPendente() {
+        return pendente;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        RespostaIdempotente that = (RespostaIdempotente) o;
+        return Objects.equals(chave, that.chave);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(chave);
+    }
+
+    @Override
+    public String toString() {
+        return "RespostaIdempotente{" +
+                "chave='" + chave + '\'' +
+                ", statusHttp=" + statusHttp +
+                ", pendente=" + pendente +
+                ", expiraEm=" + expiraEm +
+                '}';
+    }
+}
@@ -1,7 +1,13 @@
 package com.itau.seguros.solicitacao.domain.model;
 
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
 import jakarta.persistence.*;
-import java.math.BigDecimal;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
+import org.springframework.data.domain.Persistable;
+
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -11,18 +17,43 @@ import java.util.*;
  * Esta é a entidade central do domínio, contendo todas as informações
  * necessárias para o processamento de uma solicitação de seguro,
  * incluindo dados do cliente, produto, coberturas e histórico de estados.
+ * 
+ * Coberturas e assistências ficam nas tabelas {@code solicitacao_coberturas}
+ * e {@code solicitacao_assistencias} ou, com o armazenamento compacto
+ * ({@link ColecoesCompactasListener}), codificadas na coluna {@code colecoes}.
+ * As tabelas são coleções lazy: quando a coluna está preenchida, não são
+ * lidas nem gravadas.
+ * 
+ * Produto, canal de vendas, forma de pagamento e os nomes de coberturas e
+ * assistências são gravados como códigos do dicionário de termos
+ * ({@link TermoConverter}); as instâncias lidas compartilham a mesma
+ * String por termo.
  */
 @Entity
-@Table(name = "solicitacao_apolice")
-public class SolicitacaoApolice {
-    
+@EntityListeners(ColecoesCompactasListener.class)
+@Table(name = "solicitacao_apolice", indexes = {
+    // Listagens por cliente, em ordem de criação
+    @Index(name = "idx_solicitacao_customer_created", columnList = "customer_id, created_at"),
+    // Busca de solicitações ativas (finished_at IS NULL) por cliente; o H2 não
+    // suporta índice parcial, então finished_at entra como segunda coluna
+    @Index(name = "idx_solicitacao_customer_finished", columnList = "customer_id, finished_at"),
+    // Varredura do arquivamento, das finalizadas há mais tempo para as mais recentes
+    @Index(name = "idx_solicitacao_finished", columnList = "finished_at"),
+    // Transições em massa de uma linha de produto
+    @Index(name = "idx_solicitacao_product_status", columnList = "product_id, status"),
+    // Varredura por chave (created_at, id) das solicitações paradas em um status
+    @Index(name = "idx_solicitacao_status_created", columnList = "status, created_at, id")
+})
+public class SolicitacaoApolice implements Persistable<UUID> {
+    
+    // Atribuído na criação, para que o ID possa ser devolvido antes da gravação
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     
     @Column(name = "customer_id", nullable = false)
     private UUID customerId;
     
+    @Convert(converter = TermoConverter.class)
     @Column(name = "product_id", nullable = false)
     private String productId;
     
@@ -30,29 +61,38 @@ public class SolicitacaoApolice {
     @Column(name = "category", nullable = false)
     private CategoriaSeguro category;
     
+    @Convert(converter = TermoConverter.class)
     @Column(name = "sales_channel", nullable = false)
     private String salesChannel;
     
+    @Convert(converter = TermoConverter.class)
     @Column(name = "payment_method", nullable = false)
     private String paymentMethod;
     
     @Column(name = "total_monthly_premium_amount", nullable = false, precision = 10, scale = 2)
-    private BigDecimal totalMonthlyPremiumAmount;
+    private Dinheiro totalMonthlyPremiumAmount;
     
     @Column(name = "insured_amount", nullable = false, precision = 12, scale = 2)
-    private BigDecimal insuredAmount;
+    private Dinheiro insuredAmount;
     
     @ElementCollection
+    @Convert(attributeName = "key", converter = TermoConverter.class)
     @CollectionTable(name = "solicitacao_coberturas", joinColumns = @JoinColumn(name = "solicitacao_id"))
     @MapKeyColumn(name = "cobertura_nome")
     @Column(name = "cobertura_valor", precision = 12, scale = 2)
-    private Map<String, BigDecimal> coverages = new HashMap<>();
+    private Map<String, Dinheiro> coverages = new HashMap<>();
     
     @ElementCollection
+    @Convert(converter = TermoConverter.class)
     @CollectionTable(name = "solicitacao_assistencias", joinColumns = @JoinColumn(name = "solicitacao_id"))
     @Column(name = "assistencia")
     private List<String> assistances = new ArrayList<>();
     
+    // Coberturas e assistências codificadas; substituída, nunca alterada
+    @Column(name = "colecoes", length = 65535)
+    @Mutability(Immutability.class)
+    private ColecoesSolicitacao colecoes;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private StatusSolicitacao status;
@@ -68,6 +108,12 @@ public class SolicitacaoApolice {
     @OrderBy("timestamp ASC")
     private List<HistoricoStatus> history = new ArrayList<>();
     
+    @Transient
+    private final List<StatusAlteradoEvent> eventosDominio = new ArrayList<>();
+    
+    @Transient
+    private boolean novo = true;
+    
     // Construtor padrão para JPA
     protected SolicitacaoApolice() {}
     
@@ -86,8 +132,34 @@ public class SolicitacaoApolice {
      */
     public SolicitacaoApolice(UUID customerId, String productId, CategoriaSeguro category,
                              String salesChannel, String paymentMethod,
-                             BigDecimal totalMonthlyPremiumAmount, BigDecimal insuredAmount,
-                             Map<String, BigDecimal> coverages, List<String> assistances) {
+                             Dinheiro totalMonthlyPremiumAmount, Dinheiro insuredAmount,
+                             Map<String, Dinheiro> coverages, List<String> assistances) {
+        this(UUID.randomUUID(), LocalDateTime.now(), customerId, productId, category, salesChannel, paymentMethod,
+             totalMonthlyPremiumAmount, insuredAmount, coverages, assistances);
+    }
+    
+    /**
+     * Construtor para criar uma solicitação com ID e data de criação já
+     * atribuídos, como na criação assíncrona, em que o ID é devolvido ao
+     * cliente antes da gravação.
+     * 
+     * @param id ID da solicitação
+     * @param createdAt data de criação
+     * @param customerId ID do cliente
+     * @param productId ID do produto
+     * @param category categoria do seguro
+     * @param salesChannel canal de vendas
+     * @param paymentMethod forma de pagamento
+     * @param totalMonthlyPremiumAmount valor mensal do prêmio
+     * @param insuredAmount valor do capital segurado
+     * @param coverages coberturas contratadas
+     * @param assistances assistências contratadas
+     */
+    public SolicitacaoApolice(UUID id, LocalDateTime createdAt, UUID customerId, String productId,
+                             CategoriaSeguro category, String salesChannel, String paymentMethod,
+                             Dinheiro totalMonthlyPremiumAmount, Dinheiro insuredAmount,
+                             Map<String, Dinheiro> coverages, List<String> assistances) {
+        this.id = id;
         this.customerId = customerId;
         this.productId = productId;
         this.category = category;
@@ -98,10 +170,10 @@ public class SolicitacaoApolice {
         this.coverages = new HashMap<>(coverages);
         this.assistances = new ArrayList<>(assistances);
         this.status = StatusSolicitacao.RECEBIDO;
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = createdAt;
         
         // Adiciona o primeiro registro no histórico
-        adicionarHistorico(StatusSolicitacao.RECEBIDO, "Solicitação recebida");
+        this.history.add(new HistoricoStatus(StatusSolicitacao.RECEBIDO, createdAt, "Solicitação recebida"));
     }
     
     /**
@@ -119,7 +191,10 @@ public class SolicitacaoApolice {
         }
         
         this.status = novoStatus;
-        adicionarHistorico(novoStatus, observacao);
+        HistoricoStatus registro = adicionarHistorico(novoStatus, observacao);
+        
+        // Registra a transição para notificação após o commit
+        this.eventosDominio.add(new StatusAlteradoEvent(this.id, novoStatus, registro.getTimestamp(), observacao));
         
         // Define data de finalização para estados finais
         if (novoStatus.isEstadoFinal() && this.finishedAt == null) {
@@ -127,14 +202,71 @@ public class SolicitacaoApolice {
         }
     }
     
+    /**
+     * Move coberturas e assistências para a coluna compacta. Numa
+     * solicitação já gravada, as linhas das tabelas de coleções são
+     * removidas no próximo flush.
+     */
+    public void compactarColecoes() {
+        if (this.colecoes != null) {
+            return;
+        }
+        
+        this.colecoes = ColecoesSolicitacao.de(coverages, assistances);
+        this.coverages = new HashMap<>();
+        this.assistances = new ArrayList<>();
+    }
+    
+    /**
+     * @return true se as coleções estão na coluna compacta
+     */
+    public boolean isColecoesCompactas() {
+        return colecoes != null;
+    }
+    
     /**
      * Adiciona um registro ao histórico de mudanças de status.
      * 
      * @param status o status
      * @param observacao observação sobre a mudança
+     * @return registro adicionado
+     */
+    private HistoricoStatus adicionarHistorico(StatusSolicitacao status, String observacao) {
+        HistoricoStatus registro = new HistoricoStatus(status, LocalDateTime.now(), observacao);
+        this.history.add(registro);
+        return registro;
+    }
+    
+    /**
+     * Eventos de domínio pendentes, publicados pelo Spring Data no save.
+     * 
+     * @return transições registradas desde o último save
      */
-    private void adicionarHistorico(StatusSolicitacao status, String observacao) {
-        this.history.add(new HistoricoStatus(status, LocalDateTime.now(), observacao));
+    @DomainEvents
+    protected Collection<StatusAlteradoEvent> eventosDominio() {
+        return Collections.unmodifiableList(eventosDominio);
+    }
+    
+    /**
+     * Limpa os eventos de domínio após a publicação.
+     */
+    @AfterDomainEventPublication
+    protected void limparEventosDominio() {
+        this.eventosDominio.clear();
+    }
+    
+    /**
+     * Evita o SELECT do merge ao inserir, já que o ID é atribuído.
+     */
+    @PostLoad
+    @PostPersist
+    void marcarPersistida() {
+        this.novo = false;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return novo;
     }
     
     /**
@@ -147,6 +279,7 @@ public class SolicitacaoApolice {
     }
     
     // Getters
+    @Override
     public UUID getId() {
         return id;
     }
@@ -171,20 +304,22 @@ public class SolicitacaoApolice {
         return paymentMethod;
     }
     
-    public BigDecimal getTotalMonthlyPremiumAmount() {
+    public Dinheiro getTotalMonthlyPremiumAmount() {
         return totalMonthlyPremiumAmount;
     }
     
-    public BigDecimal getInsuredAmount() {
+    public Dinheiro getInsuredAmount() {
         return insuredAmount;
     }
     
-    public Map<String, BigDecimal> getCoverages() {
-        return Collections.unmodifiableMap(coverages);
+    public Map<String, Dinheiro> getCoverages() {
+        ColecoesSolicitacao compactas = colecoes;
+        return compactas != null ? compactas.getCoverages() : Collections.unmodifiableMap(coverages);
     }
     
     public List<String> getAssistances() {
-        return Collections.unmodifiableList(assistances);
+        ColecoesSolicitacao compactas = colecoes;
+        return compactas != null ? compactas.getAssistances() : Collections.unmodifiableList(assistances);
     }
     
     public StatusSolicitacao getStatus() {
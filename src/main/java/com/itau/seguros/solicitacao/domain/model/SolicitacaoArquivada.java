@@ -0,0 +1,138 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Entidade que representa uma solicitação finalizada movida para o arquivo.
+ *
+ * O agregado completo (coberturas, assistências e histórico) é mantido
+ * em uma única coluna compactada, liberando as tabelas quentes. Apenas
+ * os campos usados em filtros ficam em colunas próprias.
+ */
+@Entity
+@Table(name = "solicitacao_apolice_arquivo")
+public class SolicitacaoArquivada implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "customer_id", nullable = false)
+    private UUID customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private StatusSolicitacao status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at", nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(name = "arquivado_em", nullable = false)
+    private LocalDateTime arquivadoEm;
+
+    @Lob
+    @Column(name = "conteudo", nullable = false)
+    private byte[] conteudo;
+
+    @Transient
+    private boolean novo = true;
+
+    // Construtor padrão para JPA
+    protected SolicitacaoArquivada() {}
+
+    /**
+     * Construtor para arquivar uma solicitação finalizada.
+     *
+     * @param id ID original da solicitação
+     * @param customerId ID do cliente
+     * @param status status final
+     * @param createdAt data de criação
+     * @param finishedAt data de finalização
+     * @param conteudo agregado serializado e compactado
+     */
+    public SolicitacaoArquivada(UUID id, UUID customerId, StatusSolicitacao status,
+                               LocalDateTime createdAt, LocalDateTime finishedAt, byte[] conteudo) {
+        this.id = id;
+        this.customerId = customerId;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.finishedAt = finishedAt;
+        this.conteudo = conteudo;
+        this.arquivadoEm = LocalDateTime.now();
+    }
+
+    /**
+     * Evita o SELECT do merge ao inserir, já que o ID é atribuído.
+     */
+    @PostLoad
+    @PostPersist
+    void marcarPersistida() {
+        this.novo = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    // Getters
+    @Override
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getCustomerId() {
+        return customerId;
+    }
+
+    public StatusSolicitacao getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public LocalDateTime getArquivadoEm() {
+        return arquivadoEm;
+    }
+
+    public byte[] getConteudo() {
+        return conteudo;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SolicitacaoArquivada that = (SolicitacaoArquivada) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "SolicitacaoArquivada{" +
+                "id=" + id +
+                ", customerId=" + customerId +
+                ", status=" + status +
+                ", finishedAt=" + finishedAt +
+                ", arquivadoEm=" + arquivadoEm +
+                '}';
+    }
+}
@@ -1,16 +1,25 @@
 package com.itau.seguros.solicitacao.domain.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Enumeração que representa os possíveis estados do ciclo de vida 
  * de uma solicitação de apólice de seguro.
  * 
  * Estados e transições permitidas:
- * - RECEBIDO → VALIDADO, CANCELADA
- * - VALIDADO → PENDENTE, REJEITADA, CANCELADA
- * - PENDENTE → APROVADA, REJEITADA, CANCELADA
+ * - RECEBIDO → VALIDADO, CANCELADA, EXPIRADA
+ * - VALIDADO → PENDENTE, REJEITADA, CANCELADA, EXPIRADA
+ * - PENDENTE → APROVADA, REJEITADA, CANCELADA, EXPIRADA
  * - REJEITADA → (estado final)
  * - APROVADA → (estado final)
  * - CANCELADA → (estado final)
+ * - EXPIRADA → (estado final)
+ * 
+ * Novos estados entram sempre no final: o event store grava o ordinal.
  */
 public enum StatusSolicitacao {
     
@@ -48,7 +57,28 @@ public enum StatusSolicitacao {
      * Solicitação cancelada a pedido do cliente.
      * Não pode ser cancelada se já aprovada.
      */
-    CANCELADA("Cancelada");
+    CANCELADA("Cancelada"),
+    
+    /**
+     * Solicitação parada sem o evento de pagamento ou de subscrição
+     * além do prazo, encerrada pela expiração. Estado final.
+     */
+    EXPIRADA("Expirada");
+    
+    // Tabela de transições invertida: para cada destino, os status de origem
+    private static final Map<StatusSolicitacao, Set<StatusSolicitacao>> ORIGENS = new EnumMap<>(StatusSolicitacao.class);
+    
+    static {
+        for (StatusSolicitacao destino : values()) {
+            Set<StatusSolicitacao> origens = EnumSet.noneOf(StatusSolicitacao.class);
+            for (StatusSolicitacao origem : values()) {
+                if (origem.podeTransicionarPara(destino)) {
+                    origens.add(origem);
+                }
+            }
+            ORIGENS.put(destino, Collections.unmodifiableSet(origens));
+        }
+    }
     
     private final String descricao;
     
@@ -68,20 +98,32 @@ public enum StatusSolicitacao {
      */
     public boolean podeTransicionarPara(StatusSolicitacao novoStatus) {
         return switch (this) {
-            case RECEBIDO -> novoStatus == VALIDADO || novoStatus == CANCELADA;
-            case VALIDADO -> novoStatus == PENDENTE || novoStatus == REJEITADA || novoStatus == CANCELADA;
-            case PENDENTE -> novoStatus == APROVADA || novoStatus == REJEITADA || novoStatus == CANCELADA;
-            case REJEITADA, APROVADA, CANCELADA -> false; // Estados finais
+            case RECEBIDO -> novoStatus == VALIDADO || novoStatus == CANCELADA || novoStatus == EXPIRADA;
+            case VALIDADO -> novoStatus == PENDENTE || novoStatus == REJEITADA || novoStatus == CANCELADA
+                || novoStatus == EXPIRADA;
+            case PENDENTE -> novoStatus == APROVADA || novoStatus == REJEITADA || novoStatus == CANCELADA
+                || novoStatus == EXPIRADA;
+            case REJEITADA, APROVADA, CANCELADA, EXPIRADA -> false; // Estados finais
         };
     }
     
+    /**
+     * Status a partir dos quais é possível transicionar para este, conforme
+     * {@link #podeTransicionarPara(StatusSolicitacao)}.
+     * 
+     * @return status de origem permitidos (vazio para RECEBIDO)
+     */
+    public Set<StatusSolicitacao> getOrigensPermitidas() {
+        return ORIGENS.get(this);
+    }
+    
     /**
      * Verifica se o status atual é um estado final.
      * 
      * @return true se é um estado final
      */
     public boolean isEstadoFinal() {
-        return this == REJEITADA || this == APROVADA || this == CANCELADA;
+        return this == REJEITADA || this == APROVADA || this == CANCELADA || this == EXPIRADA;
     }
 }
 
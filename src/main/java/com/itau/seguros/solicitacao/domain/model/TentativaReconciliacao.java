@@ -0,0 +1,141 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Entidade que registra cada republicação de evento feita pela
+ * reconciliação para uma solicitação parada.
+ *
+ * A última tentativa de uma solicitação ainda parada guarda quando a
+ * próxima deve ser feita; as demais têm {@code proximaTentativa} nula.
+ */
+@Entity
+@Table(name = "tentativa_reconciliacao", indexes = {
+    @Index(name = "idx_tentativa_reconciliacao_proxima", columnList = "status, proxima_tentativa"),
+    @Index(name = "idx_tentativa_reconciliacao_solicitacao", columnList = "solicitacao_id")
+})
+public class TentativaReconciliacao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tentativa_reconciliacao_seq")
+    @SequenceGenerator(name = "tentativa_reconciliacao_seq", sequenceName = "tentativa_reconciliacao_seq",
+                       allocationSize = 50)
+    private Long id;
+
+    @Column(name = "solicitacao_id", nullable = false)
+    private UUID solicitacaoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusSolicitacao status;
+
+    @Column(name = "evento", nullable = false, length = 50)
+    private String evento;
+
+    @Column(name = "numero", nullable = false)
+    private int numero;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "sucesso", nullable = false)
+    private boolean sucesso;
+
+    @Column(name = "erro")
+    private String erro;
+
+    @Column(name = "proxima_tentativa")
+    private LocalDateTime proximaTentativa;
+
+    // Construtor padrão para JPA
+    protected TentativaReconciliacao() {}
+
+    /**
+     * Construtor para registrar uma tentativa.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @param status status em que a solicitação estava parada
+     * @param evento tipo do evento republicado
+     * @param numero número da tentativa, a partir de 1
+     * @param timestamp momento da tentativa
+     * @param erro mensagem da falha na publicação, ou null se publicado
+     * @param proximaTentativa quando tentar de novo se continuar parada, ou
+     *        null se as tentativas se esgotaram
+     */
+    public TentativaReconciliacao(UUID solicitacaoId, StatusSolicitacao status, String evento, int numero,
+                                  LocalDateTime timestamp, String erro, LocalDateTime proximaTentativa) {
+        this.solicitacaoId = solicitacaoId;
+        this.status = status;
+        this.evento = evento;
+        this.numero = numero;
+        this.timestamp = timestamp;
+        this.sucesso = erro == null;
+        this.erro = erro;
+        this.proximaTentativa = proximaTentativa;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getSolicitacaoId() {
+        return solicitacaoId;
+    }
+
+    public StatusSolicitacao getStatus() {
+        return status;
+    }
+
+    public String getEvento() {
+        return evento;
+    }
+
+    public int getNumero() {
+        return numero;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isSucesso() {
+        return sucesso;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public LocalDateTime getProximaTentativa() {
+        return proximaTentativa;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TentativaReconciliacao that = (TentativaReconciliacao) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "TentativaReconciliacao{" +
+                "id=" + id +
+                ", solicitacaoId=" + solicitacaoId +
+                ", status=" + status +
+                ", numero=" + numero +
+                ", sucesso=" + sucesso +
+                ", proximaTentativa=" + proximaTentativa +
+                '}';
+    }
+}
@@ -0,0 +1,32 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava termos de vocabulário pequeno como o código do
+ * {@link VocabularioTermos}; na leitura devolve a instância compartilhada
+ * do termo, em vez de uma String nova por coluna lida.
+ *
+ * Instanciado pelo Hibernate através do contêiner de beans do Spring,
+ * que injeta o vocabulário.
+ */
+@Converter
+public class TermoConverter implements AttributeConverter<String, String> {
+
+    private final VocabularioTermos vocabulario;
+
+    public TermoConverter(VocabularioTermos vocabulario) {
+        this.vocabulario = vocabulario;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String termo) {
+        return termo == null ? null : vocabulario.codificar(termo);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String valor) {
+        return valor == null ? null : vocabulario.decodificar(valor);
+    }
+}
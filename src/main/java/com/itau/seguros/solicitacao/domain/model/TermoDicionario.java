@@ -0,0 +1,63 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import jakarta.persistence.*;
+import java.util.Objects;
+
+/**
+ * Entidade que associa um termo de vocabulário pequeno (produto, canal de
+ * vendas, forma de pagamento, cobertura ou assistência) ao código gravado
+ * no lugar dele.
+ *
+ * Mapeada apenas para que a tabela faça parte do esquema; a leitura e a
+ * gravação dos termos são feitas pelo dicionário de termos
+ * ({@link VocabularioTermos}), fora do contexto de persistência.
+ */
+@Entity
+@Table(name = "dicionario_termo")
+public class TermoDicionario {
+
+    @Id
+    @Column(name = "codigo")
+    private Integer codigo;
+
+    @Column(name = "termo", nullable = false, unique = true)
+    private String termo;
+
+    // Construtor padrão para JPA
+    protected TermoDicionario() {}
+
+    public TermoDicionario(Integer codigo, String termo) {
+        this.codigo = codigo;
+        this.termo = termo;
+    }
+
+    // Getters
+    public Integer getCodigo() {
+        return codigo;
+    }
+
+    public String getTermo() {
+        return termo;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TermoDicionario that = (TermoDicionario) o;
+        return Objects.equals(codigo, that.codigo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(codigo);
+    }
+
+    @Override
+    public String toString() {
+        return "TermoDicionario{" +
+                "codigo=" + codigo +
+                ", termo='" + termo + '\'' +
+                '}';
+    }
+}
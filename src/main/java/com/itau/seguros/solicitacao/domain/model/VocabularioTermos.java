@@ -0,0 +1,27 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+/**
+ * Dicionário dos termos que se repetem entre as solicitações (produtos,
+ * canais de venda, formas de pagamento, nomes de coberturas e de
+ * assistências), gravados como códigos curtos.
+ */
+public interface VocabularioTermos {
+
+    /**
+     * Valor gravado na coluna para o termo.
+     *
+     * @param termo termo da entidade
+     * @return o código do termo, ou o próprio termo em texto se ele não
+     *         couber no dicionário
+     */
+    String codificar(String termo);
+
+    /**
+     * Termo correspondente ao valor gravado.
+     *
+     * @param valor valor lido da coluna
+     * @return a instância compartilhada do termo, ou o texto gravado
+     * @throws IllegalStateException se o código não existir
+     */
+    String decodificar(String valor);
+}
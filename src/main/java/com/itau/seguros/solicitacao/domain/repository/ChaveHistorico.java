@@ -0,0 +1,19 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projeção com a chave de varredura (timestamp, id) de um registro do
+ * histórico de status e a solicitação a que pertence.
+ *
+ * A última chave de uma página marca onde a página seguinte começa.
+ */
+public interface ChaveHistorico {
+
+    Long getHistoricoId();
+
+    LocalDateTime getTimestamp();
+
+    UUID getSolicitacaoId();
+}
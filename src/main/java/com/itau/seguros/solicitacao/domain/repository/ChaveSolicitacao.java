@@ -0,0 +1,16 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projeção com a chave de varredura (created_at, id) de uma solicitação.
+ *
+ * A última chave de uma página marca onde a página seguinte começa.
+ */
+public interface ChaveSolicitacao {
+
+    UUID getId();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,13 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import com.itau.seguros.solicitacao.domain.model.CheckpointReconciliacao;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositório para as posições de varredura da reconciliação.
+ */
+@Repository
+public interface CheckpointReconciliacaoRepository extends JpaRepository<CheckpointReconciliacao, StatusSolicitacao> {
+}
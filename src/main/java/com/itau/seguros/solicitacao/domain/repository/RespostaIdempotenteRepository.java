@@ -0,0 +1,103 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import com.itau.seguros.solicitacao.domain.model.RespostaIdempotente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Repositório para as respostas guardadas por Idempotency-Key.
+ */
+@Repository
+public interface RespostaIdempotenteRepository extends JpaRepository<RespostaIdempotente, String> {
+
+    /**
+     * Busca a resposta de uma chave ainda válida.
+     *
+     * @param chave valor do cabeçalho Idempotency-Key
+     * @param agora instante de referência
+     * @return resposta guardada, se existir e não tiver expirado
+     */
+    Optional<RespostaIdempotente> findByChaveAndExpiraEmAfter(String chave, LocalDateTime agora);
+
+    /**
+     * Grava a resposta na reserva da chave, se ela ainda estiver pendente.
+     *
+     * @param chave valor do cabeçalho Idempotency-Key
+     * @param statusHttp status HTTP da resposta
+     * @param contentType tipo de conteúdo da resposta
+     * @param cabecalhos demais cabeçalhos da resposta, um por linha
+     * @param corpo bytes da resposta
+     * @param expiraEm data a partir da qual a chave pode ser descartada
+     * @return 1 se a reserva foi concluída, 0 se ela não existia mais
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RespostaIdempotente r SET r.pendente = false, r.statusHttp = :statusHttp, "
+         + "r.contentType = :contentType, r.cabecalhos = :cabecalhos, r.corpo = :corpo, r.expiraEm = :expiraEm "
+         + "WHERE r.chave = :chave AND r.pendente = true")
+    int concluirReserva(@Param("chave") String chave, @Param("statusHttp") int statusHttp,
+                        @Param("contentType") String contentType, @Param("cabecalhos") String cabecalhos,
+                        @Param("corpo") byte[] corpo, @Param("expiraEm") LocalDateTime expiraEm);
+
+    /**
+     * Estende o prazo das reservas de chaves ainda em execução.
+     *
+     * @param chaves valores do cabeçalho Idempotency-Key
+     * @param expiraEm novo prazo das reservas
+     * @return quantidade de reservas renovadas
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RespostaIdempotente r SET r.expiraEm = :expiraEm WHERE r.chave IN :chaves AND r.pendente = true")
+    int renovarReservas(@Param("chaves") Collection<String> chaves, @Param("expiraEm") LocalDateTime expiraEm);
+
+    /**
+     * Libera a reserva de uma chave cuja execução não gerou resposta guardável.
+     *
+     * @param chave valor do cabeçalho Idempotency-Key
+     * @return quantidade de reservas removidas
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RespostaIdempotente r WHERE r.chave = :chave AND r.pendente = true")
+    int deleteReserva(@Param("chave") String chave);
+
+    /**
+     * Remove o registro expirado de uma chave, para que ela possa ser
+     * reservada de novo. Reservas abandonadas só são removidas depois de
+     * criadas há mais que a retenção das respostas.
+     *
+     * @param chave valor do cabeçalho Idempotency-Key
+     * @param agora instante de referência
+     * @param limiteReservas data de criação até a qual reservas abandonadas são removidas
+     * @return quantidade de registros removidos
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RespostaIdempotente r WHERE r.chave = :chave AND r.expiraEm <= :agora "
+         + "AND (r.pendente = false OR r.criadoEm <= :limiteReservas)")
+    int deleteExpirada(@Param("chave") String chave, @Param("agora") LocalDateTime agora,
+                       @Param("limiteReservas") LocalDateTime limiteReservas);
+
+    /**
+     * Remove as respostas expiradas e as reservas abandonadas há mais que a
+     * retenção das respostas.
+     *
+     * @param agora instante de referência
+     * @param limiteReservas data de criação até a qual reservas abandonadas são removidas
+     * @return quantidade de respostas removidas
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RespostaIdempotente r WHERE r.expiraEm <= :agora "
+         + "AND (r.pendente = false OR r.criadoEm <= :limiteReservas)")
+    int deleteExpiradas(@Param("agora") LocalDateTime agora, @Param("limiteReservas") LocalDateTime limiteReservas);
+}
@@ -0,0 +1,14 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoArquivada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+/**
+ * Repositório para o arquivo de solicitações finalizadas.
+ */
+@Repository
+public interface SolicitacaoArquivadaRepository extends JpaRepository<SolicitacaoArquivada, UUID> {
+}
@@ -1,11 +1,18 @@
 package com.itau.seguros.solicitacao.domain.repository;
 
 import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,13 +52,257 @@ public interface SolicitacaoRepository extends JpaRepository<SolicitacaoApolice,
     @Query("SELECT s FROM SolicitacaoApolice s LEFT JOIN FETCH s.history WHERE s.customerId = :customerId")
     List<SolicitacaoApolice> findByCustomerIdWithHistory(@Param("customerId") UUID customerId);
     
+    /**
+     * Busca o resumo das solicitações de um cliente, das mais recentes
+     * para as mais antigas.
+     * 
+     * @param customerId ID do cliente
+     * @return resumos das solicitações do cliente
+     */
+    List<SolicitacaoResumo> findResumoByCustomerIdOrderByCreatedAtDesc(UUID customerId);
+    
     /**
      * Verifica se existe alguma solicitação ativa (não finalizada) para um cliente.
      * 
+     * A consulta derivada é executada como sonda de existência (LIMIT 1),
+     * parando na primeira linha encontrada no índice (customer_id, finished_at)
+     * em vez de contar todas as solicitações ativas do cliente.
+     * 
      * @param customerId ID do cliente
      * @return true se existe solicitação ativa
      */
-    @Query("SELECT COUNT(s) > 0 FROM SolicitacaoApolice s WHERE s.customerId = :customerId AND s.finishedAt IS NULL")
-    boolean existsActiveSolicitacaoByCustomerId(@Param("customerId") UUID customerId);
+    default boolean existsActiveSolicitacaoByCustomerId(UUID customerId) {
+        return existsByCustomerIdAndFinishedAtIsNull(customerId);
+    }
+    
+    boolean existsByCustomerIdAndFinishedAtIsNull(UUID customerId);
+    
+    /**
+     * Busca IDs de solicitações finalizadas antes de uma data, das mais antigas
+     * para as mais recentes.
+     * 
+     * @param limite data limite de finalização (exclusiva)
+     * @param pageable tamanho do lote
+     * @return IDs das solicitações elegíveis
+     */
+    @Query("SELECT s.id FROM SolicitacaoApolice s WHERE s.finishedAt < :limite ORDER BY s.finishedAt")
+    List<UUID> findIdsFinalizadasAntesDe(@Param("limite") LocalDateTime limite, Pageable pageable);
+    
+    /**
+     * Busca IDs de solicitações ativas com ID maior que o informado, em
+     * ordem de ID, para varreduras por chave.
+     * 
+     * @param apos último ID da página anterior (exclusivo)
+     * @param pageable tamanho do lote
+     * @return IDs das solicitações ativas
+     */
+    @Query("SELECT s.id FROM SolicitacaoApolice s WHERE s.finishedAt IS NULL AND s.id > :apos ORDER BY s.id")
+    List<UUID> findIdsAtivasApos(@Param("apos") UUID apos, Pageable pageable);
+    
+    /**
+     * Busca um conjunto de solicitações com o histórico carregado.
+     * 
+     * @param ids IDs das solicitações
+     * @return solicitações com histórico
+     */
+    @Query("SELECT DISTINCT s FROM SolicitacaoApolice s LEFT JOIN FETCH s.history WHERE s.id IN :ids")
+    List<SolicitacaoApolice> findAllByIdInWithHistory(@Param("ids") Collection<UUID> ids);
+    
+    /**
+     * Busca IDs de solicitações cujas coberturas e assistências ainda estão
+     * nas tabelas de coleções.
+     * 
+     * @param pageable tamanho do lote
+     * @return IDs das solicitações a migrar para a coluna compacta
+     */
+    @Query("SELECT s.id FROM SolicitacaoApolice s WHERE s.colecoes IS NULL")
+    List<UUID> findIdsComColecoesNaoCompactadas(Pageable pageable);
+    
+    /**
+     * Altera o status de uma solicitação apenas se ela ainda estiver no
+     * status esperado, sem carregar o agregado. A data de finalização só é
+     * gravada se ainda não houver uma.
+     * 
+     * @param id ID da solicitação
+     * @param statusAtual status esperado
+     * @param novoStatus status de destino
+     * @param finishedAt data de finalização, ou null se o destino não for final
+     * @return 1 se a solicitação foi alterada, 0 se não existe ou mudou de status
+     */
+    @Modifying
+    @Query("UPDATE SolicitacaoApolice s SET s.status = :novoStatus, s.finishedAt = COALESCE(s.finishedAt, :finishedAt) "
+         + "WHERE s.id = :id AND s.status = :statusAtual")
+    int atualizarStatusSeAtual(@Param("id") UUID id,
+                               @Param("statusAtual") StatusSolicitacao statusAtual,
+                               @Param("novoStatus") StatusSolicitacao novoStatus,
+                               @Param("finishedAt") LocalDateTime finishedAt);
+    
+    /**
+     * Acrescenta um registro ao histórico de status sem carregar o agregado.
+     * 
+     * @param solicitacaoId ID da solicitação
+     * @param status nome do status registrado
+     * @param timestamp momento da mudança
+     * @param observacao observação sobre a mudança
+     */
+    @Modifying
+    @Query(value = "INSERT INTO historico_status (id, solicitacao_id, status, timestamp, observacao) "
+                 + "VALUES (NEXT VALUE FOR historico_status_seq, :solicitacaoId, :status, :timestamp, :observacao)",
+           nativeQuery = true)
+    void inserirHistorico(@Param("solicitacaoId") UUID solicitacaoId,
+                          @Param("status") String status,
+                          @Param("timestamp") LocalDateTime timestamp,
+                          @Param("observacao") String observacao);
+    
+    /**
+     * Primeira página da varredura por chave das solicitações em um status
+     * criadas antes de uma data, das mais antigas para as mais recentes.
+     * 
+     * O status fixo entra no ORDER BY para que a ordem coincida com a do
+     * índice (status, created_at, id) e o banco não precise ordenar.
+     * 
+     * @param status status atual
+     * @param limite data limite de criação (exclusiva)
+     * @param pageable tamanho da página
+     * @return chaves das solicitações, na ordem (created_at, id)
+     */
+    @Query("SELECT s.id AS id, s.createdAt AS createdAt FROM SolicitacaoApolice s "
+         + "WHERE s.status = :status AND s.createdAt < :limite ORDER BY s.status, s.createdAt, s.id")
+    List<ChaveSolicitacao> findChavesCriadasAntesDe(@Param("status") StatusSolicitacao status,
+                                                    @Param("limite") LocalDateTime limite,
+                                                    Pageable pageable);
+    
+    /**
+     * Página seguinte da varredura por chave: continua depois da última
+     * chave lida, sem OFFSET. A condição {@code createdAt >= :createdAt}
+     * delimita o início da faixa no índice (status, created_at, id).
+     * 
+     * @param status status atual
+     * @param limite data limite de criação (exclusiva)
+     * @param createdAt data de criação da última chave lida
+     * @param id ID da última chave lida
+     * @param pageable tamanho da página
+     * @return chaves das solicitações, na ordem (created_at, id)
+     */
+    @Query("SELECT s.id AS id, s.createdAt AS createdAt FROM SolicitacaoApolice s "
+         + "WHERE s.status = :status AND s.createdAt < :limite AND s.createdAt >= :createdAt "
+         + "AND (s.createdAt > :createdAt OR s.id > :id) ORDER BY s.status, s.createdAt, s.id")
+    List<ChaveSolicitacao> findChavesCriadasAntesDeApos(@Param("status") StatusSolicitacao status,
+                                                        @Param("limite") LocalDateTime limite,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") UUID id,
+                                                        Pageable pageable);
+    
+    /**
+     * Varredura por chave do histórico para a reconciliação: registros de
+     * entrada em um status, anteriores ao limite e posteriores à chave
+     * (timestamp, id) informada, de solicitações que continuam nesse status.
+     * Como as transições não voltam a um status anterior, o registro é o
+     * último do histórico da solicitação. Lê o índice (status, timestamp, id)
+     * do histórico a partir da chave, sem OFFSET.
+     * 
+     * @param status status em que as solicitações estão paradas
+     * @param limite timestamp limite (exclusivo)
+     * @param timestamp timestamp da última chave lida
+     * @param historicoId ID da última chave lida
+     * @param pageable tamanho da página
+     * @return chaves dos registros, na ordem (timestamp, id)
+     */
+    @Query("SELECT h.id AS historicoId, h.timestamp AS timestamp, s.id AS solicitacaoId "
+         + "FROM SolicitacaoApolice s JOIN s.history h "
+         + "WHERE h.status = :status AND s.status = :status AND h.timestamp < :limite "
+         + "AND h.timestamp >= :timestamp AND (h.timestamp > :timestamp OR h.id > :historicoId) "
+         + "ORDER BY h.status, h.timestamp, h.id")
+    List<ChaveHistorico> findParadasApos(@Param("status") StatusSolicitacao status,
+                                         @Param("limite") LocalDateTime limite,
+                                         @Param("timestamp") LocalDateTime timestamp,
+                                         @Param("historicoId") Long historicoId,
+                                         Pageable pageable);
+    
+    /**
+     * Busca e bloqueia um lote de solicitações de um produto em um dos
+     * status de origem, para transição em massa.
+     * 
+     * @param productId ID do produto
+     * @param origens status de origem
+     * @param pageable tamanho do lote
+     * @return IDs das solicitações bloqueadas
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM SolicitacaoApolice s WHERE s.productId = :productId AND s.status IN :origens "
+         + "ORDER BY s.id")
+    List<UUID> findIdsParaTransicaoPorProduto(@Param("productId") String productId,
+                                              @Param("origens") Collection<StatusSolicitacao> origens,
+                                              Pageable pageable);
+    
+    /**
+     * Busca e bloqueia um lote de solicitações criadas antes de uma data em
+     * um dos status de origem, para transição em massa.
+     * 
+     * @param origens status de origem
+     * @param limite data limite de criação (exclusiva)
+     * @param pageable tamanho do lote
+     * @return IDs das solicitações bloqueadas
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM SolicitacaoApolice s WHERE s.status IN :origens AND s.createdAt < :limite "
+         + "ORDER BY s.createdAt")
+    List<UUID> findIdsParaTransicaoCriadasAntesDe(@Param("origens") Collection<StatusSolicitacao> origens,
+                                                  @Param("limite") LocalDateTime limite,
+                                                  Pageable pageable);
+    
+    /**
+     * Bloqueia, entre as solicitações informadas, as que estão em um dos
+     * status de origem, para transição em massa.
+     * 
+     * @param ids IDs das solicitações
+     * @param origens status de origem
+     * @return IDs das solicitações bloqueadas
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s.id FROM SolicitacaoApolice s WHERE s.id IN :ids AND s.status IN :origens ORDER BY s.id")
+    List<UUID> findIdsParaTransicao(@Param("ids") Collection<UUID> ids,
+                                    @Param("origens") Collection<StatusSolicitacao> origens);
+    
+    /**
+     * Acrescenta um registro ao histórico de cada solicitação do lote que
+     * ainda está em um dos status de origem, em um único INSERT ... SELECT.
+     * Deve ser executado antes de {@link #atualizarStatusEmMassa}.
+     * 
+     * @param ids IDs das solicitações
+     * @param origens nomes dos status de origem
+     * @param status nome do status registrado
+     * @param timestamp momento da mudança
+     * @param observacao observação sobre a mudança
+     * @return quantidade de registros inseridos
+     */
+    @Modifying
+    @Query(value = "INSERT INTO historico_status (id, solicitacao_id, status, timestamp, observacao) "
+                 + "SELECT NEXT VALUE FOR historico_status_seq, s.id, :status, :timestamp, :observacao "
+                 + "FROM solicitacao_apolice s WHERE s.id IN (:ids) AND s.status IN (:origens)",
+           nativeQuery = true)
+    int inserirHistoricoEmMassa(@Param("ids") Collection<UUID> ids,
+                                @Param("origens") Collection<String> origens,
+                                @Param("status") String status,
+                                @Param("timestamp") LocalDateTime timestamp,
+                                @Param("observacao") String observacao);
+    
+    /**
+     * Altera o status das solicitações do lote que ainda estão em um dos
+     * status de origem, sem carregar os agregados. A data de finalização só
+     * é gravada se ainda não houver uma.
+     * 
+     * @param ids IDs das solicitações
+     * @param origens status de origem
+     * @param novoStatus status de destino
+     * @param finishedAt data de finalização, ou null se o destino não for final
+     * @return quantidade de solicitações alteradas
+     */
+    @Modifying
+    @Query("UPDATE SolicitacaoApolice s SET s.status = :novoStatus, s.finishedAt = COALESCE(s.finishedAt, :finishedAt) "
+         + "WHERE s.id IN :ids AND s.status IN :origens")
+    int atualizarStatusEmMassa(@Param("ids") Collection<UUID> ids,
+                               @Param("origens") Collection<StatusSolicitacao> origens,
+                               @Param("novoStatus") StatusSolicitacao novoStatus,
+                               @Param("finishedAt") LocalDateTime finishedAt);
 }
-
@@ -0,0 +1,30 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projeção com os campos de uma solicitação exibidos em listagens.
+ *
+ * Por ser uma projeção fechada, a consulta seleciona apenas estas colunas,
+ * sem carregar coberturas, assistências ou histórico.
+ */
+public interface SolicitacaoResumo {
+
+    UUID getId();
+
+    UUID getCustomerId();
+
+    String getProductId();
+
+    CategoriaSeguro getCategory();
+
+    StatusSolicitacao getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getFinishedAt();
+}
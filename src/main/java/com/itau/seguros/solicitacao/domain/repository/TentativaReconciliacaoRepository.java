@@ -0,0 +1,57 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.model.TentativaReconciliacao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório para as tentativas de republicação da reconciliação.
+ */
+@Repository
+public interface TentativaReconciliacaoRepository extends JpaRepository<TentativaReconciliacao, Long> {
+
+    /**
+     * Busca as tentativas cuja próxima tentativa já venceu, usando o
+     * índice (status, proxima_tentativa).
+     *
+     * @param status status em que as solicitações estavam paradas
+     * @param agora instante de referência
+     * @param pageable tamanho da página
+     * @return tentativas vencidas, da mais antiga para a mais nova
+     */
+    @Query("SELECT t FROM TentativaReconciliacao t "
+         + "WHERE t.status = :status AND t.proximaTentativa <= :agora ORDER BY t.proximaTentativa, t.id")
+    List<TentativaReconciliacao> findVencidas(@Param("status") StatusSolicitacao status,
+                                              @Param("agora") LocalDateTime agora,
+                                              Pageable pageable);
+
+    /**
+     * Encerra as tentativas em aberto das solicitações, seja porque uma
+     * nova tentativa foi feita, seja porque deixaram de estar paradas.
+     *
+     * @param solicitacaoIds IDs das solicitações
+     * @return quantidade de tentativas encerradas
+     */
+    @Modifying
+    @Query("UPDATE TentativaReconciliacao t SET t.proximaTentativa = NULL "
+         + "WHERE t.solicitacaoId IN :solicitacaoIds AND t.proximaTentativa IS NOT NULL")
+    int encerrarAbertas(@Param("solicitacaoIds") Collection<UUID> solicitacaoIds);
+
+    /**
+     * Busca as tentativas de uma solicitação.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @return tentativas, da primeira para a última
+     */
+    List<TentativaReconciliacao> findBySolicitacaoIdOrderByNumero(UUID solicitacaoId);
+}
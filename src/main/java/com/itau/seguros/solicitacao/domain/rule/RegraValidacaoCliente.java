@@ -1,11 +1,10 @@
 package com.itau.seguros.solicitacao.domain.rule;
 
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import com.itau.seguros.solicitacao.domain.model.TipoCliente;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-
 /**
  * Classe responsável por aplicar as regras de validação de capital segurado
  * baseadas no tipo de cliente e categoria do seguro.
@@ -13,10 +12,26 @@ import java.math.BigDecimal;
  * Implementa as regras de negócio definidas no case para determinar
  * se uma solicitação deve ser aprovada ou rejeitada com base no
  * perfil de risco do cliente.
+ * 
+ * Os limites são constantes em centavos e a comparação é feita com
+ * aritmética primitiva, sem alocar valores a cada validação.
  */
 @Component
 public class RegraValidacaoCliente {
     
+    private static final Dinheiro LIMITE_55000 = Dinheiro.deReais(55_000);
+    private static final Dinheiro LIMITE_75000 = Dinheiro.deReais(75_000);
+    private static final Dinheiro LIMITE_125000 = Dinheiro.deReais(125_000);
+    private static final Dinheiro LIMITE_150000 = Dinheiro.deReais(150_000);
+    private static final Dinheiro LIMITE_200000 = Dinheiro.deReais(200_000);
+    private static final Dinheiro LIMITE_250000 = Dinheiro.deReais(250_000);
+    private static final Dinheiro LIMITE_255000 = Dinheiro.deReais(255_000);
+    private static final Dinheiro LIMITE_350000 = Dinheiro.deReais(350_000);
+    private static final Dinheiro LIMITE_375000 = Dinheiro.deReais(375_000);
+    private static final Dinheiro LIMITE_450000 = Dinheiro.deReais(450_000);
+    private static final Dinheiro LIMITE_500000 = Dinheiro.deReais(500_000);
+    private static final Dinheiro LIMITE_800000 = Dinheiro.deReais(800_000);
+    
     /**
      * Valida se o capital segurado está dentro dos limites permitidos
      * para o tipo de cliente e categoria de seguro.
@@ -26,9 +41,8 @@ public class RegraValidacaoCliente {
      * @param capitalSegurado valor do capital segurado
      * @return true se o capital está dentro dos limites
      */
-    public boolean validarCapitalSegurado(TipoCliente tipoCliente, CategoriaSeguro categoria, BigDecimal capitalSegurado) {
-        BigDecimal limite = obterLimiteCapitalSegurado(tipoCliente, categoria);
-        return capitalSegurado.compareTo(limite) <= 0;
+    public boolean validarCapitalSegurado(TipoCliente tipoCliente, CategoriaSeguro categoria, Dinheiro capitalSegurado) {
+        return !capitalSegurado.maiorQue(obterLimiteCapitalSegurado(tipoCliente, categoria));
     }
     
     /**
@@ -39,7 +53,7 @@ public class RegraValidacaoCliente {
      * @param categoria categoria do seguro
      * @return limite máximo permitido
      */
-    public BigDecimal obterLimiteCapitalSegurado(TipoCliente tipoCliente, CategoriaSeguro categoria) {
+    public Dinheiro obterLimiteCapitalSegurado(TipoCliente tipoCliente, CategoriaSeguro categoria) {
         return switch (tipoCliente) {
             case REGULAR -> obterLimiteClienteRegular(categoria);
             case ALTO_RISCO -> obterLimiteClienteAltoRisco(categoria);
@@ -51,44 +65,44 @@ public class RegraValidacaoCliente {
     /**
      * Limites para cliente regular.
      */
-    private BigDecimal obterLimiteClienteRegular(CategoriaSeguro categoria) {
+    private Dinheiro obterLimiteClienteRegular(CategoriaSeguro categoria) {
         return switch (categoria) {
-            case VIDA, RESIDENCIAL -> new BigDecimal("500000.00");
-            case AUTO -> new BigDecimal("350000.00");
-            case EMPRESARIAL, OUTROS -> new BigDecimal("255000.00");
+            case VIDA, RESIDENCIAL -> LIMITE_500000;
+            case AUTO -> LIMITE_350000;
+            case EMPRESARIAL, OUTROS -> LIMITE_255000;
         };
     }
     
     /**
      * Limites para cliente alto risco.
      */
-    private BigDecimal obterLimiteClienteAltoRisco(CategoriaSeguro categoria) {
+    private Dinheiro obterLimiteClienteAltoRisco(CategoriaSeguro categoria) {
         return switch (categoria) {
-            case AUTO -> new BigDecimal("250000.00");
-            case RESIDENCIAL -> new BigDecimal("150000.00");
-            case VIDA, EMPRESARIAL, OUTROS -> new BigDecimal("125000.00");
+            case AUTO -> LIMITE_250000;
+            case RESIDENCIAL -> LIMITE_150000;
+            case VIDA, EMPRESARIAL, OUTROS -> LIMITE_125000;
         };
     }
     
     /**
      * Limites para cliente preferencial.
      */
-    private BigDecimal obterLimiteClientePreferencial(CategoriaSeguro categoria) {
+    private Dinheiro obterLimiteClientePreferencial(CategoriaSeguro categoria) {
         return switch (categoria) {
-            case VIDA -> new BigDecimal("800000.00");
-            case AUTO, RESIDENCIAL -> new BigDecimal("450000.00");
-            case EMPRESARIAL, OUTROS -> new BigDecimal("375000.00");
+            case VIDA -> LIMITE_800000;
+            case AUTO, RESIDENCIAL -> LIMITE_450000;
+            case EMPRESARIAL, OUTROS -> LIMITE_375000;
         };
     }
     
     /**
      * Limites para cliente sem informação.
      */
-    private BigDecimal obterLimiteClienteSemInformacao(CategoriaSeguro categoria) {
+    private Dinheiro obterLimiteClienteSemInformacao(CategoriaSeguro categoria) {
         return switch (categoria) {
-            case VIDA, RESIDENCIAL -> new BigDecimal("200000.00");
-            case AUTO -> new BigDecimal("75000.00");
-            case EMPRESARIAL, OUTROS -> new BigDecimal("55000.00");
+            case VIDA, RESIDENCIAL -> LIMITE_200000;
+            case AUTO -> LIMITE_75000;
+            case EMPRESARIAL, OUTROS -> LIMITE_55000;
         };
     }
     
@@ -100,8 +114,8 @@ public class RegraValidacaoCliente {
      * @param capitalSegurado valor solicitado
      * @return mensagem explicativa
      */
-    public String obterMensagemRejeicao(TipoCliente tipoCliente, CategoriaSeguro categoria, BigDecimal capitalSegurado) {
-        BigDecimal limite = obterLimiteCapitalSegurado(tipoCliente, categoria);
+    public String obterMensagemRejeicao(TipoCliente tipoCliente, CategoriaSeguro categoria, Dinheiro capitalSegurado) {
+        Dinheiro limite = obterLimiteCapitalSegurado(tipoCliente, categoria);
         return String.format(
             "Capital segurado de R$ %s excede o limite de R$ %s para cliente %s em seguro %s",
             capitalSegurado, limite, tipoCliente.getDescricao(), categoria.getDescricao()
@@ -0,0 +1,79 @@
+package com.itau.seguros.solicitacao.infrastructure.admission;
+
+import com.itau.seguros.solicitacao.infrastructure.web.RequisicaoIdentificada;
+import com.itau.seguros.solicitacao.infrastructure.web.RespostaRecusa;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Filtro que aplica o {@link ControleAdmissao} à criação e às consultas
+ * de solicitações.
+ *
+ * A recusa acontece antes da desserialização e da validação do corpo,
+ * com uma resposta curta e o cabeçalho Retry-After. A prioridade vem do
+ * canal de vendas identificado por {@link RequisicaoIdentificada}. O
+ * acompanhamento via SSE e a exportação ficam de fora: são conexões
+ * longas, cuja duração não reflete a capacidade do serviço.
+ */
+public class AdmissaoFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissaoFilter.class);
+
+    private final ControleAdmissao controle;
+
+    public AdmissaoFilter(ControleAdmissao controle) {
+        this.controle = controle;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!controle.isAtivo()) {
+            return true;
+        }
+
+        String metodo = request.getMethod();
+        if (!"GET".equals(metodo) && !"POST".equals(metodo)) {
+            return true;
+        }
+
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return caminho.endsWith("/eventos") || caminho.startsWith("/api/solicitacoes/exportacao");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ControleAdmissao.Operacao operacao = "POST".equals(request.getMethod())
+            ? ControleAdmissao.Operacao.CRIACAO
+            : ControleAdmissao.Operacao.LEITURA;
+
+        RequisicaoIdentificada requisicao = RequisicaoIdentificada.de(request);
+        PrioridadeAdmissao prioridade = controle.prioridade(requisicao.getSalesChannel());
+        Optional<HttpStatus> recusa = controle.admitir(operacao, prioridade);
+        if (recusa.isPresent()) {
+            logger.warn("Requisição {} {} recusada pelo controle de admissão ({}, prioridade {})",
+                       request.getMethod(), request.getRequestURI(), recusa.get().value(), prioridade);
+            RespostaRecusa.enviar(response, recusa.get(), controle.getRetryAfterSegundos(),
+                "Serviço sobrecarregado, tente novamente mais tarde");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean falha = true;
+        try {
+            filterChain.doFilter(requisicao.getRequest(), response);
+            falha = response.getStatus() >= 500;
+        } finally {
+            controle.liberar(operacao, System.nanoTime() - inicio, falha);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.itau.seguros.solicitacao.infrastructure.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Controle de admissão das requisições da API de solicitações.
+ *
+ * Mantém um {@link LimiteConcorrenciaAdaptativo} para a criação e outro
+ * para as consultas, já que as latências de referência das duas operações
+ * são bem diferentes. Quando a fila de processamento, o pool de conexões
+ * ou a API de fraudes ficam lentos, a latência sobe, o limite cai e as
+ * requisições excedentes são recusadas na hora, em vez de esperarem até
+ * o timeout.
+ *
+ * Requisições recusadas recebem 429 quando apenas a fração do limite da
+ * sua prioridade está ocupada, e 503 quando o limite inteiro está.
+ */
+@Component
+public class ControleAdmissao {
+
+    /**
+     * Operações com limites independentes.
+     */
+    public enum Operacao {
+        CRIACAO, LEITURA
+    }
+
+    private final boolean ativo;
+    private final Duration latenciaMaxima;
+    private final long retryAfterSegundos;
+    private final Map<String, PrioridadeAdmissao> prioridadePorCanal = new HashMap<>();
+    private final Map<Operacao, LimiteConcorrenciaAdaptativo> limites = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, Map<PrioridadeAdmissao, Counter>> rejeicoes = new EnumMap<>(Operacao.class);
+
+    public ControleAdmissao(@Value("${app.admissao.enabled:true}") boolean ativo,
+                            @Value("${app.admissao.criacao.limite-inicial:20}") int criacaoLimiteInicial,
+                            @Value("${app.admissao.criacao.limite-minimo:2}") int criacaoLimiteMinimo,
+                            @Value("${app.admissao.criacao.limite-maximo:200}") int criacaoLimiteMaximo,
+                            @Value("${app.admissao.leitura.limite-inicial:50}") int leituraLimiteInicial,
+                            @Value("${app.admissao.leitura.limite-minimo:4}") int leituraLimiteMinimo,
+                            @Value("${app.admissao.leitura.limite-maximo:500}") int leituraLimiteMaximo,
+                            @Value("${app.admissao.latencia-maxima:5s}") Duration latenciaMaxima,
+                            @Value("${app.admissao.retry-after:1s}") Duration retryAfter,
+                            @Value("${app.admissao.canais-prioridade-alta:}") List<String> canaisPrioridadeAlta,
+                            @Value("${app.admissao.canais-prioridade-baixa:}") List<String> canaisPrioridadeBaixa,
+                            MeterRegistry registry) {
+        this.ativo = ativo;
+        this.latenciaMaxima = latenciaMaxima;
+        this.retryAfterSegundos = Math.max(1, retryAfter.toSeconds());
+
+        canaisPrioridadeAlta.forEach(canal -> prioridadePorCanal.put(normalizar(canal), PrioridadeAdmissao.ALTA));
+        canaisPrioridadeBaixa.forEach(canal -> prioridadePorCanal.put(normalizar(canal), PrioridadeAdmissao.BAIXA));
+
+        limites.put(Operacao.CRIACAO, new LimiteConcorrenciaAdaptativo(
+            criacaoLimiteInicial, criacaoLimiteMinimo, criacaoLimiteMaximo));
+        limites.put(Operacao.LEITURA, new LimiteConcorrenciaAdaptativo(
+            leituraLimiteInicial, leituraLimiteMinimo, leituraLimiteMaximo));
+
+        for (Operacao operacao : Operacao.values()) {
+            String tag = operacao.name().toLowerCase(Locale.ROOT);
+            LimiteConcorrenciaAdaptativo limite = limites.get(operacao);
+
+            Gauge.builder("admissao.limite", limite, LimiteConcorrenciaAdaptativo::getLimite)
+                .tag("operacao", tag)
+                .description("Limite de concorrência adaptativo atual")
+                .register(registry);
+            Gauge.builder("admissao.em.execucao", limite, LimiteConcorrenciaAdaptativo::getEmExecucao)
+                .tag("operacao", tag)
+                .description("Requisições admitidas em execução")
+                .register(registry);
+
+            Map<PrioridadeAdmissao, Counter> porPrioridade = new EnumMap<>(PrioridadeAdmissao.class);
+            for (PrioridadeAdmissao prioridade : PrioridadeAdmissao.values()) {
+                porPrioridade.put(prioridade, Counter.builder("admissao.rejeicoes")
+                    .tag("operacao", tag)
+                    .tag("prioridade", prioridade.name().toLowerCase(Locale.ROOT))
+                    .description("Requisições recusadas pelo controle de admissão")
+                    .register(registry));
+            }
+            rejeicoes.put(operacao, porPrioridade);
+        }
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    /**
+     * Resolve a prioridade de um canal de vendas; canais não configurados
+     * têm prioridade normal.
+     *
+     * @param salesChannel canal de vendas, pode ser nulo
+     * @return prioridade de admissão
+     */
+    public PrioridadeAdmissao prioridade(String salesChannel) {
+        if (salesChannel == null) {
+            return PrioridadeAdmissao.NORMAL;
+        }
+        return prioridadePorCanal.getOrDefault(normalizar(salesChannel), PrioridadeAdmissao.NORMAL);
+    }
+
+    /**
+     * Tenta admitir uma requisição.
+     *
+     * @param operacao operação solicitada
+     * @param prioridade prioridade da requisição
+     * @return vazio se admitida (e então {@link #liberar} deve ser chamado);
+     *         caso contrário, o status da recusa
+     */
+    public Optional<HttpStatus> admitir(Operacao operacao, PrioridadeAdmissao prioridade) {
+        LimiteConcorrenciaAdaptativo limite = limites.get(operacao);
+        if (limite.tentarAdquirir(prioridade)) {
+            return Optional.empty();
+        }
+
+        rejeicoes.get(operacao).get(prioridade).increment();
+        return Optional.of(limite.isSaturado() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * Libera a vaga de uma requisição admitida.
+     *
+     * @param operacao operação executada
+     * @param latenciaNanos latência da requisição
+     * @param falha true se a requisição terminou com erro de servidor
+     */
+    public void liberar(Operacao operacao, long latenciaNanos, boolean falha) {
+        boolean sobrecarga = falha || latenciaNanos > latenciaMaxima.toNanos();
+        limites.get(operacao).liberar(latenciaNanos, sobrecarga);
+    }
+
+    /**
+     * Indica se alguma operação está com metade ou mais do seu limite
+     * adaptativo em uso. Tarefas de fundo usam o sinal para recuar antes
+     * de disputar o banco com as requisições.
+     *
+     * @return true se a API está sob carga
+     */
+    public boolean isSobCarga() {
+        for (LimiteConcorrenciaAdaptativo limite : limites.values()) {
+            if (limite.getEmExecucao() * 2 >= limite.getLimite()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+
+    LimiteConcorrenciaAdaptativo limite(Operacao operacao) {
+        return limites.get(operacao);
+    }
+
+    private static String normalizar(String canal) {
+        return canal.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,121 @@
+package com.itau.seguros.solicitacao.infrastructure.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência ajustado pela latência observada.
+ *
+ * Segue o modelo de gradiente: a latência de longo prazo (média móvel
+ * exponencial) é a referência do serviço sem fila; quando a latência de
+ * cada requisição passa dela, o limite é reduzido proporcionalmente e,
+ * enquanto ficar abaixo, cresce devagar (raiz quadrada do limite por
+ * amostra). Falhas e estouros de tempo aplicam uma redução multiplicativa
+ * (AIMD), mais agressiva que o gradiente.
+ *
+ * A admissão é um CAS sobre o contador de requisições em execução; o
+ * ajuste do limite acontece na liberação, fora do caminho de admissão.
+ */
+public class LimiteConcorrenciaAdaptativo {
+
+    // Tolerância sobre a latência de referência antes de reduzir o limite
+    private static final double TOLERANCIA = 1.5;
+    private static final double SUAVIZACAO = 0.2;
+    private static final double FATOR_REDUCAO = 0.9;
+    private static final double JANELA_LONGA = 600;
+
+    private final AtomicInteger emExecucao = new AtomicInteger();
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+
+    private volatile double limite;
+    private double latenciaLonga;
+
+    public LimiteConcorrenciaAdaptativo(int limiteInicial, int limiteMinimo, int limiteMaximo) {
+        if (limiteMinimo < 1 || limiteMinimo > limiteMaximo) {
+            throw new IllegalArgumentException("Limites de concorrência inválidos: mínimo "
+                + limiteMinimo + ", máximo " + limiteMaximo);
+        }
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.limite = Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial));
+    }
+
+    /**
+     * Tenta ocupar uma vaga, respeitando a fração do limite disponível
+     * para a prioridade da requisição.
+     *
+     * @param prioridade prioridade da requisição
+     * @return true se a requisição foi admitida e deve chamar {@link #liberar}
+     */
+    public boolean tentarAdquirir(PrioridadeAdmissao prioridade) {
+        int permitido = Math.max(1, (int) (limite * prioridade.getFracaoDoLimite()));
+        while (true) {
+            int atual = emExecucao.get();
+            if (atual >= permitido) {
+                return false;
+            }
+            if (emExecucao.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Indica se o limite inteiro está ocupado, isto é, se até requisições
+     * de prioridade alta seriam recusadas.
+     */
+    public boolean isSaturado() {
+        return emExecucao.get() >= (int) limite;
+    }
+
+    /**
+     * Libera a vaga ocupada e ajusta o limite com a amostra de latência.
+     *
+     * @param latenciaNanos latência da requisição
+     * @param sobrecarga true se a requisição falhou por sobrecarga ou
+     *                   excedeu a latência máxima aceitável
+     */
+    public void liberar(long latenciaNanos, boolean sobrecarga) {
+        int emVoo = emExecucao.getAndDecrement();
+        ajustar(latenciaNanos, sobrecarga, emVoo);
+    }
+
+    private synchronized void ajustar(long latenciaNanos, boolean sobrecarga, int emVoo) {
+        if (sobrecarga) {
+            limite = Math.max(limiteMinimo, limite * FATOR_REDUCAO);
+            return;
+        }
+
+        double latencia = Math.max(1, latenciaNanos);
+        if (latenciaLonga == 0) {
+            latenciaLonga = latencia;
+        } else {
+            latenciaLonga += (latencia - latenciaLonga) / JANELA_LONGA;
+            // Se a referência ficou muito acima da latência atual (ex.: após um
+            // pico), converge rápido para não manter o limite inflado
+            if (latenciaLonga > 2 * latencia) {
+                latenciaLonga = (latenciaLonga + latencia) / 2;
+            }
+        }
+
+        double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * latenciaLonga / latencia));
+        double novoLimite = limite * gradiente + Math.sqrt(limite);
+
+        // Com menos da metade do limite em uso, a latência não diz nada sobre
+        // a capacidade; o limite só pode cair
+        if (novoLimite > limite && emVoo < limite / 2) {
+            return;
+        }
+
+        double suavizado = limite * (1 - SUAVIZACAO) + novoLimite * SUAVIZACAO;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, suavizado));
+    }
+
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEmExecucao() {
+        return emExecucao.get();
+    }
+}
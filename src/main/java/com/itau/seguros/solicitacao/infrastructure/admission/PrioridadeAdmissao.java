@@ -0,0 +1,26 @@
+package com.itau.seguros.solicitacao.infrastructure.admission;
+
+/**
+ * Prioridade de admissão de uma requisição, definida pelo canal de vendas.
+ *
+ * Cada prioridade só pode ocupar uma fração do limite de concorrência.
+ * Com a carga subindo, as requisições de menor prioridade são as primeiras
+ * a serem recusadas; as de prioridade alta usam o limite inteiro e só são
+ * recusadas quando o serviço está de fato saturado.
+ */
+public enum PrioridadeAdmissao {
+
+    ALTA(1.0),
+    NORMAL(0.85),
+    BAIXA(0.6);
+
+    private final double fracaoDoLimite;
+
+    PrioridadeAdmissao(double fracaoDoLimite) {
+        this.fracaoDoLimite = fracaoDoLimite;
+    }
+
+    public double getFracaoDoLimite() {
+        return fracaoDoLimite;
+    }
+}
@@ -0,0 +1,93 @@
+package com.itau.seguros.solicitacao.infrastructure.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoArquivada;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoArquivadaRepository;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Armazenamento frio de solicitações finalizadas.
+ *
+ * Cada agregado é gravado como um único registro com o JSON da resposta
+ * compactado em GZIP, o que permite devolvê-lo nas consultas por ID sem
+ * reconstruir entidades.
+ */
+@Component
+public class ArquivoSolicitacoes {
+
+    private final SolicitacaoArquivadaRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public ArquivoSolicitacoes(SolicitacaoArquivadaRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Grava um lote de solicitações finalizadas no arquivo.
+     *
+     * @param solicitacoes solicitações a arquivar
+     */
+    public void arquivar(List<SolicitacaoResponseDTO> solicitacoes) {
+        List<SolicitacaoArquivada> registros = solicitacoes.stream()
+            .map(s -> new SolicitacaoArquivada(
+                s.id(), s.customerId(), s.status(), s.createdAt(), s.finishedAt(), codificar(s)))
+            .toList();
+
+        repository.saveAll(registros);
+    }
+
+    /**
+     * Busca uma solicitação arquivada por ID.
+     *
+     * @param id ID da solicitação
+     * @return solicitação arquivada, se existir
+     */
+    public Optional<SolicitacaoResponseDTO> buscarPorId(UUID id) {
+        return repository.findById(id)
+            .map(registro -> decodificar(registro.getConteudo()));
+    }
+
+    /**
+     * Serializa e compacta uma solicitação.
+     *
+     * @param solicitacao solicitação a codificar
+     * @return conteúdo compactado
+     */
+    byte[] codificar(SolicitacaoResponseDTO solicitacao) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (OutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, solicitacao);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao codificar solicitação " + solicitacao.id(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Descompacta e desserializa uma solicitação.
+     *
+     * @param conteudo conteúdo compactado
+     * @return solicitação decodificada
+     */
+    SolicitacaoResponseDTO decodificar(byte[] conteudo) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(conteudo))) {
+            return objectMapper.readValue(gzip, SolicitacaoResponseDTO.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao decodificar solicitação arquivada", e);
+        }
+    }
+}
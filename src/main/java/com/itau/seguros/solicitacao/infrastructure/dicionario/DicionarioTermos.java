@@ -0,0 +1,262 @@
+package com.itau.seguros.solicitacao.infrastructure.dicionario;
+
+import com.itau.seguros.solicitacao.domain.model.VocabularioTermos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário persistente de termos de vocabulário pequeno (produtos,
+ * canais de venda, formas de pagamento, nomes de coberturas e de
+ * assistências), cada um associado a um código inteiro.
+ *
+ * As colunas desses termos guardam o código em base 36 precedido de
+ * {@value #MARCADOR}, e cada termo existe uma única vez em memória: todas
+ * as entidades lidas do banco apontam para a mesma instância de String. O
+ * dicionário é carregado da tabela {@code dicionario_termo} na
+ * inicialização (ou no primeiro uso) e estendido sob demanda quando
+ * aparece um termo novo.
+ *
+ * Os códigos vão de 1 a {@code app.dicionario.max-termos}. Com todos em
+ * uso, termos novos são gravados como texto, e o dicionário deixa de
+ * crescer com valores enviados pelos clientes; textos que começam com
+ * {@value #MARCADOR} são gravados com o marcador duplicado. Como os
+ * códigos esgotados nunca voltam a ficar livres, cada termo é sempre
+ * gravado da mesma forma, e as consultas por igualdade continuam valendo.
+ *
+ * Termos novos são gravados em conexão própria, com commit imediato e
+ * fora da transação de quem chamou, para que um rollback não deixe em
+ * memória um código inexistente no banco. Com várias instâncias gravando
+ * ao mesmo tempo, a chave primária e a restrição de unicidade decidem:
+ * quem perde relê a tabela e usa o código já gravado.
+ */
+@Component
+public class DicionarioTermos implements VocabularioTermos {
+
+    private static final Logger logger = LoggerFactory.getLogger(DicionarioTermos.class);
+
+    static final String MARCADOR = "#";
+
+    private static final int BASE_CODIGO = 36;
+
+    private static final String SQL_CARGA = "SELECT codigo, termo FROM dicionario_termo";
+
+    private static final String SQL_INSERCAO = "INSERT INTO dicionario_termo (codigo, termo) VALUES (?, ?)";
+
+    private static final int MAX_TENTATIVAS = 10;
+
+    private final DataSource dataSource;
+    private final int maxTermos;
+
+    private final Map<String, Integer> codigos = new ConcurrentHashMap<>();
+    private volatile String[] termos = new String[64];
+    private int proximoCodigo = 1;
+    private volatile boolean carregado;
+    private volatile boolean cheio;
+
+    public DicionarioTermos(DataSource dataSource,
+                            @Value("${app.dicionario.max-termos:10000}") int maxTermos) {
+        this.dataSource = dataSource;
+        this.maxTermos = maxTermos;
+    }
+
+    /**
+     * Carrega o dicionário assim que a aplicação sobe, em vez de na
+     * primeira leitura de uma solicitação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        garantirCarregado();
+        logger.info("Dicionário de termos carregado: {} de {} termos", codigos.size(), maxTermos);
+    }
+
+    @Override
+    public String codificar(String termo) {
+        if (termo == null) {
+            return null;
+        }
+        int codigo = codigo(termo);
+        if (codigo > 0) {
+            return MARCADOR + Integer.toString(codigo, BASE_CODIGO);
+        }
+        return termo.startsWith(MARCADOR) ? MARCADOR + termo : termo;
+    }
+
+    @Override
+    public String decodificar(String valor) {
+        if (valor == null || !valor.startsWith(MARCADOR)) {
+            return valor;
+        }
+        if (valor.startsWith(MARCADOR, MARCADOR.length())) {
+            return valor.substring(MARCADOR.length());
+        }
+
+        int codigo;
+        try {
+            codigo = Integer.parseInt(valor, MARCADOR.length(), valor.length(), BASE_CODIGO);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Código de termo inválido: " + valor, e);
+        }
+        String termo = buscar(codigo);
+        if (termo == null) {
+            // Código gravado por outra instância depois da carga
+            recarregar();
+            termo = buscar(codigo);
+        }
+        if (termo == null) {
+            throw new IllegalStateException("Código de termo desconhecido: " + valor);
+        }
+        return termo;
+    }
+
+    public int tamanho() {
+        garantirCarregado();
+        return codigos.size();
+    }
+
+    /**
+     * Código do termo, registrando-o se ainda houver códigos livres.
+     *
+     * @return código do termo, ou 0 se ele deve ser gravado como texto
+     */
+    private int codigo(String termo) {
+        Integer codigo = codigos.get(termo);
+        if (codigo != null) {
+            return codigo;
+        }
+
+        garantirCarregado();
+        codigo = codigos.get(termo);
+        if (codigo != null) {
+            return codigo;
+        }
+        return cheio ? 0 : registrar(termo);
+    }
+
+    private String buscar(int codigo) {
+        String[] atuais = termos;
+        if (!carregado) {
+            garantirCarregado();
+            atuais = termos;
+        }
+        return codigo > 0 && codigo < atuais.length ? atuais[codigo] : null;
+    }
+
+    private void garantirCarregado() {
+        if (!carregado) {
+            recarregar();
+        }
+    }
+
+    private synchronized int registrar(String termo) {
+        for (int tentativa = 0; tentativa < MAX_TENTATIVAS; tentativa++) {
+            Integer existente = codigos.get(termo);
+            if (existente != null) {
+                return existente;
+            }
+            if (proximoCodigo > maxTermos) {
+                // Todos os códigos em uso: relê para conhecer os gravados por outras instâncias
+                recarregar();
+                existente = codigos.get(termo);
+                if (existente != null) {
+                    return existente;
+                }
+                if (!cheio) {
+                    cheio = true;
+                    logger.warn("Dicionário de termos cheio ({} termos); termos novos serão gravados como texto",
+                               maxTermos);
+                }
+                return 0;
+            }
+
+            int codigo = proximoCodigo;
+            try (Connection conexao = dataSource.getConnection();
+                 PreparedStatement insercao = conexao.prepareStatement(SQL_INSERCAO)) {
+                conexao.setAutoCommit(true);
+                insercao.setInt(1, codigo);
+                insercao.setString(2, termo);
+                insercao.executeUpdate();
+            } catch (SQLException e) {
+                if (!violacaoDeRestricao(e)) {
+                    throw new IllegalStateException("Erro ao gravar termo no dicionário", e);
+                }
+                // Outra instância gravou o termo ou o código antes
+                recarregar();
+                continue;
+            }
+
+            adicionar(codigo, termo);
+            logger.debug("Termo {} registrado no dicionário com código {}", termo, codigo);
+            return codigo;
+        }
+        throw new IllegalStateException("Não foi possível registrar o termo no dicionário: " + termo);
+    }
+
+    private synchronized void recarregar() {
+        Map<Integer, String> lidos = new HashMap<>();
+        try (Connection conexao = dataSource.getConnection();
+             Statement comando = conexao.createStatement();
+             ResultSet rs = comando.executeQuery(SQL_CARGA)) {
+            while (rs.next()) {
+                lidos.put(rs.getInt(1), rs.getString(2));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Erro ao carregar o dicionário de termos", e);
+        }
+
+        String[] atuais = termos;
+        int maiorCodigo = lidos.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+        String[] novos = Arrays.copyOf(atuais, Math.max(atuais.length, maiorCodigo + 1));
+        for (Map.Entry<Integer, String> lido : lidos.entrySet()) {
+            if (novos[lido.getKey()] == null) {
+                novos[lido.getKey()] = lido.getValue();
+            }
+        }
+        publicar(novos);
+        carregado = true;
+    }
+
+    private static boolean violacaoDeRestricao(SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException
+            || e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
+
+    /**
+     * Publica o termo no array antes do mapa, para que todo código obtido
+     * em {@link #codificar} já possa ser decodificado.
+     */
+    private void adicionar(int codigo, String termo) {
+        String[] atuais = termos;
+        int tamanho = codigo < atuais.length ? atuais.length : Math.max(atuais.length * 2, codigo + 1);
+        String[] novos = Arrays.copyOf(atuais, tamanho);
+        novos[codigo] = termo;
+        termos = novos;
+        codigos.put(termo, codigo);
+        proximoCodigo = Math.max(proximoCodigo, codigo + 1);
+    }
+
+    private void publicar(String[] novos) {
+        termos = novos;
+        for (int codigo = 1; codigo < novos.length; codigo++) {
+            if (novos[codigo] != null) {
+                codigos.putIfAbsent(novos[codigo], codigo);
+                proximoCodigo = Math.max(proximoCodigo, codigo + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.itau.seguros.solicitacao.infrastructure.eventstore;
+
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Log append-only de transições de status, particionado por hash do ID
+ * da solicitação e dividido em segmentos mapeados em memória.
+ *
+ * Formato de cada registro (big-endian):
+ * <pre>
+ * int    tamanho do corpo (0 = fim dos dados no segmento)
+ * long   msb do ID da solicitação
+ * long   lsb do ID da solicitação
+ * int    versão (posição do registro no histórico da solicitação, a partir de 1;
+ *        0 = remoção da solicitação do índice)
+ * byte   ordinal do status
+ * long   timestamp em epoch millis (UTC)
+ * short  tamanho da observação em bytes UTF-8 (-1 = nula)
+ * byte[] observação
+ * </pre>
+ * O tamanho é gravado por último, de forma que um registro parcialmente
+ * escrito nunca é considerado na leitura.
+ */
+public class StatusEventLog implements Closeable {
+
+    private static final int TAMANHO_CABECALHO = 4;
+    private static final int TAMANHO_FIXO_CORPO = 8 + 8 + 4 + 1 + 8 + 2;
+    private static final int MAX_OBSERVACAO = Short.MAX_VALUE;
+    private static final StatusSolicitacao[] STATUS = StatusSolicitacao.values();
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final boolean sincronizar;
+    private final Particao[] particoes;
+
+    /**
+     * Abre (ou cria) o log no diretório informado.
+     *
+     * @param diretorio diretório dos segmentos
+     * @param quantidadeParticoes número de partições
+     * @param tamanhoSegmento tamanho de cada segmento em bytes
+     * @param sincronizar se true, força a gravação em disco a cada append
+     * @throws IOException se não for possível abrir os segmentos
+     */
+    public StatusEventLog(Path diretorio, int quantidadeParticoes, int tamanhoSegmento, boolean sincronizar) throws IOException {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.sincronizar = sincronizar;
+        this.particoes = new Particao[quantidadeParticoes];
+
+        Files.createDirectories(diretorio);
+        for (int i = 0; i < quantidadeParticoes; i++) {
+            particoes[i] = abrirParticao(i);
+        }
+    }
+
+    /**
+     * Partição de uma solicitação.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @return índice da partição
+     */
+    public int particao(UUID solicitacaoId) {
+        return Math.floorMod(solicitacaoId.hashCode(), particoes.length);
+    }
+
+    public int getQuantidadeParticoes() {
+        return particoes.length;
+    }
+
+    /**
+     * Acrescenta um registro ao final da partição da solicitação.
+     *
+     * @param versao posição do registro no histórico da solicitação, ou
+     *        {@link StatusSnapshotIndex#VERSAO_REMOCAO}
+     * @param registro transição a registrar
+     */
+    public void acrescentar(int versao, StatusAlteradoEvent registro) {
+        byte[] observacao = registro.observacao() != null
+            ? registro.observacao().getBytes(StandardCharsets.UTF_8)
+            : null;
+        int tamanhoObservacao = observacao != null ? Math.min(observacao.length, MAX_OBSERVACAO) : 0;
+        int tamanhoCorpo = TAMANHO_FIXO_CORPO + tamanhoObservacao;
+
+        if (TAMANHO_CABECALHO + tamanhoCorpo > tamanhoSegmento) {
+            throw new IllegalArgumentException("Registro maior que o tamanho do segmento");
+        }
+
+        Particao particao = particoes[particao(registro.solicitacaoId())];
+        synchronized (particao) {
+            if (particao.posicao + TAMANHO_CABECALHO + tamanhoCorpo > tamanhoSegmento) {
+                particao.avancarSegmento();
+            }
+
+            MappedByteBuffer buffer = particao.buffer;
+            int inicio = particao.posicao;
+            int corpo = inicio + TAMANHO_CABECALHO;
+
+            buffer.putLong(corpo, registro.solicitacaoId().getMostSignificantBits());
+            buffer.putLong(corpo + 8, registro.solicitacaoId().getLeastSignificantBits());
+            buffer.putInt(corpo + 16, versao);
+            buffer.put(corpo + 20, (byte) registro.status().ordinal());
+            buffer.putLong(corpo + 21, registro.timestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+            buffer.putShort(corpo + 29, observacao != null ? (short) tamanhoObservacao : (short) -1);
+            if (observacao != null) {
+                buffer.put(corpo + 31, observacao, 0, tamanhoObservacao);
+            }
+
+            // O tamanho é gravado por último: só então o registro fica visível
+            buffer.putInt(inicio, tamanhoCorpo);
+            particao.posicao = corpo + tamanhoCorpo;
+
+            if (sincronizar) {
+                buffer.force();
+            }
+        }
+    }
+
+    /**
+     * Posição atual de escrita de cada partição.
+     *
+     * @return posições indexadas por partição
+     */
+    public PosicaoLog[] posicoes() {
+        PosicaoLog[] posicoes = new PosicaoLog[particoes.length];
+        for (int i = 0; i < particoes.length; i++) {
+            synchronized (particoes[i]) {
+                posicoes[i] = new PosicaoLog(particoes[i].segmento, particoes[i].posicao);
+            }
+        }
+        return posicoes;
+    }
+
+    /**
+     * Relê os registros de uma partição a partir de uma posição.
+     *
+     * @param particao índice da partição
+     * @param desde posição inicial (inclusiva)
+     * @param consumidor recebe a versão e o registro lidos
+     * @return quantidade de registros lidos
+     * @throws IOException se ocorrer erro de leitura
+     */
+    public long reproduzir(int particao, PosicaoLog desde, ConsumidorRegistro consumidor) throws IOException {
+        long lidos = 0;
+        List<Integer> segmentos = listarSegmentos(particao);
+
+        for (int segmento : segmentos) {
+            if (segmento < desde.segmento()) {
+                continue;
+            }
+
+            try (FileChannel canal = FileChannel.open(arquivoSegmento(particao, segmento), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+                int posicao = segmento == desde.segmento() ? desde.offset() : 0;
+
+                while (posicao + TAMANHO_CABECALHO <= buffer.limit()) {
+                    int tamanhoCorpo = buffer.getInt(posicao);
+                    if (tamanhoCorpo <= 0) {
+                        break;
+                    }
+
+                    int corpo = posicao + TAMANHO_CABECALHO;
+                    UUID id = new UUID(buffer.getLong(corpo), buffer.getLong(corpo + 8));
+                    int versao = buffer.getInt(corpo + 16);
+                    StatusSolicitacao status = STATUS[buffer.get(corpo + 20)];
+                    LocalDateTime timestamp = LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(buffer.getLong(corpo + 21)), ZoneOffset.UTC);
+                    short tamanhoObservacao = buffer.getShort(corpo + 29);
+
+                    String observacao = null;
+                    if (tamanhoObservacao >= 0) {
+                        byte[] bytes = new byte[tamanhoObservacao];
+                        buffer.get(corpo + 31, bytes);
+                        observacao = new String(bytes, StandardCharsets.UTF_8);
+                    }
+
+                    consumidor.aceitar(versao, new StatusAlteradoEvent(id, status, timestamp, observacao));
+                    lidos++;
+                    posicao = corpo + tamanhoCorpo;
+                }
+            }
+        }
+
+        return lidos;
+    }
+
+    /**
+     * Força a gravação em disco de todas as partições.
+     */
+    public void sincronizar() {
+        for (Particao particao : particoes) {
+            synchronized (particao) {
+                particao.buffer.force();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        sincronizar();
+        for (Particao particao : particoes) {
+            synchronized (particao) {
+                particao.canal.close();
+            }
+        }
+    }
+
+    private Particao abrirParticao(int indice) throws IOException {
+        List<Integer> segmentos = listarSegmentos(indice);
+        int segmento = segmentos.isEmpty() ? 0 : segmentos.get(segmentos.size() - 1);
+
+        Particao particao = new Particao(indice);
+        particao.mapear(segmento);
+
+        // Localiza o fim dos dados no último segmento
+        int posicao = 0;
+        while (posicao + TAMANHO_CABECALHO <= tamanhoSegmento) {
+            int tamanhoCorpo = particao.buffer.getInt(posicao);
+            if (tamanhoCorpo <= 0) {
+                break;
+            }
+            posicao += TAMANHO_CABECALHO + tamanhoCorpo;
+        }
+        particao.posicao = posicao;
+
+        return particao;
+    }
+
+    private List<Integer> listarSegmentos(int particao) throws IOException {
+        String prefixo = "p" + particao + "-";
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            List<Integer> segmentos = new ArrayList<>();
+            arquivos.map(p -> p.getFileName().toString())
+                .filter(nome -> nome.startsWith(prefixo) && nome.endsWith(".log"))
+                .map(nome -> Integer.parseInt(nome.substring(prefixo.length(), nome.length() - 4)))
+                .sorted()
+                .forEach(segmentos::add);
+            return segmentos;
+        }
+    }
+
+    private Path arquivoSegmento(int particao, int segmento) {
+        return diretorio.resolve(String.format("p%d-%010d.log", particao, segmento));
+    }
+
+    /**
+     * Estado de escrita de uma partição.
+     */
+    private final class Particao {
+
+        private final int indice;
+        private FileChannel canal;
+        private MappedByteBuffer buffer;
+        private int segmento;
+        private int posicao;
+
+        Particao(int indice) {
+            this.indice = indice;
+        }
+
+        void mapear(int novoSegmento) throws IOException {
+            this.canal = FileChannel.open(arquivoSegmento(indice, novoSegmento),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento);
+            this.segmento = novoSegmento;
+            this.posicao = 0;
+        }
+
+        void avancarSegmento() {
+            try {
+                buffer.force();
+                canal.close();
+                mapear(segmento + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao criar novo segmento do log de status", e);
+            }
+        }
+    }
+
+    /**
+     * Posição de leitura/escrita em uma partição.
+     *
+     * @param segmento número do segmento
+     * @param offset deslocamento dentro do segmento
+     */
+    public record PosicaoLog(int segmento, int offset) {
+
+        public static final PosicaoLog INICIO = new PosicaoLog(0, 0);
+    }
+
+    /**
+     * Consumidor dos registros relidos do log.
+     */
+    @FunctionalInterface
+    public interface ConsumidorRegistro {
+
+        void aceitar(int versao, StatusAlteradoEvent registro) throws IOException;
+    }
+}
@@ -0,0 +1,496 @@
+package com.itau.seguros.solicitacao.infrastructure.eventstore;
+
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
+import com.itau.seguros.solicitacao.domain.model.HistoricoStatus;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusSnapshotIndex.EstadoStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persistência event-sourced do status das solicitações.
+ *
+ * Quando habilitada ({@code app.event-store.enabled=true}), cada transição
+ * de status vira um append compacto no {@link StatusEventLog}, e o estado
+ * atual é mantido no {@link StatusSnapshotIndex}, evitando carregar e
+ * regravar o agregado via JPA. Na inicialização o índice é reconstruído a
+ * partir do último snapshot mais o final do log.
+ *
+ * Status e data de finalização são projetados na linha de
+ * {@code solicitacao_apolice}, na transação de quem chamou e condicionados
+ * ao status lido do índice, para que as consultas sobre a tabela (cliente
+ * com solicitação ativa, arquivamento, exportação) continuem corretas. O
+ * append no log e a atualização do índice só acontecem após o commit: um
+ * rollback desfaz a projeção e não deixa registro no log.
+ *
+ * A tabela continua sendo a referência de quais solicitações existem. Uma
+ * solicitação que está na tabela mas não no índice (criada antes de o
+ * modo ser habilitado, ou cujo registro de criação falhou após o commit)
+ * é importada com o histórico da tabela no primeiro acesso, e as ativas
+ * são importadas na inicialização. As solicitações arquivadas saem do
+ * índice com um registro de remoção no log.
+ *
+ * Com o modo desabilitado o componente fica inerte e {@link #isAtivo()}
+ * retorna false, mantendo o fluxo JPA.
+ */
+@Component
+public class StatusEventStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusEventStore.class);
+
+    private static final String ARQUIVO_SNAPSHOT = "snapshot.bin";
+
+    private static final String OBSERVACAO_IMPORTACAO = "Status importado da tabela";
+
+    private final boolean ativo;
+    private final Path diretorio;
+    private final int quantidadeParticoes;
+    private final int tamanhoSegmento;
+    private final boolean sincronizar;
+    private final int tamanhoLoteImportacao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SolicitacaoRepository repository;
+
+    private final StatusSnapshotIndex indice = new StatusSnapshotIndex();
+
+    // Appends seguram a leitura; o snapshot segura a escrita apenas para
+    // capturar posições do log consistentes com o índice
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private StatusEventLog log;
+
+    public StatusEventStore(@Value("${app.event-store.enabled:false}") boolean ativo,
+                            @Value("${app.event-store.diretorio:data/event-store}") String diretorio,
+                            @Value("${app.event-store.particoes:8}") int quantidadeParticoes,
+                            @Value("${app.event-store.tamanho-segmento:16777216}") int tamanhoSegmento,
+                            @Value("${app.event-store.sincronizar:false}") boolean sincronizar,
+                            @Value("${app.event-store.tamanho-lote-importacao:1000}") int tamanhoLoteImportacao,
+                            ApplicationEventPublisher eventPublisher,
+                            SolicitacaoRepository repository) {
+        this.ativo = ativo;
+        this.diretorio = Paths.get(diretorio);
+        this.quantidadeParticoes = quantidadeParticoes;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.sincronizar = sincronizar;
+        this.tamanhoLoteImportacao = tamanhoLoteImportacao;
+        this.eventPublisher = eventPublisher;
+        this.repository = repository;
+    }
+
+    /**
+     * Abre o log e reconstrói o índice a partir do snapshot e do final do log.
+     *
+     * @throws IOException se não for possível abrir o log
+     */
+    @PostConstruct
+    public void iniciar() throws IOException {
+        if (!ativo) {
+            return;
+        }
+
+        log = new StatusEventLog(diretorio, quantidadeParticoes, tamanhoSegmento, sincronizar);
+
+        StatusEventLog.PosicaoLog[] posicoes = carregarSnapshot();
+        long reproduzidos = 0;
+        for (int particao = 0; particao < quantidadeParticoes; particao++) {
+            reproduzidos += log.reproduzir(particao, posicoes[particao], indice::aplicar);
+        }
+
+        logger.info("Event store iniciado em {}: {} solicitações no índice, {} registros reproduzidos do log",
+                   diretorio.toAbsolutePath(), indice.tamanho(), reproduzidos);
+    }
+
+    /**
+     * Importa as solicitações ativas que estão na tabela mas não no índice,
+     * assim que a aplicação sobe, em vez de no primeiro evento de cada uma.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void importarAtivas() {
+        if (!ativo) {
+            return;
+        }
+
+        long importadas = 0;
+        UUID apos = new UUID(0L, 0L);
+        while (true) {
+            List<UUID> ids = repository.findIdsAtivasApos(apos, PageRequest.of(0, tamanhoLoteImportacao));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            List<UUID> ausentes = ids.stream().filter(id -> indice.buscar(id).isEmpty()).toList();
+            if (!ausentes.isEmpty()) {
+                for (SolicitacaoApolice solicitacao : repository.findAllByIdInWithHistory(ausentes)) {
+                    registrarImportada(solicitacao.getId(), historicoDaTabela(solicitacao));
+                    importadas++;
+                }
+            }
+
+            if (ids.size() < tamanhoLoteImportacao) {
+                break;
+            }
+            apos = ids.get(ids.size() - 1);
+        }
+
+        if (importadas > 0) {
+            logger.warn("{} solicitações ativas importadas da tabela para o event store", importadas);
+        }
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    /**
+     * Registra o estado inicial de uma solicitação recém-criada, após o
+     * commit da transação atual, se houver. Se o registro falhar, a
+     * solicitação é importada da tabela no próximo acesso.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @param timestamp data do recebimento
+     * @param observacao observação do registro inicial
+     */
+    public void registrarCriacao(UUID solicitacaoId, LocalDateTime timestamp, String observacao) {
+        StatusAlteradoEvent registro = new StatusAlteradoEvent(
+            solicitacaoId, StatusSolicitacao.RECEBIDO, timestamp, observacao);
+        aposCommit(() -> {
+            try {
+                acrescentarCriacao(registro);
+            } catch (RuntimeException e) {
+                logger.warn("Criação da solicitação {} não registrada no log; será importada da tabela no próximo acesso",
+                           solicitacaoId, e);
+            }
+        });
+    }
+
+    private void acrescentarCriacao(StatusAlteradoEvent registro) {
+        UUID solicitacaoId = registro.solicitacaoId();
+        lock.readLock().lock();
+        try {
+            indice.atualizar(solicitacaoId, atual -> {
+                if (atual != null) {
+                    // Já importada da tabela por um acesso entre o commit e este registro
+                    return atual;
+                }
+                log.acrescentar(1, registro);
+                return EstadoStatus.VAZIO.com(registro);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estado atual de uma solicitação. Se ela estiver na tabela mas não no
+     * índice, o estado é montado a partir da tabela e registrado no log
+     * após o commit da transação atual, se houver.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @return estado, se a solicitação existir
+     */
+    public Optional<EstadoStatus> buscar(UUID solicitacaoId) {
+        Optional<EstadoStatus> estado = indice.buscar(solicitacaoId);
+        if (estado.isPresent() || !ativo) {
+            return estado;
+        }
+
+        return repository.findByIdWithHistory(solicitacaoId).map(solicitacao -> {
+            List<StatusAlteradoEvent> historico = historicoDaTabela(solicitacao);
+            aposCommit(() -> registrarImportada(solicitacaoId, historico));
+            return new EstadoStatus(historico);
+        });
+    }
+
+    /**
+     * Retira do índice, após o commit da transação atual, as solicitações
+     * arquivadas. O registro de remoção no log impede que elas voltem ao
+     * índice na reconstrução.
+     *
+     * @param solicitacaoIds IDs das solicitações arquivadas
+     */
+    public void remover(Collection<UUID> solicitacaoIds) {
+        if (!ativo) {
+            return;
+        }
+
+        List<UUID> ids = List.copyOf(solicitacaoIds);
+        aposCommit(() -> {
+            lock.readLock().lock();
+            try {
+                for (UUID id : ids) {
+                    indice.remover(id, atual -> log.acrescentar(StatusSnapshotIndex.VERSAO_REMOCAO,
+                        new StatusAlteradoEvent(id, atual.status(), LocalDateTime.now(), null)));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Registra no log e no índice o histórico lido da tabela, se nenhum
+     * outro registro da solicitação chegou antes.
+     */
+    private void registrarImportada(UUID solicitacaoId, List<StatusAlteradoEvent> historico) {
+        lock.readLock().lock();
+        try {
+            indice.atualizar(solicitacaoId, atual -> {
+                if (atual != null) {
+                    return atual;
+                }
+                for (int versao = 1; versao <= historico.size(); versao++) {
+                    log.acrescentar(versao, historico.get(versao - 1));
+                }
+                return new EstadoStatus(historico);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Histórico da solicitação na tabela. Se o último registro não
+     * corresponder ao status da linha, o status da linha é acrescentado.
+     */
+    private static List<StatusAlteradoEvent> historicoDaTabela(SolicitacaoApolice solicitacao) {
+        UUID id = solicitacao.getId();
+        List<StatusAlteradoEvent> historico = new ArrayList<>(solicitacao.getHistory().size() + 1);
+        for (HistoricoStatus registro : solicitacao.getHistory()) {
+            historico.add(new StatusAlteradoEvent(id, registro.getStatus(), registro.getTimestamp(),
+                registro.getObservacao()));
+        }
+
+        if (historico.isEmpty() || historico.get(historico.size() - 1).status() != solicitacao.getStatus()) {
+            LocalDateTime timestamp = solicitacao.getFinishedAt() != null
+                ? solicitacao.getFinishedAt()
+                : LocalDateTime.now();
+            historico.add(new StatusAlteradoEvent(id, solicitacao.getStatus(), timestamp, OBSERVACAO_IMPORTACAO));
+        }
+        return Collections.unmodifiableList(historico);
+    }
+
+    /**
+     * Registra uma transição de status, validando-a contra o estado atual.
+     *
+     * A projeção na tabela é feita na transação atual; o registro no log e
+     * no índice, e o evento de status, após o commit.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @param novoStatus status de destino
+     * @param observacao observação da transição
+     * @return estado resultante da transição
+     * @throws NoSuchElementException se a solicitação não existir
+     * @throws IllegalStateException se a transição não for permitida
+     * @throws OptimisticLockingFailureException se o status mudou na tabela
+     *         depois de lido do índice
+     */
+    public EstadoStatus transicionar(UUID solicitacaoId, StatusSolicitacao novoStatus, String observacao) {
+        EstadoStatus atual = buscarRegistrado(solicitacaoId);
+        return projetar(solicitacaoId, atual, novoStatus, observacao)
+            .orElseThrow(() -> new OptimisticLockingFailureException(
+                "Status da solicitação " + solicitacaoId + " alterado por outra transação"));
+    }
+
+    /**
+     * Registra a transição somente se o status atual for o esperado. A
+     * comparação vale também contra transações concorrentes: a projeção na
+     * tabela é condicionada ao mesmo status, e quem perde recebe vazio.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @param esperado status em que a solicitação precisa estar
+     * @param novoStatus status de destino
+     * @param observacao observação da transição
+     * @return estado resultante, ou vazio se a solicitação não estava no
+     *         status esperado
+     * @throws NoSuchElementException se a solicitação não existir
+     * @throws IllegalStateException se a transição não for permitida
+     */
+    public Optional<EstadoStatus> transicionarSeAtual(UUID solicitacaoId, StatusSolicitacao esperado,
+                                                      StatusSolicitacao novoStatus, String observacao) {
+        EstadoStatus atual = buscarRegistrado(solicitacaoId);
+        if (atual.status() != esperado) {
+            return Optional.empty();
+        }
+        return projetar(solicitacaoId, atual, novoStatus, observacao);
+    }
+
+    private EstadoStatus buscarRegistrado(UUID solicitacaoId) {
+        return buscar(solicitacaoId)
+            .orElseThrow(() -> new NoSuchElementException("Solicitação " + solicitacaoId + " não encontrada"));
+    }
+
+    /**
+     * Valida a transição, projeta-a na tabela condicionada ao status atual
+     * e agenda o append para depois do commit.
+     *
+     * @return vazio se a linha já não estava no status lido do índice
+     */
+    private Optional<EstadoStatus> projetar(UUID solicitacaoId, EstadoStatus atual, StatusSolicitacao novoStatus,
+                                            String observacao) {
+        if (!atual.status().podeTransicionarPara(novoStatus)) {
+            throw new IllegalStateException(
+                String.format("Transição de %s para %s não é permitida", atual.status(), novoStatus)
+            );
+        }
+
+        StatusAlteradoEvent registro = new StatusAlteradoEvent(
+            solicitacaoId, novoStatus, LocalDateTime.now(), observacao);
+        int projetadas = repository.atualizarStatusSeAtual(solicitacaoId, atual.status(), novoStatus,
+            novoStatus.isEstadoFinal() ? registro.timestamp() : null);
+        if (projetadas == 0) {
+            return Optional.empty();
+        }
+
+        aposCommit(() -> acrescentar(atual.versao(), registro));
+        return Optional.of(atual.com(registro));
+    }
+
+    /**
+     * Acrescenta a transição ao log e ao índice se o estado ainda for o da
+     * versão validada em {@link #transicionar}.
+     */
+    private void acrescentar(int versaoValidada, StatusAlteradoEvent registro) {
+        UUID solicitacaoId = registro.solicitacaoId();
+        boolean[] aplicada = {false};
+        lock.readLock().lock();
+        try {
+            indice.atualizar(solicitacaoId, atual -> {
+                if (atual == null || atual.versao() != versaoValidada) {
+                    return atual;
+                }
+                log.acrescentar(atual.versao() + 1, registro);
+                aplicada[0] = true;
+                return atual.com(registro);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (!aplicada[0]) {
+            logger.error("Transição da solicitação {} para {} confirmada na tabela, mas o índice mudou antes do log",
+                        solicitacaoId, registro.status());
+            return;
+        }
+
+        // Mesmo evento que a entidade publicaria, para os assinantes de status
+        eventPublisher.publishEvent(registro);
+    }
+
+    /**
+     * Executa a ação após o commit da transação atual ou, sem transação,
+     * imediatamente.
+     */
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    /**
+     * Grava periodicamente um snapshot do índice para encurtar a recuperação.
+     */
+    @Scheduled(fixedDelayString = "${app.event-store.intervalo-snapshot:PT5M}",
+               initialDelayString = "${app.event-store.intervalo-snapshot:PT5M}")
+    public void executarSnapshot() {
+        if (!ativo) {
+            return;
+        }
+
+        try {
+            salvarSnapshot();
+        } catch (IOException e) {
+            logger.error("Falha ao gravar snapshot do event store", e);
+        }
+    }
+
+    /**
+     * Grava um snapshot do índice junto com as posições do log que ele cobre.
+     *
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public void salvarSnapshot() throws IOException {
+        StatusEventLog.PosicaoLog[] posicoes;
+        lock.writeLock().lock();
+        try {
+            posicoes = log.posicoes();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // O log é sincronizado antes do snapshot para que as posições
+        // gravadas nunca apontem além do que está em disco
+        log.sincronizar();
+        indice.salvar(diretorio.resolve(ARQUIVO_SNAPSHOT), posicoes);
+        logger.debug("Snapshot do event store gravado com {} solicitações", indice.tamanho());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (!ativo || log == null) {
+            return;
+        }
+
+        try {
+            salvarSnapshot();
+            log.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao encerrar o event store", e);
+        }
+    }
+
+    private StatusEventLog.PosicaoLog[] carregarSnapshot() {
+        StatusEventLog.PosicaoLog[] inicio = new StatusEventLog.PosicaoLog[quantidadeParticoes];
+        Arrays.fill(inicio, StatusEventLog.PosicaoLog.INICIO);
+
+        Path arquivo = diretorio.resolve(ARQUIVO_SNAPSHOT);
+        if (!Files.exists(arquivo)) {
+            return inicio;
+        }
+
+        try {
+            return indice.carregar(arquivo, quantidadeParticoes);
+        } catch (IOException e) {
+            // Snapshot inválido: o log completo continua sendo a fonte da verdade
+            logger.warn("Snapshot do event store ignorado, reproduzindo o log completo: {}", e.getMessage());
+            return inicio;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.itau.seguros.solicitacao.infrastructure.eventstore;
+
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Índice em memória com o estado atual (status e histórico) de cada
+ * solicitação registrada no {@link StatusEventLog}.
+ *
+ * A aplicação de registros é idempotente pela versão, o que permite
+ * reconstruir o índice a partir de um snapshot e reproduzir o final do
+ * log sem duplicar histórico. Registros com a versão
+ * {@link #VERSAO_REMOCAO} retiram a solicitação do índice.
+ */
+public class StatusSnapshotIndex {
+
+    /**
+     * Versão dos registros que retiram a solicitação do índice, gravados
+     * quando ela é arquivada.
+     */
+    public static final int VERSAO_REMOCAO = 0;
+
+    private static final int MAGIC = 0x53544958;
+    private static final int VERSAO_FORMATO = 1;
+    private static final StatusSolicitacao[] STATUS = StatusSolicitacao.values();
+
+    private final Map<UUID, EstadoStatus> estados = new ConcurrentHashMap<>();
+
+    /**
+     * Estado de uma solicitação.
+     */
+    public Optional<EstadoStatus> buscar(UUID solicitacaoId) {
+        return Optional.ofNullable(estados.get(solicitacaoId));
+    }
+
+    /**
+     * Atualiza atomicamente o estado de uma solicitação.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @param atualizacao recebe o estado atual (ou null) e devolve o novo estado
+     * @return novo estado
+     */
+    public EstadoStatus atualizar(UUID solicitacaoId, Function<EstadoStatus, EstadoStatus> atualizacao) {
+        return estados.compute(solicitacaoId, (id, atual) -> atualizacao.apply(atual));
+    }
+
+    /**
+     * Aplica um registro lido do log, ignorando versões já conhecidas.
+     *
+     * @param versao versão do registro
+     * @param registro transição
+     */
+    public void aplicar(int versao, StatusAlteradoEvent registro) {
+        if (versao == VERSAO_REMOCAO) {
+            estados.remove(registro.solicitacaoId());
+            return;
+        }
+        estados.compute(registro.solicitacaoId(), (id, atual) -> {
+            int versaoAtual = atual != null ? atual.versao() : 0;
+            if (versao <= versaoAtual) {
+                return atual;
+            }
+            return (atual != null ? atual : EstadoStatus.VAZIO).com(registro);
+        });
+    }
+
+    /**
+     * Retira uma solicitação do índice.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @param remocao recebe o estado removido, ainda sob o bloqueio da entrada
+     */
+    public void remover(UUID solicitacaoId, Consumer<EstadoStatus> remocao) {
+        estados.computeIfPresent(solicitacaoId, (id, atual) -> {
+            remocao.accept(atual);
+            return null;
+        });
+    }
+
+    public int tamanho() {
+        return estados.size();
+    }
+
+    /**
+     * Grava o índice em disco junto com as posições do log que ele cobre.
+     * A escrita é feita em arquivo temporário e movida atomicamente.
+     *
+     * @param arquivo destino do snapshot
+     * @param posicoes posições do log capturadas antes da cópia do índice
+     * @throws IOException se ocorrer erro de escrita
+     */
+    public void salvar(Path arquivo, StatusEventLog.PosicaoLog[] posicoes) throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temporario)), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSAO_FORMATO);
+            out.writeInt(posicoes.length);
+            for (StatusEventLog.PosicaoLog posicao : posicoes) {
+                out.writeInt(posicao.segmento());
+                out.writeInt(posicao.offset());
+            }
+
+            for (Map.Entry<UUID, EstadoStatus> entrada : estados.entrySet()) {
+                out.writeBoolean(true);
+                out.writeLong(entrada.getKey().getMostSignificantBits());
+                out.writeLong(entrada.getKey().getLeastSignificantBits());
+
+                List<StatusAlteradoEvent> historico = entrada.getValue().historico();
+                out.writeInt(historico.size());
+                for (StatusAlteradoEvent registro : historico) {
+                    out.writeByte(registro.status().ordinal());
+                    out.writeLong(registro.timestamp().toInstant(ZoneOffset.UTC).toEpochMilli());
+                    out.writeBoolean(registro.observacao() != null);
+                    if (registro.observacao() != null) {
+                        out.writeUTF(registro.observacao());
+                    }
+                }
+            }
+            out.writeBoolean(false);
+        }
+
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Carrega um snapshot gravado por {@link #salvar}.
+     *
+     * @param arquivo snapshot
+     * @param quantidadeParticoes número de partições esperado
+     * @return posições do log a partir das quais reproduzir
+     * @throws IOException se o arquivo estiver corrompido ou incompatível
+     */
+    public StatusEventLog.PosicaoLog[] carregar(Path arquivo, int quantidadeParticoes) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(arquivo)), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSAO_FORMATO) {
+                throw new IOException("Formato de snapshot desconhecido: " + arquivo);
+            }
+
+            int particoes = in.readInt();
+            if (particoes != quantidadeParticoes) {
+                throw new IOException("Snapshot gravado com " + particoes + " partições, esperado " + quantidadeParticoes);
+            }
+
+            StatusEventLog.PosicaoLog[] posicoes = new StatusEventLog.PosicaoLog[particoes];
+            for (int i = 0; i < particoes; i++) {
+                posicoes[i] = new StatusEventLog.PosicaoLog(in.readInt(), in.readInt());
+            }
+
+            while (in.readBoolean()) {
+                UUID id = new UUID(in.readLong(), in.readLong());
+                int tamanho = in.readInt();
+
+                List<StatusAlteradoEvent> historico = new ArrayList<>(tamanho);
+                for (int i = 0; i < tamanho; i++) {
+                    StatusSolicitacao status = STATUS[in.readByte()];
+                    LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC);
+                    String observacao = in.readBoolean() ? in.readUTF() : null;
+                    historico.add(new StatusAlteradoEvent(id, status, timestamp, observacao));
+                }
+
+                estados.put(id, new EstadoStatus(Collections.unmodifiableList(historico)));
+            }
+
+            return posicoes;
+        }
+    }
+
+    /**
+     * Estado imutável de uma solicitação: o histórico completo de transições.
+     *
+     * @param historico transições em ordem de ocorrência
+     */
+    public record EstadoStatus(List<StatusAlteradoEvent> historico) {
+
+        static final EstadoStatus VAZIO = new EstadoStatus(List.of());
+
+        public int versao() {
+            return historico.size();
+        }
+
+        public StatusSolicitacao status() {
+            return historico.get(historico.size() - 1).status();
+        }
+
+        /**
+         * Data em que a solicitação atingiu um estado final, se atingiu.
+         */
+        public LocalDateTime finishedAt() {
+            StatusAlteradoEvent ultimo = historico.get(historico.size() - 1);
+            return ultimo.status().isEstadoFinal() ? ultimo.timestamp() : null;
+        }
+
+        EstadoStatus com(StatusAlteradoEvent registro) {
+            List<StatusAlteradoEvent> novo = new ArrayList<>(historico.size() + 1);
+            novo.addAll(historico);
+            novo.add(registro);
+            return new EstadoStatus(Collections.unmodifiableList(novo));
+        }
+    }
+}
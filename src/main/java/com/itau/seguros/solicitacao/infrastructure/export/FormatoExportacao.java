@@ -0,0 +1,33 @@
+package com.itau.seguros.solicitacao.infrastructure.export;
+
+/**
+ * Formatos suportados pela exportação de solicitações.
+ */
+public enum FormatoExportacao {
+
+    /**
+     * Um objeto JSON por linha (newline-delimited JSON).
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Valores separados por vírgula, com cabeçalho.
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
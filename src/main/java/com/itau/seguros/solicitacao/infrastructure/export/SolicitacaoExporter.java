@@ -0,0 +1,373 @@
+package com.itau.seguros.solicitacao.infrastructure.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.itau.seguros.solicitacao.domain.model.ColecoesSolicitacao;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exporta solicitações e suas coberturas diretamente do banco para um stream.
+ *
+ * Percorre a tabela com um cursor forward-only e fetch size fixo, sem
+ * materializar entidades nem usar o contexto de persistência. As linhas
+ * do join com coberturas são agrupadas por solicitação à medida que chegam,
+ * de modo que a memória usada independe do volume exportado. Solicitações
+ * com as coleções na coluna compacta não têm linhas no join; suas
+ * coberturas são decodificadas da coluna {@code colecoes}. Produto, canal,
+ * forma de pagamento e nomes de coberturas chegam como códigos e são
+ * traduzidos pelo {@link DicionarioTermos}.
+ */
+@Component
+public class SolicitacaoExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolicitacaoExporter.class);
+
+    private static final String SQL_EXPORTACAO =
+        "SELECT s.id, s.customer_id, s.product_id, s.category, s.sales_channel, s.payment_method, " +
+        "s.status, s.total_monthly_premium_amount, s.insured_amount, s.created_at, s.finished_at, " +
+        "s.colecoes, c.cobertura_nome, c.cobertura_valor " +
+        "FROM solicitacao_apolice s " +
+        "LEFT JOIN solicitacao_coberturas c ON c.solicitacao_id = s.id " +
+        "WHERE s.created_at >= ? AND s.created_at < ?";
+
+    private static final String FILTRO_STATUS = " AND s.status = ?";
+
+    private static final String ORDENACAO = " ORDER BY s.created_at, s.id";
+
+    private static final String[] CABECALHO_CSV = {
+        "id", "customerId", "productId", "category", "salesChannel", "paymentMethod", "status",
+        "totalMonthlyPremiumAmount", "insuredAmount", "createdAt", "finishedAt", "coverages"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DicionarioTermos dicionario;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public SolicitacaoExporter(DataSource dataSource,
+                               DicionarioTermos dicionario,
+                               @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.dicionario = dicionario;
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Exporta as solicitações criadas no intervalo informado.
+     *
+     * @param inicio início do intervalo (inclusivo)
+     * @param fim fim do intervalo (exclusivo)
+     * @param status filtro opcional de status
+     * @param formato formato de saída
+     * @param destino stream de saída; não é fechado por este método
+     * @return quantidade de solicitações exportadas
+     * @throws IOException se ocorrer erro de escrita
+     */
+    @Transactional(readOnly = true)
+    public long exportar(LocalDateTime inicio, LocalDateTime fim, StatusSolicitacao status,
+                         FormatoExportacao formato, OutputStream destino) throws IOException {
+        logger.info("Exportando solicitações de {} a {} (status: {}, formato: {})", inicio, fim, status, formato);
+
+        String sql = SQL_EXPORTACAO + (status != null ? FILTRO_STATUS : "") + ORDENACAO;
+        Object[] parametros = status != null
+            ? new Object[] {inicio, fim, status.name()}
+            : new Object[] {inicio, fim};
+
+        EscritorExportacao escritor = formato == FormatoExportacao.CSV
+            ? new EscritorCsv(destino)
+            : new EscritorNdjson(jsonFactory.createGenerator(destino, JsonEncoding.UTF8));
+
+        AgrupadorLinhas agrupador = new AgrupadorLinhas(escritor, dicionario);
+
+        try {
+            escritor.iniciar();
+            jdbcTemplate.query(sql, agrupador, parametros);
+            agrupador.finalizar();
+            escritor.finalizar();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        logger.info("Exportação concluída: {} solicitações", agrupador.getTotal());
+        return agrupador.getTotal();
+    }
+
+    /**
+     * Agrupa as linhas do join por solicitação, reaproveitando o mesmo
+     * registro em memória para todas as solicitações.
+     */
+    private static final class AgrupadorLinhas implements RowCallbackHandler {
+
+        private final EscritorExportacao escritor;
+        private final DicionarioTermos dicionario;
+        private final RegistroExportacao atual = new RegistroExportacao();
+        private long total;
+
+        AgrupadorLinhas(EscritorExportacao escritor, DicionarioTermos dicionario) {
+            this.escritor = escritor;
+            this.dicionario = dicionario;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String id = rs.getString(1);
+
+            if (!id.equals(atual.id)) {
+                finalizar();
+                atual.carregar(id, rs, dicionario);
+            }
+
+            String cobertura = rs.getString(13);
+            if (cobertura != null) {
+                atual.coberturas.add(dicionario.decodificar(cobertura));
+                atual.valoresCoberturas.add(rs.getBigDecimal(14));
+            }
+        }
+
+        void finalizar() {
+            if (atual.id == null) {
+                return;
+            }
+
+            try {
+                escritor.escrever(atual);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            total++;
+            atual.id = null;
+        }
+
+        long getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * Registro mutável reaproveitado entre as solicitações exportadas.
+     */
+    static final class RegistroExportacao {
+
+        String id;
+        String customerId;
+        String productId;
+        String category;
+        String salesChannel;
+        String paymentMethod;
+        String status;
+        BigDecimal totalMonthlyPremiumAmount;
+        BigDecimal insuredAmount;
+        LocalDateTime createdAt;
+        LocalDateTime finishedAt;
+        final List<String> coberturas = new ArrayList<>();
+        final List<BigDecimal> valoresCoberturas = new ArrayList<>();
+
+        void carregar(String id, ResultSet rs, DicionarioTermos dicionario) throws SQLException {
+            this.id = id;
+            this.customerId = rs.getString(2);
+            this.productId = dicionario.decodificar(rs.getString(3));
+            this.category = rs.getString(4);
+            this.salesChannel = dicionario.decodificar(rs.getString(5));
+            this.paymentMethod = dicionario.decodificar(rs.getString(6));
+            this.status = rs.getString(7);
+            this.totalMonthlyPremiumAmount = rs.getBigDecimal(8);
+            this.insuredAmount = rs.getBigDecimal(9);
+            this.createdAt = rs.getObject(10, LocalDateTime.class);
+            this.finishedAt = rs.getObject(11, LocalDateTime.class);
+            this.coberturas.clear();
+            this.valoresCoberturas.clear();
+
+            byte[] colecoes = rs.getBytes(12);
+            if (colecoes != null) {
+                for (Map.Entry<String, Dinheiro> cobertura
+                        : ColecoesSolicitacao.codificadas(colecoes).getCoverages().entrySet()) {
+                    this.coberturas.add(cobertura.getKey());
+                    this.valoresCoberturas.add(cobertura.getValue().toBigDecimal());
+                }
+            }
+        }
+    }
+
+    /**
+     * Contrato dos escritores de cada formato.
+     */
+    private interface EscritorExportacao {
+
+        void iniciar() throws IOException;
+
+        void escrever(RegistroExportacao registro) throws IOException;
+
+        void finalizar() throws IOException;
+    }
+
+    /**
+     * Escreve um objeto JSON por linha usando o gerador de streaming do Jackson.
+     */
+    private static final class EscritorNdjson implements EscritorExportacao {
+
+        private final JsonGenerator gerador;
+
+        EscritorNdjson(JsonGenerator gerador) {
+            this.gerador = gerador;
+            this.gerador.setRootValueSeparator(null);
+            this.gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void iniciar() {
+            // NDJSON não possui cabeçalho
+        }
+
+        @Override
+        public void escrever(RegistroExportacao registro) throws IOException {
+            gerador.writeStartObject();
+            gerador.writeStringField("id", registro.id);
+            gerador.writeStringField("customerId", registro.customerId);
+            gerador.writeStringField("productId", registro.productId);
+            gerador.writeStringField("category", registro.category);
+            gerador.writeStringField("salesChannel", registro.salesChannel);
+            gerador.writeStringField("paymentMethod", registro.paymentMethod);
+            gerador.writeStringField("status", registro.status);
+            gerador.writeNumberField("totalMonthlyPremiumAmount", registro.totalMonthlyPremiumAmount);
+            gerador.writeNumberField("insuredAmount", registro.insuredAmount);
+            gerador.writeStringField("createdAt", registro.createdAt.toString());
+            if (registro.finishedAt != null) {
+                gerador.writeStringField("finishedAt", registro.finishedAt.toString());
+            } else {
+                gerador.writeNullField("finishedAt");
+            }
+            gerador.writeObjectFieldStart("coverages");
+            for (int i = 0; i < registro.coberturas.size(); i++) {
+                gerador.writeNumberField(registro.coberturas.get(i), registro.valoresCoberturas.get(i));
+            }
+            gerador.writeEndObject();
+            gerador.writeEndObject();
+            gerador.writeRaw('\n');
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            gerador.flush();
+        }
+    }
+
+    /**
+     * Escreve CSV com cabeçalho; as coberturas vão em uma única coluna
+     * no formato {@code nome=valor;nome=valor}.
+     *
+     * Campos com vírgula, aspas ou quebra de linha são delimitados por aspas,
+     * com as aspas internas duplicadas (RFC 4180). Nos nomes de cobertura,
+     * {@code ;}, {@code =} e {@code \} são precedidos de {@code \} para que
+     * a coluna de coberturas continue separável.
+     */
+    private static final class EscritorCsv implements EscritorExportacao {
+
+        private final Writer writer;
+        private final StringBuilder coberturas = new StringBuilder();
+
+        EscritorCsv(OutputStream destino) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void iniciar() throws IOException {
+            writer.write(String.join(",", CABECALHO_CSV));
+            writer.write('\n');
+        }
+
+        @Override
+        public void escrever(RegistroExportacao registro) throws IOException {
+            escreverCampo(registro.id);
+            escreverCampo(registro.customerId);
+            escreverCampo(registro.productId);
+            escreverCampo(registro.category);
+            escreverCampo(registro.salesChannel);
+            escreverCampo(registro.paymentMethod);
+            escreverCampo(registro.status);
+            escreverCampo(registro.totalMonthlyPremiumAmount.toPlainString());
+            escreverCampo(registro.insuredAmount.toPlainString());
+            escreverCampo(registro.createdAt.toString());
+            escreverCampo(registro.finishedAt != null ? registro.finishedAt.toString() : "");
+
+            coberturas.setLength(0);
+            for (int i = 0; i < registro.coberturas.size(); i++) {
+                if (i > 0) {
+                    coberturas.append(';');
+                }
+                escaparCobertura(registro.coberturas.get(i));
+                coberturas.append('=').append(registro.valoresCoberturas.get(i).toPlainString());
+            }
+            escreverValor(coberturas);
+            writer.write('\n');
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            writer.flush();
+        }
+
+        private void escaparCobertura(String nome) {
+            for (int i = 0; i < nome.length(); i++) {
+                char c = nome.charAt(i);
+                if (c == ';' || c == '=' || c == '\\') {
+                    coberturas.append('\\');
+                }
+                coberturas.append(c);
+            }
+        }
+
+        private void escreverCampo(String valor) throws IOException {
+            escreverValor(valor);
+            writer.write(',');
+        }
+
+        private void escreverValor(CharSequence valor) throws IOException {
+            boolean precisaAspas = false;
+            for (int i = 0; i < valor.length() && !precisaAspas; i++) {
+                char c = valor.charAt(i);
+                precisaAspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+
+            if (!precisaAspas) {
+                writer.append(valor);
+                return;
+            }
+
+            writer.write('"');
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                }
+                writer.write(c);
+            }
+            writer.write('"');
+        }
+    }
+}
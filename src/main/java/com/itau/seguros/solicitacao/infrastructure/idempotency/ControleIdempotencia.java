@@ -0,0 +1,384 @@
+package com.itau.seguros.solicitacao.infrastructure.idempotency;
+
+import com.itau.seguros.solicitacao.domain.model.RespostaIdempotente;
+import com.itau.seguros.solicitacao.domain.repository.RespostaIdempotenteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.ServletException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Controle de execução única por Idempotency-Key.
+ *
+ * As respostas ficam na tabela {@code resposta_idempotente}, com um cache
+ * em memória com TTL na frente. Antes de executar, a chave é reservada com
+ * um registro pendente na tabela, cuja chave primária garante uma única
+ * execução entre instâncias. Requisições concorrentes com a mesma chave
+ * aguardam a execução em andamento, nesta instância ou em outra, e
+ * recebem a mesma resposta, sem executar a criação de novo.
+ *
+ * A reserva vale por {@code prazo-reserva} e é renovada periodicamente
+ * enquanto a execução dura, de forma que só expira se a instância parar.
+ * Como não há como saber se a execução interrompida chegou a criar a
+ * solicitação, uma reserva expirada sem resposta não é executada de novo:
+ * as retentativas recebem 409 até o fim da retenção das respostas.
+ *
+ * Apenas respostas 2xx são guardadas: erros de validação são baratos e
+ * sem efeito colateral, e erros de servidor ou recusas por sobrecarga
+ * devem poder ser repetidos.
+ */
+@Component
+public class ControleIdempotencia {
+
+    private static final Logger logger = LoggerFactory.getLogger(ControleIdempotencia.class);
+
+    private static final long INTERVALO_CONSULTA_RESERVA_MS = 100;
+
+    public static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    /**
+     * Execução da requisição original.
+     */
+    @FunctionalInterface
+    public interface Execucao {
+        RespostaGuardada executar() throws IOException, ServletException;
+    }
+
+    /**
+     * Resposta de uma requisição, como devolvida ao cliente.
+     *
+     * @param status status HTTP
+     * @param contentType tipo de conteúdo, pode ser nulo
+     * @param cabecalhos demais cabeçalhos definidos pela execução (ex.: Location)
+     * @param corpo bytes da resposta
+     */
+    public record RespostaGuardada(int status, String contentType, Map<String, List<String>> cabecalhos,
+                                   byte[] corpo) {
+
+        public RespostaGuardada(int status, String contentType, byte[] corpo) {
+            this(status, contentType, Map.of(), corpo);
+        }
+    }
+
+    /**
+     * Resultado do controle: a resposta e se ela foi repetida a partir do
+     * registro original.
+     */
+    public record Resultado(RespostaGuardada resposta, boolean repetida) {
+    }
+
+    private record EntradaCache(String hashRequisicao, RespostaGuardada resposta, long expiraEmNanos) {
+    }
+
+    private final RespostaIdempotenteRepository repository;
+    private final Duration ttl;
+    private final Duration ttlCache;
+    private final int maxEntradasCache;
+    private final Duration esperaMaxima;
+    private final Duration prazoReserva;
+
+    private final Map<String, EntradaCache> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<EntradaCache>> emExecucao = new ConcurrentHashMap<>();
+    private final Set<String> reservadas = ConcurrentHashMap.newKeySet();
+    private final Counter repetidasCounter;
+
+    public ControleIdempotencia(RespostaIdempotenteRepository repository,
+                                MeterRegistry registry,
+                                @Value("${app.idempotencia.ttl:24h}") Duration ttl,
+                                @Value("${app.idempotencia.ttl-cache:10m}") Duration ttlCache,
+                                @Value("${app.idempotencia.max-entradas-cache:10000}") int maxEntradasCache,
+                                @Value("${app.idempotencia.espera-maxima:30s}") Duration esperaMaxima,
+                                @Value("${app.idempotencia.prazo-reserva:1m}") Duration prazoReserva) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.ttlCache = ttlCache;
+        this.maxEntradasCache = maxEntradasCache;
+        this.esperaMaxima = esperaMaxima;
+        this.prazoReserva = prazoReserva;
+        this.repetidasCounter = Counter.builder("solicitacao.idempotencia.repetidas")
+            .description("Respostas repetidas a partir de uma Idempotency-Key já usada")
+            .register(registry);
+    }
+
+    /**
+     * Executa a requisição uma única vez por chave.
+     *
+     * @param chave valor do cabeçalho Idempotency-Key
+     * @param corpo corpo da requisição
+     * @param execucao execução da requisição original
+     * @return resposta original ou repetida
+     * @throws IdempotenciaException se a chave foi usada com outro corpo ou
+     *                               a execução em andamento demorou demais
+     */
+    public Resultado executar(String chave, byte[] corpo, Execucao execucao) throws IOException, ServletException {
+        String hash = hash(corpo);
+
+        while (true) {
+            EntradaCache guardada = buscar(chave);
+            if (guardada != null) {
+                return repetir(chave, hash, guardada);
+            }
+
+            CompletableFuture<EntradaCache> propria = new CompletableFuture<>();
+            CompletableFuture<EntradaCache> emAndamento = emExecucao.putIfAbsent(chave, propria);
+            if (emAndamento != null) {
+                EntradaCache resultado = aguardar(chave, emAndamento);
+                if (resultado != null) {
+                    return repetir(chave, hash, resultado);
+                }
+                // A execução original não gerou resposta guardável; tenta de novo
+                continue;
+            }
+
+            EntradaCache registrada = null;
+            try {
+                // Pode ter terminado entre a busca e a reserva local da chave
+                Optional<RespostaIdempotente> registro = repository.findByChaveAndExpiraEmAfter(chave, LocalDateTime.now());
+                if (registro.isPresent() && registro.get().isPendente()) {
+                    verificarHash(registro.get().getHashRequisicao(), hash);
+                    registrada = aguardarOutraInstancia(chave);
+                    if (registrada != null) {
+                        return repetir(chave, hash, registrada);
+                    }
+                    continue;
+                }
+                if (registro.isPresent()) {
+                    registrada = guardarEmCache(chave, entrada(registro.get()));
+                    return repetir(chave, hash, registrada);
+                }
+                if (!reservar(chave, hash)) {
+                    continue;
+                }
+
+                boolean concluida = false;
+                reservadas.add(chave);
+                try {
+                    RespostaGuardada resposta = execucao.executar();
+                    if (resposta.status() >= 200 && resposta.status() < 300) {
+                        registrada = registrar(chave, hash, resposta);
+                        concluida = true;
+                    }
+                    return new Resultado(resposta, false);
+                } finally {
+                    reservadas.remove(chave);
+                    if (!concluida) {
+                        // Sem resposta guardável, a chave volta a poder ser executada
+                        repository.deleteReserva(chave);
+                    }
+                }
+            } finally {
+                emExecucao.remove(chave, propria);
+                propria.complete(registrada);
+            }
+        }
+    }
+
+    /**
+     * Estende o prazo das reservas das execuções em andamento nesta instância.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotencia.intervalo-renovacao:PT20S}",
+               initialDelayString = "${app.idempotencia.intervalo-renovacao:PT20S}")
+    public void renovarReservas() {
+        if (reservadas.isEmpty()) {
+            return;
+        }
+        int renovadas = repository.renovarReservas(List.copyOf(reservadas), LocalDateTime.now().plus(prazoReserva));
+        logger.debug("{} reservas de Idempotency-Key renovadas", renovadas);
+    }
+
+    /**
+     * Remove as respostas expiradas do cache e da tabela.
+     */
+    @Scheduled(fixedDelayString = "${app.idempotencia.intervalo-limpeza:PT10M}",
+               initialDelayString = "${app.idempotencia.intervalo-limpeza:PT10M}")
+    public void removerExpiradas() {
+        long agora = System.nanoTime();
+        cache.values().removeIf(entrada -> entrada.expiraEmNanos() - agora <= 0);
+
+        LocalDateTime instante = LocalDateTime.now();
+        int removidas = repository.deleteExpiradas(instante, instante.minus(ttl));
+        if (removidas > 0) {
+            logger.info("{} respostas idempotentes expiradas removidas", removidas);
+        }
+    }
+
+    private EntradaCache buscar(String chave) {
+        EntradaCache entrada = cache.get(chave);
+        if (entrada != null) {
+            if (entrada.expiraEmNanos() - System.nanoTime() > 0) {
+                return entrada;
+            }
+            cache.remove(chave, entrada);
+        }
+
+        return repository.findByChaveAndExpiraEmAfter(chave, LocalDateTime.now())
+            .filter(registro -> !registro.isPendente())
+            .map(registro -> guardarEmCache(chave, entrada(registro)))
+            .orElse(null);
+    }
+
+    private EntradaCache entrada(RespostaIdempotente registro) {
+        return new EntradaCache(registro.getHashRequisicao(),
+            new RespostaGuardada(registro.getStatusHttp(), registro.getContentType(),
+                                 lerCabecalhos(registro.getCabecalhos()), registro.getCorpo()),
+            System.nanoTime() + ttlCache.toNanos());
+    }
+
+    /**
+     * Insere o registro pendente da chave. A chave primária recusa a
+     * reserva se outra instância reservou a mesma chave antes.
+     *
+     * @return se a reserva é desta execução
+     * @throws IdempotenciaException se a chave tem uma reserva abandonada
+     */
+    private boolean reservar(String chave, String hash) {
+        LocalDateTime agora = LocalDateTime.now();
+        repository.deleteExpirada(chave, agora, agora.minus(ttl));
+        try {
+            repository.save(RespostaIdempotente.reserva(chave, hash, agora.plus(prazoReserva)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            Optional<RespostaIdempotente> atual = repository.findById(chave);
+            if (atual.isPresent() && atual.get().isPendente() && !atual.get().getExpiraEm().isAfter(agora)) {
+                // A instância da execução original parou sem concluir nem liberar a reserva
+                verificarHash(atual.get().getHashRequisicao(), hash);
+                throw new IdempotenciaException(HttpStatus.CONFLICT,
+                    "Execução anterior com a mesma Idempotency-Key foi interrompida; o resultado é desconhecido");
+            }
+            logger.info("Idempotency-Key {} reservada por outra instância", chave);
+            return false;
+        }
+    }
+
+    private EntradaCache registrar(String chave, String hash, RespostaGuardada resposta) {
+        if (repository.concluirReserva(chave, resposta.status(), resposta.contentType(),
+                escreverCabecalhos(resposta.cabecalhos()), resposta.corpo(), LocalDateTime.now().plus(ttl)) == 0) {
+            // A reserva foi removida durante a execução; a resposta desta execução já foi produzida
+            logger.warn("Reserva da Idempotency-Key {} removida antes do fim da execução", chave);
+        }
+        return guardarEmCache(chave, new EntradaCache(hash, resposta, System.nanoTime() + ttlCache.toNanos()));
+    }
+
+    private EntradaCache guardarEmCache(String chave, EntradaCache entrada) {
+        if (cache.size() < maxEntradasCache) {
+            cache.put(chave, entrada);
+        }
+        return entrada;
+    }
+
+    private EntradaCache aguardar(String chave, CompletableFuture<EntradaCache> emAndamento) {
+        logger.info("Aguardando execução em andamento da Idempotency-Key {}", chave);
+        try {
+            return emAndamento.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotenciaException(HttpStatus.CONFLICT,
+                "Requisição com a mesma Idempotency-Key ainda em processamento");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotenciaException(HttpStatus.CONFLICT,
+                "Requisição com a mesma Idempotency-Key ainda em processamento");
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Aguarda a conclusão da reserva feita por outra instância, consultando
+     * a tabela a cada {@value #INTERVALO_CONSULTA_RESERVA_MS} ms.
+     *
+     * @return resposta registrada, ou nulo se a reserva foi liberada sem resposta
+     */
+    private EntradaCache aguardarOutraInstancia(String chave) {
+        logger.info("Aguardando execução da Idempotency-Key {} em outra instância", chave);
+        long limite = System.nanoTime() + esperaMaxima.toNanos();
+        while (System.nanoTime() - limite < 0) {
+            try {
+                Thread.sleep(INTERVALO_CONSULTA_RESERVA_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Optional<RespostaIdempotente> registro = repository.findByChaveAndExpiraEmAfter(chave, LocalDateTime.now());
+            if (registro.isEmpty()) {
+                return null;
+            }
+            if (!registro.get().isPendente()) {
+                return guardarEmCache(chave, entrada(registro.get()));
+            }
+        }
+        throw new IdempotenciaException(HttpStatus.CONFLICT,
+            "Requisição com a mesma Idempotency-Key ainda em processamento");
+    }
+
+    private Resultado repetir(String chave, String hash, EntradaCache entrada) {
+        verificarHash(entrada.hashRequisicao(), hash);
+
+        logger.info("Repetindo resposta da Idempotency-Key {}", chave);
+        repetidasCounter.increment();
+        return new Resultado(entrada.resposta(), true);
+    }
+
+    private static String escreverCabecalhos(Map<String, List<String>> cabecalhos) {
+        if (cabecalhos.isEmpty()) {
+            return null;
+        }
+        StringBuilder texto = new StringBuilder();
+        cabecalhos.forEach((nome, valores) -> valores.forEach(valor ->
+            texto.append(nome).append(": ").append(valor).append('\n')));
+        return texto.toString();
+    }
+
+    private static Map<String, List<String>> lerCabecalhos(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, List<String>> cabecalhos = new LinkedHashMap<>();
+        for (String linha : texto.split("\n")) {
+            int separador = linha.indexOf(": ");
+            if (separador > 0) {
+                cabecalhos.computeIfAbsent(linha.substring(0, separador), nome -> new ArrayList<>())
+                    .add(linha.substring(separador + 2));
+            }
+        }
+        return cabecalhos;
+    }
+
+    private static void verificarHash(String hashRegistrado, String hash) {
+        if (!hashRegistrado.equals(hash)) {
+            throw new IdempotenciaException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key já utilizada com outra requisição");
+        }
+    }
+
+    private static String hash(byte[] corpo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(corpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.itau.seguros.solicitacao.infrastructure.idempotency;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Erro no uso do cabeçalho Idempotency-Key, com o status HTTP a devolver.
+ */
+public class IdempotenciaException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public IdempotenciaException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
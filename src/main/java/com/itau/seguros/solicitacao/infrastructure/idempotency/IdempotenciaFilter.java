@@ -0,0 +1,103 @@
+package com.itau.seguros.solicitacao.infrastructure.idempotency;
+
+import com.itau.seguros.solicitacao.infrastructure.web.RequisicaoIdentificada;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Filtro que aplica o {@link ControleIdempotencia} à criação de solicitações
+ * enviadas com o cabeçalho {@value #CABECALHO}.
+ *
+ * A resposta da execução original é capturada em memória e guardada, com
+ * os cabeçalhos definidos depois deste filtro (ex.: Location); as
+ * retentativas recebem os mesmos bytes e cabeçalhos com o cabeçalho
+ * {@value #CABECALHO_REPETIDA}, sem passar pelo controle de admissão nem
+ * pelo controller. Requisições sem a chave seguem o fluxo normal.
+ */
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaFilter.class);
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotent-Replayed";
+
+    private final ControleIdempotencia controle;
+
+    public IdempotenciaFilter(ControleIdempotencia controle) {
+        this.controle = controle;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(CABECALHO) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String chave = request.getHeader(CABECALHO).trim();
+        if (chave.isEmpty() || chave.length() > ControleIdempotencia.TAMANHO_MAXIMO_CHAVE) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                "Idempotency-Key deve ter entre 1 e " + ControleIdempotencia.TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+
+        RequisicaoIdentificada requisicao = RequisicaoIdentificada.de(request);
+
+        ControleIdempotencia.Resultado resultado;
+        try {
+            resultado = controle.executar(chave, requisicao.getCorpo(), () -> {
+                // Cabeçalhos já definidos pelos filtros anteriores são da requisição atual, não da resposta guardada
+                Set<String> anteriores = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+                anteriores.addAll(response.getHeaderNames());
+                anteriores.add(HttpHeaders.CONTENT_TYPE);
+                anteriores.add(HttpHeaders.CONTENT_LENGTH);
+
+                ContentCachingResponseWrapper capturada = new ContentCachingResponseWrapper(response);
+                filterChain.doFilter(requisicao.getRequest(), capturada);
+
+                Map<String, List<String>> cabecalhos = new LinkedHashMap<>();
+                for (String nome : capturada.getHeaderNames()) {
+                    if (!anteriores.contains(nome)) {
+                        cabecalhos.put(nome, List.copyOf(capturada.getHeaders(nome)));
+                    }
+                }
+                ControleIdempotencia.RespostaGuardada resposta = new ControleIdempotencia.RespostaGuardada(
+                    capturada.getStatus(), capturada.getContentType(), cabecalhos, capturada.getContentAsByteArray());
+                capturada.copyBodyToResponse();
+                return resposta;
+            });
+        } catch (IdempotenciaException e) {
+            logger.warn("Idempotency-Key {} recusada: {}", chave, e.getMessage());
+            response.sendError(e.getStatus().value(), e.getMessage());
+            return;
+        }
+
+        if (resultado.repetida()) {
+            ControleIdempotencia.RespostaGuardada resposta = resultado.resposta();
+            response.setStatus(resposta.status());
+            resposta.cabecalhos().forEach((nome, valores) -> valores.forEach(valor -> response.addHeader(nome, valor)));
+            response.setHeader(CABECALHO_REPETIDA, "true");
+            if (resposta.contentType() != null) {
+                response.setContentType(resposta.contentType());
+            }
+            response.setContentLength(resposta.corpo().length);
+            response.getOutputStream().write(resposta.corpo());
+        }
+    }
+}
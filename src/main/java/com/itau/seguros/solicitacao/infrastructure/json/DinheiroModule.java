@@ -0,0 +1,90 @@
+package com.itau.seguros.solicitacao.infrastructure.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Módulo Jackson para {@link Dinheiro}.
+ *
+ * Valores são escritos como números JSON com duas casas decimais
+ * ({@code 275000.50}), no mesmo formato dos antigos campos BigDecimal, a
+ * partir de um buffer de caracteres reaproveitado por thread, e lidos de
+ * números ou strings diretamente do buffer do parser, sem passar por
+ * BigDecimal. Registrado no ObjectMapper do Spring como bean; quem
+ * cria o próprio ObjectMapper deve registrá-lo explicitamente.
+ */
+@Component
+public class DinheiroModule extends SimpleModule {
+
+    public DinheiroModule() {
+        super("DinheiroModule");
+        addSerializer(Dinheiro.class, new DinheiroSerializer());
+        addDeserializer(Dinheiro.class, new DinheiroDeserializer());
+    }
+
+    static final class DinheiroSerializer extends StdScalarSerializer<Dinheiro> {
+
+        private static final ThreadLocal<char[]> BUFFERS =
+            ThreadLocal.withInitial(() -> new char[Dinheiro.TAMANHO_MAXIMO_TEXTO]);
+
+        DinheiroSerializer() {
+            super(Dinheiro.class);
+        }
+
+        @Override
+        public void serialize(Dinheiro valor, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] buffer = BUFFERS.get();
+            gen.writeNumber(buffer, 0, valor.escrever(buffer, 0));
+        }
+    }
+
+    static final class DinheiroDeserializer extends StdScalarDeserializer<Dinheiro> {
+
+        DinheiroDeserializer() {
+            super(Dinheiro.class);
+        }
+
+        @Override
+        public Dinheiro deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            try {
+                return ler(parser);
+            } catch (NumberFormatException | ArithmeticException e) {
+                return (Dinheiro) ctxt.handleWeirdStringValue(Dinheiro.class, parser.getText(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Lê o valor do token atual do parser.
+     *
+     * @param parser parser posicionado em um número ou string
+     * @return valor lido, ou nulo para {@code null}
+     * @throws NumberFormatException se o valor não for um número com até
+     *         duas casas decimais
+     * @throws ArithmeticException se o valor não couber em centavos
+     */
+    public static Dinheiro ler(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+            return Dinheiro.deReais(parser.getLongValue());
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+            || token == JsonToken.VALUE_STRING) {
+            return Dinheiro.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        throw new NumberFormatException("Valor monetário inválido: " + token);
+    }
+}
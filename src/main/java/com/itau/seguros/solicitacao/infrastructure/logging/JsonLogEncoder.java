@@ -0,0 +1,235 @@
+package com.itau.seguros.solicitacao.infrastructure.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Encoder Logback que grava cada evento como uma linha JSON.
+ *
+ * Escreve os bytes UTF-8 diretamente em um buffer reaproveitado por
+ * thread, sem montar Strings intermediárias nem usar um serializador
+ * genérico; a única alocação por evento é o array devolvido ao appender.
+ * O prefixo do timestamp (até os segundos) é cacheado e só é formatado
+ * novamente quando o segundo muda.
+ *
+ * Formato:
+ * <pre>
+ * {"timestamp":"2024-01-01T12:00:00.123Z","level":"INFO","thread":"main",
+ *  "logger":"...","message":"...","mdc":{"transactionId":"..."},"stack_trace":"..."}
+ * </pre>
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final int TAMANHO_INICIAL = 1024;
+    private static final int TAMANHO_MAXIMO_RETIDO = 64 * 1024;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+    private boolean incluirMdc = true;
+    private boolean incluirThread = true;
+
+    public void setIncluirMdc(boolean incluirMdc) {
+        this.incluirMdc = incluirMdc;
+    }
+
+    public void setIncluirThread(boolean incluirThread) {
+        this.incluirThread = incluirThread;
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        Buffer buffer = buffers.get();
+        buffer.posicao = 0;
+
+        buffer.ascii("{\"timestamp\":\"");
+        buffer.timestamp(event.getTimeStamp());
+        buffer.ascii("\",\"level\":\"");
+        buffer.ascii(event.getLevel().toString());
+        buffer.ascii("\"");
+
+        if (incluirThread) {
+            buffer.ascii(",\"thread\":");
+            buffer.texto(event.getThreadName());
+        }
+
+        buffer.ascii(",\"logger\":");
+        buffer.texto(event.getLoggerName());
+        buffer.ascii(",\"message\":");
+        buffer.texto(event.getFormattedMessage());
+
+        if (incluirMdc) {
+            Map<String, String> mdc = event.getMDCPropertyMap();
+            if (mdc != null && !mdc.isEmpty()) {
+                buffer.ascii(",\"mdc\":{");
+                boolean primeiro = true;
+                for (Map.Entry<String, String> entrada : mdc.entrySet()) {
+                    if (!primeiro) {
+                        buffer.byteUnico((byte) ',');
+                    }
+                    buffer.texto(entrada.getKey());
+                    buffer.byteUnico((byte) ':');
+                    buffer.texto(entrada.getValue());
+                    primeiro = false;
+                }
+                buffer.byteUnico((byte) '}');
+            }
+        }
+
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            buffer.ascii(",\"stack_trace\":");
+            buffer.texto(ThrowableProxyUtil.asString(throwable));
+        }
+
+        buffer.ascii("}\n");
+        return buffer.copiar();
+    }
+
+    /**
+     * Buffer de bytes reaproveitado entre eventos da mesma thread.
+     */
+    private static final class Buffer {
+
+        private byte[] bytes = new byte[TAMANHO_INICIAL];
+        private int posicao;
+
+        private long segundoCacheado = Long.MIN_VALUE;
+        private final byte[] prefixoTimestamp = new byte[19];
+
+        void byteUnico(byte b) {
+            garantir(1);
+            bytes[posicao++] = b;
+        }
+
+        void ascii(String s) {
+            int tamanho = s.length();
+            garantir(tamanho);
+            for (int i = 0; i < tamanho; i++) {
+                bytes[posicao++] = (byte) s.charAt(i);
+            }
+        }
+
+        /**
+         * Timestamp ISO-8601 em UTC com milissegundos.
+         */
+        void timestamp(long epochMillis) {
+            long segundo = Math.floorDiv(epochMillis, 1000);
+            if (segundo != segundoCacheado) {
+                String prefixo = LocalDateTime.ofEpochSecond(segundo, 0, ZoneOffset.UTC).toString();
+                // LocalDateTime omite os segundos quando são zero
+                if (prefixo.length() == 16) {
+                    prefixo = prefixo + ":00";
+                }
+                for (int i = 0; i < prefixoTimestamp.length; i++) {
+                    prefixoTimestamp[i] = (byte) prefixo.charAt(i);
+                }
+                segundoCacheado = segundo;
+            }
+
+            int millis = (int) Math.floorMod(epochMillis, 1000);
+            garantir(prefixoTimestamp.length + 5);
+            System.arraycopy(prefixoTimestamp, 0, bytes, posicao, prefixoTimestamp.length);
+            posicao += prefixoTimestamp.length;
+            bytes[posicao++] = '.';
+            bytes[posicao++] = (byte) ('0' + millis / 100);
+            bytes[posicao++] = (byte) ('0' + millis / 10 % 10);
+            bytes[posicao++] = (byte) ('0' + millis % 10);
+            bytes[posicao++] = 'Z';
+        }
+
+        /**
+         * String JSON entre aspas, com escape e codificação UTF-8.
+         */
+        void texto(String s) {
+            if (s == null) {
+                ascii("null");
+                return;
+            }
+
+            int tamanho = s.length();
+            // Pior caso: 6 bytes por caractere (escape \\u00XX)
+            garantir(tamanho * 6 + 2);
+            bytes[posicao++] = '"';
+
+            for (int i = 0; i < tamanho; i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    bytes[posicao++] = '\\';
+                    bytes[posicao++] = (byte) c;
+                } else if (c < 0x20) {
+                    escaparControle(c);
+                } else if (c < 0x80) {
+                    bytes[posicao++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[posicao++] = (byte) (0xC0 | (c >> 6));
+                    bytes[posicao++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < tamanho && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                    bytes[posicao++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[posicao++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[posicao++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[posicao++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    bytes[posicao++] = '?';
+                } else {
+                    bytes[posicao++] = (byte) (0xE0 | (c >> 12));
+                    bytes[posicao++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[posicao++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+
+            bytes[posicao++] = '"';
+        }
+
+        private void escaparControle(char c) {
+            bytes[posicao++] = '\\';
+            switch (c) {
+                case '\n' -> bytes[posicao++] = 'n';
+                case '\r' -> bytes[posicao++] = 'r';
+                case '\t' -> bytes[posicao++] = 't';
+                default -> {
+                    bytes[posicao++] = 'u';
+                    bytes[posicao++] = '0';
+                    bytes[posicao++] = '0';
+                    bytes[posicao++] = HEX[c >> 4];
+                    bytes[posicao++] = HEX[c & 0xF];
+                }
+            }
+        }
+
+        byte[] copiar() {
+            byte[] resultado = Arrays.copyOf(bytes, posicao);
+            // Não retém buffers gigantes gerados por mensagens excepcionais
+            if (bytes.length > TAMANHO_MAXIMO_RETIDO) {
+                bytes = new byte[TAMANHO_INICIAL];
+            }
+            return resultado;
+        }
+
+        private void garantir(int adicional) {
+            int necessario = posicao + adicional;
+            if (necessario > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(necessario, bytes.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.itau.seguros.solicitacao.infrastructure.messaging.DimensionamentoListeners.Alocacao;
+import com.itau.seguros.solicitacao.infrastructure.messaging.DimensionamentoListeners.Amostra;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ajuste periódico da concorrência e do prefetch dos listeners RabbitMQ.
+ *
+ * A cada intervalo, lê a profundidade de cada fila consumida (declaração
+ * passiva) e a latência de processamento medida pelo
+ * {@link MedidorLatenciaListener}, e aplica aos containers o
+ * dimensionamento do {@link DimensionamentoListeners}: consumidores fixos,
+ * teto de consumidores e prefetch, dentro dos limites por container e do
+ * orçamento global de threads, dividido pelos pesos das filas quando não
+ * é suficiente. Assim as threads paradas em uma fila vazia passam para a
+ * fila que acumulou mensagens.
+ *
+ * O novo prefetch só vale para os consumidores iniciados depois do
+ * ajuste. Quando ele passa a ser ao menos o dobro ou no máximo a metade
+ * do prefetch com que os consumidores ativos foram abertos, o container é
+ * reiniciado para recriá-los; as mensagens entregues e ainda não
+ * confirmadas voltam à fila.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rabbitmq.autoescalonamento.enabled", havingValue = "true")
+public class AutoescalonamentoListeners {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutoescalonamentoListeners.class);
+
+    private static final int FATOR_REINICIO_PREFETCH = 2;
+
+    private final RabbitListenerEndpointRegistry listenerRegistry;
+    private final RabbitTemplate rabbitTemplate;
+    private final MedidorLatenciaListener medidorLatencia;
+    private final DimensionamentoListeners dimensionamento;
+    private final MeterRegistry registry;
+
+    private final Map<String, Integer> pesos = new HashMap<>();
+    private final Map<String, Estado> estados = new ConcurrentHashMap<>();
+
+    public AutoescalonamentoListeners(RabbitListenerEndpointRegistry listenerRegistry,
+                                      RabbitTemplate rabbitTemplate,
+                                      MedidorLatenciaListener medidorLatencia,
+                                      MeterRegistry registry,
+                                      @Value("${app.rabbitmq.autoescalonamento.consumidores-minimo:1}") int consumidoresMinimo,
+                                      @Value("${app.rabbitmq.autoescalonamento.consumidores-maximo:20}") int consumidoresMaximo,
+                                      @Value("${app.rabbitmq.autoescalonamento.folga:2}") int folga,
+                                      @Value("${app.rabbitmq.autoescalonamento.orcamento-threads:40}") int orcamentoThreads,
+                                      @Value("${app.rabbitmq.autoescalonamento.prefetch-minimo:1}") int prefetchMinimo,
+                                      @Value("${app.rabbitmq.autoescalonamento.prefetch-maximo:250}") int prefetchMaximo,
+                                      @Value("${app.rabbitmq.autoescalonamento.meta-drenagem:30s}") Duration metaDrenagem,
+                                      @Value("${app.rabbitmq.autoescalonamento.trabalho-por-consumidor:500ms}") Duration trabalhoPorConsumidor,
+                                      @Value("${app.rabbitmq.autoescalonamento.pesos:}") List<String> pesosPorFila) {
+        this.listenerRegistry = listenerRegistry;
+        this.rabbitTemplate = rabbitTemplate;
+        this.medidorLatencia = medidorLatencia;
+        this.registry = registry;
+        this.dimensionamento = new DimensionamentoListeners(consumidoresMinimo, consumidoresMaximo, folga,
+            orcamentoThreads, prefetchMinimo, prefetchMaximo, metaDrenagem, trabalhoPorConsumidor);
+
+        // Formato FILA=peso
+        for (String configuracao : pesosPorFila) {
+            int separador = configuracao.indexOf('=');
+            if (separador < 0) {
+                throw new IllegalArgumentException("Peso de fila deve estar no formato FILA=peso: " + configuracao);
+            }
+            pesos.put(configuracao.substring(0, separador).trim(),
+                      Integer.parseInt(configuracao.substring(separador + 1).trim()));
+        }
+    }
+
+    /**
+     * Execução agendada do ajuste.
+     */
+    @Scheduled(fixedDelayString = "${app.rabbitmq.autoescalonamento.intervalo:PT10S}",
+               initialDelayString = "${app.rabbitmq.autoescalonamento.intervalo:PT10S}")
+    public void ajustar() {
+        List<SimpleMessageListenerContainer> containers = new ArrayList<>();
+        List<Amostra> amostras = new ArrayList<>();
+        long agora = System.nanoTime();
+
+        for (var listener : listenerRegistry.getListenerContainers()) {
+            if (!(listener instanceof SimpleMessageListenerContainer container) || !container.isRunning()
+                    || container.getQueueNames().length == 0) {
+                continue;
+            }
+            String fila = container.getQueueNames()[0];
+            Long profundidade = profundidade(fila);
+            if (profundidade == null) {
+                continue;
+            }
+
+            Estado estado = estados.computeIfAbsent(fila, chave -> registrar(chave, container, agora));
+            MedidorLatenciaListener.Medicao medicao = medidorLatencia.coletar(fila);
+            amostras.add(new Amostra(fila, profundidade, medicao.processadas(), medicao.latenciaTotalNanos(),
+                Duration.ofNanos(agora - estado.ultimaAmostraNanos), estado.consumidores.get(), estado.prefetch.get(),
+                pesos.getOrDefault(fila, 1)));
+
+            estado.ultimaAmostraNanos = agora;
+            estado.profundidade.set(profundidade);
+            if (medicao.processadas() > 0) {
+                estado.latenciaMillis.set(TimeUnit.NANOSECONDS.toMillis(
+                    medicao.latenciaTotalNanos() / medicao.processadas()));
+            }
+            containers.add(container);
+        }
+
+        List<Alocacao> alocacoes = dimensionamento.dimensionar(amostras);
+        for (int i = 0; i < alocacoes.size(); i++) {
+            aplicar(containers.get(i), alocacoes.get(i));
+        }
+    }
+
+    private void aplicar(SimpleMessageListenerContainer container, Alocacao alocacao) {
+        Estado estado = estados.get(alocacao.fila());
+        int anteriores = estado.consumidores.get();
+        if (anteriores == alocacao.consumidores() && estado.maximo.get() == alocacao.maximoConsumidores()
+                && estado.prefetch.get() == alocacao.prefetch()) {
+            return;
+        }
+
+        // O container exige consumidores <= máximo a cada chamada
+        container.setPrefetchCount(alocacao.prefetch());
+        if (alocacao.consumidores() > anteriores) {
+            container.setMaxConcurrentConsumers(alocacao.maximoConsumidores());
+            container.setConcurrentConsumers(alocacao.consumidores());
+        } else {
+            container.setConcurrentConsumers(alocacao.consumidores());
+            container.setMaxConcurrentConsumers(alocacao.maximoConsumidores());
+        }
+
+        estado.consumidores.set(alocacao.consumidores());
+        estado.maximo.set(alocacao.maximoConsumidores());
+        estado.prefetch.set(alocacao.prefetch());
+
+        if (alocacao.prefetch() >= estado.prefetchConsumidores * FATOR_REINICIO_PREFETCH
+                || alocacao.prefetch() * FATOR_REINICIO_PREFETCH <= estado.prefetchConsumidores) {
+            reiniciar(container, estado, alocacao);
+        }
+
+        if (alocacao.consumidores() != anteriores) {
+            String direcao = alocacao.consumidores() > anteriores ? "aumento" : "reducao";
+            Counter.builder("mensageria.autoescalonamento.ajustes")
+                .tag("fila", alocacao.fila())
+                .tag("direcao", direcao)
+                .description("Alterações no número de consumidores dos listeners")
+                .register(registry)
+                .increment();
+            logger.info("Listener da fila {}: {} -> {} consumidores (máximo {}, prefetch {}), {} mensagens na fila",
+                       alocacao.fila(), anteriores, alocacao.consumidores(), alocacao.maximoConsumidores(),
+                       alocacao.prefetch(), estado.profundidade.get());
+        }
+    }
+
+    /**
+     * Recria os consumidores do container com o prefetch decidido.
+     */
+    private void reiniciar(SimpleMessageListenerContainer container, Estado estado, Alocacao alocacao) {
+        logger.info("Listener da fila {}: reiniciando consumidores para o prefetch {} -> {}",
+                   alocacao.fila(), estado.prefetchConsumidores, alocacao.prefetch());
+        container.stop();
+        container.start();
+        estado.prefetchConsumidores = alocacao.prefetch();
+        Counter.builder("mensageria.autoescalonamento.reinicios")
+            .tag("fila", alocacao.fila())
+            .description("Reinícios dos consumidores dos listeners para aplicar o prefetch")
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * Mensagens prontas na fila, lidas por declaração passiva, ou null se
+     * o broker não responder.
+     */
+    private Long profundidade(String fila) {
+        try {
+            return rabbitTemplate.execute(channel -> (long) channel.queueDeclarePassive(fila).getMessageCount());
+        } catch (AmqpException e) {
+            logger.warn("Não foi possível ler a profundidade da fila {}: {}", fila, e.getMessage());
+            return null;
+        }
+    }
+
+    private Estado registrar(String fila, SimpleMessageListenerContainer container, long agora) {
+        // O prefetch com que o container foi configurado não tem getter público
+        Object prefetch = new DirectFieldAccessor(container).getPropertyValue("prefetchCount");
+        Estado estado = new Estado(Math.max(1, container.getActiveConsumerCount()), (Integer) prefetch, agora);
+        Gauge.builder("mensageria.autoescalonamento.consumidores", estado.consumidores, AtomicInteger::get)
+            .tag("fila", fila)
+            .description("Consumidores fixos decididos para o listener")
+            .register(registry);
+        Gauge.builder("mensageria.autoescalonamento.consumidores.maximo", estado.maximo, AtomicInteger::get)
+            .tag("fila", fila)
+            .description("Teto de consumidores decidido para o listener")
+            .register(registry);
+        Gauge.builder("mensageria.autoescalonamento.prefetch", estado.prefetch, AtomicInteger::get)
+            .tag("fila", fila)
+            .description("Prefetch decidido para o listener")
+            .register(registry);
+        Gauge.builder("mensageria.autoescalonamento.profundidade", estado.profundidade, AtomicLong::get)
+            .tag("fila", fila)
+            .description("Mensagens prontas na fila na última amostra")
+            .register(registry);
+        Gauge.builder("mensageria.autoescalonamento.latencia", estado.latenciaMillis, AtomicLong::get)
+            .tag("fila", fila)
+            .baseUnit("milliseconds")
+            .description("Latência média de processamento no último intervalo com mensagens")
+            .register(registry);
+        return estado;
+    }
+
+    /**
+     * Configuração aplicada e última amostra de um listener.
+     */
+    private static final class Estado {
+
+        final AtomicInteger consumidores;
+        final AtomicInteger maximo;
+        // Até a primeira latência medida, o prefetch do container
+        final AtomicInteger prefetch;
+        final AtomicLong profundidade = new AtomicLong();
+        final AtomicLong latenciaMillis = new AtomicLong();
+        // Prefetch com que os consumidores ativos foram abertos
+        int prefetchConsumidores;
+        long ultimaAmostraNanos;
+
+        Estado(int consumidores, int prefetch, long agora) {
+            this.consumidores = new AtomicInteger(consumidores);
+            this.maximo = new AtomicInteger(consumidores);
+            this.prefetch = new AtomicInteger(prefetch);
+            this.prefetchConsumidores = prefetch;
+            this.ultimaAmostraNanos = agora;
+        }
+    }
+}
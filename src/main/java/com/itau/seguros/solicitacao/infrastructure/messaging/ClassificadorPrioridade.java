@@ -0,0 +1,78 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Classificação das solicitações recebidas em faixas de prioridade.
+ *
+ * A solicitação é de prioridade alta se atender a qualquer regra da faixa
+ * alta (capital segurado mínimo, categoria ou canal de vendas); senão, é
+ * de prioridade baixa se atender a qualquer regra da faixa baixa (capital
+ * segurado máximo ou canal); senão, é normal. Regras sem valor
+ * configurado não se aplicam.
+ */
+@Component
+public class ClassificadorPrioridade {
+
+    private final boolean ativo;
+    private final Dinheiro altaCapitalMinimo;
+    private final Set<CategoriaSeguro> altaCategorias;
+    private final Set<String> altaCanais;
+    private final Dinheiro baixaCapitalMaximo;
+    private final Set<String> baixaCanais;
+
+    public ClassificadorPrioridade(@Value("${app.prioridade.enabled:true}") boolean ativo,
+                                   @Value("${app.prioridade.alta.capital-segurado-minimo:}") String altaCapitalMinimo,
+                                   @Value("${app.prioridade.alta.categorias:}") List<CategoriaSeguro> altaCategorias,
+                                   @Value("${app.prioridade.alta.canais:}") List<String> altaCanais,
+                                   @Value("${app.prioridade.baixa.capital-segurado-maximo:}") String baixaCapitalMaximo,
+                                   @Value("${app.prioridade.baixa.canais:}") List<String> baixaCanais) {
+        this.ativo = ativo;
+        this.altaCapitalMinimo = altaCapitalMinimo.isBlank() ? null : Dinheiro.parse(altaCapitalMinimo);
+        this.altaCategorias = Set.copyOf(altaCategorias);
+        this.altaCanais = normalizar(altaCanais);
+        this.baixaCapitalMaximo = baixaCapitalMaximo.isBlank() ? null : Dinheiro.parse(baixaCapitalMaximo);
+        this.baixaCanais = normalizar(baixaCanais);
+    }
+
+    /**
+     * @param event evento de solicitação recebida
+     * @return faixa de prioridade; NORMAL se a priorização estiver desabilitada
+     */
+    public FaixaPrioridade classificar(SolicitacaoRecebidaEvent event) {
+        if (!ativo) {
+            return FaixaPrioridade.NORMAL;
+        }
+
+        Dinheiro capital = event.getInsuredAmount();
+        String canal = event.getSalesChannel() != null ? normalizar(event.getSalesChannel()) : null;
+
+        if ((altaCapitalMinimo != null && capital != null && capital.compareTo(altaCapitalMinimo) >= 0)
+                || altaCategorias.contains(event.getCategory())
+                || (canal != null && altaCanais.contains(canal))) {
+            return FaixaPrioridade.ALTA;
+        }
+        if ((baixaCapitalMaximo != null && capital != null && capital.compareTo(baixaCapitalMaximo) <= 0)
+                || (canal != null && baixaCanais.contains(canal))) {
+            return FaixaPrioridade.BAIXA;
+        }
+        return FaixaPrioridade.NORMAL;
+    }
+
+    private static Set<String> normalizar(List<String> canais) {
+        return canais.stream().map(ClassificadorPrioridade::normalizar).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static String normalizar(String canal) {
+        return canal.trim().toUpperCase(Locale.ROOT);
+    }
+}
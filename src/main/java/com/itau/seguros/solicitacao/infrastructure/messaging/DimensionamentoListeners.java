@@ -0,0 +1,185 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cálculo do número de consumidores e do prefetch de cada listener a
+ * partir da profundidade da fila e da latência de processamento.
+ *
+ * Pela lei de Little, o fluxo de chegada exige taxa × latência
+ * consumidores ocupados; a fila acumulada exige mais profundidade ×
+ * latência / meta de drenagem para ser esvaziada dentro da meta. O
+ * aumento é imediato e a redução é de um consumidor por amostra, para
+ * não oscilar entre rajadas. Quando a soma dos consumidores passa do
+ * orçamento global de threads, cada fila fica com o mínimo e o restante
+ * é dividido entre as filas com demanda não atendida na proporção dos
+ * seus pesos (max-min ponderado): uma fila acumulada não toma as threads
+ * das demais, e com o mínimo nenhuma fila fica sem consumidores.
+ *
+ * O prefetch cobre o trabalho configurado por consumidor: handlers
+ * rápidos recebem mais mensagens por vez, e os lentos poucas, para não
+ * reterem mensagens que outros consumidores poderiam processar.
+ */
+public class DimensionamentoListeners {
+
+    /**
+     * Observação de um listener no último intervalo.
+     *
+     * @param fila fila consumida
+     * @param profundidade mensagens prontas na fila
+     * @param processadas mensagens processadas no intervalo
+     * @param latenciaTotalNanos soma das latências das processadas
+     * @param intervalo duração do intervalo
+     * @param consumidores consumidores configurados atualmente
+     * @param prefetch prefetch configurado atualmente
+     * @param peso peso da fila na divisão do orçamento
+     */
+    public record Amostra(String fila, long profundidade, long processadas, long latenciaTotalNanos,
+                          Duration intervalo, int consumidores, int prefetch, int peso) {
+
+        /**
+         * Latência média no intervalo, ou -1 sem mensagens processadas.
+         */
+        long latenciaMediaNanos() {
+            return processadas > 0 ? latenciaTotalNanos / processadas : -1;
+        }
+    }
+
+    /**
+     * Configuração decidida para um listener.
+     *
+     * @param fila fila consumida
+     * @param consumidores consumidores fixos do container
+     * @param maximoConsumidores teto para o crescimento do próprio container
+     * @param prefetch mensagens entregues por vez a cada consumidor
+     */
+    public record Alocacao(String fila, int consumidores, int maximoConsumidores, int prefetch) {}
+
+    private final int consumidoresMinimo;
+    private final int consumidoresMaximo;
+    private final int folga;
+    private final int orcamentoThreads;
+    private final int prefetchMinimo;
+    private final int prefetchMaximo;
+    private final long metaDrenagemNanos;
+    private final long trabalhoPorConsumidorNanos;
+
+    public DimensionamentoListeners(int consumidoresMinimo, int consumidoresMaximo, int folga, int orcamentoThreads,
+                                    int prefetchMinimo, int prefetchMaximo,
+                                    Duration metaDrenagem, Duration trabalhoPorConsumidor) {
+        if (consumidoresMinimo < 1 || consumidoresMinimo > consumidoresMaximo) {
+            throw new IllegalArgumentException("Limites de consumidores inválidos: mínimo "
+                + consumidoresMinimo + ", máximo " + consumidoresMaximo);
+        }
+        if (prefetchMinimo < 1 || prefetchMinimo > prefetchMaximo) {
+            throw new IllegalArgumentException("Limites de prefetch inválidos: mínimo "
+                + prefetchMinimo + ", máximo " + prefetchMaximo);
+        }
+        this.consumidoresMinimo = consumidoresMinimo;
+        this.consumidoresMaximo = consumidoresMaximo;
+        this.folga = Math.max(0, folga);
+        this.orcamentoThreads = orcamentoThreads;
+        this.prefetchMinimo = prefetchMinimo;
+        this.prefetchMaximo = prefetchMaximo;
+        this.metaDrenagemNanos = metaDrenagem.toNanos();
+        this.trabalhoPorConsumidorNanos = trabalhoPorConsumidor.toNanos();
+    }
+
+    /**
+     * Decide a configuração de todos os listeners, respeitando o orçamento
+     * global de threads.
+     *
+     * @param amostras uma amostra por listener
+     * @return alocações, na ordem das amostras
+     */
+    public List<Alocacao> dimensionar(List<Amostra> amostras) {
+        int[] desejados = new int[amostras.size()];
+        int soma = 0;
+        for (int i = 0; i < desejados.length; i++) {
+            desejados[i] = consumidoresDesejados(amostras.get(i));
+            soma += desejados[i];
+        }
+
+        int[] consumidores = soma <= orcamentoThreads ? desejados : distribuir(amostras, desejados);
+
+        // Folga para o crescimento do próprio container, com o que sobrar do orçamento
+        int sobra = orcamentoThreads - somar(consumidores);
+        List<Alocacao> alocacoes = new ArrayList<>(amostras.size());
+        for (int i = 0; i < consumidores.length; i++) {
+            int extra = Math.max(0, Math.min(Math.min(folga, sobra), consumidoresMaximo - consumidores[i]));
+            sobra -= extra;
+            Amostra amostra = amostras.get(i);
+            alocacoes.add(new Alocacao(amostra.fila(), consumidores[i], consumidores[i] + extra, prefetch(amostra)));
+        }
+        return alocacoes;
+    }
+
+    int consumidoresDesejados(Amostra amostra) {
+        long latencia = amostra.latenciaMediaNanos();
+        int atuais = amostra.consumidores();
+
+        int desejados;
+        if (latencia < 0) {
+            // Sem processamento no intervalo: cresce se há fila, senão reduz
+            desejados = amostra.profundidade() > 0 ? atuais + 1 : atuais - 1;
+        } else {
+            double taxaPorNano = (double) amostra.processadas() / Math.max(1, amostra.intervalo().toNanos());
+            double ocupados = taxaPorNano * latencia;
+            double drenagem = (double) amostra.profundidade() * latencia / Math.max(1, metaDrenagemNanos);
+            desejados = (int) Math.ceil(ocupados + drenagem);
+            if (desejados < atuais) {
+                desejados = atuais - 1;
+            }
+        }
+        return Math.max(consumidoresMinimo, Math.min(consumidoresMaximo, desejados));
+    }
+
+    int prefetch(Amostra amostra) {
+        long latencia = amostra.latenciaMediaNanos();
+        if (latencia < 0) {
+            return Math.max(prefetchMinimo, Math.min(prefetchMaximo, amostra.prefetch()));
+        }
+        long prefetch = trabalhoPorConsumidorNanos / Math.max(1, latencia);
+        return (int) Math.max(prefetchMinimo, Math.min(prefetchMaximo, prefetch));
+    }
+
+    private int[] distribuir(List<Amostra> amostras, int[] desejados) {
+        int[] consumidores = new int[desejados.length];
+        int restante = orcamentoThreads;
+        for (int i = 0; i < consumidores.length; i++) {
+            consumidores[i] = consumidoresMinimo;
+            restante -= consumidoresMinimo;
+        }
+        while (restante > 0) {
+            // Próximo consumidor para a fila com demanda e menos consumidores por unidade de peso
+            int menor = -1;
+            for (int i = 0; i < consumidores.length; i++) {
+                if (desejados[i] > consumidores[i] && (menor < 0
+                        || (long) consumidores[i] * peso(amostras.get(menor))
+                           < (long) consumidores[menor] * peso(amostras.get(i)))) {
+                    menor = i;
+                }
+            }
+            if (menor < 0) {
+                break;
+            }
+            consumidores[menor]++;
+            restante--;
+        }
+        return consumidores;
+    }
+
+    private static int peso(Amostra amostra) {
+        return Math.max(1, amostra.peso());
+    }
+
+    private static int somar(int[] valores) {
+        int soma = 0;
+        for (int valor : valores) {
+            soma += valor;
+        }
+        return soma;
+    }
+}
@@ -1,83 +1,126 @@
 package com.itau.seguros.solicitacao.infrastructure.messaging;
 
+import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspecto para coletar métricas de processamento de eventos.
- * 
+ *
  * Utiliza AOP para interceptar chamadas aos métodos de processamento
  * de eventos e registrar métricas de tempo e contagem.
+ *
+ * Os meters são resolvidos uma única vez por método interceptado (e, no
+ * caso de erros, por tipo de exceção) e mantidos em mapas concorrentes,
+ * cuja leitura não bloqueia. Depois do primeiro evento de cada tipo, o
+ * caminho de sucesso e o de erro não consultam o registry nem alocam
+ * builders ou amostras de timer.
  */
 @Aspect
 @Component
 public class EventMetricsAspect {
-    
-    private static final Logger logger = LoggerFactory.getLogger(EventMetricsAspect.class);
-    
-    private final Timer processamentoEventosTimer;
-    private final Map<String, Counter> eventosProcessadosCounters = new ConcurrentHashMap<>();
+
+    private final Map<Method, MetricasConsumidor> metricasPorMetodo = new ConcurrentHashMap<>();
     private final MeterRegistry registry;
-    
-    public EventMetricsAspect(Timer processamentoEventosTimer, MeterRegistry registry) {
-        this.processamentoEventosTimer = processamentoEventosTimer;
+    private final Clock clock;
+
+    public EventMetricsAspect(MeterRegistry registry) {
         this.registry = registry;
+        this.clock = registry.config().clock();
     }
-    
+
     /**
      * Intercepta chamadas aos métodos de processamento de eventos.
-     * 
+     *
      * @param joinPoint ponto de junção
      * @return resultado da execução do método
      * @throws Throwable se ocorrer erro na execução
      */
     @Around("execution(* com.itau.seguros.solicitacao.infrastructure.messaging.*EventConsumer.processar*(..))")
     public Object aroundEventProcessing(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getName();
-        String eventType = methodName.replace("processar", "");
-        
-        // Obtém ou cria contador para o tipo de evento
-        Counter counter = eventosProcessadosCounters.computeIfAbsent(eventType, 
-            type -> Counter.builder("eventos.processados")
-                .tag("tipo", type)
-                .description("Contagem de eventos processados por tipo")
-                .register(registry));
-        
-        // Inicia o timer
-        Timer.Sample sample = Timer.start();
-        
+        Method metodo = ((MethodSignature) joinPoint.getSignature()).getMethod();
+
+        MetricasConsumidor metricas = metricasPorMetodo.get(metodo);
+        if (metricas == null) {
+            metricas = metricasPorMetodo.computeIfAbsent(metodo, this::registrarMetricas);
+        }
+
+        long inicio = clock.monotonicTime();
+
         try {
             // Executa o método
             Object result = joinPoint.proceed();
-            
+
             // Incrementa o contador
-            counter.increment();
-            
+            metricas.processados.increment();
+
             return result;
         } catch (Exception e) {
             // Registra erro
-            Counter.builder("eventos.erros")
-                .tag("tipo", eventType)
-                .tag("erro", e.getClass().getSimpleName())
-                .description("Contagem de erros no processamento de eventos")
-                .register(registry)
-                .increment();
-            
+            metricas.erro(e.getClass()).increment();
+
             throw e;
         } finally {
             // Registra o tempo de execução
-            sample.stop(processamentoEventosTimer);
+            metricas.tempo.record(clock.monotonicTime() - inicio, TimeUnit.NANOSECONDS);
         }
     }
-}
 
+    private MetricasConsumidor registrarMetricas(Method metodo) {
+        String tipo = metodo.getName().replace("processar", "");
+        String consumidor = metodo.getDeclaringClass().getSimpleName();
+
+        Counter processados = Counter.builder("eventos.processados")
+            .tag("tipo", tipo)
+            .description("Contagem de eventos processados por tipo")
+            .register(registry);
+
+        Timer tempo = Timer.builder("eventos.processamento.tempo")
+            .tag("tipo", tipo)
+            .tag("consumidor", consumidor)
+            .description("Tempo de processamento de eventos por consumidor")
+            .register(registry);
+
+        return new MetricasConsumidor(tipo, processados, tempo);
+    }
+
+    /**
+     * Meters de um método consumidor de eventos.
+     */
+    private final class MetricasConsumidor {
+
+        private final String tipo;
+        private final Counter processados;
+        private final Timer tempo;
+        private final Map<Class<?>, Counter> erros = new ConcurrentHashMap<>();
+
+        MetricasConsumidor(String tipo, Counter processados, Timer tempo) {
+            this.tipo = tipo;
+            this.processados = processados;
+            this.tempo = tempo;
+        }
+
+        Counter erro(Class<?> tipoErro) {
+            Counter counter = erros.get(tipoErro);
+            if (counter == null) {
+                counter = erros.computeIfAbsent(tipoErro, t -> Counter.builder("eventos.erros")
+                    .tag("tipo", tipo)
+                    .tag("erro", t.getSimpleName())
+                    .description("Contagem de erros no processamento de eventos")
+                    .register(registry));
+            }
+            return counter;
+        }
+    }
+}
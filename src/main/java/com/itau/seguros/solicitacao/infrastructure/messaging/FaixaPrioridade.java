@@ -0,0 +1,11 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+/**
+ * Faixas de prioridade da validação de solicitações.
+ *
+ * Cada faixa tem fila e consumidores próprios; a NORMAL usa a fila
+ * original de solicitações recebidas.
+ */
+public enum FaixaPrioridade {
+    ALTA, NORMAL, BAIXA
+}
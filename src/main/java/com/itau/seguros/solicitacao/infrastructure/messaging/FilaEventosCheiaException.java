@@ -0,0 +1,13 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+/**
+ * Indica que a fila do transporte de eventos em memória está cheia e o
+ * evento não pôde ser publicado. É uma condição temporária: a API responde
+ * 503 e os consumidores tratam a falha como retentável.
+ */
+public class FilaEventosCheiaException extends RuntimeException {
+
+    public FilaEventosCheiaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import java.util.UUID;
+
+/**
+ * Filtro das mensagens de uma DLQ; campos nulos não filtram.
+ *
+ * @param tipoEvento tipo do evento, por exemplo {@code SOLICITACAO_RECEBIDA}
+ * @param solicitacaoId ID da solicitação
+ */
+public record FiltroDlq(String tipoEvento, UUID solicitacaoId) {
+
+    public static final FiltroDlq TODAS = new FiltroDlq(null, null);
+
+    public boolean aceita(MensagemDlq mensagem) {
+        return (tipoEvento == null || tipoEvento.equalsIgnoreCase(mensagem.tipoEvento()))
+            && (solicitacaoId == null || solicitacaoId.equals(mensagem.solicitacaoId()));
+    }
+}
@@ -0,0 +1,246 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Acesso às DLQs das filas consumidas: leitura paginada sem remoção e
+ * encaminhamento de uma mensagem por vez.
+ *
+ * O RabbitMQ não permite ler uma fila sem consumi-la. A listagem lê as
+ * mensagens sem confirmação e as devolve à fila ao final, o que preserva
+ * a ordem; por isso percorre no máximo {@code app.rabbitmq.dlq.limite-varredura}
+ * mensagens, e uma página além disso vem vazia.
+ */
+@Component
+public class GerenciadorDlq {
+
+    /**
+     * O que fazer com a mensagem lida.
+     */
+    public enum Destino {
+        /** Republica na fila de origem, sem os cabeçalhos de retentativa e falha. */
+        REPUBLICAR,
+        /** Devolve ao fim da DLQ. */
+        MANTER,
+        /** Remove da DLQ. */
+        DESCARTAR
+    }
+
+    public static final String HEADER_REPROCESSADA_EM = "x-replayed-at";
+
+    private static final long ESPERA_CONFIRMACAO_MS = 5_000;
+
+    private static final Set<String> HEADERS_FALHA = Set.of(
+        RetentativaMensagemInterceptor.HEADER_TENTATIVA,
+        RetentativaMensagemInterceptor.HEADER_EXCECAO,
+        RetentativaMensagemInterceptor.HEADER_MENSAGEM_EXCECAO,
+        RetentativaMensagemInterceptor.HEADER_FILA_ORIGEM,
+        RetentativaMensagemInterceptor.HEADER_FALHA_EM,
+        "x-death");
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final Set<String> filas;
+    private final int limiteVarredura;
+
+    public GerenciadorDlq(RabbitTemplate rabbitTemplate,
+                          ObjectMapper objectMapper,
+                          @Value("${app.rabbitmq.queues.solicitacao-recebida}") String solicitacaoRecebidaQueue,
+                          @Value("${app.rabbitmq.queues.solicitacao-recebida-alta}") String solicitacaoRecebidaAltaQueue,
+                          @Value("${app.rabbitmq.queues.solicitacao-recebida-baixa}") String solicitacaoRecebidaBaixaQueue,
+                          @Value("${app.rabbitmq.queues.solicitacao-validada}") String solicitacaoValidadaQueue,
+                          @Value("${app.rabbitmq.queues.solicitacao-rejeitada}") String solicitacaoRejeitadaQueue,
+                          @Value("${app.rabbitmq.queues.pagamento-confirmado}") String pagamentoConfirmadoQueue,
+                          @Value("${app.rabbitmq.queues.subscricao-autorizada}") String subscricaoAutorizadaQueue,
+                          @Value("${app.rabbitmq.dlq.limite-varredura:10000}") int limiteVarredura) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.filas = Set.of(solicitacaoRecebidaQueue, solicitacaoRecebidaAltaQueue, solicitacaoRecebidaBaixaQueue,
+                            solicitacaoValidadaQueue, solicitacaoRejeitadaQueue,
+                            pagamentoConfirmadoQueue, subscricaoAutorizadaQueue);
+        this.limiteVarredura = limiteVarredura;
+    }
+
+    /**
+     * @throws IllegalArgumentException se a fila não for uma das filas consumidas
+     */
+    public void validarFila(String fila) {
+        if (!filas.contains(fila)) {
+            throw new IllegalArgumentException("Fila desconhecida: " + fila);
+        }
+    }
+
+    /**
+     * Quantidade de mensagens prontas na DLQ da fila.
+     *
+     * @param fila fila consumida
+     */
+    public long contar(String fila) {
+        validarFila(fila);
+        return rabbitTemplate.execute(channel -> channel.messageCount(PoliticaRetentativa.filaDlq(fila)));
+    }
+
+    /**
+     * Lista uma página das mensagens da DLQ que atendem ao filtro, sem
+     * removê-las.
+     *
+     * @param fila fila consumida
+     * @param pagina página, a partir de zero
+     * @param tamanho mensagens por página
+     * @param filtro filtro por tipo de evento e solicitação
+     * @return mensagens da página, na ordem da DLQ
+     */
+    public List<MensagemDlq> listar(String fila, int pagina, int tamanho, FiltroDlq filtro) {
+        validarFila(fila);
+        String dlq = PoliticaRetentativa.filaDlq(fila);
+
+        return rabbitTemplate.execute(channel -> {
+            List<MensagemDlq> mensagens = new ArrayList<>(tamanho);
+            long ultimaEntrega = -1;
+            int ignorar = pagina * tamanho;
+            try {
+                for (int posicao = 0; mensagens.size() < tamanho && posicao < limiteVarredura; posicao++) {
+                    GetResponse resposta = channel.basicGet(dlq, false);
+                    if (resposta == null) {
+                        break;
+                    }
+                    ultimaEntrega = resposta.getEnvelope().getDeliveryTag();
+
+                    MensagemDlq mensagem = ler(fila, posicao, resposta);
+                    if (!filtro.aceita(mensagem)) {
+                        continue;
+                    }
+                    if (ignorar > 0) {
+                        ignorar--;
+                    } else {
+                        mensagens.add(mensagem);
+                    }
+                }
+            } finally {
+                // Devolve todas as mensagens lidas, nas posições originais
+                if (ultimaEntrega >= 0) {
+                    channel.basicNack(ultimaEntrega, true, true);
+                }
+            }
+            return mensagens;
+        });
+    }
+
+    /**
+     * Lê a próxima mensagem da DLQ e a encaminha conforme o destino
+     * decidido. A mensagem só é removida da DLQ depois que o broker
+     * confirma a republicação (publisher confirms); se a decisão, a
+     * publicação ou a confirmação falhar, volta para a DLQ. Uma confirmação
+     * que não chega a tempo pode deixar a mensagem nos dois lugares, o que
+     * o reprocessamento já trata como repetição.
+     *
+     * @param fila fila consumida
+     * @param decidir decisão do destino da mensagem
+     * @return destino aplicado, ou vazio se a DLQ estiver vazia
+     */
+    public Optional<Destino> encaminharProxima(String fila, Function<MensagemDlq, Destino> decidir) {
+        validarFila(fila);
+        String dlq = PoliticaRetentativa.filaDlq(fila);
+
+        return rabbitTemplate.execute(channel -> {
+            channel.confirmSelect();
+            GetResponse resposta = channel.basicGet(dlq, false);
+            if (resposta == null) {
+                return Optional.empty();
+            }
+            long entrega = resposta.getEnvelope().getDeliveryTag();
+
+            try {
+                Destino destino = decidir.apply(ler(fila, 0, resposta));
+                switch (destino) {
+                    case REPUBLICAR -> channel.basicPublish("", fila, propriedadesReprocessamento(resposta.getProps()),
+                                                           resposta.getBody());
+                    case MANTER -> channel.basicPublish("", dlq, resposta.getProps(), resposta.getBody());
+                    case DESCARTAR -> { }
+                }
+                if (destino != Destino.DESCARTAR) {
+                    channel.waitForConfirmsOrDie(ESPERA_CONFIRMACAO_MS);
+                }
+                channel.basicAck(entrega, false);
+                return Optional.of(destino);
+            } catch (Exception e) {
+                // Recusa ou timeout da confirmação fecham o canal, o que já devolve a mensagem
+                if (channel.isOpen()) {
+                    channel.basicNack(entrega, false, true);
+                }
+                throw e;
+            }
+        });
+    }
+
+    private MensagemDlq ler(String fila, int posicao, GetResponse resposta) {
+        AMQP.BasicProperties propriedades = resposta.getProps();
+        Map<String, Object> headers = propriedades.getHeaders() != null ? propriedades.getHeaders() : Map.of();
+        String corpo = new String(resposta.getBody(), StandardCharsets.UTF_8);
+
+        String tipoEvento = null;
+        UUID solicitacaoId = null;
+        try {
+            JsonNode evento = objectMapper.readTree(resposta.getBody());
+            tipoEvento = evento.path("eventType").textValue();
+            String id = evento.path("solicitacaoId").textValue();
+            solicitacaoId = id != null ? UUID.fromString(id) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            // Corpo que não é um evento: listado sem tipo nem solicitação
+        }
+
+        Object filaOrigem = headers.get(RetentativaMensagemInterceptor.HEADER_FILA_ORIGEM);
+        Object retentativas = headers.get(RetentativaMensagemInterceptor.HEADER_TENTATIVA);
+        return new MensagemDlq(
+            posicao,
+            propriedades.getMessageId(),
+            tipoEvento,
+            solicitacaoId,
+            filaOrigem != null ? filaOrigem.toString() : fila,
+            retentativas instanceof Number numero ? numero.intValue() : 0,
+            texto(headers.get(RetentativaMensagemInterceptor.HEADER_EXCECAO)),
+            texto(headers.get(RetentativaMensagemInterceptor.HEADER_MENSAGEM_EXCECAO)),
+            texto(headers.get(RetentativaMensagemInterceptor.HEADER_FALHA_EM)),
+            corpo
+        );
+    }
+
+    /**
+     * Propriedades da mensagem republicada: as retentativas recomeçam do zero.
+     */
+    private static AMQP.BasicProperties propriedadesReprocessamento(AMQP.BasicProperties propriedades) {
+        Map<String, Object> headers = new HashMap<>();
+        if (propriedades.getHeaders() != null) {
+            propriedades.getHeaders().forEach((nome, valor) -> {
+                if (!HEADERS_FALHA.contains(nome)) {
+                    headers.put(nome, valor);
+                }
+            });
+        }
+        headers.put(HEADER_REPROCESSADA_EM, Instant.now().toString());
+        return propriedades.builder().headers(headers).build();
+    }
+
+    // Cabeçalhos de texto chegam como LongString
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interceptor dos listeners RabbitMQ que acumula, por fila, a quantidade
+ * de mensagens processadas e a soma das latências, inclusive das que
+ * falharam.
+ *
+ * Os acumulados são lidos e zerados a cada amostra do
+ * {@link AutoescalonamentoListeners}.
+ */
+@Component
+public class MedidorLatenciaListener implements MethodInterceptor {
+
+    /**
+     * Acumulado de uma fila desde a última coleta.
+     *
+     * @param processadas mensagens processadas
+     * @param latenciaTotalNanos soma das latências
+     */
+    public record Medicao(long processadas, long latenciaTotalNanos) {}
+
+    private static final Medicao VAZIA = new Medicao(0, 0);
+
+    private final Map<String, Acumulado> acumulados = new ConcurrentHashMap<>();
+
+    /**
+     * Intercepta {@code invokeListener(Channel, Object)} do container.
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!(invocation.getArguments()[1] instanceof Message mensagem)
+                || mensagem.getMessageProperties().getConsumerQueue() == null) {
+            return invocation.proceed();
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            acumulados.computeIfAbsent(mensagem.getMessageProperties().getConsumerQueue(), fila -> new Acumulado())
+                .registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Lê e zera o acumulado da fila.
+     */
+    public Medicao coletar(String fila) {
+        Acumulado acumulado = acumulados.get(fila);
+        return acumulado != null ? acumulado.coletar() : VAZIA;
+    }
+
+    private static final class Acumulado {
+
+        private final LongAdder processadas = new LongAdder();
+        private final LongAdder latenciaTotalNanos = new LongAdder();
+
+        void registrar(long latenciaNanos) {
+            latenciaTotalNanos.add(latenciaNanos);
+            processadas.increment();
+        }
+
+        Medicao coletar() {
+            return new Medicao(processadas.sumThenReset(), latenciaTotalNanos.sumThenReset());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import java.util.UUID;
+
+/**
+ * Mensagem lida de uma DLQ, com os dados do evento e da falha.
+ *
+ * @param posicao posição na DLQ no momento da leitura, a partir de zero
+ * @param messageId ID da mensagem no broker, se informado pelo produtor
+ * @param tipoEvento campo {@code eventType} do corpo, se houver
+ * @param solicitacaoId campo {@code solicitacaoId} do corpo, se houver
+ * @param filaOrigem fila em que a mensagem falhou
+ * @param retentativas retentativas feitas antes da DLQ
+ * @param excecao classe da exceção que levou a mensagem à DLQ
+ * @param mensagemExcecao mensagem da exceção
+ * @param falhaEm momento da falha, em ISO-8601
+ * @param corpo corpo da mensagem em UTF-8
+ */
+public record MensagemDlq(
+    int posicao,
+    String messageId,
+    String tipoEvento,
+    UUID solicitacaoId,
+    String filaOrigem,
+    int retentativas,
+    String excecao,
+    String mensagemExcecao,
+    String falhaEm,
+    String corpo
+) {}
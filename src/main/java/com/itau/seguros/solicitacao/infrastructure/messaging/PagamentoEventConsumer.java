@@ -1,8 +1,7 @@
 package com.itau.seguros.solicitacao.infrastructure.messaging;
 
-import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.application.service.StatusSolicitacaoService;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
-import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -25,12 +24,12 @@ public class PagamentoEventConsumer {
     
     private static final Logger logger = LoggerFactory.getLogger(PagamentoEventConsumer.class);
     
-    private final SolicitacaoRepository repository;
     private final SolicitacaoEventProducer eventProducer;
+    private final StatusSolicitacaoService statusService;
     
-    public PagamentoEventConsumer(SolicitacaoRepository repository, SolicitacaoEventProducer eventProducer) {
-        this.repository = repository;
+    public PagamentoEventConsumer(SolicitacaoEventProducer eventProducer, StatusSolicitacaoService statusService) {
         this.eventProducer = eventProducer;
+        this.statusService = statusService;
     }
     
     /**
@@ -50,27 +49,27 @@ public class PagamentoEventConsumer {
         try {
             logger.info("Recebido evento de pagamento confirmado para solicitação: {}", solicitacaoId);
             
-            Optional<SolicitacaoApolice> optionalSolicitacao = repository.findById(solicitacaoId);
-            if (optionalSolicitacao.isEmpty()) {
+            Optional<StatusSolicitacao> statusAtual = statusService.buscarStatus(solicitacaoId);
+            if (statusAtual.isEmpty()) {
                 logger.warn("Solicitação {} não encontrada para processamento de pagamento", solicitacaoId);
                 return;
             }
             
-            SolicitacaoApolice solicitacao = optionalSolicitacao.get();
+            StatusSolicitacao status = statusAtual.get();
             
             // Verifica se a solicitação está no estado correto para receber pagamento
-            if (solicitacao.getStatus() != StatusSolicitacao.VALIDADO && 
-                solicitacao.getStatus() != StatusSolicitacao.PENDENTE) {
+            if (status != StatusSolicitacao.VALIDADO && 
+                status != StatusSolicitacao.PENDENTE) {
                 logger.warn("Solicitação {} está no estado {}, não pode processar pagamento", 
-                           solicitacaoId, solicitacao.getStatus());
+                           solicitacaoId, status);
                 return;
             }
             
             // Atualiza o estado para PENDENTE (aguardando subscrição)
             // Se já estiver PENDENTE, mantém o estado
-            if (solicitacao.getStatus() == StatusSolicitacao.VALIDADO) {
-                solicitacao.alterarStatus(StatusSolicitacao.PENDENTE, "Pagamento confirmado, aguardando subscrição");
-                repository.save(solicitacao);
+            if (status == StatusSolicitacao.VALIDADO) {
+                statusService.alterarStatus(solicitacaoId, StatusSolicitacao.PENDENTE,
+                                            "Pagamento confirmado, aguardando subscrição");
                 logger.info("Solicitação {} atualizada para PENDENTE após confirmação de pagamento", solicitacaoId);
             } else {
                 logger.info("Solicitação {} já está PENDENTE, aguardando subscrição", solicitacaoId);
@@ -87,4 +86,3 @@ public class PagamentoEventConsumer {
         }
     }
 }
-
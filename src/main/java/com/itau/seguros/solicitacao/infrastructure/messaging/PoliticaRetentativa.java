@@ -0,0 +1,88 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Política de retentativa dos consumidores RabbitMQ.
+ *
+ * Cada atraso configurado é um nível de retentativa, com uma fila de
+ * espera por fila consumida. Passados todos os níveis, ou se a exceção
+ * (ou uma de suas causas) for de um tipo não retentável, a mensagem vai
+ * direto para a DLQ.
+ */
+@Component
+public class PoliticaRetentativa {
+
+    private final List<Duration> atrasos;
+    private final List<Class<?>> naoRetentaveis = new ArrayList<>();
+
+    public PoliticaRetentativa(@Value("${app.rabbitmq.retry.atrasos:1s,10s,60s}") List<Duration> atrasos,
+                               @Value("${app.rabbitmq.retry.nao-retentaveis:java.lang.IllegalStateException}") List<String> naoRetentaveis) {
+        this.atrasos = List.copyOf(atrasos);
+        for (String nome : naoRetentaveis) {
+            Class<?> tipo = ClassUtils.resolveClassName(nome.trim(), getClass().getClassLoader());
+            if (!Throwable.class.isAssignableFrom(tipo)) {
+                throw new IllegalArgumentException("Tipo não retentável deve ser uma exceção: " + nome);
+            }
+            this.naoRetentaveis.add(tipo);
+        }
+    }
+
+    /**
+     * Quantidade de níveis de retentativa.
+     */
+    public int getNiveis() {
+        return atrasos.size();
+    }
+
+    /**
+     * Atraso do nível de retentativa, a partir de zero.
+     */
+    public Duration getAtraso(int nivel) {
+        return atrasos.get(nivel);
+    }
+
+    /**
+     * @param erro exceção lançada pelo listener
+     * @return false se a exceção ou uma de suas causas for de um tipo não
+     *         retentável
+     */
+    public boolean isRetentavel(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            for (Class<?> tipo : naoRetentaveis) {
+                if (tipo.isInstance(causa)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Nome da fila de espera de um nível, por exemplo
+     * {@code solicitacao.recebida.queue.retry.10s}. O atraso faz parte do
+     * nome porque o TTL de uma fila existente não pode ser alterado.
+     *
+     * @param fila fila consumida
+     * @param nivel nível de retentativa, a partir de zero
+     */
+    public String filaEspera(String fila, int nivel) {
+        long millis = atrasos.get(nivel).toMillis();
+        return fila + ".retry." + (millis % 1000 == 0 ? millis / 1000 + "s" : millis + "ms");
+    }
+
+    /**
+     * Nome da DLQ de uma fila.
+     *
+     * @param fila fila consumida
+     */
+    public static String filaDlq(String fila) {
+        return fila + ".dlq";
+    }
+}
@@ -0,0 +1,158 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Interceptor dos listeners RabbitMQ que trata as falhas com retentativas
+ * atrasadas, em vez de devolver a mensagem à fila.
+ *
+ * Uma falha retentável republica a mensagem na fila de espera do próximo
+ * nível da {@link PoliticaRetentativa}; ao fim do TTL dessa fila, o
+ * dead-letter a devolve à fila de origem. O cabeçalho
+ * {@value #HEADER_TENTATIVA} conta as retentativas. Falhas não
+ * retentáveis, ou depois do último nível, vão para a DLQ com a exceção e
+ * a fila de origem nos cabeçalhos. Nos dois casos a mensagem original só
+ * é confirmada depois que o broker confirma a republicação (publisher
+ * confirms), o que evita o laço de reentrega imediata sem perder a
+ * mensagem; sem a confirmação, a original é rejeitada e o dead-letter da
+ * fila a leva à DLQ.
+ */
+@Component
+public class RetentativaMensagemInterceptor implements MethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentativaMensagemInterceptor.class);
+
+    public static final String HEADER_TENTATIVA = "x-retry-attempt";
+    public static final String HEADER_EXCECAO = "x-exception-class";
+    public static final String HEADER_MENSAGEM_EXCECAO = "x-exception-message";
+    public static final String HEADER_FILA_ORIGEM = "x-original-queue";
+    public static final String HEADER_FALHA_EM = "x-failed-at";
+
+    // Limita o tamanho dos cabeçalhos gravados na DLQ
+    private static final int TAMANHO_MAXIMO_MENSAGEM = 1000;
+
+    private static final long ESPERA_CONFIRMACAO_MS = 5_000;
+
+    private final MessagePropertiesConverter conversorPropriedades = new DefaultMessagePropertiesConverter();
+
+    private final RabbitTemplate rabbitTemplate;
+    private final PoliticaRetentativa politica;
+    private final MeterRegistry registry;
+
+    public RetentativaMensagemInterceptor(RabbitTemplate rabbitTemplate, PoliticaRetentativa politica,
+                                          MeterRegistry registry) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.politica = politica;
+        this.registry = registry;
+    }
+
+    /**
+     * Intercepta {@code invokeListener(Channel, Object)} do container.
+     */
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            // Lotes de mensagens seguem o tratamento padrão do container
+            if (!(invocation.getArguments()[1] instanceof Message mensagem)) {
+                throw e;
+            }
+            encaminhar(mensagem, e instanceof ListenerExecutionFailedException && e.getCause() != null
+                ? e.getCause() : e);
+            return null;
+        }
+    }
+
+    /**
+     * Republica a mensagem na fila de espera do próximo nível ou na DLQ.
+     *
+     * @param mensagem mensagem que falhou
+     * @param erro exceção lançada pelo listener
+     */
+    void encaminhar(Message mensagem, Throwable erro) {
+        MessageProperties propriedades = mensagem.getMessageProperties();
+        String fila = propriedades.getConsumerQueue();
+        int tentativa = tentativa(propriedades);
+
+        try {
+            if (politica.isRetentavel(erro) && tentativa < politica.getNiveis()) {
+                String espera = politica.filaEspera(fila, tentativa);
+                propriedades.setHeader(HEADER_TENTATIVA, tentativa + 1);
+                republicar(espera, mensagem);
+
+                logger.warn("Falha ao processar mensagem da fila {} ({}); retentativa {} em {}",
+                           fila, erro.getMessage(), tentativa + 1, politica.getAtraso(tentativa));
+                Counter.builder("mensageria.retentativas")
+                    .tag("fila", fila)
+                    .description("Mensagens enviadas para uma fila de espera de retentativa")
+                    .register(registry)
+                    .increment();
+            } else {
+                propriedades.setHeader(HEADER_EXCECAO, erro.getClass().getName());
+                propriedades.setHeader(HEADER_MENSAGEM_EXCECAO, truncar(erro.getMessage()));
+                propriedades.setHeader(HEADER_FILA_ORIGEM, fila);
+                propriedades.setHeader(HEADER_FALHA_EM, Instant.now().toString());
+                republicar(PoliticaRetentativa.filaDlq(fila), mensagem);
+
+                logger.error("Mensagem da fila {} enviada para a DLQ após {} retentativas: {}",
+                            fila, tentativa, erro.getMessage(), erro);
+                Counter.builder("mensageria.dlq")
+                    .tag("fila", fila)
+                    .tag("erro", erro.getClass().getSimpleName())
+                    .description("Mensagens enviadas para a DLQ")
+                    .register(registry)
+                    .increment();
+            }
+        } catch (AmqpException e) {
+            // Republicação falhou ou não foi confirmada: o dead-letter da fila leva a mensagem à DLQ, sem reentrega
+            throw new AmqpRejectAndDontRequeueException("Falha ao encaminhar mensagem da fila " + fila, e);
+        }
+    }
+
+    /**
+     * Publica a mensagem na fila e espera a confirmação do broker. Uma
+     * recusa ou um timeout da confirmação chegam como {@link AmqpException};
+     * uma confirmação que chega tarde demais pode deixar a mensagem também
+     * na DLQ.
+     */
+    private void republicar(String destino, Message mensagem) {
+        rabbitTemplate.execute(channel -> {
+            channel.confirmSelect();
+            channel.basicPublish("", destino,
+                conversorPropriedades.fromMessageProperties(mensagem.getMessageProperties(), StandardCharsets.UTF_8.name()),
+                mensagem.getBody());
+            channel.waitForConfirmsOrDie(ESPERA_CONFIRMACAO_MS);
+            return null;
+        });
+    }
+
+    private static int tentativa(MessageProperties propriedades) {
+        Object valor = propriedades.getHeaders().get(HEADER_TENTATIVA);
+        return valor instanceof Number numero ? numero.intValue() : 0;
+    }
+
+    private static String truncar(String texto) {
+        if (texto == null || texto.length() <= TAMANHO_MAXIMO_MENSAGEM) {
+            return texto;
+        }
+        return texto.substring(0, TAMANHO_MAXIMO_MENSAGEM);
+    }
+}
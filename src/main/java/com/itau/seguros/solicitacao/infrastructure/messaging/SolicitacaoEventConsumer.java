@@ -2,16 +2,28 @@ package com.itau.seguros.solicitacao.infrastructure.messaging;
 
 import com.itau.seguros.solicitacao.application.service.SolicitacaoService;
 import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Consumer responsável por processar eventos de solicitação do RabbitMQ.
  * 
  * Escuta as filas de eventos e aciona os serviços apropriados
  * para processamento assíncrono.
+ * 
+ * Cada faixa de prioridade de solicitações recebidas tem seu listener,
+ * com consumidores próprios: a fila acumulada de uma faixa não atrasa as
+ * outras, e nenhuma faixa fica sem consumidores.
  */
 @Component
 public class SolicitacaoEventConsumer {
@@ -19,9 +31,29 @@ public class SolicitacaoEventConsumer {
     private static final Logger logger = LoggerFactory.getLogger(SolicitacaoEventConsumer.class);
     
     private final SolicitacaoService solicitacaoService;
+    private final Map<FaixaPrioridade, Timer> tempoValidacao = new EnumMap<>(FaixaPrioridade.class);
     
-    public SolicitacaoEventConsumer(SolicitacaoService solicitacaoService) {
+    public SolicitacaoEventConsumer(SolicitacaoService solicitacaoService, MeterRegistry registry) {
         this.solicitacaoService = solicitacaoService;
+        
+        for (FaixaPrioridade faixa : FaixaPrioridade.values()) {
+            tempoValidacao.put(faixa, Timer.builder("solicitacao.validacao.tempo")
+                .tag("faixa", faixa.name().toLowerCase(Locale.ROOT))
+                .description("Tempo da publicação do evento de solicitação recebida ao fim da validação")
+                .publishPercentileHistogram()
+                .register(registry));
+        }
+    }
+    
+    /**
+     * Processa eventos de solicitação recebida de prioridade alta.
+     * 
+     * @param event evento recebido
+     */
+    @RabbitListener(queues = "${app.rabbitmq.queues.solicitacao-recebida-alta}",
+                    concurrency = "${app.prioridade.alta.consumidores:3}")
+    public void processarSolicitacaoRecebidaAlta(SolicitacaoRecebidaEvent event) {
+        processar(event, FaixaPrioridade.ALTA);
     }
     
     /**
@@ -29,20 +61,39 @@ public class SolicitacaoEventConsumer {
      * 
      * @param event evento recebido
      */
-    @RabbitListener(queues = "${app.rabbitmq.queues.solicitacao-recebida}")
+    @RabbitListener(queues = "${app.rabbitmq.queues.solicitacao-recebida}",
+                    concurrency = "${app.prioridade.normal.consumidores:2}")
     public void processarSolicitacaoRecebida(SolicitacaoRecebidaEvent event) {
-        logger.info("Recebido evento de solicitação recebida: {}", event.getSolicitacaoId());
+        processar(event, FaixaPrioridade.NORMAL);
+    }
+    
+    /**
+     * Processa eventos de solicitação recebida de prioridade baixa.
+     * 
+     * @param event evento recebido
+     */
+    @RabbitListener(queues = "${app.rabbitmq.queues.solicitacao-recebida-baixa}",
+                    concurrency = "${app.prioridade.baixa.consumidores:1}")
+    public void processarSolicitacaoRecebidaBaixa(SolicitacaoRecebidaEvent event) {
+        processar(event, FaixaPrioridade.BAIXA);
+    }
+    
+    private void processar(SolicitacaoRecebidaEvent event, FaixaPrioridade faixa) {
+        logger.info("Recebido evento de solicitação recebida: {} (prioridade {})", event.getSolicitacaoId(), faixa);
         
         try {
-            solicitacaoService.processarValidacao(event.getSolicitacaoId());
+            solicitacaoService.processarValidacao(event);
         } catch (Exception e) {
             logger.error("Erro ao processar evento de solicitação recebida: {}", e.getMessage(), e);
-            // Em um cenário real, poderia implementar retry ou DLQ
+            // Retentativa atrasada ou DLQ pelo RetentativaMensagemInterceptor
             throw e;
         }
+        
+        if (event.getTimestamp() != null) {
+            tempoValidacao.get(faixa).record(Duration.between(event.getTimestamp(), LocalDateTime.now()));
+        }
     }
     
     // Outros listeners para diferentes tipos de eventos podem ser adicionados aqui
     // Por exemplo, para eventos de pagamento confirmado e subscrição autorizada
 }
-
@@ -1,55 +1,68 @@
 package com.itau.seguros.solicitacao.infrastructure.messaging;
 
 import com.itau.seguros.solicitacao.domain.event.SolicitacaoEvent;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
- * Producer responsável por publicar eventos de solicitação no RabbitMQ.
+ * Producer responsável por publicar eventos de solicitação.
  * 
  * Centraliza a lógica de publicação de eventos, garantindo
- * consistência no roteamento e logging.
+ * consistência no roteamento e logging. Solicitações recebidas são
+ * roteadas para a fila da sua faixa de prioridade. A entrega fica a
+ * cargo do {@link TransporteEventos} configurado.
  */
 @Component
 public class SolicitacaoEventProducer {
     
     private static final Logger logger = LoggerFactory.getLogger(SolicitacaoEventProducer.class);
     
-    private final RabbitTemplate rabbitTemplate;
-    
-    @Value("${app.rabbitmq.exchanges.solicitacao}")
-    private String solicitacaoExchange;
+    private final TransporteEventos transporte;
+    private final ClassificadorPrioridade classificadorPrioridade;
     
     @Value("${app.rabbitmq.routing-keys.solicitacao-recebida}")
     private String solicitacaoRecebidaRoutingKey;
     
+    @Value("${app.rabbitmq.routing-keys.solicitacao-recebida-alta}")
+    private String solicitacaoRecebidaAltaRoutingKey;
+    
+    @Value("${app.rabbitmq.routing-keys.solicitacao-recebida-baixa}")
+    private String solicitacaoRecebidaBaixaRoutingKey;
+    
     @Value("${app.rabbitmq.routing-keys.solicitacao-validada}")
     private String solicitacaoValidadaRoutingKey;
     
     @Value("${app.rabbitmq.routing-keys.solicitacao-rejeitada}")
     private String solicitacaoRejeitadaRoutingKey;
     
-    public SolicitacaoEventProducer(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public SolicitacaoEventProducer(TransporteEventos transporte, ClassificadorPrioridade classificadorPrioridade) {
+        this.transporte = transporte;
+        this.classificadorPrioridade = classificadorPrioridade;
     }
     
     /**
      * Publica um evento de solicitação no exchange apropriado.
      * 
      * @param event evento a ser publicado
+     * @throws FilaEventosCheiaException se o transporte em memória estiver cheio
      */
     public void publicarEvento(SolicitacaoEvent event) {
-        String routingKey = obterRoutingKey(event.getEventType());
+        String routingKey = obterRoutingKey(event);
         
         logger.info("Publicando evento {} para solicitação {}", 
                    event.getEventType(), event.getSolicitacaoId());
         
         try {
-            rabbitTemplate.convertAndSend(solicitacaoExchange, routingKey, event);
+            transporte.publicar(routingKey, event);
             logger.debug("Evento {} publicado com sucesso", event.getEventType());
+        } catch (FilaEventosCheiaException e) {
+            logger.warn("Evento {} recusado: {}", event.getEventType(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("Erro ao publicar evento {}: {}", event.getEventType(), e.getMessage(), e);
             throw new RuntimeException("Falha ao publicar evento", e);
@@ -57,12 +70,49 @@ public class SolicitacaoEventProducer {
     }
     
     /**
-     * Determina a routing key baseada no tipo do evento.
+     * Publica um lote de eventos; no RabbitMQ, usando um único canal do
+     * broker, em vez de obter um canal do cache a cada mensagem.
+     * 
+     * @param events eventos a serem publicados, na ordem
+     */
+    public void publicarEventos(List<? extends SolicitacaoEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        
+        logger.info("Publicando lote de {} eventos", events.size());
+        
+        try {
+            transporte.publicar(events.stream()
+                .map(event -> new TransporteEventos.Envio(obterRoutingKey(event), event))
+                .toList());
+            logger.debug("Lote de {} eventos publicado com sucesso", events.size());
+        } catch (FilaEventosCheiaException e) {
+            logger.warn("Lote de {} eventos recusado: {}", events.size(), e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro ao publicar lote de {} eventos: {}", events.size(), e.getMessage(), e);
+            throw new RuntimeException("Falha ao publicar lote de eventos", e);
+        }
+    }
+    
+    /**
+     * Determina a routing key baseada no tipo do evento e, para
+     * solicitações recebidas, na faixa de prioridade.
      * 
-     * @param eventType tipo do evento
+     * @param event evento a ser publicado
      * @return routing key correspondente
      */
-    private String obterRoutingKey(String eventType) {
+    private String obterRoutingKey(SolicitacaoEvent event) {
+        if (event instanceof SolicitacaoRecebidaEvent recebida) {
+            return switch (classificadorPrioridade.classificar(recebida)) {
+                case ALTA -> solicitacaoRecebidaAltaRoutingKey;
+                case NORMAL -> solicitacaoRecebidaRoutingKey;
+                case BAIXA -> solicitacaoRecebidaBaixaRoutingKey;
+            };
+        }
+        
+        String eventType = event.getEventType();
         return switch (eventType) {
             case "SOLICITACAO_RECEBIDA" -> solicitacaoRecebidaRoutingKey;
             case "SOLICITACAO_VALIDADA" -> solicitacaoValidadaRoutingKey;
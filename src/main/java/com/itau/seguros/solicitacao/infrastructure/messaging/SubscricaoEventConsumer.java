@@ -1,5 +1,6 @@
 package com.itau.seguros.solicitacao.infrastructure.messaging;
 
+import com.itau.seguros.solicitacao.application.service.StatusSolicitacaoService;
 import com.itau.seguros.solicitacao.domain.event.SolicitacaoRejeitadaEvent;
 import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
@@ -29,10 +30,13 @@ public class SubscricaoEventConsumer {
     
     private final SolicitacaoRepository repository;
     private final SolicitacaoEventProducer eventProducer;
+    private final StatusSolicitacaoService statusService;
     
-    public SubscricaoEventConsumer(SolicitacaoRepository repository, SolicitacaoEventProducer eventProducer) {
+    public SubscricaoEventConsumer(SolicitacaoRepository repository, SolicitacaoEventProducer eventProducer,
+                                   StatusSolicitacaoService statusService) {
         this.repository = repository;
         this.eventProducer = eventProducer;
+        this.statusService = statusService;
     }
     
     /**
@@ -54,25 +58,22 @@ public class SubscricaoEventConsumer {
             logger.info("Recebido evento de subscrição para solicitação: {}, autorizado: {}", 
                        solicitacaoId, autorizado);
             
-            Optional<SolicitacaoApolice> optionalSolicitacao = repository.findById(solicitacaoId);
-            if (optionalSolicitacao.isEmpty()) {
+            Optional<StatusSolicitacao> statusAtual = statusService.buscarStatus(solicitacaoId);
+            if (statusAtual.isEmpty()) {
                 logger.warn("Solicitação {} não encontrada para processamento de subscrição", solicitacaoId);
                 return;
             }
             
-            SolicitacaoApolice solicitacao = optionalSolicitacao.get();
-            
             // Verifica se a solicitação está no estado correto para receber subscrição
-            if (solicitacao.getStatus() != StatusSolicitacao.PENDENTE) {
+            if (statusAtual.get() != StatusSolicitacao.PENDENTE) {
                 logger.warn("Solicitação {} está no estado {}, não pode processar subscrição", 
-                           solicitacaoId, solicitacao.getStatus());
+                           solicitacaoId, statusAtual.get());
                 return;
             }
             
             if (autorizado) {
                 // Subscrição autorizada, aprova a solicitação
-                solicitacao.alterarStatus(StatusSolicitacao.APROVADA, "Subscrição autorizada");
-                repository.save(solicitacao);
+                statusService.alterarStatus(solicitacaoId, StatusSolicitacao.APROVADA, "Subscrição autorizada");
                 logger.info("Solicitação {} APROVADA após autorização de subscrição", solicitacaoId);
                 
                 // Em um cenário real, publicaria um evento de aprovação
@@ -83,11 +84,11 @@ public class SubscricaoEventConsumer {
                 String motivoRejeicao = (String) event.getOrDefault("motivoRejeicao", 
                                                                   "Subscrição negada pelo subscritor");
                 
-                solicitacao.alterarStatus(StatusSolicitacao.REJEITADA, motivoRejeicao);
-                repository.save(solicitacao);
+                statusService.alterarStatus(solicitacaoId, StatusSolicitacao.REJEITADA, motivoRejeicao);
                 logger.info("Solicitação {} REJEITADA: {}", solicitacaoId, motivoRejeicao);
                 
-                // Publica evento de rejeição
+                // Publica evento de rejeição com os dados cadastrais da solicitação
+                SolicitacaoApolice solicitacao = repository.findById(solicitacaoId).orElseThrow();
                 SolicitacaoRejeitadaEvent rejeitadaEvent = new SolicitacaoRejeitadaEvent(
                     solicitacao.getId(),
                     solicitacao.getCustomerId(),
@@ -108,4 +109,3 @@ public class SubscricaoEventConsumer {
         }
     }
 }
-
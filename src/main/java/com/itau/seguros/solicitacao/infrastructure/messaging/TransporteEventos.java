@@ -0,0 +1,36 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import java.util.List;
+
+/**
+ * Transporte dos eventos publicados pelo {@link SolicitacaoEventProducer}.
+ *
+ * Selecionado por {@code app.mensageria.transporte}: {@code rabbitmq}
+ * (padrão) publica no exchange de solicitações, e {@code memoria} entrega
+ * os eventos aos listeners desta instância, sem broker.
+ */
+public interface TransporteEventos {
+
+    /**
+     * Evento e routing key de uma publicação.
+     *
+     * @param routingKey routing key do evento
+     * @param evento evento a publicar
+     */
+    record Envio(String routingKey, Object evento) {}
+
+    /**
+     * Publica um evento.
+     *
+     * @param routingKey routing key do evento
+     * @param evento evento a publicar
+     */
+    void publicar(String routingKey, Object evento);
+
+    /**
+     * Publica um lote de eventos, na ordem.
+     *
+     * @param envios eventos a publicar
+     */
+    void publicar(List<Envio> envios);
+}
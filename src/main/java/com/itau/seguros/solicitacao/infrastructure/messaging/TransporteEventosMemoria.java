@@ -0,0 +1,402 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Transporte de eventos em memória, para instância única e testes de
+ * desempenho sem broker.
+ *
+ * Usa a topologia declarada no {@code RabbitMQConfig}: cada routing key
+ * leva às filas ligadas a ela, e cada fila é entregue ao método anotado
+ * com {@link RabbitListener} que a consome, com o número de consumidores
+ * do atributo {@code concurrency}. Assim os mesmos consumers funcionam nos
+ * dois transportes; o evento é convertido pelo ObjectMapper quando o
+ * parâmetro do listener é de outro tipo (como {@code Map}).
+ *
+ * Cada fila é um buffer circular limitado ({@link ArrayBlockingQueue});
+ * os consumidores retiram as entregas em lotes de até
+ * {@code tamanho-lote}. A publicação reserva a vaga no buffer na hora,
+ * mas dentro de uma transação só entrega o evento depois do commit (na
+ * reversão, a vaga é devolvida): o consumidor nunca recebe o evento de uma
+ * gravação que ainda não é visível. Com o buffer cheio, quem publica
+ * espera até {@code espera-maxima} e então recebe
+ * {@link FilaEventosCheiaException}, o que propaga a contrapressão para a
+ * API; dentro de um consumidor, a falha é retentável. Falhas retentáveis voltam ao buffer depois dos atrasos da
+ * {@link PoliticaRetentativa}; as demais são descartadas e registradas,
+ * pois não há DLQ. Os eventos em memória se perdem em uma queda; as
+ * solicitações paradas são retomadas pela reconciliação.
+ *
+ * Eventos de filas sem listener nesta instância, consumidas por outros
+ * sistemas no RabbitMQ, são descartados.
+ */
+@Component
+@ConditionalOnProperty(name = "app.mensageria.transporte", havingValue = "memoria")
+public class TransporteEventosMemoria implements TransporteEventos, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransporteEventosMemoria.class);
+
+    private final ApplicationContext applicationContext;
+    private final ObjectMapper objectMapper;
+    private final PoliticaRetentativa politica;
+    private final MeterRegistry registry;
+    private final int capacidade;
+    private final int tamanhoLote;
+    private final Duration esperaMaxima;
+
+    private final Map<String, List<String>> filasPorRoutingKey = new HashMap<>();
+    private final Map<String, FilaMemoria> filas = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService retentativas;
+    private final Counter semDestinoCounter;
+
+    private volatile boolean executando = true;
+
+    public TransporteEventosMemoria(ApplicationContext applicationContext,
+                                    ObjectMapper objectMapper,
+                                    PoliticaRetentativa politica,
+                                    MeterRegistry registry,
+                                    List<Binding> bindings,
+                                    @Value("${app.mensageria.memoria.capacidade:8192}") int capacidade,
+                                    @Value("${app.mensageria.memoria.tamanho-lote:256}") int tamanhoLote,
+                                    @Value("${app.mensageria.memoria.espera-maxima:1s}") Duration esperaMaxima) {
+        this.applicationContext = applicationContext;
+        this.objectMapper = objectMapper;
+        this.politica = politica;
+        this.registry = registry;
+        this.capacidade = capacidade;
+        this.tamanhoLote = tamanhoLote;
+        this.esperaMaxima = esperaMaxima;
+
+        for (Binding binding : bindings) {
+            if (binding.isDestinationQueue()) {
+                filasPorRoutingKey.computeIfAbsent(binding.getRoutingKey(), chave -> new ArrayList<>())
+                    .add(binding.getDestination());
+            }
+        }
+
+        this.retentativas = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "retentativas-memoria");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.semDestinoCounter = Counter.builder("mensageria.memoria.sem.destino")
+            .description("Eventos descartados por não haver listener nesta instância")
+            .register(registry);
+    }
+
+    /**
+     * Registra os listeners dos consumers depois de criados todos os beans.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String nome : applicationContext.getBeanNamesForType(Object.class, false, false)) {
+            Class<?> tipo = applicationContext.getType(nome, false);
+            if (tipo == null) {
+                continue;
+            }
+            Map<Method, RabbitListener> metodos = MethodIntrospector.selectMethods(ClassUtils.getUserClass(tipo),
+                (MethodIntrospector.MetadataLookup<RabbitListener>) metodo ->
+                    AnnotatedElementUtils.findMergedAnnotation(metodo, RabbitListener.class));
+            if (metodos.isEmpty()) {
+                continue;
+            }
+
+            Object bean = applicationContext.getBean(nome);
+            metodos.forEach((metodo, anotacao) -> {
+                Consumer<Object> ouvinte = ouvinte(bean, metodo);
+                int consumidores = consumidores(anotacao.concurrency());
+                for (String fila : anotacao.queues()) {
+                    registrar(applicationContext.getEnvironment().resolveRequiredPlaceholders(fila),
+                              consumidores, ouvinte);
+                }
+            });
+        }
+        logger.info("Transporte de eventos em memória ativo para as filas {}", filas.keySet());
+    }
+
+    /**
+     * Registra o listener de uma fila e inicia seus consumidores.
+     *
+     * @param fila nome da fila
+     * @param consumidores threads consumidoras
+     * @param ouvinte listener que recebe cada evento
+     * @throws IllegalStateException se a fila já tiver listener
+     */
+    void registrar(String fila, int consumidores, Consumer<Object> ouvinte) {
+        Counter recusadas = Counter.builder("mensageria.memoria.recusadas")
+            .tag("fila", fila)
+            .description("Publicações recusadas por fila em memória cheia")
+            .register(registry);
+        FilaMemoria filaMemoria = new FilaMemoria(fila, capacidade, ouvinte, recusadas);
+        if (filas.putIfAbsent(fila, filaMemoria) != null) {
+            throw new IllegalStateException("Fila com mais de um listener no transporte em memória: " + fila);
+        }
+
+        Gauge.builder("mensageria.memoria.pendentes", filaMemoria.entregas, BlockingQueue::size)
+            .tag("fila", fila)
+            .description("Eventos aguardando consumo no transporte em memória")
+            .register(registry);
+
+        for (int i = 0; i < consumidores; i++) {
+            Thread consumidor = new Thread(() -> consumir(filaMemoria), "consumidor-" + fila + "-" + i);
+            consumidor.setDaemon(true);
+            consumidor.start();
+            filaMemoria.consumidores.add(consumidor);
+        }
+    }
+
+    @Override
+    public void publicar(String routingKey, Object evento) {
+        publicar(List.of(new Envio(routingKey, evento)));
+    }
+
+    /**
+     * Reserva as vagas de todos os eventos e os entrega depois do commit da
+     * transação corrente, ou na hora se não houver transação.
+     *
+     * @throws FilaEventosCheiaException se alguma fila continuar cheia além
+     *         da espera máxima; nenhuma vaga fica reservada
+     */
+    @Override
+    public void publicar(List<Envio> envios) {
+        List<Reserva> reservas = new ArrayList<>(envios.size());
+        try {
+            for (Envio envio : envios) {
+                boolean entregue = false;
+                for (String destino : filasPorRoutingKey.getOrDefault(envio.routingKey(), List.of())) {
+                    FilaMemoria fila = filas.get(destino);
+                    if (fila != null) {
+                        reservar(fila);
+                        reservas.add(new Reserva(fila, new Entrega(envio.evento(), 0)));
+                        entregue = true;
+                    }
+                }
+                if (!entregue) {
+                    semDestinoCounter.increment();
+                    logger.debug("Evento com routing key {} sem listener nesta instância", envio.routingKey());
+                }
+            }
+        } catch (RuntimeException e) {
+            liberar(reservas);
+            throw e;
+        }
+
+        if (reservas.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enfileirar(reservas);
+                    } else {
+                        liberar(reservas);
+                    }
+                }
+            });
+        } else {
+            enfileirar(reservas);
+        }
+    }
+
+    /**
+     * Para os consumidores depois de esvaziar as filas, por até 30 segundos.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        executando = false;
+        retentativas.shutdownNow();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        for (FilaMemoria fila : filas.values()) {
+            for (Thread consumidor : fila.consumidores) {
+                consumidor.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(limite - System.nanoTime())));
+            }
+        }
+    }
+
+    /**
+     * Reserva uma vaga no buffer, esperando até a espera máxima se estiver cheio.
+     *
+     * @throws FilaEventosCheiaException se o buffer continuar cheio
+     */
+    private void reservar(FilaMemoria fila) {
+        try {
+            if (!fila.vagas.tryAcquire(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS)) {
+                fila.recusadas.increment();
+                throw new FilaEventosCheiaException("Fila em memória " + fila.nome + " cheia");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FilaEventosCheiaException("Publicação na fila em memória " + fila.nome + " interrompida");
+        }
+    }
+
+    /**
+     * Coloca as entregas reservadas no buffer; a reserva garante o espaço.
+     */
+    private void enfileirar(List<Reserva> reservas) {
+        for (Reserva reserva : reservas) {
+            reserva.fila().entregas.add(reserva.entrega());
+        }
+    }
+
+    private void liberar(List<Reserva> reservas) {
+        for (Reserva reserva : reservas) {
+            reserva.fila().vagas.release();
+        }
+    }
+
+    private void consumir(FilaMemoria fila) {
+        List<Entrega> lote = new ArrayList<>(tamanhoLote);
+        while (executando || !fila.entregas.isEmpty()) {
+            try {
+                Entrega primeira = fila.entregas.poll(100, TimeUnit.MILLISECONDS);
+                if (primeira == null) {
+                    continue;
+                }
+
+                lote.add(primeira);
+                fila.entregas.drainTo(lote, tamanhoLote - 1);
+                fila.vagas.release(lote.size());
+                for (Entrega entrega : lote) {
+                    entregar(fila, entrega);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void entregar(FilaMemoria fila, Entrega entrega) {
+        try {
+            fila.ouvinte.accept(entrega.evento());
+        } catch (RuntimeException e) {
+            int tentativa = entrega.tentativa();
+            if (executando && politica.isRetentavel(e) && tentativa < politica.getNiveis()) {
+                logger.warn("Falha ao processar evento da fila {} ({}); retentativa {} em {}",
+                           fila.nome, e.getMessage(), tentativa + 1, politica.getAtraso(tentativa));
+                Counter.builder("mensageria.retentativas")
+                    .tag("fila", fila.nome)
+                    .description("Mensagens enviadas para uma fila de espera de retentativa")
+                    .register(registry)
+                    .increment();
+                retentativas.schedule(() -> reenfileirar(fila, new Entrega(entrega.evento(), tentativa + 1)),
+                                      politica.getAtraso(tentativa).toNanos(), TimeUnit.NANOSECONDS);
+            } else {
+                descartar(fila, e, tentativa);
+            }
+        }
+    }
+
+    private void reenfileirar(FilaMemoria fila, Entrega entrega) {
+        if (fila.vagas.tryAcquire()) {
+            fila.entregas.add(entrega);
+        } else {
+            descartar(fila, new FilaEventosCheiaException("Fila em memória " + fila.nome + " cheia"),
+                      entrega.tentativa());
+        }
+    }
+
+    private void descartar(FilaMemoria fila, Throwable erro, int tentativas) {
+        logger.error("Evento da fila {} descartado após {} retentativas: {}", fila.nome, tentativas, erro.getMessage(), erro);
+        Counter.builder("mensageria.memoria.descartadas")
+            .tag("fila", fila.nome)
+            .tag("erro", erro.getClass().getSimpleName())
+            .description("Eventos descartados pelo transporte em memória após falha")
+            .register(registry)
+            .increment();
+    }
+
+    /**
+     * Listener que invoca o método pelo bean (e seus proxies), convertendo
+     * o evento para o tipo do parâmetro quando necessário.
+     */
+    private Consumer<Object> ouvinte(Object bean, Method metodo) {
+        if (metodo.getParameterCount() != 1) {
+            throw new IllegalStateException("Listener sem suporte no transporte em memória: " + metodo);
+        }
+        Method invocavel = AopUtils.selectInvocableMethod(metodo, bean.getClass());
+        ReflectionUtils.makeAccessible(invocavel);
+        JavaType tipo = objectMapper.getTypeFactory().constructType(metodo.getGenericParameterTypes()[0]);
+
+        return evento -> {
+            Object argumento = tipo.getRawClass().isInstance(evento) ? evento : objectMapper.convertValue(evento, tipo);
+            ReflectionUtils.invokeMethod(invocavel, bean, argumento);
+        };
+    }
+
+    /**
+     * Consumidores pelo atributo {@code concurrency} ("n" ou "mínimo-máximo").
+     */
+    private int consumidores(String concurrency) {
+        String valor = applicationContext.getEnvironment().resolvePlaceholders(concurrency);
+        if (!StringUtils.hasText(valor)) {
+            return 1;
+        }
+        int separador = valor.indexOf('-');
+        return Math.max(1, Integer.parseInt((separador < 0 ? valor : valor.substring(0, separador)).trim()));
+    }
+
+    private record Entrega(Object evento, int tentativa) {}
+
+    private record Reserva(FilaMemoria fila, Entrega entrega) {}
+
+    private static final class FilaMemoria {
+
+        final String nome;
+        final BlockingQueue<Entrega> entregas;
+        // Vagas do buffer, reservadas na publicação e devolvidas ao consumir
+        final Semaphore vagas;
+        final Consumer<Object> ouvinte;
+        final List<Thread> consumidores = new ArrayList<>();
+        final Counter recusadas;
+
+        FilaMemoria(String nome, int capacidade, Consumer<Object> ouvinte, Counter recusadas) {
+            this.nome = nome;
+            this.entregas = new ArrayBlockingQueue<>(capacidade);
+            this.vagas = new Semaphore(capacidade);
+            this.ouvinte = ouvinte;
+            this.recusadas = recusadas;
+        }
+    }
+}
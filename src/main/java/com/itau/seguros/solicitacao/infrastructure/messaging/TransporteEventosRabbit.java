@@ -0,0 +1,44 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Transporte de eventos pelo exchange de solicitações do RabbitMQ.
+ */
+@Component
+@ConditionalOnProperty(name = "app.mensageria.transporte", havingValue = "rabbitmq", matchIfMissing = true)
+public class TransporteEventosRabbit implements TransporteEventos {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String solicitacaoExchange;
+
+    public TransporteEventosRabbit(RabbitTemplate rabbitTemplate,
+                                   @Value("${app.rabbitmq.exchanges.solicitacao}") String solicitacaoExchange) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.solicitacaoExchange = solicitacaoExchange;
+    }
+
+    @Override
+    public void publicar(String routingKey, Object evento) {
+        rabbitTemplate.convertAndSend(solicitacaoExchange, routingKey, evento);
+    }
+
+    /**
+     * Publica o lote usando um único canal do broker, em vez de obter um
+     * canal do cache a cada mensagem.
+     */
+    @Override
+    public void publicar(List<Envio> envios) {
+        rabbitTemplate.invoke(operacoes -> {
+            for (Envio envio : envios) {
+                operacoes.convertAndSend(solicitacaoExchange, envio.routingKey(), envio.evento());
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.itau.seguros.solicitacao.infrastructure.ratelimit;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Baldes de tokens em memória, sem locks.
+ *
+ * Cada balde é representado por um único {@link AtomicLong} com o
+ * instante teórico de chegada (GCRA): o instante em que o balde estaria
+ * cheio de novo. Consumir um token avança esse instante em um intervalo;
+ * o token é negado se isso deixar o instante mais de {@code capacidade}
+ * intervalos à frente do relógio. O resultado é o mesmo de um balde de
+ * tokens, atualizado com um único CAS e sem alocação por requisição.
+ *
+ * Baldes são criados no {@link ConcurrentHashMap}, cujas leituras não
+ * bloqueiam e cujas escritas são particionadas por bin.
+ */
+@Component
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private static final long SEM_USO = Long.MIN_VALUE;
+
+    private final Map<String, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final LongSupplier relogio;
+
+    public InMemoryTokenBucketStore() {
+        this(System::nanoTime);
+    }
+
+    InMemoryTokenBucketStore(LongSupplier relogio) {
+        this.relogio = relogio;
+    }
+
+    @Override
+    public long tentarConsumir(String chave, LimiteTaxa limite) {
+        AtomicLong chegadaTeorica = baldes.get(chave);
+        if (chegadaTeorica == null) {
+            chegadaTeorica = baldes.computeIfAbsent(chave, c -> new AtomicLong(SEM_USO));
+        }
+
+        long intervalo = limite.intervaloNanos();
+        long tolerancia = intervalo * limite.capacidade();
+
+        while (true) {
+            long agora = relogio.getAsLong();
+            long atual = chegadaTeorica.get();
+            long proxima = Math.max(atual, agora) + intervalo;
+            long excesso = proxima - agora - tolerancia;
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (chegadaTeorica.compareAndSet(atual, proxima)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public void devolver(String chave, LimiteTaxa limite) {
+        AtomicLong chegadaTeorica = baldes.get(chave);
+        if (chegadaTeorica == null) {
+            // Removido como ocioso: o balde seria recriado cheio
+            return;
+        }
+        // Recuar além do relógio não acrescenta tokens, já que o consumo parte de max(atual, agora)
+        chegadaTeorica.updateAndGet(atual -> atual == SEM_USO ? atual : atual - limite.intervaloNanos());
+    }
+
+    @Override
+    public int removerOciosos(Duration ociosidade) {
+        long limite = relogio.getAsLong() - ociosidade.toNanos();
+        int antes = baldes.size();
+        // Um consumo concorrente com a remoção apenas recria o balde cheio
+        baldes.values().removeIf(chegadaTeorica -> {
+            long valor = chegadaTeorica.get();
+            return valor == SEM_USO || valor < limite;
+        });
+        return Math.max(0, antes - baldes.size());
+    }
+
+    @Override
+    public int tamanho() {
+        return baldes.size();
+    }
+}
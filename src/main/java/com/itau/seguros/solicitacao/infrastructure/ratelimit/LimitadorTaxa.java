@@ -0,0 +1,168 @@
+package com.itau.seguros.solicitacao.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limitador de taxa por canal de vendas e, opcionalmente, por cliente.
+ *
+ * Cada canal tem o seu balde de tokens, com o limite configurado para ele
+ * ou o limite padrão, de forma que um parceiro que inunda a API esgota
+ * apenas o próprio balde. Os baldes ficam em um {@link TokenBucketStore};
+ * os ociosos são removidos periodicamente.
+ */
+@Component
+public class LimitadorTaxa {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimitadorTaxa.class);
+
+    /**
+     * Escopo do balde que limitou a requisição.
+     */
+    public enum Escopo {
+        CANAL, CLIENTE
+    }
+
+    // Canais sem limite próprio compartilham a tag para não explodir a cardinalidade
+    private static final String TAG_OUTROS = "outros";
+
+    private final boolean ativo;
+    private final LimiteTaxa limitePadrao;
+    private final Map<String, LimiteTaxa> limitePorCanal = new HashMap<>();
+    private final boolean porCliente;
+    private final LimiteTaxa limiteCliente;
+    private final Duration ociosidade;
+    private final TokenBucketStore store;
+    private final MeterRegistry registry;
+    private final Map<String, Counter> limitadasPorCanal = new ConcurrentHashMap<>();
+    private final Map<String, Counter> limitadasPorCliente = new ConcurrentHashMap<>();
+
+    public LimitadorTaxa(@Value("${app.rate-limit.enabled:true}") boolean ativo,
+                         @Value("${app.rate-limit.canal.padrao:50/100}") String limitePadrao,
+                         @Value("${app.rate-limit.canal.canais:}") List<String> limitesPorCanal,
+                         @Value("${app.rate-limit.cliente.enabled:false}") boolean porCliente,
+                         @Value("${app.rate-limit.cliente.limite:5/10}") String limiteCliente,
+                         @Value("${app.rate-limit.ociosidade:10m}") Duration ociosidade,
+                         TokenBucketStore store,
+                         MeterRegistry registry) {
+        this.ativo = ativo;
+        this.limitePadrao = LimiteTaxa.parse(limitePadrao);
+        this.porCliente = porCliente;
+        this.limiteCliente = LimiteTaxa.parse(limiteCliente);
+        this.ociosidade = ociosidade;
+        this.store = store;
+        this.registry = registry;
+
+        // Formato CANAL=taxa/capacidade
+        for (String configuracao : limitesPorCanal) {
+            int separador = configuracao.indexOf('=');
+            if (separador < 0) {
+                throw new IllegalArgumentException("Limite de canal deve estar no formato CANAL=taxa/capacidade: " + configuracao);
+            }
+            limitePorCanal.put(normalizar(configuracao.substring(0, separador)),
+                               LimiteTaxa.parse(configuracao.substring(separador + 1)));
+        }
+
+        Gauge.builder("ratelimit.baldes", store, TokenBucketStore::tamanho)
+            .description("Baldes de tokens mantidos pelo limitador de taxa")
+            .register(registry);
+    }
+
+    public boolean isAtivo() {
+        return ativo;
+    }
+
+    /**
+     * Consome um token do balde do cliente, se habilitado, e do balde do canal.
+     * Se o balde do canal recusar a requisição, o token do cliente é devolvido.
+     *
+     * @param salesChannel canal de vendas, pode ser nulo
+     * @param customerId ID do cliente, pode ser nulo
+     * @return zero se a requisição foi permitida; caso contrário, o tempo em
+     *         nanossegundos até a próxima tentativa
+     */
+    public long consumir(String salesChannel, String customerId) {
+        String canal = salesChannel != null ? normalizar(salesChannel) : null;
+
+        String chaveCliente = null;
+        if (porCliente && customerId != null) {
+            UUID cliente = paraUuid(customerId);
+            if (cliente != null) {
+                chaveCliente = "cliente:" + cliente;
+                long espera = store.tentarConsumir(chaveCliente, limiteCliente);
+                if (espera > 0) {
+                    registrarLimitada(Escopo.CLIENTE, canal);
+                    return espera;
+                }
+            }
+        }
+
+        // Sem canal identificado (ex.: consultas sem o cabeçalho), vale apenas o limite por cliente
+        if (canal != null) {
+            long espera = store.tentarConsumir("canal:" + canal, limitePorCanal.getOrDefault(canal, limitePadrao));
+            if (espera > 0) {
+                if (chaveCliente != null) {
+                    store.devolver(chaveCliente, limiteCliente);
+                }
+                registrarLimitada(Escopo.CANAL, canal);
+                return espera;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Remove periodicamente os baldes ociosos.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.intervalo-limpeza:PT1M}",
+               initialDelayString = "${app.rate-limit.intervalo-limpeza:PT1M}")
+    public void removerOciosos() {
+        int removidos = store.removerOciosos(ociosidade);
+        if (removidos > 0) {
+            logger.debug("{} baldes de tokens ociosos removidos", removidos);
+        }
+    }
+
+    private void registrarLimitada(Escopo escopo, String canal) {
+        String tag = canal != null && limitePorCanal.containsKey(canal) ? canal : TAG_OUTROS;
+        Map<String, Counter> contadores = escopo == Escopo.CANAL ? limitadasPorCanal : limitadasPorCliente;
+
+        Counter counter = contadores.get(tag);
+        if (counter == null) {
+            counter = contadores.computeIfAbsent(tag, t -> Counter.builder("ratelimit.limitadas")
+                .tag("canal", t)
+                .tag("escopo", escopo.name().toLowerCase(Locale.ROOT))
+                .description("Requisições recusadas pelo limitador de taxa")
+                .register(registry));
+        }
+        counter.increment();
+    }
+
+    private static UUID paraUuid(String valor) {
+        try {
+            return UUID.fromString(valor);
+        } catch (IllegalArgumentException e) {
+            // ID inválido é recusado pela validação do controller
+            return null;
+        }
+    }
+
+    private static String normalizar(String canal) {
+        return canal.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,37 @@
+package com.itau.seguros.solicitacao.infrastructure.ratelimit;
+
+/**
+ * Configuração de um balde de tokens.
+ *
+ * @param tokensPorSegundo taxa de reposição sustentada
+ * @param capacidade tamanho do balde, isto é, a rajada máxima aceita de uma vez
+ */
+public record LimiteTaxa(double tokensPorSegundo, int capacidade) {
+
+    public LimiteTaxa {
+        if (tokensPorSegundo <= 0 || capacidade < 1) {
+            throw new IllegalArgumentException("Limite de taxa inválido: " + tokensPorSegundo + "/s, capacidade " + capacidade);
+        }
+    }
+
+    /**
+     * Intervalo entre tokens, em nanossegundos.
+     */
+    public long intervaloNanos() {
+        return (long) (1_000_000_000L / tokensPorSegundo);
+    }
+
+    /**
+     * Interpreta o formato {@code taxa/capacidade}, por exemplo {@code 20/50}.
+     *
+     * @param valor texto configurado
+     * @return limite correspondente
+     */
+    public static LimiteTaxa parse(String valor) {
+        String[] partes = valor.trim().split("/");
+        if (partes.length != 2) {
+            throw new IllegalArgumentException("Limite de taxa deve estar no formato taxa/capacidade: " + valor);
+        }
+        return new LimiteTaxa(Double.parseDouble(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+    }
+}
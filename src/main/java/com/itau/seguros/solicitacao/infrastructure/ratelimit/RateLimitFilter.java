@@ -0,0 +1,57 @@
+package com.itau.seguros.solicitacao.infrastructure.ratelimit;
+
+import com.itau.seguros.solicitacao.infrastructure.web.RequisicaoIdentificada;
+import com.itau.seguros.solicitacao.infrastructure.web.RespostaRecusa;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que aplica o {@link LimitadorTaxa} aos endpoints de solicitações.
+ *
+ * Roda antes do controle de admissão: requisições acima da taxa do canal
+ * ou do cliente recebem 429 com Retry-After igual ao tempo até o próximo
+ * token, sem ocupar vagas de concorrência.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private final LimitadorTaxa limitador;
+
+    public RateLimitFilter(LimitadorTaxa limitador) {
+        this.limitador = limitador;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limitador.isAtivo();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequisicaoIdentificada requisicao = RequisicaoIdentificada.de(request);
+
+        long espera = limitador.consumir(requisicao.getSalesChannel(), requisicao.getCustomerId());
+        if (espera > 0) {
+            logger.warn("Requisição {} {} limitada por taxa (canal {}, cliente {})",
+                       request.getMethod(), request.getRequestURI(),
+                       requisicao.getSalesChannel(), requisicao.getCustomerId());
+            long retryAfter = Math.max(1, (espera + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            RespostaRecusa.enviar(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter,
+                "Limite de requisições excedido, tente novamente mais tarde");
+            return;
+        }
+
+        filterChain.doFilter(requisicao.getRequest(), response);
+    }
+}
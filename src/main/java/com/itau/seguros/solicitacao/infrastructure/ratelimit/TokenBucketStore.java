@@ -0,0 +1,47 @@
+package com.itau.seguros.solicitacao.infrastructure.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Armazenamento dos baldes de tokens do limitador de taxa.
+ *
+ * A implementação padrão mantém os baldes em memória, por instância. Uma
+ * implementação compartilhada entre nós (ex.: Redis com script atômico)
+ * só precisa garantir que o consumo de cada chave seja atômico.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Tenta consumir um token do balde da chave, criando-o cheio se não existir.
+     *
+     * @param chave identificação do balde
+     * @param limite taxa e capacidade do balde
+     * @return zero se o token foi consumido; caso contrário, o tempo em
+     *         nanossegundos até haver um token disponível
+     */
+    long tentarConsumir(String chave, LimiteTaxa limite);
+
+    /**
+     * Devolve um token consumido do balde da chave, sem ultrapassar a
+     * capacidade. Usado quando a requisição é recusada por outro balde
+     * depois de já ter consumido este.
+     *
+     * @param chave identificação do balde
+     * @param limite taxa e capacidade do balde
+     */
+    void devolver(String chave, LimiteTaxa limite);
+
+    /**
+     * Remove os baldes que estão cheios e sem uso há mais que a ociosidade
+     * informada; removê-los não altera o comportamento do limitador.
+     *
+     * @param ociosidade tempo mínimo sem uso
+     * @return quantidade de baldes removidos
+     */
+    int removerOciosos(Duration ociosidade);
+
+    /**
+     * Quantidade de baldes mantidos.
+     */
+    int tamanho();
+}
@@ -0,0 +1,150 @@
+package com.itau.seguros.solicitacao.infrastructure.streaming;
+
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de assinantes das transições de status de solicitações.
+ *
+ * Mantém, por solicitação, os {@link SseEmitter} abertos e os notifica
+ * após o commit de cada {@link StatusAlteradoEvent}. As conexões ficam
+ * em modo assíncrono no container servlet, portanto assinantes ociosos
+ * não ocupam threads.
+ */
+@Component
+public class StatusSubscriptionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusSubscriptionRegistry.class);
+
+    private static final String NOME_EVENTO = "status";
+
+    private final Map<UUID, Set<SseEmitter>> assinantes = new ConcurrentHashMap<>();
+    private final Set<SseEmitter> ativos = ConcurrentHashMap.newKeySet();
+    private final long timeoutMillis;
+
+    public StatusSubscriptionRegistry(@Value("${app.streaming.timeout-ms:300000}") long timeoutMillis,
+                                      MeterRegistry registry) {
+        this.timeoutMillis = timeoutMillis;
+
+        Gauge.builder("solicitacao.eventos.assinantes", ativos, Set::size)
+            .description("Conexões abertas aguardando transições de status")
+            .register(registry);
+    }
+
+    /**
+     * Registra um novo assinante para as transições de uma solicitação.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @return emitter que será notificado a cada transição
+     */
+    public SseEmitter assinar(UUID solicitacaoId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+        assinantes.compute(solicitacaoId, (id, emitters) -> {
+            Set<SseEmitter> atual = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            atual.add(emitter);
+            return atual;
+        });
+        ativos.add(emitter);
+
+        emitter.onCompletion(() -> remover(solicitacaoId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(erro -> remover(solicitacaoId, emitter));
+
+        return emitter;
+    }
+
+    /**
+     * Envia um registro de histórico a um único assinante.
+     *
+     * @param emitter assinante
+     * @param historico registro a ser enviado
+     * @return false se o envio falhou e o assinante foi descartado
+     */
+    public boolean enviar(SseEmitter emitter, SolicitacaoResponseDTO.HistoricoStatusDTO historico) {
+        try {
+            emitter.send(SseEmitter.event().name(NOME_EVENTO).data(historico));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    /**
+     * Notifica os assinantes após o commit de uma transição de status.
+     * Em estados finais, encerra as conexões da solicitação.
+     *
+     * @param event transição confirmada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void notificar(StatusAlteradoEvent event) {
+        Set<SseEmitter> emitters = event.status().isEstadoFinal()
+            ? assinantes.remove(event.solicitacaoId())
+            : assinantes.get(event.solicitacaoId());
+
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+
+        logger.debug("Notificando {} assinantes da solicitação {} sobre status {}",
+                    emitters.size(), event.solicitacaoId(), event.status());
+
+        SolicitacaoResponseDTO.HistoricoStatusDTO historico = new SolicitacaoResponseDTO.HistoricoStatusDTO(
+            event.status(), event.timestamp(), event.observacao()
+        );
+
+        for (SseEmitter emitter : emitters) {
+            if (enviar(emitter, historico) && event.status().isEstadoFinal()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Cancela uma assinatura antes que a conexão seja efetivamente aberta,
+     * por exemplo quando a solicitação não existe ou já está finalizada.
+     *
+     * @param solicitacaoId ID da solicitação
+     * @param emitter assinante a ser descartado
+     */
+    public void cancelar(UUID solicitacaoId, SseEmitter emitter) {
+        remover(solicitacaoId, emitter);
+    }
+
+    /**
+     * Quantidade de assinantes ativos.
+     *
+     * @return total de conexões abertas
+     */
+    public int getTotalAssinantes() {
+        return ativos.size();
+    }
+
+    /**
+     * Remove um assinante encerrado.
+     */
+    private void remover(UUID solicitacaoId, SseEmitter emitter) {
+        ativos.remove(emitter);
+
+        assinantes.computeIfPresent(solicitacaoId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.itau.seguros.solicitacao.infrastructure.web;
+
+import java.io.IOException;
+
+/**
+ * Exceção lançada quando o corpo de uma requisição passa do tamanho
+ * máximo aceito; a leitura é interrompida sem guardar o restante.
+ */
+public class CorpoExcedidoException extends IOException {
+
+    private final int tamanhoMaximo;
+
+    public CorpoExcedidoException(int tamanhoMaximo) {
+        super("Corpo da requisição maior que " + tamanhoMaximo + " bytes");
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+}
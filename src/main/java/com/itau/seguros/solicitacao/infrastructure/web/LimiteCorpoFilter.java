@@ -0,0 +1,51 @@
+package com.itau.seguros.solicitacao.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro que identifica a criação de solicitações lendo o corpo até
+ * {@code tamanhoMaximo} bytes, antes dos demais filtros de proteção.
+ *
+ * Corpos maiores recebem 413 sem ser lidos por inteiro. Os filtros
+ * seguintes reaproveitam a {@link RequisicaoIdentificada} guardada na
+ * requisição, sem ler o corpo de novo.
+ */
+public class LimiteCorpoFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimiteCorpoFilter.class);
+
+    private final int tamanhoMaximo;
+
+    public LimiteCorpoFilter(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequisicaoIdentificada requisicao;
+        try {
+            requisicao = RequisicaoIdentificada.de(request, tamanhoMaximo);
+        } catch (CorpoExcedidoException e) {
+            logger.warn("Requisição {} {} recusada: {}", request.getMethod(), request.getRequestURI(), e.getMessage());
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), e.getMessage());
+            return;
+        }
+
+        filterChain.doFilter(requisicao.getRequest(), response);
+    }
+}
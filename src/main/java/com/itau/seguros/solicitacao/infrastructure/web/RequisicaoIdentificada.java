@@ -0,0 +1,227 @@
+package com.itau.seguros.solicitacao.infrastructure.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Canal de vendas e cliente de uma requisição à API de solicitações,
+ * identificados antes da desserialização do corpo.
+ *
+ * O canal vem do cabeçalho {@value #CABECALHO_CANAL} e o cliente do
+ * parâmetro {@code customerId}; na criação, ambos são lidos do corpo JSON
+ * com o parser de streaming, sem montar o DTO, e o corpo passa a ser
+ * servido a partir da memória. A identificação é feita uma única vez por
+ * requisição e compartilhada entre os filtros via atributo; o corpo é lido
+ * até um tamanho máximo, para que requisições enormes não ocupem memória
+ * antes do limite de taxa e do controle de admissão.
+ */
+public final class RequisicaoIdentificada {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequisicaoIdentificada.class);
+
+    public static final String CABECALHO_CANAL = "X-Sales-Channel";
+    public static final int TAMANHO_MAXIMO_CORPO_PADRAO = 64 * 1024;
+
+    private static final String ATRIBUTO = RequisicaoIdentificada.class.getName();
+    private static final String CAMPO_CANAL = "salesChannel";
+    private static final String CAMPO_CLIENTE = "customerId";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final HttpServletRequest request;
+    private final String salesChannel;
+    private final String customerId;
+    private final byte[] corpo;
+
+    private RequisicaoIdentificada(HttpServletRequest request, String salesChannel, String customerId, byte[] corpo) {
+        this.request = request;
+        this.salesChannel = salesChannel;
+        this.customerId = customerId;
+        this.corpo = corpo;
+    }
+
+    /**
+     * Identifica a requisição, reaproveitando a identificação de um filtro
+     * anterior, com o tamanho máximo de corpo padrão.
+     *
+     * @param request requisição recebida
+     * @return requisição identificada
+     * @throws CorpoExcedidoException se o corpo passar do tamanho padrão
+     * @throws IOException se falhar a leitura do corpo
+     */
+    public static RequisicaoIdentificada de(HttpServletRequest request) throws IOException {
+        return de(request, TAMANHO_MAXIMO_CORPO_PADRAO);
+    }
+
+    /**
+     * Identifica a requisição, reaproveitando a identificação de um filtro anterior.
+     *
+     * @param request requisição recebida
+     * @param tamanhoMaximoCorpo bytes que o corpo pode ter
+     * @return requisição identificada
+     * @throws CorpoExcedidoException se o corpo passar do tamanho máximo
+     * @throws IOException se falhar a leitura do corpo
+     */
+    public static RequisicaoIdentificada de(HttpServletRequest request, int tamanhoMaximoCorpo) throws IOException {
+        Object existente = request.getAttribute(ATRIBUTO);
+        if (existente instanceof RequisicaoIdentificada identificada) {
+            return identificada;
+        }
+
+        String canal = request.getHeader(CABECALHO_CANAL);
+        String cliente = request.getParameter(CAMPO_CLIENTE);
+        HttpServletRequest requisicao = request;
+        byte[] corpo = null;
+
+        if ("POST".equals(request.getMethod())) {
+            corpo = lerCorpo(request, tamanhoMaximoCorpo);
+            String[] campos = extrairCampos(corpo);
+            canal = canal != null ? canal : campos[0];
+            cliente = cliente != null ? cliente : campos[1];
+            requisicao = new RequisicaoComCorpo(request, corpo);
+        }
+
+        RequisicaoIdentificada identificada = new RequisicaoIdentificada(requisicao, canal, cliente, corpo);
+        request.setAttribute(ATRIBUTO, identificada);
+        return identificada;
+    }
+
+    /**
+     * Requisição a repassar na cadeia de filtros, com o corpo preservado.
+     */
+    public HttpServletRequest getRequest() {
+        return request;
+    }
+
+    public String getSalesChannel() {
+        return salesChannel;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Corpo da requisição, já lido; nulo fora da criação.
+     */
+    public byte[] getCorpo() {
+        return corpo;
+    }
+
+    /**
+     * Lê o corpo sem passar do tamanho máximo: o Content-Length declarado é
+     * recusado antes da leitura, e corpos sem ele param no primeiro byte
+     * além do limite.
+     */
+    private static byte[] lerCorpo(HttpServletRequest request, int tamanhoMaximo) throws IOException {
+        if (request.getContentLengthLong() > tamanhoMaximo) {
+            throw new CorpoExcedidoException(tamanhoMaximo);
+        }
+        byte[] corpo = request.getInputStream().readNBytes(tamanhoMaximo + 1);
+        if (corpo.length > tamanhoMaximo) {
+            throw new CorpoExcedidoException(tamanhoMaximo);
+        }
+        return corpo;
+    }
+
+    /**
+     * Procura o canal e o cliente no primeiro nível do JSON. Corpos
+     * inválidos são deixados para a validação do controller.
+     */
+    private static String[] extrairCampos(byte[] corpo) {
+        String[] campos = new String[2];
+        try (JsonParser parser = JSON_FACTORY.createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return campos;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME && (campos[0] == null || campos[1] == null)) {
+                String campo = parser.getCurrentName();
+                JsonToken valor = parser.nextToken();
+                if (valor == JsonToken.VALUE_STRING && CAMPO_CANAL.equals(campo)) {
+                    campos[0] = parser.getText();
+                } else if (valor == JsonToken.VALUE_STRING && CAMPO_CLIENTE.equals(campo)) {
+                    campos[1] = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Corpo inválido ao identificar a requisição: {}", e.getMessage());
+        }
+        return campos;
+    }
+
+    /**
+     * Requisição cujo corpo, já lido, é servido a partir da memória.
+     */
+    private static final class RequisicaoComCorpo extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        RequisicaoComCorpo(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Leitura não bloqueante não suportada");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.itau.seguros.solicitacao.infrastructure.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resposta curta para requisições recusadas pelos filtros de proteção,
+ * escrita diretamente, sem passar pelo tratamento de erros do Spring MVC.
+ */
+public final class RespostaRecusa {
+
+    private RespostaRecusa() {
+    }
+
+    /**
+     * Escreve a recusa com o cabeçalho Retry-After.
+     *
+     * @param response resposta HTTP
+     * @param status status da recusa (429 ou 503)
+     * @param retryAfterSegundos segundos sugeridos até a próxima tentativa
+     * @param mensagem mensagem para o cliente, sem caracteres que exijam escape
+     * @throws IOException se falhar a escrita
+     */
+    public static void enviar(HttpServletResponse response, HttpStatus status,
+                              long retryAfterSegundos, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":" + status.value()
+            + ",\"error\":\"" + status.getReasonPhrase()
+            + "\",\"message\":\"" + mensagem + "\"}");
+    }
+}
@@ -0,0 +1,274 @@
+package com.itau.seguros.solicitacao.infrastructure.writebehind;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Log local de escrita antecipada (write-ahead) para registros ainda não
+ * gravados no banco.
+ *
+ * Cada registro é gravado como {@code [tamanho][crc32][bytes]} no segmento
+ * atual; ao passar do tamanho configurado, um novo segmento é aberto. Na
+ * recuperação, a leitura de cada segmento para no primeiro registro
+ * incompleto ou corrompido, que corresponde a uma escrita interrompida
+ * pela queda do processo.
+ *
+ * A escrita ({@link #escrever}) e a sincronização com o disco
+ * ({@link #sincronizar}) são separadas: a sincronização é feita em grupo,
+ * de forma que um único {@code force} cobre todos os registros escritos
+ * até ali por threads concorrentes. Segmentos cujos registros já foram
+ * gravados no banco são apagados em {@link #confirmarAte}.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final String PREFIXO = "wal-";
+    private static final String SUFIXO = ".log";
+    private static final int CABECALHO = 8;
+
+    /**
+     * Posição de um registro: o segmento que o contém e o total de bytes
+     * escritos no log até o seu fim.
+     */
+    public record Posicao(long segmento, long fim) {
+    }
+
+    /**
+     * Registro lido na recuperação.
+     */
+    public record Registro(Posicao posicao, byte[] conteudo) {
+    }
+
+    private final Path diretorio;
+    private final long tamanhoSegmento;
+    private final boolean sincronizarDisco;
+
+    private final Object escrita = new Object();
+    private final Object sincronizacao = new Object();
+    private final NavigableSet<Long> segmentos = new ConcurrentSkipListSet<>();
+    private final AtomicLong sincronizadoAte = new AtomicLong();
+
+    private FileChannel canal;
+    private long segmentoAtual;
+    private long tamanhoAtual;
+    private long totalEscrito;
+
+    /**
+     * Abre o log; os segmentos existentes são preservados para {@link #recuperar}
+     * e os novos registros vão para um segmento novo.
+     *
+     * @param diretorio diretório dos segmentos
+     * @param tamanhoSegmento tamanho a partir do qual um novo segmento é aberto
+     * @param sincronizarDisco se false, {@link #sincronizar} não força a escrita em disco
+     * @throws IOException se falhar a abertura
+     */
+    public WriteAheadLog(Path diretorio, long tamanhoSegmento, boolean sincronizarDisco) throws IOException {
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.sincronizarDisco = sincronizarDisco;
+
+        Files.createDirectories(diretorio);
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            arquivos.map(arquivo -> arquivo.getFileName().toString())
+                .filter(nome -> nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO))
+                .map(nome -> Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length())))
+                .forEach(segmentos::add);
+        }
+
+        abrirSegmento(segmentos.isEmpty() ? 1 : segmentos.last() + 1);
+    }
+
+    /**
+     * Lê os registros válidos dos segmentos anteriores à abertura, na ordem
+     * em que foram escritos.
+     *
+     * @return registros recuperados
+     * @throws IOException se falhar a leitura
+     */
+    public List<Registro> recuperar() throws IOException {
+        List<Registro> registros = new ArrayList<>();
+        for (long segmento : segmentos.headSet(segmentoAtual, false)) {
+            Path arquivo = caminho(segmento);
+            int antes = registros.size();
+            try (InputStream entrada = Files.newInputStream(arquivo);
+                 DataInputStream dados = new DataInputStream(new BufferedInputStream(entrada))) {
+                byte[] conteudo;
+                while ((conteudo = lerRegistro(dados, segmento)) != null) {
+                    registros.add(new Registro(new Posicao(segmento, 0), conteudo));
+                }
+            }
+            logger.info("{} registros recuperados do segmento {} do WAL", registros.size() - antes, segmento);
+        }
+        return registros;
+    }
+
+    /**
+     * Lê o próximo registro; devolve nulo no fim do segmento ou no primeiro
+     * registro incompleto ou corrompido.
+     */
+    private byte[] lerRegistro(DataInputStream dados, long segmento) throws IOException {
+        int tamanho;
+        try {
+            tamanho = dados.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+
+        try {
+            long crc = Integer.toUnsignedLong(dados.readInt());
+            if (tamanho >= 0) {
+                byte[] conteudo = dados.readNBytes(tamanho);
+                if (conteudo.length == tamanho && crc(conteudo) == crc) {
+                    return conteudo;
+                }
+            }
+        } catch (EOFException e) {
+            // cabeçalho incompleto
+        }
+
+        logger.warn("Registro incompleto ou corrompido no segmento {} do WAL; restante do segmento descartado", segmento);
+        return null;
+    }
+
+    /**
+     * Escreve um registro no segmento atual, sem forçar a escrita em disco.
+     *
+     * @param conteudo bytes do registro
+     * @return posição do registro, a ser passada para {@link #sincronizar}
+     * @throws IOException se falhar a escrita
+     */
+    public Posicao escrever(byte[] conteudo) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CABECALHO + conteudo.length);
+        buffer.putInt(conteudo.length).putInt((int) crc(conteudo)).put(conteudo).flip();
+
+        synchronized (escrita) {
+            if (tamanhoAtual > 0 && tamanhoAtual + buffer.remaining() > tamanhoSegmento) {
+                rotacionar();
+            }
+            while (buffer.hasRemaining()) {
+                tamanhoAtual += canal.write(buffer);
+            }
+            totalEscrito += CABECALHO + conteudo.length;
+            return new Posicao(segmentoAtual, totalEscrito);
+        }
+    }
+
+    /**
+     * Garante que o registro está em disco. Threads concorrentes compartilham
+     * o mesmo {@code force}: quem chega durante uma sincronização em andamento
+     * normalmente já encontra o seu registro coberto por ela.
+     *
+     * @param posicao posição devolvida por {@link #escrever}
+     * @throws IOException se falhar a sincronização
+     */
+    public void sincronizar(Posicao posicao) throws IOException {
+        if (!sincronizarDisco || sincronizadoAte.get() >= posicao.fim()) {
+            return;
+        }
+
+        synchronized (sincronizacao) {
+            if (sincronizadoAte.get() >= posicao.fim()) {
+                return;
+            }
+
+            long alvo;
+            FileChannel atual;
+            synchronized (escrita) {
+                alvo = totalEscrito;
+                atual = canal;
+            }
+
+            try {
+                atual.force(false);
+            } catch (ClosedChannelException e) {
+                // Segmento rotacionado e já sincronizado ao ser fechado
+            }
+            sincronizadoAte.accumulateAndGet(alvo, Math::max);
+        }
+    }
+
+    /**
+     * Informa que todos os registros até a posição foram gravados no banco,
+     * apagando os segmentos anteriores ao dela.
+     *
+     * @param posicao posição do último registro gravado
+     */
+    public void confirmarAte(Posicao posicao) {
+        for (Long segmento : segmentos.headSet(Math.min(posicao.segmento(), segmentoAtual), false)) {
+            try {
+                Files.deleteIfExists(caminho(segmento));
+                segmentos.remove(segmento);
+                logger.debug("Segmento {} do WAL removido", segmento);
+            } catch (IOException e) {
+                logger.warn("Falha ao remover segmento {} do WAL: {}", segmento, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Segmento em que os próximos registros serão escritos.
+     */
+    public long getSegmentoAtual() {
+        synchronized (escrita) {
+            return segmentoAtual;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (escrita) {
+            if (sincronizarDisco) {
+                canal.force(false);
+            }
+            canal.close();
+        }
+    }
+
+    private void rotacionar() throws IOException {
+        if (sincronizarDisco) {
+            canal.force(false);
+            sincronizadoAte.accumulateAndGet(totalEscrito, Math::max);
+        }
+        canal.close();
+        abrirSegmento(segmentoAtual + 1);
+    }
+
+    private void abrirSegmento(long segmento) throws IOException {
+        canal = FileChannel.open(caminho(segmento),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentoAtual = segmento;
+        tamanhoAtual = canal.size();
+        segmentos.add(segmento);
+    }
+
+    private Path caminho(long segmento) {
+        return diretorio.resolve(String.format("%s%016d%s", PREFIXO, segmento, SUFIXO));
+    }
+
+    private static long crc(byte[] conteudo) {
+        CRC32 crc = new CRC32();
+        crc.update(conteudo);
+        return crc.getValue();
+    }
+}
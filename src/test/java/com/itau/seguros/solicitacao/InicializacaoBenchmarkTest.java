@@ -0,0 +1,189 @@
+package com.itau.seguros.solicitacao;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageListener;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareMessageListener;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmark do tempo entre o início da JVM e o consumo da primeira mensagem.
+ *
+ * Cada medição sobe a aplicação em uma JVM nova, a partir dos artefatos de
+ * {@code mvn package -Pfast-startup} em {@code target/fast-startup}, e
+ * entrega uma mensagem de pagamento confirmado diretamente ao container do
+ * listener, sem broker: o tempo inclui a subida do contexto, a conversão da
+ * mensagem e a consulta ao banco feita pelo consumidor. Compara a subida
+ * padrão com o profile {@code fast-startup} sozinho, com o processamento
+ * AOT e com AOT e o arquivo AppCDS.
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}, depois de
+ * {@code mvn clean package -Pfast-startup -DskipTests}.
+ */
+@Tag("benchmark")
+public class InicializacaoBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(InicializacaoBenchmarkTest.class);
+
+    private static final int RODADAS = 5;
+    private static final String MARCADOR = "PRIMEIRA_MENSAGEM_CONSUMIDA";
+
+    private static final Path ARTEFATOS = Paths.get("target", "fast-startup").toAbsolutePath();
+
+    @Test
+    public void testTempoAtePrimeiraMensagemConsumida(@TempDir Path diretorio) throws Exception {
+        assumeTrue(Files.exists(ARTEFATOS.resolve("app.jsa")),
+            "execute mvn clean package -Pfast-startup -DskipTests antes do benchmark");
+        Path jarMedicao = empacotarMedicao(diretorio);
+
+        long padrao = medir(diretorio, jarMedicao);
+        long perfil = medir(diretorio, jarMedicao, "-Dspring.profiles.active=fast-startup");
+        long aot = medir(diretorio, jarMedicao, "-Dspring.profiles.active=fast-startup", "-Dspring.aot.enabled=true");
+        long aotCds = medir(diretorio, jarMedicao, "-Dspring.profiles.active=fast-startup", "-Dspring.aot.enabled=true",
+            "-XX:SharedArchiveFile=" + ARTEFATOS.resolve("app.jsa"));
+
+        logger.info("Tempo até a primeira mensagem consumida (mediana de {}): padrão {} ms, fast-startup {} ms, " +
+                   "+ AOT {} ms, + AOT e AppCDS {} ms", RODADAS, padrao, perfil, aot, aotCds);
+
+        assertTrue(aotCds < padrao, "fast-startup com AOT e AppCDS deveria subir mais rápido que o padrão");
+    }
+
+    /**
+     * @return mediana, em milissegundos, do início do processo até o consumo
+     */
+    private long medir(Path diretorio, Path jarMedicao, String... opcoesJvm) throws Exception {
+        long[] tempos = new long[RODADAS];
+        for (int i = 0; i < RODADAS; i++) {
+            tempos[i] = executar(diretorio, jarMedicao, opcoesJvm);
+        }
+        Arrays.sort(tempos);
+        return tempos[RODADAS / 2];
+    }
+
+    private long executar(Path diretorio, Path jarMedicao, String... opcoesJvm) throws IOException, InterruptedException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(Arrays.asList(opcoesJvm));
+        // Mesmo classpath do treino do AppCDS, com a classe de medição ao final
+        comando.add("-cp");
+        comando.add(String.join(File.pathSeparator, "solicitacao-apolice-mvp.jar", "lib/*", jarMedicao.toString()));
+        comando.add(PrimeiraMensagem.class.getName());
+        comando.add("--server.port=0");
+        comando.add("--spring.rabbitmq.listener.simple.auto-startup=false");
+        comando.add("--logging.file.path=" + diretorio);
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando)
+            .directory(ARTEFATOS.toFile())
+            .redirectErrorStream(true)
+            .start();
+
+        long tempo = -1;
+        Deque<String> ultimasLinhas = new ArrayDeque<>();
+        try (BufferedReader saida = new BufferedReader(
+                new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = saida.readLine()) != null) {
+                if (tempo < 0 && linha.startsWith(MARCADOR)) {
+                    tempo = (System.nanoTime() - inicio) / 1_000_000;
+                }
+                ultimasLinhas.addLast(linha);
+                if (ultimasLinhas.size() > 20) {
+                    ultimasLinhas.removeFirst();
+                }
+            }
+        }
+        assertEquals(0, processo.waitFor(), () -> "processo de medição falhou:\n" + String.join("\n", ultimasLinhas));
+        assertTrue(tempo > 0, "mensagem não consumida");
+        return tempo;
+    }
+
+    /**
+     * Empacota {@link PrimeiraMensagem} em um JAR: o AppCDS não aceita
+     * diretórios de classes no classpath.
+     */
+    private Path empacotarMedicao(Path diretorio) throws IOException {
+        Path jar = diretorio.resolve("medicao.jar");
+        Path classes = Paths.get(PrimeiraMensagem.class.getProtectionDomain().getCodeSource().getLocation().getPath());
+        String[] nomes = {
+            InicializacaoBenchmarkTest.class.getName().replace('.', '/') + ".class",
+            PrimeiraMensagem.class.getName().replace('.', '/') + ".class"
+        };
+        try (OutputStream arquivo = Files.newOutputStream(jar);
+             JarOutputStream destino = new JarOutputStream(arquivo)) {
+            for (String nome : nomes) {
+                destino.putNextEntry(new JarEntry(nome));
+                destino.write(Files.readAllBytes(classes.resolve(nome)));
+                destino.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    /**
+     * Sobe a aplicação e entrega uma mensagem de pagamento confirmado ao
+     * container da fila, como o broker faria. A solicitação não existe, e o
+     * consumidor apenas a procura no banco e registra o aviso.
+     */
+    public static class PrimeiraMensagem {
+
+        public static void main(String[] args) throws Exception {
+            SpringApplication aplicacao = new SpringApplication(SolicitacaoApplication.class);
+            // Com AOT, o inicializador gerado é procurado pela classe principal
+            aplicacao.setMainApplicationClass(SolicitacaoApplication.class);
+            ConfigurableApplicationContext contexto = aplicacao.run(args);
+            String fila = contexto.getEnvironment().getRequiredProperty("app.rabbitmq.queues.pagamento-confirmado");
+
+            AbstractMessageListenerContainer container = contexto.getBean(RabbitListenerEndpointRegistry.class)
+                .getListenerContainers().stream()
+                .map(AbstractMessageListenerContainer.class::cast)
+                .filter(c -> Arrays.asList(c.getQueueNames()).contains(fila))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Nenhum consumidor para a fila " + fila));
+
+            MessageProperties propriedades = new MessageProperties();
+            propriedades.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+            Message mensagem = new Message(("{\"solicitacaoId\":\"" + UUID.randomUUID() + "\"}")
+                .getBytes(StandardCharsets.UTF_8), propriedades);
+
+            Object listener = container.getMessageListener();
+            if (listener instanceof ChannelAwareMessageListener consumidor) {
+                consumidor.onMessage(mensagem, null);
+            } else {
+                ((MessageListener) listener).onMessage(mensagem);
+            }
+
+            System.out.println(MARCADOR);
+            System.exit(SpringApplication.exit(contexto));
+        }
+    }
+}
@@ -3,21 +3,27 @@ package com.itau.seguros.solicitacao.api.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.itau.seguros.solicitacao.api.dto.SolicitacaoRequestDTO;
 import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResumoDTO;
+import com.itau.seguros.solicitacao.application.service.CriacaoAssincronaService;
 import com.itau.seguros.solicitacao.application.service.SolicitacaoService;
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.infrastructure.messaging.FilaEventosCheiaException;
+import com.itau.seguros.solicitacao.infrastructure.streaming.StatusSubscriptionRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,6 +46,12 @@ public class SolicitacaoControllerTest {
     @MockBean
     private SolicitacaoService service;
     
+    @MockBean
+    private CriacaoAssincronaService criacaoAssincrona;
+    
+    @MockBean
+    private StatusSubscriptionRegistry subscriptionRegistry;
+    
     @Test
     public void testCriarSolicitacao() throws Exception {
         // Arrange
@@ -77,6 +89,59 @@ public class SolicitacaoControllerTest {
         verify(service).criarSolicitacao(any(SolicitacaoRequestDTO.class));
     }
     
+    @Test
+    public void testCriarSolicitacaoAssincrona() throws Exception {
+        // Arrange
+        SolicitacaoRequestDTO request = criarRequestDTO();
+        
+        UUID solicitacaoId = UUID.randomUUID();
+        SolicitacaoResponseDTO response = new SolicitacaoResponseDTO(
+            solicitacaoId,
+            request.customerId(),
+            request.productId(),
+            request.category(),
+            request.salesChannel(),
+            request.paymentMethod(),
+            StatusSolicitacao.RECEBIDO,
+            LocalDateTime.now(),
+            null,
+            request.totalMonthlyPremiumAmount(),
+            request.insuredAmount(),
+            request.coverages(),
+            request.assistances(),
+            Collections.emptyList()
+        );
+        
+        when(criacaoAssincrona.isAssincrona(request.salesChannel())).thenReturn(true);
+        when(criacaoAssincrona.aceitar(any(SolicitacaoRequestDTO.class))).thenReturn(response);
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/solicitacoes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string("Location", "/api/solicitacoes/" + solicitacaoId))
+            .andExpect(jsonPath("$.id").value(solicitacaoId.toString()))
+            .andExpect(jsonPath("$.status").value("RECEBIDO"));
+        
+        verify(service, never()).criarSolicitacao(any());
+    }
+    
+    @Test
+    public void testCriarSolicitacaoComFilaDeEventosCheia() throws Exception {
+        // Arrange
+        SolicitacaoRequestDTO request = criarRequestDTO();
+        when(service.criarSolicitacao(any(SolicitacaoRequestDTO.class)))
+            .thenThrow(new FilaEventosCheiaException("Fila em memória solicitacao.recebida.queue cheia"));
+        
+        // Act & Assert
+        mockMvc.perform(post("/api/solicitacoes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "1"));
+    }
+    
     @Test
     public void testCriarSolicitacaoInvalida() throws Exception {
         // Arrange
@@ -109,9 +174,9 @@ public class SolicitacaoControllerTest {
             StatusSolicitacao.VALIDADO,
             LocalDateTime.now(),
             null,
-            new BigDecimal("75.25"),
-            new BigDecimal("275000.50"),
-            Map.of("Roubo", new BigDecimal("100000.25")),
+            Dinheiro.parse("75.25"),
+            Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")),
             List.of("Guincho até 250km"),
             Collections.emptyList()
         );
@@ -158,9 +223,9 @@ public class SolicitacaoControllerTest {
                 StatusSolicitacao.VALIDADO,
                 LocalDateTime.now(),
                 null,
-                new BigDecimal("75.25"),
-                new BigDecimal("275000.50"),
-                Map.of("Roubo", new BigDecimal("100000.25")),
+                Dinheiro.parse("75.25"),
+                Dinheiro.parse("275000.50"),
+                Map.of("Roubo", Dinheiro.parse("100000.25")),
                 List.of("Guincho até 250km"),
                 Collections.emptyList()
             ),
@@ -174,9 +239,9 @@ public class SolicitacaoControllerTest {
                 StatusSolicitacao.PENDENTE,
                 LocalDateTime.now(),
                 null,
-                new BigDecimal("120.50"),
-                new BigDecimal("500000.00"),
-                Map.of("Morte", new BigDecimal("500000.00")),
+                Dinheiro.parse("120.50"),
+                Dinheiro.parse("500000.00"),
+                Map.of("Morte", Dinheiro.parse("500000.00")),
                 List.of("Assistência funeral"),
                 Collections.emptyList()
             )
@@ -196,6 +261,32 @@ public class SolicitacaoControllerTest {
         verify(service).buscarPorCustomerId(customerId);
     }
     
+    @Test
+    public void testListarResumo() throws Exception {
+        // Arrange
+        UUID customerId = UUID.randomUUID();
+        
+        List<SolicitacaoResumoDTO> resumos = List.of(
+            new SolicitacaoResumoDTO(UUID.randomUUID(), customerId, "produto-123", CategoriaSeguro.AUTO,
+                StatusSolicitacao.RECEBIDO, LocalDateTime.now(), null),
+            new SolicitacaoResumoDTO(UUID.randomUUID(), customerId, "produto-456", CategoriaSeguro.VIDA,
+                StatusSolicitacao.APROVADA, LocalDateTime.now().minusDays(1), LocalDateTime.now())
+        );
+        
+        when(service.listarResumoPorCustomerId(customerId)).thenReturn(resumos);
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/solicitacoes/resumo")
+                .param("customerId", customerId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].status").value("RECEBIDO"))
+            .andExpect(jsonPath("$[1].status").value("APROVADA"))
+            .andExpect(jsonPath("$[0].history").doesNotExist());
+        
+        verify(service).listarResumoPorCustomerId(customerId);
+    }
+    
     @Test
     public void testCancelarSolicitacao() throws Exception {
         // Arrange
@@ -212,9 +303,9 @@ public class SolicitacaoControllerTest {
             StatusSolicitacao.CANCELADA,
             LocalDateTime.now(),
             LocalDateTime.now(),
-            new BigDecimal("75.25"),
-            new BigDecimal("275000.50"),
-            Map.of("Roubo", new BigDecimal("100000.25")),
+            Dinheiro.parse("75.25"),
+            Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")),
             List.of("Guincho até 250km"),
             Collections.emptyList()
         );
@@ -246,6 +337,98 @@ public class SolicitacaoControllerTest {
         verify(service).cancelarSolicitacao(solicitacaoId);
     }
     
+    @Test
+    public void testAcompanharStatusEstadoFinal() throws Exception {
+        // Arrange
+        UUID solicitacaoId = UUID.randomUUID();
+        SseEmitter emitter = new SseEmitter();
+        
+        SolicitacaoResponseDTO response = new SolicitacaoResponseDTO(
+            solicitacaoId,
+            UUID.randomUUID(),
+            "produto-123",
+            CategoriaSeguro.AUTO,
+            "MOBILE",
+            "CREDIT_CARD",
+            StatusSolicitacao.CANCELADA,
+            LocalDateTime.now(),
+            LocalDateTime.now(),
+            Dinheiro.parse("75.25"),
+            Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")),
+            List.of("Guincho até 250km"),
+            List.of(
+                new SolicitacaoResponseDTO.HistoricoStatusDTO(StatusSolicitacao.RECEBIDO, LocalDateTime.now(), "Solicitação recebida"),
+                new SolicitacaoResponseDTO.HistoricoStatusDTO(StatusSolicitacao.CANCELADA, LocalDateTime.now(), "Cancelamento solicitado pelo cliente")
+            )
+        );
+        
+        when(subscriptionRegistry.assinar(solicitacaoId)).thenReturn(emitter);
+        when(service.buscarPorId(solicitacaoId)).thenReturn(Optional.of(response));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/solicitacoes/{id}/eventos", solicitacaoId)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted());
+        
+        verify(subscriptionRegistry, times(2)).enviar(eq(emitter), any());
+        verify(subscriptionRegistry).cancelar(solicitacaoId, emitter);
+    }
+    
+    @Test
+    public void testAcompanharStatusAceitaAindaNaoGravada() throws Exception {
+        // Arrange
+        UUID solicitacaoId = UUID.randomUUID();
+        SseEmitter emitter = new SseEmitter();
+        
+        SolicitacaoResponseDTO response = new SolicitacaoResponseDTO(
+            solicitacaoId,
+            UUID.randomUUID(),
+            "produto-123",
+            CategoriaSeguro.AUTO,
+            "MOBILE",
+            "CREDIT_CARD",
+            StatusSolicitacao.RECEBIDO,
+            LocalDateTime.now(),
+            null,
+            Dinheiro.parse("75.25"),
+            Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")),
+            List.of("Guincho até 250km"),
+            List.of(new SolicitacaoResponseDTO.HistoricoStatusDTO(StatusSolicitacao.RECEBIDO, LocalDateTime.now(), "Solicitação recebida"))
+        );
+        
+        when(subscriptionRegistry.assinar(solicitacaoId)).thenReturn(emitter);
+        when(service.buscarPorId(solicitacaoId)).thenReturn(Optional.empty());
+        when(criacaoAssincrona.buscarPendente(solicitacaoId)).thenReturn(Optional.of(response));
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/solicitacoes/{id}/eventos", solicitacaoId)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted());
+        
+        verify(subscriptionRegistry).enviar(eq(emitter), any());
+        verify(subscriptionRegistry, never()).cancelar(solicitacaoId, emitter);
+    }
+    
+    @Test
+    public void testAcompanharStatusNaoEncontrado() throws Exception {
+        // Arrange
+        UUID solicitacaoId = UUID.randomUUID();
+        SseEmitter emitter = new SseEmitter();
+        
+        when(subscriptionRegistry.assinar(solicitacaoId)).thenReturn(emitter);
+        when(service.buscarPorId(solicitacaoId)).thenReturn(Optional.empty());
+        
+        // Act & Assert
+        mockMvc.perform(get("/api/solicitacoes/{id}/eventos", solicitacaoId)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isNotFound());
+        
+        verify(subscriptionRegistry).cancelar(solicitacaoId, emitter);
+        verify(subscriptionRegistry, never()).enviar(any(), any());
+    }
+    
     /**
      * Método auxiliar para criar um DTO de requisição para testes.
      */
@@ -255,13 +438,13 @@ public class SolicitacaoControllerTest {
         CategoriaSeguro category = CategoriaSeguro.AUTO;
         String salesChannel = "MOBILE";
         String paymentMethod = "CREDIT_CARD";
-        BigDecimal totalMonthlyPremiumAmount = new BigDecimal("75.25");
-        BigDecimal insuredAmount = new BigDecimal("275000.50");
+        Dinheiro totalMonthlyPremiumAmount = Dinheiro.parse("75.25");
+        Dinheiro insuredAmount = Dinheiro.parse("275000.50");
         
-        Map<String, BigDecimal> coverages = new HashMap<>();
-        coverages.put("Roubo", new BigDecimal("100000.25"));
-        coverages.put("Perda Total", new BigDecimal("100000.25"));
-        coverages.put("Colisão com Terceiros", new BigDecimal("75000.00"));
+        Map<String, Dinheiro> coverages = new HashMap<>();
+        coverages.put("Roubo", Dinheiro.parse("100000.25"));
+        coverages.put("Perda Total", Dinheiro.parse("100000.25"));
+        coverages.put("Colisão com Terceiros", Dinheiro.parse("75000.00"));
         
         List<String> assistances = Arrays.asList("Guincho até 250km", "Troca de Óleo", "Chaveiro 24h");
         
@@ -0,0 +1,138 @@
+package com.itau.seguros.solicitacao.api.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark da leitura e validação do corpo de criação de solicitação.
+ *
+ * Compara o caminho anterior (deserialização padrão do record com
+ * BigDecimal, Bean Validation via {@code @Valid} e as duas passadas de
+ * validação de coberturas, reproduzidos em {@link RequisicaoAnterior}) com o {@link SolicitacaoRequestDeserializer}, que valida
+ * durante a leitura dos tokens. Mede tempo e bytes alocados por
+ * requisição, com um corpo típico e um com muitas coberturas.
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class SolicitacaoRequestDeserializerBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolicitacaoRequestDeserializerBenchmarkTest.class);
+
+    private static final int RODADAS = 5;
+    private static final int REQUISICOES = 50_000;
+
+    /**
+     * SolicitacaoRequestDTO como era antes da leitura em streaming e do
+     * tipo Dinheiro.
+     */
+    private record RequisicaoAnterior(
+        @NotNull UUID customerId,
+        @NotBlank String productId,
+        @NotNull CategoriaSeguro category,
+        @NotBlank String salesChannel,
+        @NotBlank String paymentMethod,
+        @NotNull @DecimalMin("0.01") @Digits(integer = 8, fraction = 2) BigDecimal totalMonthlyPremiumAmount,
+        @NotNull @DecimalMin("0.01") @Digits(integer = 10, fraction = 2) BigDecimal insuredAmount,
+        @NotNull @Size(min = 1) Map<String, BigDecimal> coverages,
+        @NotNull List<String> assistances
+    ) {
+
+        boolean isCoberturaValida() {
+            BigDecimal somaCoberturas = coverages.values().stream()
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            return somaCoberturas.compareTo(insuredAmount) <= 0;
+        }
+
+        boolean isValoresCoberturaValidos() {
+            return coverages.values().stream()
+                .allMatch(valor -> valor != null && valor.compareTo(BigDecimal.ZERO) > 0);
+        }
+    }
+
+    @Test
+    public void testLeituraEValidacao() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+
+            for (int coberturas : new int[] {3, 500}) {
+                byte[] corpo = corpo(coberturas);
+                Medicao anterior = medir(() -> {
+                    RequisicaoAnterior request = objectMapper.readValue(corpo, RequisicaoAnterior.class);
+                    if (!validator.validate(request).isEmpty()
+                        || !request.isCoberturaValida() || !request.isValoresCoberturaValidos()) {
+                        throw new IllegalStateException("requisição inválida");
+                    }
+                });
+                Medicao atual = medir(() -> objectMapper.readValue(corpo, SolicitacaoRequestDTO.class));
+
+                logger.info("Leitura e validação com {} coberturas: @Valid {}, streaming {}", coberturas, anterior, atual);
+
+                assertTrue(atual.nanos() < anterior.nanos(), "leitura com validação em streaming deveria ser mais rápida");
+                assertTrue(atual.bytes() < anterior.bytes(), "leitura com validação em streaming deveria alocar menos");
+            }
+        }
+    }
+
+    private interface Leitura {
+        void executar() throws Exception;
+    }
+
+    private Medicao medir(Leitura leitura) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        double melhorNanos = Double.MAX_VALUE;
+        double melhorBytes = Double.MAX_VALUE;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            long bytesAntes = threads.getThreadAllocatedBytes(thread);
+            long inicio = System.nanoTime();
+            for (int i = 0; i < REQUISICOES; i++) {
+                leitura.executar();
+            }
+            melhorNanos = Math.min(melhorNanos, (double) (System.nanoTime() - inicio) / REQUISICOES);
+            melhorBytes = Math.min(melhorBytes, (double) (threads.getThreadAllocatedBytes(thread) - bytesAntes) / REQUISICOES);
+        }
+        return new Medicao(melhorNanos, melhorBytes);
+    }
+
+    private static byte[] corpo(int coberturas) {
+        StringBuilder json = new StringBuilder("""
+            {"customerId":"adc56d77-348c-4bf0-908f-22d402ee715c",
+             "productId":"1b2da7cc-b367-4196-8a78-9cfeec21f587",
+             "category":"AUTO","salesChannel":"MOBILE","paymentMethod":"CREDIT_CARD",
+             "totalMonthlyPremiumAmount":75.25,"insuredAmount":9999999999.99,"coverages":{""");
+        for (int i = 0; i < coberturas; i++) {
+            json.append(i == 0 ? "" : ",").append("\"Cobertura ").append(i).append("\":").append(1000 + i).append(".25");
+        }
+        json.append("},\"assistances\":[\"Guincho até 250km\",\"Troca de Óleo\",\"Chaveiro 24h\"]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record Medicao(double nanos, double bytes) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f ns/%.0f B", nanos, bytes);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.itau.seguros.solicitacao.api.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a leitura validada de SolicitacaoRequestDTO.
+ *
+ * Verifica que o deserializador aplica as mesmas regras das anotações
+ * do DTO e das validações de coberturas, falhando na primeira violação.
+ */
+public class SolicitacaoRequestDeserializerTest {
+
+    private static final String VALIDA = """
+        {"customerId":"adc56d77-348c-4bf0-908f-22d402ee715c",
+         "productId":"1b2da7cc-b367-4196-8a78-9cfeec21f587",
+         "category":"AUTO","salesChannel":"MOBILE","paymentMethod":"CREDIT_CARD",
+         "totalMonthlyPremiumAmount":75.25,"insuredAmount":275000.50,
+         "coverages":{"Roubo":100000.25,"Perda Total":100000.25},
+         "assistances":["Guincho até 250km","Chaveiro 24h"],
+         "campoDesconhecido":{"ignorado":[1,2,3]}}
+        """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testLeRequisicaoValida() throws Exception {
+        // Act
+        SolicitacaoRequestDTO request = objectMapper.readValue(VALIDA, SolicitacaoRequestDTO.class);
+
+        // Assert
+        assertEquals(CategoriaSeguro.AUTO, request.category());
+        assertEquals("MOBILE", request.salesChannel());
+        assertEquals(Dinheiro.parse("275000.50"), request.insuredAmount());
+        assertEquals(List.of("Roubo", "Perda Total"), List.copyOf(request.coverages().keySet()));
+        assertEquals(2, request.assistances().size());
+    }
+
+    @Test
+    public void testRecusaCampoObrigatorioAusente() {
+        String semCanal = VALIDA.replace("\"salesChannel\":\"MOBILE\",", "");
+
+        MismatchedInputException e = assertThrows(MismatchedInputException.class,
+            () -> objectMapper.readValue(semCanal, SolicitacaoRequestDTO.class));
+        assertTrue(e.getOriginalMessage().contains("Canal de vendas é obrigatório"));
+    }
+
+    @Test
+    public void testRecusaCoberturasAcimaDoCapitalSegurado() {
+        // Coberturas antes do capital segurado: a soma é conferida assim que ele é lido
+        String excedente = """
+            {"coverages":{"Roubo":200000.00,"Perda Total":100000.00},"insuredAmount":275000.50}
+            """;
+
+        MismatchedInputException e = assertThrows(MismatchedInputException.class,
+            () -> objectMapper.readValue(excedente, SolicitacaoRequestDTO.class));
+        assertTrue(e.getOriginalMessage().contains("Soma das coberturas não pode exceder o capital segurado"));
+    }
+
+    @Test
+    public void testRecusaValoresInvalidos() {
+        String coberturaNegativa = VALIDA.replace("\"Roubo\":100000.25", "\"Roubo\":-1");
+        String muitosDecimais = VALIDA.replace("75.25", "75.255");
+
+        MismatchedInputException negativa = assertThrows(MismatchedInputException.class,
+            () -> objectMapper.readValue(coberturaNegativa, SolicitacaoRequestDTO.class));
+        assertTrue(negativa.getOriginalMessage().contains("Todos os valores de cobertura devem ser positivos"));
+
+        MismatchedInputException decimais = assertThrows(MismatchedInputException.class,
+            () -> objectMapper.readValue(muitosDecimais, SolicitacaoRequestDTO.class));
+        assertTrue(decimais.getOriginalMessage().contains("no máximo 8 dígitos inteiros e 2 decimais"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoArquivadaRepository;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.archive.ArquivoSolicitacoes;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.json.DinheiroModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o arquivamento de solicitações finalizadas.
+ *
+ * Verifica que apenas solicitações finalizadas saem das tabelas quentes
+ * e que o agregado completo pode ser lido de volta a partir do arquivo.
+ */
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ArquivamentoService.class, ArquivoSolicitacoes.class, StatusEventStore.class, DicionarioTermos.class,
+         DinheiroModule.class, ArquivamentoServiceTest.MetricasTestConfig.class})
+@TestPropertySource(properties = {
+    "app.archive.enabled=true",
+    "app.archive.tamanho-lote=2",
+    "app.archive.pausa-entre-lotes=0ms"
+})
+public class ArquivamentoServiceTest {
+
+    @Autowired
+    private ArquivamentoService arquivamentoService;
+
+    @Autowired
+    private ArquivoSolicitacoes arquivo;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private SolicitacaoArquivadaRepository arquivadaRepository;
+
+    @TestConfiguration
+    static class MetricasTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    public void testArquivarSomenteFinalizadas() {
+        // Arrange
+        SolicitacaoApolice ativa = repository.save(criarSolicitacao());
+
+        SolicitacaoApolice cancelada = criarSolicitacao();
+        cancelada.alterarStatus(StatusSolicitacao.CANCELADA, "Cancelamento solicitado pelo cliente");
+        cancelada = repository.save(cancelada);
+
+        for (int i = 0; i < 3; i++) {
+            SolicitacaoApolice outra = criarSolicitacao();
+            outra.alterarStatus(StatusSolicitacao.CANCELADA, "Cancelamento solicitado pelo cliente");
+            repository.save(outra);
+        }
+        repository.flush();
+
+        // Act
+        int arquivadas = arquivamentoService.arquivarFinalizadas(LocalDateTime.now().plusMinutes(1));
+
+        // Assert
+        assertEquals(4, arquivadas);
+        assertEquals(4, arquivadaRepository.count());
+        assertTrue(repository.findById(ativa.getId()).isPresent());
+        assertTrue(repository.findById(cancelada.getId()).isEmpty());
+
+        Optional<SolicitacaoResponseDTO> lida = arquivo.buscarPorId(cancelada.getId());
+        assertTrue(lida.isPresent());
+        assertEquals(StatusSolicitacao.CANCELADA, lida.get().status());
+        assertEquals(2, lida.get().history().size());
+        assertEquals(0, Dinheiro.parse("100000.25").compareTo(lida.get().coverages().get("Roubo")));
+    }
+
+    @Test
+    public void testNaoArquivarFinalizadasRecentes() {
+        // Arrange
+        SolicitacaoApolice cancelada = criarSolicitacao();
+        cancelada.alterarStatus(StatusSolicitacao.CANCELADA, "Cancelamento solicitado pelo cliente");
+        repository.saveAndFlush(cancelada);
+
+        // Act
+        int arquivadas = arquivamentoService.arquivarFinalizadas(LocalDateTime.now().minusDays(90));
+
+        // Assert
+        assertEquals(0, arquivadas);
+        assertEquals(0, arquivadaRepository.count());
+    }
+
+    /**
+     * Método auxiliar para criar uma solicitação para testes.
+     */
+    private SolicitacaoApolice criarSolicitacao() {
+        return new SolicitacaoApolice(
+            UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")
+        );
+    }
+}
@@ -0,0 +1,298 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoRequestDTO;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.json.DinheiroModule;
+import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventProducer;
+import com.itau.seguros.solicitacao.infrastructure.writebehind.WriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a criação assíncrona de solicitações.
+ *
+ * Verifica a gravação em lote das solicitações aceitas, a regravação a
+ * partir do log após uma queda, a separação das solicitações que o banco
+ * recusa, a repetição dos lotes que falham e a recusa com a fila cheia.
+ */
+public class CriacaoAssincronaServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final SolicitacaoRepository repository = mock(SolicitacaoRepository.class);
+    private final SolicitacaoEventProducer eventProducer = mock(SolicitacaoEventProducer.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+        .registerModule(new DinheiroModule());
+
+    private CriacaoAssincronaService service;
+
+    @AfterEach
+    public void encerrar() throws Exception {
+        if (service != null) {
+            service.encerrar();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAceitarGravaEmLoteEPublicaEventos() throws Exception {
+        // Arrange
+        service = iniciar(100);
+
+        // Act
+        SolicitacaoResponseDTO primeira = service.aceitar(criarRequestDTO());
+        SolicitacaoResponseDTO segunda = service.aceitar(criarRequestDTO());
+
+        // Assert
+        assertEquals(StatusSolicitacao.RECEBIDO, primeira.status());
+        assertNotEquals(primeira.id(), segunda.id());
+
+        // As duas podem sair no mesmo lote ou em lotes seguidos
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (service.buscarPendente(segunda.id()).isPresent() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+
+        ArgumentCaptor<List<SolicitacaoRecebidaEvent>> eventos = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer, atLeastOnce()).publicarEventos(eventos.capture());
+        verify(repository, atLeastOnce()).saveAll(anyList());
+        assertEquals(List.of(primeira.id(), segunda.id()), eventos.getAllValues().stream()
+            .flatMap(List::stream)
+            .map(SolicitacaoRecebidaEvent::getSolicitacaoId)
+            .toList());
+        assertTrue(service.buscarPendente(primeira.id()).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecuperaSolicitacoesAceitasDoLog() throws Exception {
+        // Arrange: uma solicitação aceita não gravada e outra gravada mas talvez não publicada
+        UUID naoGravada = UUID.randomUUID();
+        UUID gravada = UUID.randomUUID();
+        try (WriteAheadLog wal = new WriteAheadLog(diretorio, 1024 * 1024, false)) {
+            wal.escrever(registro(naoGravada));
+            wal.escrever(registro(gravada));
+        }
+
+        SolicitacaoRequestDTO request = criarRequestDTO();
+        SolicitacaoApolice existente = new SolicitacaoApolice(gravada, LocalDateTime.now(),
+            request.customerId(), request.productId(), request.category(), request.salesChannel(),
+            request.paymentMethod(), request.totalMonthlyPremiumAmount(), request.insuredAmount(),
+            request.coverages(), request.assistances());
+        when(repository.findById(naoGravada)).thenReturn(Optional.empty());
+        when(repository.findById(gravada)).thenReturn(Optional.of(existente));
+
+        // Act
+        service = iniciar(100);
+
+        // Assert
+        ArgumentCaptor<List<SolicitacaoApolice>> salvas = ArgumentCaptor.forClass(List.class);
+        verify(repository, timeout(5_000)).saveAll(salvas.capture());
+        assertEquals(List.of(naoGravada), salvas.getValue().stream().map(SolicitacaoApolice::getId).toList());
+
+        ArgumentCaptor<List<SolicitacaoRecebidaEvent>> eventos = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer, timeout(5_000).times(2)).publicarEventos(eventos.capture());
+        // O escritor já roda durante a recuperação: a ordem entre as duas publicações não é fixa
+        assertEquals(Set.of(gravada, naoGravada), eventos.getAllValues().stream()
+            .flatMap(List::stream)
+            .map(SolicitacaoRecebidaEvent::getSolicitacaoId)
+            .collect(Collectors.toSet()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecuperaLogMaiorQueACapacidade() throws Exception {
+        // Arrange: três solicitações no log para uma capacidade de uma
+        try (WriteAheadLog wal = new WriteAheadLog(diretorio, 1024 * 1024, false)) {
+            for (int i = 0; i < 3; i++) {
+                wal.escrever(registro(UUID.randomUUID()));
+            }
+        }
+        when(repository.findById(any())).thenReturn(Optional.empty());
+
+        // Act
+        service = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> iniciar(1));
+
+        // Assert
+        ArgumentCaptor<List<SolicitacaoApolice>> salvas = ArgumentCaptor.forClass(List.class);
+        verify(repository, timeout(5_000).times(3)).saveAll(salvas.capture());
+        assertEquals(3, salvas.getAllValues().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSeparaSolicitacaoRecusadaPeloBancoSemTravarAsDemais() throws Exception {
+        // Arrange: o banco recusa qualquer lote que contenha a solicitação do cliente inválido
+        UUID clienteInvalido = UUID.randomUUID();
+        when(repository.saveAll(anyList())).thenAnswer(inv -> {
+            List<SolicitacaoApolice> lote = inv.getArgument(0);
+            if (lote.stream().anyMatch(solicitacao -> clienteInvalido.equals(solicitacao.getCustomerId()))) {
+                throw new DataIntegrityViolationException("valor fora da restrição");
+            }
+            return lote;
+        });
+        service = iniciar(100);
+
+        // Act
+        SolicitacaoResponseDTO primeira = service.aceitar(criarRequestDTO(UUID.randomUUID()));
+        SolicitacaoResponseDTO recusada = service.aceitar(criarRequestDTO(clienteInvalido));
+        SolicitacaoResponseDTO terceira = service.aceitar(criarRequestDTO(UUID.randomUUID()));
+
+        // Assert
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((service.buscarPendente(recusada.id()).isPresent() || service.buscarPendente(terceira.id()).isPresent())
+               && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(service.buscarPendente(recusada.id()).isEmpty());
+        assertTrue(Files.exists(diretorio.resolve("descartadas").resolve(recusada.id() + ".json")));
+
+        ArgumentCaptor<List<SolicitacaoRecebidaEvent>> eventos = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer, timeout(5_000).atLeastOnce()).publicarEventos(eventos.capture());
+        assertEquals(List.of(primeira.id(), terceira.id()), eventos.getAllValues().stream()
+            .flatMap(List::stream)
+            .map(SolicitacaoRecebidaEvent::getSolicitacaoId)
+            .toList());
+    }
+
+    @Test
+    public void testLoteQueFalhaSegueAsDemaisAteSerGravado() throws Exception {
+        // Arrange: o banco recusa a solicitação do cliente inválido e o diretório de descartadas não pode ser criado
+        UUID clienteInvalido = UUID.randomUUID();
+        when(repository.saveAll(anyList())).thenAnswer(inv -> {
+            List<SolicitacaoApolice> lote = inv.getArgument(0);
+            if (lote.stream().anyMatch(solicitacao -> clienteInvalido.equals(solicitacao.getCustomerId()))) {
+                throw new DataIntegrityViolationException("valor fora da restrição");
+            }
+            return lote;
+        });
+        Path bloqueio = Files.createFile(diretorio.resolve("descartadas"));
+        service = iniciar(100);
+
+        // Act
+        SolicitacaoResponseDTO recusada = service.aceitar(criarRequestDTO(clienteInvalido));
+        SolicitacaoResponseDTO seguinte = service.aceitar(criarRequestDTO(UUID.randomUUID()));
+
+        // Assert: enquanto o lote não é resolvido, nada depois dele é confirmado
+        Thread.sleep(500);
+        assertTrue(service.buscarPendente(recusada.id()).isPresent());
+        assertTrue(service.buscarPendente(seguinte.id()).isPresent());
+
+        Files.delete(bloqueio);
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (service.buscarPendente(seguinte.id()).isPresent() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(service.buscarPendente(recusada.id()).isEmpty());
+        assertTrue(service.buscarPendente(seguinte.id()).isEmpty());
+        assertTrue(Files.exists(diretorio.resolve("descartadas").resolve(recusada.id() + ".json")));
+    }
+
+    @Test
+    public void testRepeteRegistroNoEventStoreAposFalha() throws Exception {
+        // Arrange
+        StatusEventStore statusEventStore = mock(StatusEventStore.class);
+        when(statusEventStore.isAtivo()).thenReturn(true);
+        when(statusEventStore.buscar(any())).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("log indisponível")).doNothing()
+            .when(statusEventStore).registrarCriacao(any(), any(), any());
+        service = iniciar(100, statusEventStore);
+
+        // Act
+        SolicitacaoResponseDTO aceita = service.aceitar(criarRequestDTO());
+
+        // Assert
+        verify(eventProducer, timeout(5_000)).publicarEventos(anyList());
+        verify(statusEventStore, times(2)).registrarCriacao(eq(aceita.id()), any(), any());
+    }
+
+    @Test
+    public void testRecusaComFilaCheia() throws Exception {
+        // Arrange: o escritor fica preso na primeira gravação
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(repository.saveAll(anyList())).thenAnswer(inv -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return inv.getArgument(0);
+        });
+        service = iniciar(1);
+        SolicitacaoResponseDTO aceita = service.aceitar(criarRequestDTO());
+
+        // Act & Assert
+        assertThrows(FilaEscritaCheiaException.class, () -> service.aceitar(criarRequestDTO()));
+        assertTrue(service.buscarPendente(aceita.id()).isPresent());
+
+        liberar.countDown();
+        verify(eventProducer, timeout(5_000)).publicarEventos(anyList());
+    }
+
+    private CriacaoAssincronaService iniciar(int capacidade) throws Exception {
+        return iniciar(capacidade, mock(StatusEventStore.class));
+    }
+
+    private CriacaoAssincronaService iniciar(int capacidade, StatusEventStore statusEventStore) throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+        CriacaoAssincronaService criacao = new CriacaoAssincronaService(repository, eventProducer,
+            statusEventStore, transactionTemplate, objectMapper, new SimpleMeterRegistry(),
+            true, List.of("mobile"), capacidade, 500, 2, diretorio.toString(), 1024 * 1024, false);
+        criacao.iniciar();
+        return criacao;
+    }
+
+    private byte[] registro(UUID id) throws Exception {
+        return objectMapper.writeValueAsBytes(
+            new CriacaoAssincronaService.RegistroAceito(id, LocalDateTime.now(), criarRequestDTO()));
+    }
+
+    private SolicitacaoRequestDTO criarRequestDTO() {
+        return criarRequestDTO(UUID.randomUUID());
+    }
+
+    private SolicitacaoRequestDTO criarRequestDTO(UUID customerId) {
+        return new SolicitacaoRequestDTO(
+            customerId,
+            "1b2da7cc-b367-4196-8a78-9cfeec21f587",
+            CategoriaSeguro.AUTO,
+            "MOBILE",
+            "CREDIT_CARD",
+            Dinheiro.parse("75.25"),
+            Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")),
+            List.of("Guincho até 250km")
+        );
+    }
+}
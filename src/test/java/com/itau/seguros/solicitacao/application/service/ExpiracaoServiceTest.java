@@ -0,0 +1,200 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.admission.ControleAdmissao;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes de integração para a expiração de solicitações paradas.
+ *
+ * Verifica que apenas solicitações em status não finais, criadas antes do
+ * limite, são expiradas ao longo de várias páginas da varredura, e que a
+ * expiração recua quando a API está sob carga.
+ */
+@DataJpaTest
+@Import({ExpiracaoService.class, TransicaoEmMassaService.class, StatusEventStore.class, DicionarioTermos.class,
+         ExpiracaoServiceTest.MetricasTestConfig.class})
+@TestPropertySource(properties = {
+    "app.expiracao.enabled=true",
+    "app.expiracao.tamanho-lote=2",
+    "app.expiracao.pausa-entre-lotes=0ms",
+    "app.expiracao.pausa-sob-carga=1ms",
+    "app.expiracao.espera-maxima-sob-carga=4ms"
+})
+public class ExpiracaoServiceTest {
+
+    @Autowired
+    private ExpiracaoService expiracaoService;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private TransicaoEmMassaService transicaoEmMassaService;
+
+    @MockBean
+    private ControleAdmissao controleAdmissao;
+
+    @TestConfiguration
+    static class MetricasTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    public void testExpirarSomenteParadasAntesDoLimite() {
+        // Arrange
+        List<SolicitacaoApolice> recebidas = List.of(salvarAntiga(), salvarAntiga(), salvarAntiga());
+        SolicitacaoApolice validada = salvarAntiga(StatusSolicitacao.VALIDADO);
+        SolicitacaoApolice pendente = salvarAntiga(StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE);
+        SolicitacaoApolice aprovada = salvarAntiga(StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE,
+                                                   StatusSolicitacao.APROVADA);
+        SolicitacaoApolice recente = repository.saveAndFlush(criarSolicitacao());
+        entityManager.clear();
+
+        // Act
+        int expiradas = expiracaoService.expirarParadas(LocalDateTime.now().minusDays(30));
+
+        // Assert
+        assertEquals(5, expiradas);
+        entityManager.clear();
+        for (SolicitacaoApolice solicitacao : recebidas) {
+            SolicitacaoApolice lida = repository.findById(solicitacao.getId()).orElseThrow();
+            assertEquals(StatusSolicitacao.EXPIRADA, lida.getStatus());
+            assertNotNull(lida.getFinishedAt());
+            assertFalse(repository.existsActiveSolicitacaoByCustomerId(lida.getCustomerId()));
+        }
+        assertEquals(StatusSolicitacao.EXPIRADA, repository.findById(validada.getId()).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.EXPIRADA, repository.findById(pendente.getId()).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.APROVADA, repository.findById(aprovada.getId()).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.RECEBIDO, repository.findById(recente.getId()).orElseThrow().getStatus());
+
+        assertEquals(3.0, registry.get("solicitacao.expiradas").tag("status", "recebido").counter().count());
+        assertEquals(0.0, registry.get("expiracao.defasagem").tag("status", "recebido").gauge().value());
+    }
+
+    @Test
+    public void testDefasagemMantidaAoPararNoLimiteDeLotes() {
+        // Arrange: um lote por execução, com três solicitações em páginas de duas
+        for (int i = 0; i < 3; i++) {
+            salvarAntiga();
+        }
+        entityManager.clear();
+        SimpleMeterRegistry metricas = new SimpleMeterRegistry();
+        ExpiracaoService umLote = new ExpiracaoService(repository, transicaoEmMassaService, controleAdmissao, metricas,
+            Duration.ofDays(30), 2, 1, Duration.ZERO, Duration.ofMillis(1), Duration.ofMillis(4));
+        LocalDateTime limite = LocalDateTime.now().minusDays(30);
+
+        // Act & Assert: a varredura parou no meio, a defasagem continua
+        assertEquals(2, umLote.expirarParadas(limite));
+        assertTrue(metricas.get("expiracao.defasagem").tag("status", "recebido").gauge().value() > 0);
+
+        // A execução seguinte chega ao fim da varredura
+        assertEquals(1, umLote.expirarParadas(limite));
+        assertEquals(0.0, metricas.get("expiracao.defasagem").tag("status", "recebido").gauge().value());
+    }
+
+    @Test
+    public void testAcumuloEmUmStatusNaoImpedeOsDemais() {
+        // Arrange: um lote por execução e mais recebidas do que cabem nele
+        for (int i = 0; i < 4; i++) {
+            salvarAntiga();
+        }
+        SolicitacaoApolice validada = salvarAntiga(StatusSolicitacao.VALIDADO);
+        SolicitacaoApolice pendente = salvarAntiga(StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE);
+        entityManager.clear();
+        ExpiracaoService umLote = new ExpiracaoService(repository, transicaoEmMassaService, controleAdmissao,
+            new SimpleMeterRegistry(), Duration.ofDays(30), 2, 1, Duration.ZERO, Duration.ofMillis(1),
+            Duration.ofMillis(4));
+        LocalDateTime limite = LocalDateTime.now().minusDays(30);
+
+        // Act
+        for (int execucao = 0; execucao < 3; execucao++) {
+            umLote.expirarParadas(limite);
+        }
+
+        // Assert: cada execução começou por um status diferente
+        entityManager.clear();
+        assertEquals(StatusSolicitacao.EXPIRADA, repository.findById(validada.getId()).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.EXPIRADA, repository.findById(pendente.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testRecuarComApiSobCarga() {
+        // Arrange
+        SolicitacaoApolice recebida = salvarAntiga();
+        entityManager.clear();
+        when(controleAdmissao.isSobCarga()).thenReturn(true);
+
+        // Act
+        int expiradas = expiracaoService.expirarParadas(LocalDateTime.now().minusDays(30));
+
+        // Assert
+        assertEquals(0, expiradas);
+        assertEquals(StatusSolicitacao.RECEBIDO, repository.findById(recebida.getId()).orElseThrow().getStatus());
+        assertTrue(registry.get("expiracao.adiamentos").counter().count() >= 1);
+    }
+
+    /**
+     * Método auxiliar que grava uma solicitação criada há 40 dias, após as
+     * transições informadas.
+     */
+    private SolicitacaoApolice salvarAntiga(StatusSolicitacao... transicoes) {
+        SolicitacaoApolice solicitacao = criarSolicitacao();
+        for (StatusSolicitacao status : transicoes) {
+            solicitacao.alterarStatus(status, null);
+        }
+        repository.saveAndFlush(solicitacao);
+        jdbcTemplate.update("UPDATE solicitacao_apolice SET created_at = ? WHERE id = ?",
+                            LocalDateTime.now().minusDays(40), solicitacao.getId());
+        return solicitacao;
+    }
+
+    /**
+     * Método auxiliar para criar uma solicitação para testes.
+     */
+    private SolicitacaoApolice criarSolicitacao() {
+        return new SolicitacaoApolice(
+            UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")
+        );
+    }
+}
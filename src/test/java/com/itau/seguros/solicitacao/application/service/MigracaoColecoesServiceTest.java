@@ -0,0 +1,134 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o armazenamento compacto de coleções.
+ *
+ * Verifica que novas solicitações não gravam linhas nas tabelas de
+ * coleções e que as solicitações anteriores são migradas para a coluna
+ * compacta sem perder coberturas e assistências.
+ */
+@DataJpaTest
+@Import({MigracaoColecoesService.class, DicionarioTermos.class, MigracaoColecoesServiceTest.MetricasTestConfig.class})
+@TestPropertySource(properties = {
+    "app.colecoes-compactas.enabled=true",
+    "app.colecoes-compactas.migracao.tamanho-lote=2",
+    "app.colecoes-compactas.migracao.pausa-entre-lotes=0ms"
+})
+public class MigracaoColecoesServiceTest {
+
+    @Autowired
+    private MigracaoColecoesService migracaoService;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class MetricasTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    public void testNovaSolicitacaoGravadaNaColunaCompacta() {
+        // Arrange
+        SolicitacaoApolice solicitacao = new SolicitacaoApolice(
+            UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25"), "Perda Total", Dinheiro.parse("100000.25")),
+            List.of("Guincho até 250km", "Troca de Óleo")
+        );
+
+        // Act
+        repository.saveAndFlush(solicitacao);
+        entityManager.clear();
+        SolicitacaoApolice lida = repository.findById(solicitacao.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(0, contarLinhasColecoes());
+        assertTrue(lida.isColecoesCompactas());
+        assertEquals(solicitacao.getCoverages(), lida.getCoverages());
+        assertEquals(List.of("Guincho até 250km", "Troca de Óleo"), lida.getAssistances());
+    }
+
+    @Test
+    public void testMigrarSolicitacoesAnteriores() {
+        // Arrange
+        UUID[] ids = new UUID[3];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = inserirSolicitacaoAnterior();
+        }
+        assertEquals(9, contarLinhasColecoes());
+
+        // Act
+        int migradas = migracaoService.migrar();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(3, migradas);
+        assertEquals(0, contarLinhasColecoes());
+        assertEquals(0, migracaoService.migrar());
+        for (UUID id : ids) {
+            SolicitacaoApolice lida = repository.findById(id).orElseThrow();
+            assertTrue(lida.isColecoesCompactas());
+            assertEquals(Map.of("Roubo", Dinheiro.parse("100000.25"), "Perda Total", Dinheiro.parse("50000.00")),
+                lida.getCoverages());
+            assertEquals(List.of("Guincho até 250km"), lida.getAssistances());
+        }
+    }
+
+    /**
+     * Insere uma solicitação com as coleções nas tabelas, como gravada
+     * antes do armazenamento compacto.
+     */
+    private UUID inserirSolicitacaoAnterior() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+            INSERT INTO solicitacao_apolice (id, customer_id, product_id, category, sales_channel, payment_method,
+                total_monthly_premium_amount, insured_amount, status, created_at)
+            VALUES (?, ?, 'produto-123', 'AUTO', 'MOBILE', 'CREDIT_CARD', 75.25, 275000.50, 'RECEBIDO', ?)
+            """, id, UUID.randomUUID(), LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO solicitacao_coberturas (solicitacao_id, cobertura_nome, cobertura_valor) "
+            + "VALUES (?, 'Roubo', 100000.25), (?, 'Perda Total', 50000.00)", id, id);
+        jdbcTemplate.update("INSERT INTO solicitacao_assistencias (solicitacao_id, assistencia) "
+            + "VALUES (?, 'Guincho até 250km')", id);
+        return id;
+    }
+
+    private int contarLinhasColecoes() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM solicitacao_coberturas", Integer.class)
+            + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM solicitacao_assistencias", Integer.class);
+    }
+}
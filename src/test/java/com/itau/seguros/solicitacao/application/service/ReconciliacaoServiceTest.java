@@ -0,0 +1,210 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoEvent;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoValidadaEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.CheckpointReconciliacao;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.model.TentativaReconciliacao;
+import com.itau.seguros.solicitacao.domain.repository.CheckpointReconciliacaoRepository;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.domain.repository.TentativaReconciliacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventProducer;
+import com.itau.seguros.solicitacao.infrastructure.ratelimit.InMemoryTokenBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes de integração para a reconciliação de solicitações paradas.
+ *
+ * Verifica que apenas solicitações paradas além do SLA têm o evento
+ * republicado, ao longo de várias páginas da varredura, que a execução
+ * seguinte continua da posição salva, e que as tentativas com falha são
+ * refeitas enquanto a solicitação continuar parada.
+ */
+@DataJpaTest
+@Import({ReconciliacaoService.class, StatusEventStore.class, DicionarioTermos.class, InMemoryTokenBucketStore.class,
+         ReconciliacaoServiceTest.MetricasTestConfig.class})
+@TestPropertySource(properties = {
+    "app.reconciliacao.enabled=true",
+    "app.reconciliacao.sla.recebido=5m",
+    "app.reconciliacao.sla.validado=1h",
+    "app.reconciliacao.tamanho-lote=2",
+    "app.reconciliacao.max-tentativas=2",
+    "app.reconciliacao.taxa=1000/1000"
+})
+public class ReconciliacaoServiceTest {
+
+    @Autowired
+    private ReconciliacaoService reconciliacaoService;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private TentativaReconciliacaoRepository tentativaRepository;
+
+    @Autowired
+    private CheckpointReconciliacaoRepository checkpointRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @MockBean
+    private SolicitacaoEventProducer eventProducer;
+
+    @TestConfiguration
+    static class MetricasTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    public void testRepublicarSomenteParadasAlemDoSla() {
+        // Arrange
+        List<SolicitacaoApolice> recebidas = List.of(salvarParada(10), salvarParada(10), salvarParada(10));
+        SolicitacaoApolice recebidaRecente = salvarParada(1);
+        SolicitacaoApolice validada = salvarParada(90, StatusSolicitacao.VALIDADO);
+        SolicitacaoApolice validadaRecente = salvarParada(30, StatusSolicitacao.VALIDADO);
+        SolicitacaoApolice pendente = salvarParada(90, StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE);
+        entityManager.clear();
+
+        // Act
+        int republicadas = reconciliacaoService.reconciliar(LocalDateTime.now());
+
+        // Assert
+        assertEquals(4, republicadas);
+        List<SolicitacaoEvent> eventos = eventosPublicados();
+        Set<UUID> recebidasRepublicadas = eventos.stream()
+            .filter(SolicitacaoRecebidaEvent.class::isInstance)
+            .map(SolicitacaoEvent::getSolicitacaoId)
+            .collect(Collectors.toSet());
+        assertEquals(recebidas.stream().map(SolicitacaoApolice::getId).collect(Collectors.toSet()),
+                     recebidasRepublicadas);
+        SolicitacaoEvent evento = eventos.stream()
+            .filter(SolicitacaoValidadaEvent.class::isInstance)
+            .findFirst().orElseThrow();
+        assertEquals(validada.getId(), evento.getSolicitacaoId());
+        assertEquals(validada.getInsuredAmount(), evento.getInsuredAmount());
+
+        for (SolicitacaoApolice solicitacao : List.of(recebidaRecente, validadaRecente, pendente)) {
+            assertTrue(tentativaRepository.findBySolicitacaoIdOrderByNumero(solicitacao.getId()).isEmpty());
+        }
+        TentativaReconciliacao tentativa = tentativaRepository
+            .findBySolicitacaoIdOrderByNumero(validada.getId()).get(0);
+        assertEquals(1, tentativa.getNumero());
+        assertTrue(tentativa.isSucesso());
+        assertEquals("SOLICITACAO_VALIDADA", tentativa.getEvento());
+        assertNotNull(tentativa.getProximaTentativa());
+
+        CheckpointReconciliacao checkpoint = checkpointRepository.findById(StatusSolicitacao.RECEBIDO).orElseThrow();
+        assertFalse(checkpoint.getTimestamp().isAfter(LocalDateTime.now().minusMinutes(5)));
+        assertEquals(3.0, registry.get("reconciliacao.republicadas").tag("status", "recebido").counter().count());
+
+        // Execução seguinte: parte da posição salva, sem republicar de novo
+        clearInvocations(eventProducer);
+        assertEquals(0, reconciliacaoService.reconciliar(LocalDateTime.now()));
+        verify(eventProducer, never()).publicarEventos(anyList());
+    }
+
+    @Test
+    public void testRefazerTentativasComFalhaEnquantoParada() {
+        // Arrange
+        SolicitacaoApolice parada = salvarParada(10);
+        SolicitacaoApolice destravada = salvarParada(10);
+        entityManager.clear();
+        doThrow(new RuntimeException("Falha ao publicar lote de eventos"))
+            .when(eventProducer).publicarEventos(anyList());
+
+        // Act
+        LocalDateTime agora = LocalDateTime.now();
+        int republicadas = reconciliacaoService.reconciliar(agora);
+
+        // Assert
+        assertEquals(0, republicadas);
+        TentativaReconciliacao falha = tentativaRepository.findBySolicitacaoIdOrderByNumero(parada.getId()).get(0);
+        assertFalse(falha.isSucesso());
+        assertEquals("Falha ao publicar lote de eventos", falha.getErro());
+        assertEquals(agora.plusMinutes(5), falha.getProximaTentativa());
+
+        // Antes do vencimento nada é refeito; depois, só a que continua parada
+        reset(eventProducer);
+        assertEquals(0, reconciliacaoService.reconciliar(agora.plusMinutes(1)));
+        jdbcTemplate.update("UPDATE solicitacao_apolice SET status = 'VALIDADO' WHERE id = ?", destravada.getId());
+        entityManager.clear();
+        assertEquals(1, reconciliacaoService.reconciliar(agora.plusMinutes(6)));
+        assertEquals(List.of(parada.getId()),
+                     eventosPublicados().stream().map(SolicitacaoEvent::getSolicitacaoId).toList());
+
+        entityManager.clear();
+        List<TentativaReconciliacao> tentativas = tentativaRepository.findBySolicitacaoIdOrderByNumero(parada.getId());
+        assertEquals(2, tentativas.size());
+        assertNull(tentativas.get(0).getProximaTentativa());
+        // Segunda e última tentativa
+        assertTrue(tentativas.get(1).isSucesso());
+        assertNull(tentativas.get(1).getProximaTentativa());
+        assertNull(tentativaRepository.findBySolicitacaoIdOrderByNumero(destravada.getId()).get(0).getProximaTentativa());
+        assertEquals(1.0, registry.get("reconciliacao.esgotadas").counter().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SolicitacaoEvent> eventosPublicados() {
+        ArgumentCaptor<List<SolicitacaoEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(eventProducer, atLeastOnce()).publicarEventos(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Método auxiliar que grava uma solicitação após as transições
+     * informadas, com o histórico recuado em minutos.
+     */
+    private SolicitacaoApolice salvarParada(int minutos, StatusSolicitacao... transicoes) {
+        SolicitacaoApolice solicitacao = new SolicitacaoApolice(
+            UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")
+        );
+        for (StatusSolicitacao status : transicoes) {
+            solicitacao.alterarStatus(status, null);
+        }
+        repository.saveAndFlush(solicitacao);
+        jdbcTemplate.update("UPDATE historico_status SET timestamp = ? WHERE solicitacao_id = ?",
+                            LocalDateTime.now().minusMinutes(minutos), solicitacao.getId());
+        return solicitacao;
+    }
+}
@@ -0,0 +1,184 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.messaging.FiltroDlq;
+import com.itau.seguros.solicitacao.infrastructure.messaging.GerenciadorDlq;
+import com.itau.seguros.solicitacao.infrastructure.messaging.GerenciadorDlq.Destino;
+import com.itau.seguros.solicitacao.infrastructure.messaging.MensagemDlq;
+import com.itau.seguros.solicitacao.infrastructure.ratelimit.InMemoryTokenBucketStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o reprocessamento das DLQs.
+ *
+ * Verifica que apenas as mensagens ainda não processadas são republicadas,
+ * que as que não atendem ao filtro ficam na DLQ, e que o reprocessamento
+ * para enquanto pausado e continua ao ser retomado.
+ */
+public class ReprocessamentoDlqServiceTest {
+
+    private static final String FILA = "solicitacao.recebida.queue";
+    private static final String RECEBIDA = "SOLICITACAO_RECEBIDA";
+
+    private GerenciadorDlq gerenciadorDlq;
+    private SolicitacaoRepository repository;
+    private SimpleMeterRegistry registry;
+    private ReprocessamentoDlqService service;
+
+    private final Deque<MensagemDlq> dlq = new ArrayDeque<>();
+    private final List<Destino> destinos = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        gerenciadorDlq = mock(GerenciadorDlq.class);
+        repository = mock(SolicitacaoRepository.class);
+        StatusEventStore statusEventStore = mock(StatusEventStore.class);
+        registry = new SimpleMeterRegistry();
+        service = new ReprocessamentoDlqService(gerenciadorDlq,
+            new StatusSolicitacaoService(repository, statusEventStore),
+            new InMemoryTokenBucketStore(), registry,
+            FILA, "solicitacao.recebida.alta.queue", "solicitacao.recebida.baixa.queue",
+            "pagamento.confirmado.queue", "subscricao.autorizada.queue", "1000/1000");
+
+        when(gerenciadorDlq.contar(FILA)).thenAnswer(invocation -> (long) dlq.size());
+        when(gerenciadorDlq.encaminharProxima(eq(FILA), any())).thenAnswer(invocation -> {
+            MensagemDlq mensagem = dlq.poll();
+            if (mensagem == null) {
+                return Optional.empty();
+            }
+            Destino destino = invocation.<Function<MensagemDlq, Destino>>getArgument(1).apply(mensagem);
+            destinos.add(destino);
+            return Optional.of(destino);
+        });
+    }
+
+    @Test
+    public void testRepublicarSomenteMensagensNaoProcessadas() {
+        // Arrange
+        UUID parada = salvar();
+        UUID validada = salvar(StatusSolicitacao.VALIDADO);
+        UUID removida = UUID.randomUUID();
+        dlq.add(mensagem(RECEBIDA, parada));
+        dlq.add(mensagem(RECEBIDA, parada));
+        dlq.add(mensagem(RECEBIDA, validada));
+        dlq.add(mensagem(RECEBIDA, removida));
+        dlq.add(mensagem("SOLICITACAO_VALIDADA", parada));
+
+        // Act
+        ReprocessamentoDlq reprocessamento = service.iniciar(FILA, new FiltroDlq(RECEBIDA, null), null);
+        esperar(() -> reprocessamento.getSituacao().isFinal());
+
+        // Assert
+        assertEquals(ReprocessamentoDlq.Situacao.CONCLUIDO, reprocessamento.getSituacao());
+        assertEquals(List.of(Destino.REPUBLICAR, Destino.DESCARTAR, Destino.DESCARTAR, Destino.DESCARTAR, Destino.MANTER),
+                     destinos);
+        assertEquals(5, reprocessamento.getLidas());
+        assertEquals(1, reprocessamento.getRepublicadas());
+        assertEquals(1, reprocessamento.getDuplicadas());
+        assertEquals(2, reprocessamento.getJaProcessadas());
+        assertEquals(1, reprocessamento.getMantidas());
+        assertEquals(1.0, registry.get("mensageria.dlq.reprocessadas")
+            .tag("fila", FILA).tag("destino", "republicar").counter().count());
+    }
+
+    @Test
+    public void testPausarERetomarReprocessamento() throws InterruptedException {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            dlq.add(mensagem(RECEBIDA, salvar()));
+        }
+        // Segura a segunda leitura até a pausa ser pedida
+        CountDownLatch segundaLeitura = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(gerenciadorDlq.encaminharProxima(eq(FILA), any())).thenAnswer(invocation -> {
+            if (dlq.size() < 4) {
+                segundaLeitura.countDown();
+                liberar.await(5, TimeUnit.SECONDS);
+            }
+            MensagemDlq mensagem = dlq.poll();
+            return mensagem == null
+                ? Optional.empty()
+                : Optional.of(invocation.<Function<MensagemDlq, Destino>>getArgument(1).apply(mensagem));
+        });
+
+        // Act
+        ReprocessamentoDlq reprocessamento = service.iniciar(FILA, FiltroDlq.TODAS, null);
+        assertTrue(segundaLeitura.await(5, TimeUnit.SECONDS));
+        assertEquals(1, reprocessamento.getLidas());
+        service.pausar(reprocessamento.getId()).orElseThrow();
+        liberar.countDown();
+
+        // Assert: a mensagem em andamento termina e nenhuma outra é lida
+        esperar(() -> reprocessamento.getLidas() == 2);
+        Thread.sleep(100);
+        assertEquals(2, reprocessamento.getLidas());
+        assertEquals(ReprocessamentoDlq.Situacao.PAUSADO, reprocessamento.getSituacao());
+        assertThrows(IllegalStateException.class, () -> service.iniciar(FILA, FiltroDlq.TODAS, null));
+
+        service.retomar(reprocessamento.getId()).orElseThrow();
+        esperar(() -> reprocessamento.getSituacao().isFinal());
+        assertEquals(ReprocessamentoDlq.Situacao.CONCLUIDO, reprocessamento.getSituacao());
+        assertEquals(4, reprocessamento.getRepublicadas());
+        assertThrows(IllegalStateException.class, () -> service.cancelar(reprocessamento.getId()));
+    }
+
+    /**
+     * Método auxiliar que aguarda, por até 5 segundos, a condição do
+     * reprocessamento em segundo plano.
+     */
+    private void esperar(BooleanSupplier condicao) {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            assertTrue(System.nanoTime() < limite, "Condição não atingida a tempo");
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Método auxiliar que registra no repositório uma solicitação após as
+     * transições informadas.
+     */
+    private UUID salvar(StatusSolicitacao... transicoes) {
+        SolicitacaoApolice solicitacao = new SolicitacaoApolice(
+            UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")
+        );
+        for (StatusSolicitacao status : transicoes) {
+            solicitacao.alterarStatus(status, null);
+        }
+        UUID id = UUID.randomUUID();
+        when(repository.findById(id)).thenReturn(Optional.of(solicitacao));
+        return id;
+    }
+
+    private MensagemDlq mensagem(String tipoEvento, UUID solicitacaoId) {
+        return new MensagemDlq(0, UUID.randomUUID().toString(), tipoEvento, solicitacaoId, FILA, 3,
+            "java.util.NoSuchElementException", "ainda não gravada", null, "{}");
+    }
+}
@@ -4,12 +4,17 @@ import com.itau.seguros.solicitacao.api.dto.FraudeResponseDTO;
 import com.itau.seguros.solicitacao.api.dto.SolicitacaoRequestDTO;
 import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
 import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoValidadaEvent;
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
 import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
 import com.itau.seguros.solicitacao.domain.model.TipoCliente;
 import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
 import com.itau.seguros.solicitacao.domain.rule.RegraValidacaoCliente;
+import com.itau.seguros.solicitacao.infrastructure.archive.ArquivoSolicitacoes;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
 import com.itau.seguros.solicitacao.infrastructure.external.ApiFraudesClient;
 import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventProducer;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,13 +26,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -52,6 +58,15 @@ public class SolicitacaoServiceTest {
     @Mock
     private SolicitacaoEventProducer eventProducer;
     
+    @Mock
+    private ArquivoSolicitacoes arquivo;
+    
+    @Mock
+    private StatusEventStore statusEventStore;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @Captor
     private ArgumentCaptor<SolicitacaoApolice> solicitacaoCaptor;
     
@@ -62,7 +77,8 @@ public class SolicitacaoServiceTest {
     
     @BeforeEach
     public void setup() {
-        service = new SolicitacaoService(repository, apiFraudesClient, regraValidacao, eventProducer);
+        service = new SolicitacaoService(repository, apiFraudesClient, regraValidacao, eventProducer, arquivo, statusEventStore,
+                                         new StatusSolicitacaoService(repository, statusEventStore), eventPublisher);
     }
     
     @Test
@@ -119,7 +135,7 @@ public class SolicitacaoServiceTest {
         when(solicitacao.getCustomerId()).thenReturn(customerId);
         when(solicitacao.getProductId()).thenReturn("produto-123");
         when(solicitacao.getCategory()).thenReturn(CategoriaSeguro.AUTO);
-        when(solicitacao.getInsuredAmount()).thenReturn(new BigDecimal("250000.00"));
+        when(solicitacao.getInsuredAmount()).thenReturn(Dinheiro.parse("250000.00"));
         when(solicitacao.getStatus()).thenReturn(StatusSolicitacao.RECEBIDO);
         
         when(repository.findById(solicitacaoId)).thenReturn(Optional.of(solicitacao));
@@ -138,7 +154,7 @@ public class SolicitacaoServiceTest {
         when(regraValidacao.validarCapitalSegurado(
             TipoCliente.REGULAR, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("250000.00")
+            Dinheiro.parse("250000.00")
         )).thenReturn(true);
         
         // Act
@@ -150,6 +166,34 @@ public class SolicitacaoServiceTest {
         verify(eventProducer).publicarEvento(any());
     }
     
+    @Test
+    public void testProcessarValidacaoAprovadaComEventStore() {
+        // Arrange
+        UUID solicitacaoId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        
+        SolicitacaoApolice solicitacao = mock(SolicitacaoApolice.class);
+        when(solicitacao.getId()).thenReturn(solicitacaoId);
+        when(solicitacao.getCustomerId()).thenReturn(customerId);
+        when(solicitacao.getCategory()).thenReturn(CategoriaSeguro.AUTO);
+        when(solicitacao.getInsuredAmount()).thenReturn(Dinheiro.parse("250000.00"));
+        
+        when(statusEventStore.isAtivo()).thenReturn(true);
+        when(repository.findById(solicitacaoId)).thenReturn(Optional.of(solicitacao));
+        when(apiFraudesClient.consultarClassificacaoRisco(solicitacaoId, customerId))
+            .thenReturn(new FraudeResponseDTO(solicitacaoId, customerId, LocalDateTime.now(), TipoCliente.REGULAR, Collections.emptyList()));
+        when(regraValidacao.validarCapitalSegurado(any(), any(), any())).thenReturn(true);
+        
+        // Act
+        service.processarValidacao(solicitacaoId);
+        
+        // Assert
+        verify(statusEventStore).transicionar(solicitacaoId, StatusSolicitacao.VALIDADO, "Validação aprovada pela API de Fraudes");
+        verify(solicitacao, never()).alterarStatus(any(), any());
+        verify(repository, never()).save(any());
+        verify(eventProducer).publicarEvento(any());
+    }
+    
     @Test
     public void testProcessarValidacaoRejeitada() {
         // Arrange
@@ -161,7 +205,7 @@ public class SolicitacaoServiceTest {
         when(solicitacao.getCustomerId()).thenReturn(customerId);
         when(solicitacao.getProductId()).thenReturn("produto-123");
         when(solicitacao.getCategory()).thenReturn(CategoriaSeguro.AUTO);
-        when(solicitacao.getInsuredAmount()).thenReturn(new BigDecimal("350000.01"));
+        when(solicitacao.getInsuredAmount()).thenReturn(Dinheiro.parse("350000.01"));
         when(solicitacao.getStatus()).thenReturn(StatusSolicitacao.RECEBIDO);
         
         when(repository.findById(solicitacaoId)).thenReturn(Optional.of(solicitacao));
@@ -180,14 +224,14 @@ public class SolicitacaoServiceTest {
         when(regraValidacao.validarCapitalSegurado(
             TipoCliente.REGULAR, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("350000.01")
+            Dinheiro.parse("350000.01")
         )).thenReturn(false);
         
         String mensagemRejeicao = "Capital segurado excede limite";
         when(regraValidacao.obterMensagemRejeicao(
             TipoCliente.REGULAR, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("350000.01")
+            Dinheiro.parse("350000.01")
         )).thenReturn(mensagemRejeicao);
         
         // Act
@@ -199,6 +243,79 @@ public class SolicitacaoServiceTest {
         verify(eventProducer).publicarEvento(any());
     }
     
+    @Test
+    public void testProcessarValidacaoPeloEvento() {
+        // Arrange
+        UUID solicitacaoId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        SolicitacaoRecebidaEvent recebida = new SolicitacaoRecebidaEvent(
+            solicitacaoId, customerId, "produto-123", CategoriaSeguro.AUTO, Dinheiro.parse("250000.00"), "MOBILE");
+        
+        when(apiFraudesClient.consultarClassificacaoRisco(solicitacaoId, customerId))
+            .thenReturn(new FraudeResponseDTO(solicitacaoId, customerId, LocalDateTime.now(), TipoCliente.REGULAR, Collections.emptyList()));
+        when(regraValidacao.validarCapitalSegurado(TipoCliente.REGULAR, CategoriaSeguro.AUTO, Dinheiro.parse("250000.00")))
+            .thenReturn(true);
+        when(repository.atualizarStatusSeAtual(solicitacaoId, StatusSolicitacao.RECEBIDO, StatusSolicitacao.VALIDADO, null))
+            .thenReturn(1);
+        
+        // Act
+        service.processarValidacao(recebida);
+        
+        // Assert
+        verify(repository, never()).findById(any());
+        verify(repository).inserirHistorico(eq(solicitacaoId), eq("VALIDADO"), any(LocalDateTime.class),
+            eq("Validação aprovada pela API de Fraudes"));
+        verify(eventPublisher).publishEvent(any(StatusAlteradoEvent.class));
+        
+        ArgumentCaptor<SolicitacaoValidadaEvent> validada = ArgumentCaptor.forClass(SolicitacaoValidadaEvent.class);
+        verify(eventProducer).publicarEvento(validada.capture());
+        assertEquals(solicitacaoId, validada.getValue().getSolicitacaoId());
+        assertEquals("produto-123", validada.getValue().getProductId());
+        assertEquals(TipoCliente.REGULAR, validada.getValue().getTipoCliente());
+    }
+    
+    @Test
+    public void testProcessarValidacaoPeloEventoJaProcessado() {
+        // Arrange: entrega repetida, a solicitação já saiu de RECEBIDO
+        UUID solicitacaoId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        SolicitacaoRecebidaEvent recebida = new SolicitacaoRecebidaEvent(
+            solicitacaoId, customerId, "produto-123", CategoriaSeguro.AUTO, Dinheiro.parse("250000.00"), "MOBILE");
+        
+        when(apiFraudesClient.consultarClassificacaoRisco(solicitacaoId, customerId))
+            .thenReturn(new FraudeResponseDTO(solicitacaoId, customerId, LocalDateTime.now(), TipoCliente.REGULAR, Collections.emptyList()));
+        when(regraValidacao.validarCapitalSegurado(any(), any(), any())).thenReturn(true);
+        when(repository.atualizarStatusSeAtual(any(), any(), any(), any())).thenReturn(0);
+        
+        // Act
+        service.processarValidacao(recebida);
+        
+        // Assert
+        verify(repository, never()).inserirHistorico(any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(eventProducer, never()).publicarEvento(any());
+    }
+    
+    @Test
+    public void testProcessarValidacaoPeloEventoAindaForaDoEventStore() {
+        // Arrange: evento entregue antes do registro da criação no event store
+        UUID solicitacaoId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        SolicitacaoRecebidaEvent recebida = new SolicitacaoRecebidaEvent(
+            solicitacaoId, customerId, "produto-123", CategoriaSeguro.AUTO, Dinheiro.parse("250000.00"), "MOBILE");
+        
+        when(statusEventStore.isAtivo()).thenReturn(true);
+        when(statusEventStore.transicionarSeAtual(any(), any(), any(), any()))
+            .thenThrow(new NoSuchElementException("Solicitação " + solicitacaoId + " não registrada no event store"));
+        when(apiFraudesClient.consultarClassificacaoRisco(solicitacaoId, customerId))
+            .thenReturn(new FraudeResponseDTO(solicitacaoId, customerId, LocalDateTime.now(), TipoCliente.REGULAR, Collections.emptyList()));
+        when(regraValidacao.validarCapitalSegurado(any(), any(), any())).thenReturn(true);
+        
+        // Act & Assert: falha retentável, sem publicar a validação
+        assertThrows(NoSuchElementException.class, () -> service.processarValidacao(recebida));
+        verify(eventProducer, never()).publicarEvento(any());
+    }
+    
     @Test
     public void testBuscarPorId() {
         // Arrange
@@ -219,6 +336,28 @@ public class SolicitacaoServiceTest {
         assertEquals(StatusSolicitacao.VALIDADO, resultado.get().status());
     }
     
+    @Test
+    public void testBuscarPorIdArquivada() {
+        // Arrange
+        UUID solicitacaoId = UUID.randomUUID();
+        SolicitacaoResponseDTO arquivada = new SolicitacaoResponseDTO(
+            solicitacaoId, UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            StatusSolicitacao.APROVADA, LocalDateTime.now().minusDays(200), LocalDateTime.now().minusDays(199),
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"), Map.of(), List.of(), Collections.emptyList()
+        );
+        
+        when(repository.findByIdWithHistory(solicitacaoId)).thenReturn(Optional.empty());
+        when(arquivo.buscarPorId(solicitacaoId)).thenReturn(Optional.of(arquivada));
+        
+        // Act
+        Optional<SolicitacaoResponseDTO> resultado = service.buscarPorId(solicitacaoId);
+        
+        // Assert
+        assertTrue(resultado.isPresent());
+        assertEquals(StatusSolicitacao.APROVADA, resultado.get().status());
+        verify(arquivo).buscarPorId(solicitacaoId);
+    }
+    
     @Test
     public void testCancelarSolicitacao() {
         // Arrange
@@ -270,13 +409,13 @@ public class SolicitacaoServiceTest {
         CategoriaSeguro category = CategoriaSeguro.AUTO;
         String salesChannel = "MOBILE";
         String paymentMethod = "CREDIT_CARD";
-        BigDecimal totalMonthlyPremiumAmount = new BigDecimal("75.25");
-        BigDecimal insuredAmount = new BigDecimal("275000.50");
+        Dinheiro totalMonthlyPremiumAmount = Dinheiro.parse("75.25");
+        Dinheiro insuredAmount = Dinheiro.parse("275000.50");
         
-        Map<String, BigDecimal> coverages = new HashMap<>();
-        coverages.put("Roubo", new BigDecimal("100000.25"));
-        coverages.put("Perda Total", new BigDecimal("100000.25"));
-        coverages.put("Colisão com Terceiros", new BigDecimal("75000.00"));
+        Map<String, Dinheiro> coverages = new HashMap<>();
+        coverages.put("Roubo", Dinheiro.parse("100000.25"));
+        coverages.put("Perda Total", Dinheiro.parse("100000.25"));
+        coverages.put("Colisão com Terceiros", Dinheiro.parse("75000.00"));
         
         List<String> assistances = Arrays.asList("Guincho até 250km", "Troca de Óleo", "Chaveiro 24h");
         
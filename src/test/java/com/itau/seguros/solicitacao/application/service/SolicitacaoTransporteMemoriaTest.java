@@ -0,0 +1,137 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.seguros.solicitacao.api.dto.FraudeResponseDTO;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoRequestDTO;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoResponseDTO;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.model.TipoCliente;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.domain.rule.RegraValidacaoCliente;
+import com.itau.seguros.solicitacao.infrastructure.archive.ArquivoSolicitacoes;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.external.ApiFraudesClient;
+import com.itau.seguros.solicitacao.infrastructure.json.DinheiroModule;
+import com.itau.seguros.solicitacao.infrastructure.messaging.ClassificadorPrioridade;
+import com.itau.seguros.solicitacao.infrastructure.messaging.PoliticaRetentativa;
+import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventConsumer;
+import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventProducer;
+import com.itau.seguros.solicitacao.infrastructure.messaging.TransporteEventosMemoria;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Binding;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes de integração da criação de solicitações com o transporte de
+ * eventos em memória.
+ *
+ * Usa o serviço, o producer e o consumer reais sobre o H2, com a API de
+ * Fraudes simulada, e verifica que o evento de solicitação recebida só
+ * chega ao consumer depois do commit da criação, de modo que a validação
+ * encontra a solicitação gravada.
+ */
+@DataJpaTest
+@Import({SolicitacaoService.class, StatusSolicitacaoService.class, RegraValidacaoCliente.class,
+         DicionarioTermos.class, SolicitacaoEventProducer.class, ClassificadorPrioridade.class, TransporteEventosMemoria.class,
+         SolicitacaoEventConsumer.class, PoliticaRetentativa.class,
+         SolicitacaoTransporteMemoriaTest.TransporteTestConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@TestPropertySource(properties = "app.mensageria.transporte=memoria")
+public class SolicitacaoTransporteMemoriaTest {
+
+    @MockBean
+    private ApiFraudesClient apiFraudesClient;
+
+    @MockBean
+    private ArquivoSolicitacoes arquivo;
+
+    @MockBean
+    private StatusEventStore statusEventStore;
+
+    @Autowired
+    private SolicitacaoService service;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @TestConfiguration
+    static class TransporteTestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().registerModule(new JavaTimeModule()).registerModule(new DinheiroModule());
+        }
+
+        @Bean
+        Binding recebidaBinding(@Value("${app.rabbitmq.queues.solicitacao-recebida}") String fila,
+                                @Value("${app.rabbitmq.routing-keys.solicitacao-recebida}") String routingKey) {
+            return new Binding(fila, Binding.DestinationType.QUEUE, "solicitacao.exchange", routingKey, null);
+        }
+
+        @Bean
+        Binding recebidaAltaBinding(@Value("${app.rabbitmq.queues.solicitacao-recebida-alta}") String fila,
+                                    @Value("${app.rabbitmq.routing-keys.solicitacao-recebida-alta}") String routingKey) {
+            return new Binding(fila, Binding.DestinationType.QUEUE, "solicitacao.exchange", routingKey, null);
+        }
+
+        @Bean
+        Binding recebidaBaixaBinding(@Value("${app.rabbitmq.queues.solicitacao-recebida-baixa}") String fila,
+                                     @Value("${app.rabbitmq.routing-keys.solicitacao-recebida-baixa}") String routingKey) {
+            return new Binding(fila, Binding.DestinationType.QUEUE, "solicitacao.exchange", routingKey, null);
+        }
+    }
+
+    @Test
+    public void testCriarEValidarPeloTransporteEmMemoria() throws InterruptedException {
+        // Arrange
+        when(apiFraudesClient.consultarClassificacaoRisco(any(), any())).thenAnswer(inv ->
+            new FraudeResponseDTO(inv.getArgument(0), inv.getArgument(1), LocalDateTime.now(),
+                TipoCliente.REGULAR, Collections.emptyList()));
+
+        // Act
+        SolicitacaoResponseDTO criada = service.criarSolicitacao(new SolicitacaoRequestDTO(
+            UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")));
+
+        // Assert
+        StatusSolicitacao status = null;
+        for (int i = 0; i < 100 && status != StatusSolicitacao.VALIDADO; i++) {
+            Thread.sleep(50);
+            status = repository.findById(criada.id()).orElseThrow().getStatus();
+        }
+        assertEquals(StatusSolicitacao.VALIDADO, status);
+    }
+}
@@ -0,0 +1,157 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark da aprovação de um lote de solicitações pendentes carregando
+ * cada agregado e pelas transições em massa.
+ *
+ * As duas abordagens usam lotes de 1000 solicitações por transação; mede o
+ * tempo e a quantidade de statements JDBC preparados por solicitação.
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({TransicaoEmMassaService.class, StatusEventStore.class, DicionarioTermos.class,
+         TransicaoEmMassaBenchmarkTest.MetricasTestConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@TestPropertySource(properties = {
+    "app.transicao-em-massa.tamanho-lote=1000",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+public class TransicaoEmMassaBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransicaoEmMassaBenchmarkTest.class);
+
+    private static final int RODADAS = 3;
+    private static final int SOLICITACOES = 5_000;
+    private static final int TAMANHO_LOTE = 1_000;
+
+    @Autowired
+    private TransicaoEmMassaService transicaoEmMassaService;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TestConfiguration
+    static class MetricasTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    public void testAprovacaoPorAgregadoEEmMassa() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Medicao agregado = medir(estatisticas, ids -> {
+            for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+                List<UUID> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ids.size()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (UUID id : lote) {
+                        SolicitacaoApolice solicitacao = repository.findById(id).orElseThrow();
+                        solicitacao.alterarStatus(StatusSolicitacao.APROVADA, "Aprovada pela subscrição");
+                        repository.save(solicitacao);
+                    }
+                });
+            }
+        });
+        Medicao emMassa = medir(estatisticas, ids ->
+            transicaoEmMassaService.transicionar(ids, StatusSolicitacao.APROVADA, "Aprovada pela subscrição"));
+
+        logger.info("Aprovação de {} solicitações: carregando cada agregado {}, em massa {}",
+                   SOLICITACOES, agregado, emMassa);
+
+        assertTrue(emMassa.nanos() < agregado.nanos(), "transição em massa deveria ser mais rápida");
+        assertTrue(emMassa.statements() * 10 <= agregado.statements(),
+            "transição em massa deveria usar no máximo um décimo dos statements");
+    }
+
+    /**
+     * @return melhor rodada
+     */
+    private Medicao medir(Statistics estatisticas, Consumer<List<UUID>> aprovacao) {
+        Medicao melhor = null;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            List<UUID> ids = new ArrayList<>(SOLICITACOES);
+            List<SolicitacaoApolice> pendentes = new ArrayList<>(TAMANHO_LOTE);
+            for (int i = 0; i < SOLICITACOES; i++) {
+                SolicitacaoApolice solicitacao = new SolicitacaoApolice(
+                    UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+                    Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+                    Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km"));
+                solicitacao.alterarStatus(StatusSolicitacao.VALIDADO, null);
+                solicitacao.alterarStatus(StatusSolicitacao.PENDENTE, null);
+                pendentes.add(solicitacao);
+                ids.add(solicitacao.getId());
+                if (pendentes.size() == TAMANHO_LOTE) {
+                    repository.saveAll(pendentes);
+                    pendentes.clear();
+                }
+            }
+
+            estatisticas.clear();
+            long inicio = System.nanoTime();
+            aprovacao.accept(ids);
+            Medicao medicao = new Medicao((double) (System.nanoTime() - inicio) / SOLICITACOES,
+                (double) estatisticas.getPrepareStatementCount() / SOLICITACOES);
+
+            assertEquals(StatusSolicitacao.APROVADA, repository.findById(ids.get(0)).orElseThrow().getStatus());
+            melhor = melhor == null || medicao.nanos() < melhor.nanos() ? medicao : melhor;
+        }
+        return melhor;
+    }
+
+    private record Medicao(double nanos, double statements) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f us/%.3f statements", nanos / 1_000, statements);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.HistoricoStatus;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para as transições de status em massa.
+ *
+ * Verifica que apenas solicitações em status de origem permitidos são
+ * alteradas, com o registro no histórico e o evento de status, em lotes
+ * menores que o total.
+ */
+@DataJpaTest
+@Import({TransicaoEmMassaService.class, StatusEventStore.class, DicionarioTermos.class,
+         TransicaoEmMassaServiceTest.MetricasTestConfig.class})
+@TestPropertySource(properties = "app.transicao-em-massa.tamanho-lote=2")
+@RecordApplicationEvents
+public class TransicaoEmMassaServiceTest {
+
+    @Autowired
+    private TransicaoEmMassaService transicaoEmMassaService;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @TestConfiguration
+    static class MetricasTestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Test
+    public void testCancelarPorProdutoSomenteTransicoesPermitidas() {
+        // Arrange
+        SolicitacaoApolice recebida = salvar("produto-123");
+        SolicitacaoApolice validada = salvar("produto-123", StatusSolicitacao.VALIDADO);
+        SolicitacaoApolice pendente = salvar("produto-123", StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE);
+        SolicitacaoApolice aprovada = salvar("produto-123", StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE,
+                                             StatusSolicitacao.APROVADA);
+        SolicitacaoApolice outroProduto = salvar("produto-456");
+        entityManager.clear();
+
+        // Act
+        int transicionadas = transicaoEmMassaService.transicionarPorProduto(
+            "produto-123", StatusSolicitacao.CANCELADA, "Produto descontinuado");
+
+        // Assert
+        assertEquals(3, transicionadas);
+        entityManager.clear();
+        for (SolicitacaoApolice solicitacao : List.of(recebida, validada, pendente)) {
+            SolicitacaoApolice lida = repository.findByIdWithHistory(solicitacao.getId()).orElseThrow();
+            assertEquals(StatusSolicitacao.CANCELADA, lida.getStatus());
+            assertNotNull(lida.getFinishedAt());
+            HistoricoStatus ultimo = lida.getHistory().get(lida.getHistory().size() - 1);
+            assertEquals(StatusSolicitacao.CANCELADA, ultimo.getStatus());
+            assertEquals("Produto descontinuado", ultimo.getObservacao());
+        }
+        assertEquals(StatusSolicitacao.APROVADA, repository.findById(aprovada.getId()).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.RECEBIDO, repository.findById(outroProduto.getId()).orElseThrow().getStatus());
+        assertEquals(4, repository.findByIdWithHistory(aprovada.getId()).orElseThrow().getHistory().size());
+
+        Set<UUID> notificadas = eventos.stream(StatusAlteradoEvent.class)
+            .filter(evento -> evento.status() == StatusSolicitacao.CANCELADA)
+            .map(StatusAlteradoEvent::solicitacaoId)
+            .collect(Collectors.toSet());
+        assertEquals(Set.of(recebida.getId(), validada.getId(), pendente.getId()), notificadas);
+    }
+
+    @Test
+    public void testExpirarPendentesCriadasAntesDe() {
+        // Arrange
+        SolicitacaoApolice pendente1 = salvar("produto-123", StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE);
+        SolicitacaoApolice pendente2 = salvar("produto-123", StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE);
+        SolicitacaoApolice validada = salvar("produto-123", StatusSolicitacao.VALIDADO);
+        entityManager.clear();
+
+        // Act
+        int transicionadas = transicaoEmMassaService.transicionarCriadasAntesDe(StatusSolicitacao.PENDENTE,
+            LocalDateTime.now().plusMinutes(1), StatusSolicitacao.REJEITADA, "Pagamento não confirmado no prazo");
+        int antigas = transicaoEmMassaService.transicionarCriadasAntesDe(StatusSolicitacao.VALIDADO,
+            LocalDateTime.now().minusDays(1), StatusSolicitacao.REJEITADA, "Validação expirada");
+
+        // Assert
+        assertEquals(2, transicionadas);
+        assertEquals(0, antigas);
+        entityManager.clear();
+        assertEquals(StatusSolicitacao.REJEITADA, repository.findById(pendente1.getId()).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.REJEITADA, repository.findById(pendente2.getId()).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.VALIDADO, repository.findById(validada.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void testTransicaoNaoPermitidaLancaExcecao() {
+        assertThrows(IllegalStateException.class, () -> transicaoEmMassaService.transicionarCriadasAntesDe(
+            StatusSolicitacao.RECEBIDO, LocalDateTime.now(), StatusSolicitacao.APROVADA, "Aprovação"));
+    }
+
+    @Test
+    public void testAprovarLoteIgnorandoInexistentesEOutrosStatus() {
+        // Arrange
+        SolicitacaoApolice pendente1 = salvar("produto-123", StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE);
+        SolicitacaoApolice pendente2 = salvar("produto-123", StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE);
+        SolicitacaoApolice pendente3 = salvar("produto-123", StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE);
+        SolicitacaoApolice recebida = salvar("produto-123");
+        entityManager.clear();
+
+        // Act
+        int transicionadas = transicaoEmMassaService.transicionar(
+            List.of(pendente1.getId(), recebida.getId(), UUID.randomUUID(), pendente2.getId(), pendente3.getId()),
+            StatusSolicitacao.APROVADA, "Aprovada pela subscrição");
+
+        // Assert
+        assertEquals(3, transicionadas);
+        entityManager.clear();
+        assertEquals(StatusSolicitacao.APROVADA, repository.findById(pendente1.getId()).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.APROVADA, repository.findById(pendente3.getId()).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.RECEBIDO, repository.findById(recebida.getId()).orElseThrow().getStatus());
+        assertEquals(3, eventos.stream(StatusAlteradoEvent.class)
+            .filter(evento -> evento.status() == StatusSolicitacao.APROVADA)
+            .count());
+    }
+
+    /**
+     * Método auxiliar que grava uma solicitação após as transições informadas.
+     */
+    private SolicitacaoApolice salvar(String productId, StatusSolicitacao... transicoes) {
+        SolicitacaoApolice solicitacao = new SolicitacaoApolice(
+            UUID.randomUUID(), productId, CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")
+        );
+        for (StatusSolicitacao status : transicoes) {
+            solicitacao.alterarStatus(status, null);
+        }
+        return repository.saveAndFlush(solicitacao);
+    }
+}
@@ -0,0 +1,151 @@
+package com.itau.seguros.solicitacao.application.service;
+
+import com.itau.seguros.solicitacao.api.dto.FraudeResponseDTO;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.model.TipoCliente;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.domain.rule.RegraValidacaoCliente;
+import com.itau.seguros.solicitacao.infrastructure.archive.ArquivoSolicitacoes;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.external.ApiFraudesClient;
+import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventProducer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark da validação de uma solicitação lendo o agregado do banco e a
+ * partir dos dados carregados no evento.
+ *
+ * Usa o serviço real sobre o H2, com a API de Fraudes e o producer
+ * simulados, e mede o tempo e a quantidade de statements JDBC preparados
+ * por validação.
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({SolicitacaoService.class, StatusSolicitacaoService.class, RegraValidacaoCliente.class,
+         DicionarioTermos.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+    "logging.level.com.itau.seguros.solicitacao.application.service.SolicitacaoService=WARN"
+})
+public class ValidacaoPorEventoBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidacaoPorEventoBenchmarkTest.class);
+
+    private static final int RODADAS = 5;
+    private static final int VALIDACOES = 2_000;
+
+    @MockBean
+    private ApiFraudesClient apiFraudesClient;
+
+    @MockBean
+    private SolicitacaoEventProducer eventProducer;
+
+    @MockBean
+    private ArquivoSolicitacoes arquivo;
+
+    @MockBean
+    private StatusEventStore statusEventStore;
+
+    @Autowired
+    private SolicitacaoService service;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testValidacaoPorAgregadoEPorEvento() {
+        when(apiFraudesClient.consultarClassificacaoRisco(any(), any())).thenAnswer(inv ->
+            new FraudeResponseDTO(inv.getArgument(0), inv.getArgument(1), LocalDateTime.now(),
+                TipoCliente.REGULAR, Collections.emptyList()));
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Medicao agregado = medir(estatisticas, recebida -> service.processarValidacao(recebida.getSolicitacaoId()));
+        Medicao evento = medir(estatisticas, recebida -> service.processarValidacao(recebida));
+
+        logger.info("Validação por solicitação: lendo o agregado {}, pelo evento {}", agregado, evento);
+
+        assertTrue(evento.statements() * 2 <= agregado.statements(),
+            "validação pelo evento deveria usar no máximo metade dos statements");
+    }
+
+    /**
+     * @return melhor rodada
+     */
+    private Medicao medir(Statistics estatisticas, Consumer<SolicitacaoRecebidaEvent> validacao) {
+        Medicao melhor = null;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            List<SolicitacaoRecebidaEvent> recebidas = new ArrayList<>(VALIDACOES);
+            for (int i = 0; i < VALIDACOES; i++) {
+                SolicitacaoApolice solicitacao = repository.save(new SolicitacaoApolice(
+                    UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+                    Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+                    Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")));
+                recebidas.add(new SolicitacaoRecebidaEvent(solicitacao.getId(), solicitacao.getCustomerId(),
+                    solicitacao.getProductId(), solicitacao.getCategory(), solicitacao.getInsuredAmount(),
+                    solicitacao.getSalesChannel()));
+            }
+
+            estatisticas.clear();
+            long inicio = System.nanoTime();
+            for (SolicitacaoRecebidaEvent recebida : recebidas) {
+                validacao.accept(recebida);
+            }
+            Medicao medicao = new Medicao((double) (System.nanoTime() - inicio) / VALIDACOES,
+                (double) estatisticas.getPrepareStatementCount() / VALIDACOES);
+
+            assertEquals(StatusSolicitacao.VALIDADO,
+                repository.findById(recebidas.get(0).getSolicitacaoId()).orElseThrow().getStatus());
+            melhor = melhor == null || medicao.nanos() < melhor.nanos() ? medicao : melhor;
+        }
+        return melhor;
+    }
+
+    private record Medicao(double nanos, double statements) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f us/%.1f statements", nanos / 1_000, statements);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a codificação compacta de coberturas e assistências.
+ *
+ * Verifica que as coleções sobrevivem à ida e volta pelos bytes, inclusive
+ * textos não ASCII, valores negativos e assistências nulas.
+ */
+public class ColecoesSolicitacaoTest {
+
+    @Test
+    public void testCodificacaoEDecodificacao() {
+        // Arrange
+        Map<String, Dinheiro> coberturas = new LinkedHashMap<>();
+        coberturas.put("Roubo", Dinheiro.parse("100000.25"));
+        coberturas.put("Perda Total", Dinheiro.parse("100000.25"));
+        coberturas.put("Colisão com Terceiros", Dinheiro.parse("75000.00"));
+        coberturas.put("Ajuste", Dinheiro.deCentavos(-1));
+        coberturas.put("Máximo", Dinheiro.deCentavos(Long.MAX_VALUE));
+        List<String> assistencias = new ArrayList<>(Arrays.asList("Guincho até 250km", null, ""));
+
+        // Act
+        byte[] codificado = ColecoesSolicitacao.de(coberturas, assistencias).getCodificado();
+        ColecoesSolicitacao lidas = ColecoesSolicitacao.codificadas(codificado.clone());
+
+        // Assert
+        assertEquals(coberturas, lidas.getCoverages());
+        assertEquals(List.copyOf(coberturas.keySet()), List.copyOf(lidas.getCoverages().keySet()));
+        assertEquals(assistencias, lidas.getAssistances());
+        assertEquals(ColecoesSolicitacao.de(coberturas, assistencias), lidas);
+        assertThrows(UnsupportedOperationException.class, () -> lidas.getAssistances().add("Chaveiro"));
+    }
+
+    @Test
+    public void testCompactarColecoesDaSolicitacao() {
+        // Arrange
+        SolicitacaoApolice solicitacao = new SolicitacaoApolice(
+            UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")
+        );
+
+        // Act
+        solicitacao.compactarColecoes();
+
+        // Assert
+        assertTrue(solicitacao.isColecoesCompactas());
+        assertEquals(Map.of("Roubo", Dinheiro.parse("100000.25")), solicitacao.getCoverages());
+        assertEquals(List.of("Guincho até 250km"), solicitacao.getAssistances());
+    }
+}
@@ -0,0 +1,156 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoRequestDTO;
+import com.itau.seguros.solicitacao.application.service.SolicitacaoService;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoValidadaEvent;
+import com.itau.seguros.solicitacao.domain.rule.RegraValidacaoCliente;
+import com.itau.seguros.solicitacao.infrastructure.json.DinheiroModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do tipo Dinheiro em relação aos antigos campos BigDecimal.
+ *
+ * Mede tempo e bytes alocados por operação em dois caminhos: a validação
+ * de uma solicitação (soma e valores das coberturas, seguidos da regra de
+ * capital segurado por tipo de cliente) e a serialização JSON do evento
+ * publicado após a validação. O caminho anterior é reproduzido com
+ * BigDecimal em {@link ValidacaoAnterior} e {@link EventoAnterior}.
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class DinheiroBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DinheiroBenchmarkTest.class);
+
+    private static final int RODADAS = 5;
+    private static final int OPERACOES = 200_000;
+    private static final int COBERTURAS = 10;
+
+    /**
+     * Validação de coberturas e regra de capital como eram com BigDecimal.
+     */
+    private static final class ValidacaoAnterior {
+
+        static boolean validar(Map<String, BigDecimal> coverages, BigDecimal insuredAmount) {
+            BigDecimal somaCoberturas = coverages.values().stream()
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            boolean valoresValidos = coverages.values().stream()
+                .allMatch(valor -> valor != null && valor.compareTo(BigDecimal.ZERO) > 0);
+            // Limite de cliente regular em seguro auto, recriado a cada chamada como antes
+            BigDecimal limite = new BigDecimal("350000.00");
+            return somaCoberturas.compareTo(insuredAmount) <= 0 && valoresValidos
+                && insuredAmount.compareTo(limite) <= 0;
+        }
+    }
+
+    /**
+     * Campos serializados de SolicitacaoValidadaEvent com o capital em BigDecimal.
+     */
+    private record EventoAnterior(UUID id, UUID solicitacaoId, UUID customerId, String productId,
+                                  CategoriaSeguro category, StatusSolicitacao status, BigDecimal insuredAmount,
+                                  LocalDateTime timestamp, TipoCliente tipoCliente, String eventType) {
+    }
+
+    @Test
+    public void testValidacao() {
+        RegraValidacaoCliente regra = new RegraValidacaoCliente();
+        Map<String, BigDecimal> coberturasAnteriores = new LinkedHashMap<>();
+        Map<String, Dinheiro> coberturas = new LinkedHashMap<>();
+        for (int i = 0; i < COBERTURAS; i++) {
+            coberturasAnteriores.put("Cobertura " + i, new BigDecimal("10000.25"));
+            coberturas.put("Cobertura " + i, Dinheiro.parse("10000.25"));
+        }
+        BigDecimal capitalAnterior = new BigDecimal("275000.50");
+        SolicitacaoRequestDTO request = new SolicitacaoRequestDTO(UUID.randomUUID(), "produto-123",
+            CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD", Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            coberturas, List.of("Guincho até 250km"));
+
+        Medicao anterior = medir(() -> {
+            if (!ValidacaoAnterior.validar(coberturasAnteriores, capitalAnterior)) {
+                throw new IllegalStateException("solicitação inválida");
+            }
+        });
+        Medicao atual = medir(() -> {
+            SolicitacaoService.validarCriacao(request);
+            if (!regra.validarCapitalSegurado(TipoCliente.REGULAR, CategoriaSeguro.AUTO, request.insuredAmount())) {
+                throw new IllegalStateException("solicitação inválida");
+            }
+        });
+
+        logger.info("Validação com {} coberturas: BigDecimal {}, Dinheiro {}", COBERTURAS, anterior, atual);
+
+        assertTrue(atual.nanos() < anterior.nanos(), "validação com Dinheiro deveria ser mais rápida");
+        assertTrue(atual.bytes() < anterior.bytes(), "validação com Dinheiro deveria alocar menos");
+    }
+
+    @Test
+    public void testSerializacaoDeEvento() {
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new DinheiroModule());
+        SolicitacaoValidadaEvent evento = new SolicitacaoValidadaEvent(UUID.randomUUID(), UUID.randomUUID(),
+            "produto-123", CategoriaSeguro.AUTO, Dinheiro.parse("275000.50"), TipoCliente.REGULAR);
+
+        // BigDecimal guarda o próprio toString; um valor novo por evento, como
+        // vindo do banco, evita medir só a String já em cache
+        Medicao anterior = medir(() -> objectMapper.writeValueAsBytes(new EventoAnterior(evento.getId(),
+            evento.getSolicitacaoId(), evento.getCustomerId(), evento.getProductId(), evento.getCategory(),
+            evento.getStatus(), BigDecimal.valueOf(27_500_050L, 2), evento.getTimestamp(), TipoCliente.REGULAR,
+            evento.getEventType())));
+        Medicao atual = medir(() -> objectMapper.writeValueAsBytes(evento));
+
+        logger.info("Serialização de SolicitacaoValidadaEvent: BigDecimal {}, Dinheiro {}", anterior, atual);
+
+        assertTrue(atual.bytes() < anterior.bytes(), "serialização com Dinheiro deveria alocar menos");
+    }
+
+    private interface Operacao {
+        void executar() throws Exception;
+    }
+
+    private Medicao medir(Operacao operacao) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        double melhorNanos = Double.MAX_VALUE;
+        double melhorBytes = Double.MAX_VALUE;
+        try {
+            for (int rodada = 0; rodada < RODADAS; rodada++) {
+                long bytesAntes = threads.getThreadAllocatedBytes(thread);
+                long inicio = System.nanoTime();
+                for (int i = 0; i < OPERACOES; i++) {
+                    operacao.executar();
+                }
+                melhorNanos = Math.min(melhorNanos, (double) (System.nanoTime() - inicio) / OPERACOES);
+                melhorBytes = Math.min(melhorBytes, (double) (threads.getThreadAllocatedBytes(thread) - bytesAntes) / OPERACOES);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return new Medicao(melhorNanos, melhorBytes);
+    }
+
+    private record Medicao(double nanos, double bytes) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f ns/%.0f B", nanos, bytes);
+        }
+    }
+}
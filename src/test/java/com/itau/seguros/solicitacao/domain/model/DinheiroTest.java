@@ -0,0 +1,75 @@
+package com.itau.seguros.solicitacao.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o tipo monetário Dinheiro.
+ *
+ * Verifica a leitura e a formatação em notação decimal, a recusa de
+ * valores com mais de duas casas e as verificações de overflow.
+ */
+public class DinheiroTest {
+
+    @Test
+    public void testParseEFormatacao() {
+        assertEquals(27_500_050L, Dinheiro.parse("275000.50").getCentavos());
+        assertEquals(750L, Dinheiro.parse("7.5").getCentavos());
+        assertEquals(1_000L, Dinheiro.parse("10").getCentavos());
+        assertEquals(1_025L, Dinheiro.parse("10.2500").getCentavos());
+        assertEquals(-5L, Dinheiro.parse("-0.05").getCentavos());
+        assertEquals(Dinheiro.deReais(100_000), Dinheiro.parse("1E+5"));
+
+        assertEquals("275000.50", Dinheiro.parse("275000.5").toString());
+        assertEquals("-0.05", Dinheiro.deCentavos(-5).toString());
+        assertEquals(new BigDecimal("275000.50"), Dinheiro.parse("275000.50").toBigDecimal());
+        assertEquals(Dinheiro.parse("75.25"), Dinheiro.de(new BigDecimal("75.250")));
+    }
+
+    @Test
+    public void testRecusaValoresInvalidos() {
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("75.255"));
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("12a"));
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("-"));
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse(""));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.de(new BigDecimal("0.001")));
+    }
+
+    @Test
+    public void testRecusaExpoentesForaDoLimiteSemCustoProporcional() {
+        assertEquals(Dinheiro.parse("150.00"), Dinheiro.parse("1.5e2"));
+        assertEquals(Dinheiro.deReais(1), Dinheiro.parse("100e-2"));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.parse("1e20"));
+
+        // Expoente enorme em poucos caracteres: recusado antes de criar o BigDecimal
+        long inicio = System.nanoTime();
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("1e10000000"));
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("1e-10000000"));
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("1e21"));
+        assertTrue(System.nanoTime() - inicio < 100_000_000L);
+
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("1e"));
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("1e+"));
+        assertThrows(NumberFormatException.class, () -> Dinheiro.parse("1e5x"));
+    }
+
+    @Test
+    public void testAritmeticaComVerificacaoDeOverflow() {
+        Dinheiro roubo = Dinheiro.parse("100000.25");
+        Dinheiro perdaTotal = Dinheiro.parse("100000.25");
+
+        assertEquals(Dinheiro.parse("200000.50"), roubo.somar(perdaTotal));
+        assertEquals(Dinheiro.ZERO, roubo.subtrair(perdaTotal));
+        assertTrue(roubo.somar(perdaTotal).maiorQue(roubo));
+        assertTrue(Dinheiro.parse("99999999.99").cabeEm(8));
+        assertFalse(Dinheiro.parse("100000000.00").cabeEm(8));
+
+        Dinheiro maximo = Dinheiro.deCentavos(Long.MAX_VALUE);
+        assertThrows(ArithmeticException.class, () -> maximo.somar(Dinheiro.deCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.parse("92233720368547758.08"));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.deReais(Long.MAX_VALUE / 10));
+    }
+}
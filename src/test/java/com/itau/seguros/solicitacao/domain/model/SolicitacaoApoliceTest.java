@@ -2,7 +2,6 @@ package com.itau.seguros.solicitacao.domain.model;
 
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -27,13 +26,13 @@ public class SolicitacaoApoliceTest {
         CategoriaSeguro category = CategoriaSeguro.AUTO;
         String salesChannel = "MOBILE";
         String paymentMethod = "CREDIT_CARD";
-        BigDecimal totalMonthlyPremiumAmount = new BigDecimal("75.25");
-        BigDecimal insuredAmount = new BigDecimal("275000.50");
+        Dinheiro totalMonthlyPremiumAmount = Dinheiro.parse("75.25");
+        Dinheiro insuredAmount = Dinheiro.parse("275000.50");
         
-        Map<String, BigDecimal> coverages = new HashMap<>();
-        coverages.put("Roubo", new BigDecimal("100000.25"));
-        coverages.put("Perda Total", new BigDecimal("100000.25"));
-        coverages.put("Colisão com Terceiros", new BigDecimal("75000.00"));
+        Map<String, Dinheiro> coverages = new HashMap<>();
+        coverages.put("Roubo", Dinheiro.parse("100000.25"));
+        coverages.put("Perda Total", Dinheiro.parse("100000.25"));
+        coverages.put("Colisão com Terceiros", Dinheiro.parse("75000.00"));
         
         var assistances = Arrays.asList("Guincho até 250km", "Troca de Óleo", "Chaveiro 24h");
         
@@ -166,13 +165,13 @@ public class SolicitacaoApoliceTest {
         CategoriaSeguro category = CategoriaSeguro.AUTO;
         String salesChannel = "MOBILE";
         String paymentMethod = "CREDIT_CARD";
-        BigDecimal totalMonthlyPremiumAmount = new BigDecimal("75.25");
-        BigDecimal insuredAmount = new BigDecimal("275000.50");
+        Dinheiro totalMonthlyPremiumAmount = Dinheiro.parse("75.25");
+        Dinheiro insuredAmount = Dinheiro.parse("275000.50");
         
-        Map<String, BigDecimal> coverages = new HashMap<>();
-        coverages.put("Roubo", new BigDecimal("100000.25"));
-        coverages.put("Perda Total", new BigDecimal("100000.25"));
-        coverages.put("Colisão com Terceiros", new BigDecimal("75000.00"));
+        Map<String, Dinheiro> coverages = new HashMap<>();
+        coverages.put("Roubo", Dinheiro.parse("100000.25"));
+        coverages.put("Perda Total", Dinheiro.parse("100000.25"));
+        coverages.put("Colisão com Terceiros", Dinheiro.parse("75000.00"));
         
         var assistances = Arrays.asList("Guincho até 250km", "Troca de Óleo", "Chaveiro 24h");
         
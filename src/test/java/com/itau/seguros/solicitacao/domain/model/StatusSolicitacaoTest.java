@@ -1,6 +1,9 @@
 package com.itau.seguros.solicitacao.domain.model;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -13,24 +16,27 @@ public class StatusSolicitacaoTest {
 
     @Test
     public void testTransicoesPermitidas() {
-        // RECEBIDO pode transicionar para VALIDADO ou CANCELADA
+        // RECEBIDO pode transicionar para VALIDADO, CANCELADA ou EXPIRADA
         assertTrue(StatusSolicitacao.RECEBIDO.podeTransicionarPara(StatusSolicitacao.VALIDADO));
         assertTrue(StatusSolicitacao.RECEBIDO.podeTransicionarPara(StatusSolicitacao.CANCELADA));
+        assertTrue(StatusSolicitacao.RECEBIDO.podeTransicionarPara(StatusSolicitacao.EXPIRADA));
         assertFalse(StatusSolicitacao.RECEBIDO.podeTransicionarPara(StatusSolicitacao.PENDENTE));
         assertFalse(StatusSolicitacao.RECEBIDO.podeTransicionarPara(StatusSolicitacao.REJEITADA));
         assertFalse(StatusSolicitacao.RECEBIDO.podeTransicionarPara(StatusSolicitacao.APROVADA));
         
-        // VALIDADO pode transicionar para PENDENTE, REJEITADA ou CANCELADA
+        // VALIDADO pode transicionar para PENDENTE, REJEITADA, CANCELADA ou EXPIRADA
         assertTrue(StatusSolicitacao.VALIDADO.podeTransicionarPara(StatusSolicitacao.PENDENTE));
         assertTrue(StatusSolicitacao.VALIDADO.podeTransicionarPara(StatusSolicitacao.REJEITADA));
         assertTrue(StatusSolicitacao.VALIDADO.podeTransicionarPara(StatusSolicitacao.CANCELADA));
+        assertTrue(StatusSolicitacao.VALIDADO.podeTransicionarPara(StatusSolicitacao.EXPIRADA));
         assertFalse(StatusSolicitacao.VALIDADO.podeTransicionarPara(StatusSolicitacao.RECEBIDO));
         assertFalse(StatusSolicitacao.VALIDADO.podeTransicionarPara(StatusSolicitacao.APROVADA));
         
-        // PENDENTE pode transicionar para APROVADA, REJEITADA ou CANCELADA
+        // PENDENTE pode transicionar para APROVADA, REJEITADA, CANCELADA ou EXPIRADA
         assertTrue(StatusSolicitacao.PENDENTE.podeTransicionarPara(StatusSolicitacao.APROVADA));
         assertTrue(StatusSolicitacao.PENDENTE.podeTransicionarPara(StatusSolicitacao.REJEITADA));
         assertTrue(StatusSolicitacao.PENDENTE.podeTransicionarPara(StatusSolicitacao.CANCELADA));
+        assertTrue(StatusSolicitacao.PENDENTE.podeTransicionarPara(StatusSolicitacao.EXPIRADA));
         assertFalse(StatusSolicitacao.PENDENTE.podeTransicionarPara(StatusSolicitacao.RECEBIDO));
         assertFalse(StatusSolicitacao.PENDENTE.podeTransicionarPara(StatusSolicitacao.VALIDADO));
         
@@ -39,6 +45,26 @@ public class StatusSolicitacaoTest {
             assertFalse(StatusSolicitacao.REJEITADA.podeTransicionarPara(destino));
             assertFalse(StatusSolicitacao.APROVADA.podeTransicionarPara(destino));
             assertFalse(StatusSolicitacao.CANCELADA.podeTransicionarPara(destino));
+            assertFalse(StatusSolicitacao.EXPIRADA.podeTransicionarPara(destino));
+        }
+    }
+    
+    @Test
+    public void testOrigensPermitidas() {
+        assertEquals(EnumSet.noneOf(StatusSolicitacao.class), StatusSolicitacao.RECEBIDO.getOrigensPermitidas());
+        assertEquals(EnumSet.of(StatusSolicitacao.RECEBIDO), StatusSolicitacao.VALIDADO.getOrigensPermitidas());
+        assertEquals(EnumSet.of(StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE),
+                     StatusSolicitacao.REJEITADA.getOrigensPermitidas());
+        assertEquals(EnumSet.of(StatusSolicitacao.RECEBIDO, StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE),
+                     StatusSolicitacao.CANCELADA.getOrigensPermitidas());
+        assertEquals(EnumSet.of(StatusSolicitacao.RECEBIDO, StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE),
+                     StatusSolicitacao.EXPIRADA.getOrigensPermitidas());
+        
+        // Coerente com a tabela de transições
+        for (StatusSolicitacao origem : StatusSolicitacao.values()) {
+            for (StatusSolicitacao destino : StatusSolicitacao.values()) {
+                assertEquals(origem.podeTransicionarPara(destino), destino.getOrigensPermitidas().contains(origem));
+            }
         }
     }
     
@@ -47,6 +73,7 @@ public class StatusSolicitacaoTest {
         assertTrue(StatusSolicitacao.REJEITADA.isEstadoFinal());
         assertTrue(StatusSolicitacao.APROVADA.isEstadoFinal());
         assertTrue(StatusSolicitacao.CANCELADA.isEstadoFinal());
+        assertTrue(StatusSolicitacao.EXPIRADA.isEstadoFinal());
         
         assertFalse(StatusSolicitacao.RECEBIDO.isEstadoFinal());
         assertFalse(StatusSolicitacao.VALIDADO.isEstadoFinal());
@@ -61,6 +88,7 @@ public class StatusSolicitacaoTest {
         assertEquals("Rejeitada", StatusSolicitacao.REJEITADA.getDescricao());
         assertEquals("Aprovada", StatusSolicitacao.APROVADA.getDescricao());
         assertEquals("Cancelada", StatusSolicitacao.CANCELADA.getDescricao());
+        assertEquals("Expirada", StatusSolicitacao.EXPIRADA.getDescricao());
     }
 }
 
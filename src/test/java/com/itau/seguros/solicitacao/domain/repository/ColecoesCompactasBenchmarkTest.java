@@ -0,0 +1,153 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de gravação e leitura de uma solicitação com as coleções nas
+ * tabelas próprias e na coluna compacta.
+ *
+ * Cada operação roda em sua própria transação, como nas requisições: a
+ * gravação é o {@code save} de uma solicitação nova e a leitura é o
+ * {@code findById} seguido do acesso às coberturas e assistências. Mede
+ * o tempo e a quantidade de statements JDBC preparados por agregado.
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import(DicionarioTermos.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+public class ColecoesCompactasBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColecoesCompactasBenchmarkTest.class);
+
+    private static final int RODADAS = 5;
+    private static final int AGREGADOS = 2_000;
+    private static final int COBERTURAS = 5;
+    private static final int ASSISTENCIAS = 3;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testGravacaoELeituraPorAgregado() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Medicao[] tabelas = medir(estatisticas, false);
+        Medicao[] compactas = medir(estatisticas, true);
+
+        logger.info("Gravação por agregado ({} coberturas, {} assistências): tabelas {}, coluna compacta {}",
+                   COBERTURAS, ASSISTENCIAS, tabelas[0], compactas[0]);
+        logger.info("Leitura por agregado: tabelas {}, coluna compacta {}", tabelas[1], compactas[1]);
+
+        assertTrue(compactas[0].statements() < tabelas[0].statements(),
+            "gravação compacta deveria usar menos statements");
+        assertTrue(compactas[1].statements() < tabelas[1].statements(),
+            "leitura compacta deveria usar menos statements");
+    }
+
+    /**
+     * @return melhor gravação e melhor leitura entre as rodadas
+     */
+    private Medicao[] medir(Statistics estatisticas, boolean compactas) {
+        Medicao melhorGravacao = null;
+        Medicao melhorLeitura = null;
+
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            List<SolicitacaoApolice> solicitacoes = new ArrayList<>(AGREGADOS);
+            for (int i = 0; i < AGREGADOS; i++) {
+                SolicitacaoApolice solicitacao = criarSolicitacao();
+                if (compactas) {
+                    solicitacao.compactarColecoes();
+                }
+                solicitacoes.add(solicitacao);
+            }
+
+            estatisticas.clear();
+            long inicio = System.nanoTime();
+            for (SolicitacaoApolice solicitacao : solicitacoes) {
+                transactionTemplate.executeWithoutResult(status -> repository.save(solicitacao));
+            }
+            Medicao gravacao = new Medicao((double) (System.nanoTime() - inicio) / AGREGADOS,
+                (double) estatisticas.getPrepareStatementCount() / AGREGADOS);
+
+            estatisticas.clear();
+            inicio = System.nanoTime();
+            for (SolicitacaoApolice solicitacao : solicitacoes) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    SolicitacaoApolice lida = repository.findById(solicitacao.getId()).orElseThrow();
+                    if (lida.getCoverages().size() != COBERTURAS || lida.getAssistances().size() != ASSISTENCIAS) {
+                        throw new IllegalStateException("coleções incompletas");
+                    }
+                });
+            }
+            Medicao leitura = new Medicao((double) (System.nanoTime() - inicio) / AGREGADOS,
+                (double) estatisticas.getPrepareStatementCount() / AGREGADOS);
+
+            melhorGravacao = melhorGravacao == null || gravacao.nanos() < melhorGravacao.nanos() ? gravacao : melhorGravacao;
+            melhorLeitura = melhorLeitura == null || leitura.nanos() < melhorLeitura.nanos() ? leitura : melhorLeitura;
+        }
+
+        return new Medicao[] {melhorGravacao, melhorLeitura};
+    }
+
+    private SolicitacaoApolice criarSolicitacao() {
+        Map<String, Dinheiro> coberturas = new LinkedHashMap<>();
+        for (int i = 0; i < COBERTURAS; i++) {
+            coberturas.put("Cobertura " + i, Dinheiro.parse("10000.25"));
+        }
+        List<String> assistencias = new ArrayList<>();
+        for (int i = 0; i < ASSISTENCIAS; i++) {
+            assistencias.add("Assistência " + i);
+        }
+        return new SolicitacaoApolice(UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE",
+            "CREDIT_CARD", Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"), coberturas, assistencias);
+    }
+
+    private record Medicao(double nanos, double statements) {
+
+        @Override
+        public String toString() {
+            return String.format("%.0f us/%.1f statements", nanos / 1_000, statements);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de escala das consultas por cliente com 1 milhão de solicitações.
+ *
+ * Verifica que os planos de execução usam os índices compostos, que a
+ * latência das consultas por cliente não cresce com o tamanho da tabela e
+ * que as páginas da varredura por chave das solicitações ativas custam o
+ * mesmo do início ao fim, ao contrário de OFFSET.
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import(DicionarioTermos.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+@TestPropertySource(properties = {
+    "logging.level.org.hibernate.SQL=INFO",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+public class SolicitacaoRepositoryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SolicitacaoRepositoryBenchmarkTest.class);
+
+    private static final int SOLICITACOES = 1_000_000;
+    private static final int POR_CLIENTE = 5;
+    private static final int CONSULTAS = 2_000;
+    private static final int PAGINA = 500;
+
+    // Limite folgado para a latência mediana com índice; sem índice cada
+    // consulta varre a tabela inteira e fica ordens de grandeza acima
+    private static final double LIMITE_MEDIANA_MS = 5.0;
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testConsultasPorClienteComUmMilhaoDeLinhas() {
+        popular();
+
+        assertTrue(explicar("SELECT id FROM solicitacao_apolice WHERE customer_id = ? AND finished_at IS NULL FETCH FIRST 1 ROWS ONLY")
+            .contains("IDX_SOLICITACAO_CUSTOMER_FINISHED"));
+        assertTrue(explicar("SELECT id, status, created_at FROM solicitacao_apolice WHERE customer_id = ? ORDER BY created_at DESC")
+            .contains("IDX_SOLICITACAO_CUSTOMER_CREATED"));
+
+        double medianaExists = medirMediana(id -> repository.existsActiveSolicitacaoByCustomerId(id));
+        double medianaResumo = medirMediana(id -> repository.findResumoByCustomerIdOrderByCreatedAtDesc(id));
+        double medianaHistorico = medirMediana(id -> repository.findByCustomerIdWithHistory(id));
+
+        logger.info("Consultas por cliente com {} solicitações (mediana): existsActive {} ms, resumo {} ms, com histórico {} ms",
+                   SOLICITACOES,
+                   String.format("%.3f", medianaExists),
+                   String.format("%.3f", medianaResumo),
+                   String.format("%.3f", medianaHistorico));
+
+        assertTrue(medianaExists < LIMITE_MEDIANA_MS, "existsActive: " + medianaExists + " ms");
+        assertTrue(medianaResumo < LIMITE_MEDIANA_MS, "resumo: " + medianaResumo + " ms");
+        assertTrue(medianaHistorico < LIMITE_MEDIANA_MS, "com histórico: " + medianaHistorico + " ms");
+    }
+
+    @Test
+    public void testVarreduraPorChaveDasParadasComUmMilhaoDeLinhas() {
+        popular();
+        LocalDateTime limite = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        // Varredura completa das ativas (RECEBIDO), página a página
+        List<Long> tempos = new ArrayList<>();
+        List<ChaveSolicitacao> pagina = repository.findChavesCriadasAntesDe(
+            StatusSolicitacao.RECEBIDO, limite, PageRequest.of(0, PAGINA));
+        int lidas = 0;
+        while (!pagina.isEmpty()) {
+            lidas += pagina.size();
+            ChaveSolicitacao ultima = pagina.get(pagina.size() - 1);
+            long inicio = System.nanoTime();
+            pagina = repository.findChavesCriadasAntesDeApos(StatusSolicitacao.RECEBIDO, limite,
+                ultima.getCreatedAt(), ultima.getId(), PageRequest.of(0, PAGINA));
+            tempos.add(System.nanoTime() - inicio);
+        }
+        int paginas = tempos.size();
+        double medianaInicio = mediana(tempos.subList(0, paginas / 10));
+        double medianaFinal = mediana(tempos.subList(paginas - paginas / 10, paginas));
+
+        // Mesma página final com OFFSET
+        long[] temposOffset = new long[5];
+        for (int i = 0; i < temposOffset.length; i++) {
+            long inicio = System.nanoTime();
+            repository.findChavesCriadasAntesDe(StatusSolicitacao.RECEBIDO, limite,
+                PageRequest.of(lidas / PAGINA - 1, PAGINA));
+            temposOffset[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(temposOffset);
+        double medianaOffset = temposOffset[temposOffset.length / 2] / 1_000_000.0;
+
+        logger.info("Varredura por chave de {} solicitações RECEBIDO em páginas de {} (mediana): primeiras páginas {} ms, "
+                  + "últimas páginas {} ms; última página com OFFSET {} ms",
+                   lidas, PAGINA,
+                   String.format("%.3f", medianaInicio),
+                   String.format("%.3f", medianaFinal),
+                   String.format("%.3f", medianaOffset));
+
+        assertEquals(SOLICITACOES / POR_CLIENTE, lidas);
+        assertTrue(medianaFinal < LIMITE_MEDIANA_MS, "últimas páginas: " + medianaFinal + " ms");
+        assertTrue(medianaFinal < medianaOffset, "página final por chave deveria ser mais rápida que com OFFSET");
+    }
+
+    /**
+     * Insere as solicitações diretamente via SQL: cada cliente tem
+     * {@value #POR_CLIENTE} solicitações, das quais a última está ativa.
+     */
+    private void popular() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM solicitacao_apolice", Long.class) > 0) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        jdbcTemplate.update("""
+            INSERT INTO solicitacao_apolice (id, customer_id, product_id, category, sales_channel, payment_method,
+                total_monthly_premium_amount, insured_amount, status, created_at, finished_at)
+            SELECT RANDOM_UUID(),
+                   CAST(CONCAT('00000000-0000-0000-0000-', LPAD(CAST(X / ? AS VARCHAR), 12, '0')) AS UUID),
+                   'produto-123', 'AUTO', 'MOBILE', 'CREDIT_CARD', 75.25, 275000.50,
+                   CASE WHEN MOD(X, ?) = ? - 1 THEN 'RECEBIDO' ELSE 'APROVADA' END,
+                   DATEADD(MINUTE, X, TIMESTAMP '2024-01-01 00:00:00'),
+                   CASE WHEN MOD(X, ?) = ? - 1 THEN NULL ELSE DATEADD(MINUTE, X + 60, TIMESTAMP '2024-01-01 00:00:00') END
+            FROM SYSTEM_RANGE(0, ? - 1)
+            """, POR_CLIENTE, POR_CLIENTE, POR_CLIENTE, POR_CLIENTE, POR_CLIENTE, SOLICITACOES);
+        jdbcTemplate.execute("ANALYZE TABLE solicitacao_apolice");
+
+        logger.info("{} solicitações inseridas em {} ms", SOLICITACOES, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private double mediana(List<Long> tempos) {
+        long[] ordenados = tempos.stream().mapToLong(Long::longValue).sorted().toArray();
+        return ordenados[ordenados.length / 2] / 1_000_000.0;
+    }
+
+    private double medirMediana(Consumer<UUID> consulta) {
+        int clientes = SOLICITACOES / POR_CLIENTE;
+
+        // Aquecimento
+        for (int i = 0; i < CONSULTAS / 4; i++) {
+            consulta.accept(cliente(ThreadLocalRandom.current().nextInt(clientes)));
+        }
+
+        long[] tempos = new long[CONSULTAS];
+        for (int i = 0; i < CONSULTAS; i++) {
+            UUID customerId = cliente(ThreadLocalRandom.current().nextInt(clientes));
+            long inicio = System.nanoTime();
+            consulta.accept(customerId);
+            tempos[i] = System.nanoTime() - inicio;
+        }
+
+        Arrays.sort(tempos);
+        return tempos[CONSULTAS / 2] / 1_000_000.0;
+    }
+
+    private UUID cliente(int indice) {
+        return UUID.fromString(String.format("00000000-0000-0000-0000-%012d", indice));
+    }
+
+    private String explicar(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, cliente(0)).toUpperCase();
+    }
+}
@@ -0,0 +1,229 @@
+package com.itau.seguros.solicitacao.domain.repository;
+
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.HistoricoStatus;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para as consultas do SolicitacaoRepository.
+ *
+ * Verifica a sonda de solicitação ativa, a projeção de listagem, a
+ * alteração condicional de status, a varredura por chave e o uso dos
+ * índices compostos.
+ */
+@DataJpaTest
+@Import(DicionarioTermos.class)
+public class SolicitacaoRepositoryTest {
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    public void testExistsActiveSolicitacaoByCustomerId() {
+        // Arrange
+        UUID clienteAtivo = UUID.randomUUID();
+        UUID clienteFinalizado = UUID.randomUUID();
+
+        repository.save(criarSolicitacao(clienteAtivo));
+
+        SolicitacaoApolice cancelada = criarSolicitacao(clienteFinalizado);
+        cancelada.alterarStatus(StatusSolicitacao.CANCELADA, "Cancelamento solicitado pelo cliente");
+        repository.saveAndFlush(cancelada);
+
+        // Act & Assert
+        assertTrue(repository.existsActiveSolicitacaoByCustomerId(clienteAtivo));
+        assertFalse(repository.existsActiveSolicitacaoByCustomerId(clienteFinalizado));
+        assertFalse(repository.existsActiveSolicitacaoByCustomerId(UUID.randomUUID()));
+    }
+
+    @Test
+    public void testFindResumoOrdenadoPorCriacaoDecrescente() {
+        // Arrange
+        UUID customerId = UUID.randomUUID();
+        SolicitacaoApolice primeira = repository.saveAndFlush(criarSolicitacao(customerId));
+        SolicitacaoApolice segunda = repository.saveAndFlush(criarSolicitacao(customerId));
+        repository.save(criarSolicitacao(UUID.randomUUID()));
+
+        // Act
+        List<SolicitacaoResumo> resumos = repository.findResumoByCustomerIdOrderByCreatedAtDesc(customerId);
+
+        // Assert
+        assertEquals(2, resumos.size());
+        assertEquals(segunda.getId(), resumos.get(0).getId());
+        assertEquals(primeira.getId(), resumos.get(1).getId());
+        assertEquals(StatusSolicitacao.RECEBIDO, resumos.get(0).getStatus());
+        assertEquals(CategoriaSeguro.AUTO, resumos.get(0).getCategory());
+        assertNull(resumos.get(0).getFinishedAt());
+    }
+
+    @Test
+    public void testAtualizarStatusSeAtualComHistorico() {
+        // Arrange
+        SolicitacaoApolice solicitacao = repository.saveAndFlush(criarSolicitacao(UUID.randomUUID()));
+        LocalDateTime agora = LocalDateTime.now();
+
+        // Act
+        int alteradas = repository.atualizarStatusSeAtual(solicitacao.getId(), StatusSolicitacao.RECEBIDO,
+            StatusSolicitacao.VALIDADO, null);
+        repository.inserirHistorico(solicitacao.getId(), "VALIDADO", agora, "Validação aprovada pela API de Fraudes");
+        int repetidas = repository.atualizarStatusSeAtual(solicitacao.getId(), StatusSolicitacao.RECEBIDO,
+            StatusSolicitacao.VALIDADO, null);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, alteradas);
+        assertEquals(0, repetidas);
+        SolicitacaoApolice lida = repository.findByIdWithHistory(solicitacao.getId()).orElseThrow();
+        assertEquals(StatusSolicitacao.VALIDADO, lida.getStatus());
+        assertNull(lida.getFinishedAt());
+        assertEquals(List.of(StatusSolicitacao.RECEBIDO, StatusSolicitacao.VALIDADO),
+            lida.getHistory().stream().map(HistoricoStatus::getStatus).toList());
+
+        // Registros seguintes gravados pelo agregado não colidem com o ID do INSERT
+        lida.alterarStatus(StatusSolicitacao.PENDENTE, "Pagamento confirmado, aguardando subscrição");
+        repository.saveAndFlush(lida);
+        entityManager.clear();
+        assertEquals(3, repository.findByIdWithHistory(solicitacao.getId()).orElseThrow().getHistory().size());
+    }
+
+    @Test
+    public void testConsultasPorClienteUsamIndicesCompostos() {
+        // Act
+        String planoAtivas = explicar(
+            "SELECT id FROM solicitacao_apolice WHERE customer_id = ? AND finished_at IS NULL FETCH FIRST 1 ROWS ONLY",
+            UUID.randomUUID());
+        String planoListagem = explicar(
+            "SELECT id, status, created_at FROM solicitacao_apolice WHERE customer_id = ? ORDER BY created_at DESC",
+            UUID.randomUUID());
+
+        // Assert
+        assertTrue(planoAtivas.contains("IDX_SOLICITACAO_CUSTOMER_FINISHED"), planoAtivas);
+        assertTrue(planoListagem.contains("IDX_SOLICITACAO_CUSTOMER_CREATED"), planoListagem);
+    }
+
+    @Test
+    public void testVarreduraPorChaveDasCriadasAntesDe() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            repository.save(criarSolicitacao(UUID.randomUUID()));
+        }
+        SolicitacaoApolice validada = criarSolicitacao(UUID.randomUUID());
+        validada.alterarStatus(StatusSolicitacao.VALIDADO, null);
+        repository.saveAndFlush(validada);
+        LocalDateTime limite = LocalDateTime.now().plusMinutes(1);
+
+        // Act
+        List<ChaveSolicitacao> chaves = new ArrayList<>(
+            repository.findChavesCriadasAntesDe(StatusSolicitacao.RECEBIDO, limite, PageRequest.of(0, 2)));
+        while (true) {
+            ChaveSolicitacao ultima = chaves.get(chaves.size() - 1);
+            List<ChaveSolicitacao> pagina = repository.findChavesCriadasAntesDeApos(StatusSolicitacao.RECEBIDO,
+                limite, ultima.getCreatedAt(), ultima.getId(), PageRequest.of(0, 2));
+            if (pagina.isEmpty()) {
+                break;
+            }
+            chaves.addAll(pagina);
+        }
+
+        // Assert
+        assertEquals(5, chaves.size());
+        assertEquals(5, chaves.stream().map(ChaveSolicitacao::getId).distinct().count());
+        assertFalse(chaves.stream().anyMatch(chave -> chave.getId().equals(validada.getId())));
+        for (int i = 1; i < chaves.size(); i++) {
+            assertFalse(chaves.get(i).getCreatedAt().isBefore(chaves.get(i - 1).getCreatedAt()));
+        }
+    }
+
+    @Test
+    public void testVarreduraPorChaveUsaIndiceSemOrdenacao() {
+        // Act
+        String plano = explicar(
+            "SELECT id, created_at FROM solicitacao_apolice WHERE status = 'PENDENTE' "
+          + "AND created_at < TIMESTAMP '2026-01-01 00:00:00' AND created_at >= TIMESTAMP '2025-01-01 00:00:00' "
+          + "AND (created_at > TIMESTAMP '2025-01-01 00:00:00' OR id > ?) "
+          + "ORDER BY status, created_at, id FETCH FIRST 500 ROWS ONLY", UUID.randomUUID());
+
+        // Assert
+        assertTrue(plano.contains("IDX_SOLICITACAO_STATUS_CREATED"), plano);
+        assertTrue(plano.contains("INDEX SORTED"), plano);
+    }
+
+    @Test
+    public void testVarreduraDoHistoricoUsaIndiceSemOrdenacao() {
+        // Act
+        String plano = explicar(
+            "SELECT h.id, h.timestamp, s.id FROM solicitacao_apolice s "
+          + "JOIN historico_status h ON h.solicitacao_id = s.id "
+          + "WHERE h.status = 'RECEBIDO' AND s.status = 'RECEBIDO' "
+          + "AND h.timestamp < TIMESTAMP '2026-01-01 00:00:00' AND h.timestamp >= TIMESTAMP '2025-01-01 00:00:00' "
+          + "AND (h.timestamp > TIMESTAMP '2025-01-01 00:00:00' OR h.id > ?) "
+          + "ORDER BY h.status, h.timestamp, h.id FETCH FIRST 100 ROWS ONLY", 0L);
+
+        // Assert
+        assertTrue(plano.contains("IDX_HISTORICO_STATUS_STATUS_TIMESTAMP"), plano);
+        assertTrue(plano.contains("INDEX SORTED"), plano);
+    }
+
+    @Test
+    public void testTermosGravadosComoCodigosDoDicionario() {
+        // Arrange
+        UUID primeira = repository.save(criarSolicitacao(UUID.randomUUID())).getId();
+        UUID segunda = repository.saveAndFlush(criarSolicitacao(UUID.randomUUID())).getId();
+        entityManager.clear();
+
+        // Act
+        SolicitacaoApolice lidaPrimeira = repository.findById(primeira).orElseThrow();
+        SolicitacaoApolice lidaSegunda = repository.findById(segunda).orElseThrow();
+        String gravado = jdbcTemplate.queryForObject(
+            "SELECT product_id FROM solicitacao_apolice WHERE id = ?", String.class, segunda);
+
+        // Assert: a coluna guarda o código, e os termos lidos são a mesma instância
+        assertTrue(gravado.startsWith("#"), gravado);
+        assertEquals("produto-123", lidaSegunda.getProductId());
+        assertSame(lidaPrimeira.getProductId(), lidaSegunda.getProductId());
+        assertSame(lidaPrimeira.getSalesChannel(), lidaSegunda.getSalesChannel());
+        assertSame(lidaPrimeira.getAssistances().get(0), lidaSegunda.getAssistances().get(0));
+    }
+
+    /**
+     * Método auxiliar para obter o plano de execução de uma consulta no H2.
+     */
+    private String explicar(String sql, Object... parametros) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parametros).toUpperCase();
+    }
+
+    /**
+     * Método auxiliar para criar uma solicitação para testes.
+     */
+    private SolicitacaoApolice criarSolicitacao(UUID customerId) {
+        return new SolicitacaoApolice(
+            customerId, "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package com.itau.seguros.solicitacao.domain.rule;
 
 import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
 import com.itau.seguros.solicitacao.domain.model.TipoCliente;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,7 +9,6 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
-import java.math.BigDecimal;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,28 +34,28 @@ public class RegraValidacaoClienteTest {
         assertTrue(regraValidacao.validarCapitalSegurado(
             TipoCliente.REGULAR, 
             CategoriaSeguro.VIDA, 
-            new BigDecimal("500000.00")
+            Dinheiro.parse("500000.00")
         ));
         
         // No limite
         assertTrue(regraValidacao.validarCapitalSegurado(
             TipoCliente.REGULAR, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("350000.00")
+            Dinheiro.parse("350000.00")
         ));
         
         // Acima do limite
         assertFalse(regraValidacao.validarCapitalSegurado(
             TipoCliente.REGULAR, 
             CategoriaSeguro.VIDA, 
-            new BigDecimal("500000.01")
+            Dinheiro.parse("500000.01")
         ));
         
         // Acima do limite
         assertFalse(regraValidacao.validarCapitalSegurado(
             TipoCliente.REGULAR, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("350000.01")
+            Dinheiro.parse("350000.01")
         ));
     }
     
@@ -65,21 +65,21 @@ public class RegraValidacaoClienteTest {
         assertTrue(regraValidacao.validarCapitalSegurado(
             TipoCliente.ALTO_RISCO, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("250000.00")
+            Dinheiro.parse("250000.00")
         ));
         
         // No limite
         assertTrue(regraValidacao.validarCapitalSegurado(
             TipoCliente.ALTO_RISCO, 
             CategoriaSeguro.RESIDENCIAL, 
-            new BigDecimal("150000.00")
+            Dinheiro.parse("150000.00")
         ));
         
         // Acima do limite
         assertFalse(regraValidacao.validarCapitalSegurado(
             TipoCliente.ALTO_RISCO, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("250000.01")
+            Dinheiro.parse("250000.01")
         ));
     }
     
@@ -89,21 +89,21 @@ public class RegraValidacaoClienteTest {
         assertTrue(regraValidacao.validarCapitalSegurado(
             TipoCliente.PREFERENCIAL, 
             CategoriaSeguro.VIDA, 
-            new BigDecimal("799999.99")
+            Dinheiro.parse("799999.99")
         ));
         
         // No limite
         assertTrue(regraValidacao.validarCapitalSegurado(
             TipoCliente.PREFERENCIAL, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("450000.00")
+            Dinheiro.parse("450000.00")
         ));
         
         // Acima do limite
         assertFalse(regraValidacao.validarCapitalSegurado(
             TipoCliente.PREFERENCIAL, 
             CategoriaSeguro.VIDA, 
-            new BigDecimal("800000.01")
+            Dinheiro.parse("800000.01")
         ));
     }
     
@@ -113,27 +113,27 @@ public class RegraValidacaoClienteTest {
         assertTrue(regraValidacao.validarCapitalSegurado(
             TipoCliente.SEM_INFORMACAO, 
             CategoriaSeguro.VIDA, 
-            new BigDecimal("200000.00")
+            Dinheiro.parse("200000.00")
         ));
         
         // No limite
         assertTrue(regraValidacao.validarCapitalSegurado(
             TipoCliente.SEM_INFORMACAO, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("75000.00")
+            Dinheiro.parse("75000.00")
         ));
         
         // Acima do limite
         assertFalse(regraValidacao.validarCapitalSegurado(
             TipoCliente.SEM_INFORMACAO, 
             CategoriaSeguro.AUTO, 
-            new BigDecimal("75000.01")
+            Dinheiro.parse("75000.01")
         ));
     }
     
     @Test
     public void testObterMensagemRejeicao() {
-        BigDecimal capital = new BigDecimal("500000.01");
+        Dinheiro capital = Dinheiro.parse("500000.01");
         String mensagem = regraValidacao.obterMensagemRejeicao(
             TipoCliente.REGULAR, 
             CategoriaSeguro.VIDA, 
@@ -153,7 +153,7 @@ public class RegraValidacaoClienteTest {
     @ParameterizedTest
     @MethodSource("providerLimitesCapitalSegurado")
     public void testLimitesCapitalSegurado(TipoCliente tipoCliente, CategoriaSeguro categoria, 
-                                          BigDecimal valorLimite, boolean deveAprovar) {
+                                          Dinheiro valorLimite, boolean deveAprovar) {
         assertEquals(deveAprovar, regraValidacao.validarCapitalSegurado(tipoCliente, categoria, valorLimite));
     }
     
@@ -163,36 +163,36 @@ public class RegraValidacaoClienteTest {
     private static Stream<Arguments> providerLimitesCapitalSegurado() {
         return Stream.of(
             // Cliente Regular
-            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.VIDA, new BigDecimal("500000.00"), true),
-            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.VIDA, new BigDecimal("500000.01"), false),
-            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.AUTO, new BigDecimal("350000.00"), true),
-            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.AUTO, new BigDecimal("350000.01"), false),
-            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.OUTROS, new BigDecimal("255000.00"), true),
-            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.OUTROS, new BigDecimal("255000.01"), false),
+            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.VIDA, Dinheiro.parse("500000.00"), true),
+            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.VIDA, Dinheiro.parse("500000.01"), false),
+            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.AUTO, Dinheiro.parse("350000.00"), true),
+            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.AUTO, Dinheiro.parse("350000.01"), false),
+            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.OUTROS, Dinheiro.parse("255000.00"), true),
+            Arguments.of(TipoCliente.REGULAR, CategoriaSeguro.OUTROS, Dinheiro.parse("255000.01"), false),
             
             // Cliente Alto Risco
-            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.AUTO, new BigDecimal("250000.00"), true),
-            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.AUTO, new BigDecimal("250000.01"), false),
-            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.RESIDENCIAL, new BigDecimal("150000.00"), true),
-            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.RESIDENCIAL, new BigDecimal("150000.01"), false),
-            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.VIDA, new BigDecimal("125000.00"), true),
-            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.VIDA, new BigDecimal("125000.01"), false),
+            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.AUTO, Dinheiro.parse("250000.00"), true),
+            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.AUTO, Dinheiro.parse("250000.01"), false),
+            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.RESIDENCIAL, Dinheiro.parse("150000.00"), true),
+            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.RESIDENCIAL, Dinheiro.parse("150000.01"), false),
+            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.VIDA, Dinheiro.parse("125000.00"), true),
+            Arguments.of(TipoCliente.ALTO_RISCO, CategoriaSeguro.VIDA, Dinheiro.parse("125000.01"), false),
             
             // Cliente Preferencial
-            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.VIDA, new BigDecimal("800000.00"), true),
-            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.VIDA, new BigDecimal("800000.01"), false),
-            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.AUTO, new BigDecimal("450000.00"), true),
-            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.AUTO, new BigDecimal("450000.01"), false),
-            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.OUTROS, new BigDecimal("375000.00"), true),
-            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.OUTROS, new BigDecimal("375000.01"), false),
+            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.VIDA, Dinheiro.parse("800000.00"), true),
+            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.VIDA, Dinheiro.parse("800000.01"), false),
+            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.AUTO, Dinheiro.parse("450000.00"), true),
+            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.AUTO, Dinheiro.parse("450000.01"), false),
+            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.OUTROS, Dinheiro.parse("375000.00"), true),
+            Arguments.of(TipoCliente.PREFERENCIAL, CategoriaSeguro.OUTROS, Dinheiro.parse("375000.01"), false),
             
             // Cliente Sem Informação
-            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.VIDA, new BigDecimal("200000.00"), true),
-            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.VIDA, new BigDecimal("200000.01"), false),
-            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.AUTO, new BigDecimal("75000.00"), true),
-            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.AUTO, new BigDecimal("75000.01"), false),
-            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.OUTROS, new BigDecimal("55000.00"), true),
-            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.OUTROS, new BigDecimal("55000.01"), false)
+            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.VIDA, Dinheiro.parse("200000.00"), true),
+            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.VIDA, Dinheiro.parse("200000.01"), false),
+            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.AUTO, Dinheiro.parse("75000.00"), true),
+            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.AUTO, Dinheiro.parse("75000.01"), false),
+            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.OUTROS, Dinheiro.parse("55000.00"), true),
+            Arguments.of(TipoCliente.SEM_INFORMACAO, CategoriaSeguro.OUTROS, Dinheiro.parse("55000.01"), false)
         );
     }
 }
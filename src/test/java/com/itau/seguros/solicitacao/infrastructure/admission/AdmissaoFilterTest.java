@@ -0,0 +1,113 @@
+package com.itau.seguros.solicitacao.infrastructure.admission;
+
+import com.itau.seguros.solicitacao.infrastructure.web.RequisicaoIdentificada;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o filtro de admissão.
+ *
+ * Verifica a recusa com 429/503 e Retry-After, a prioridade pelo canal
+ * de vendas do corpo e a preservação do corpo para o controller.
+ */
+public class AdmissaoFilterTest {
+
+    private static final String CORPO = "{\"customerId\":\"adc56d77-348c-4bf0-908f-22d402ee715c\","
+        + "\"coverages\":{\"Roubo\":100000.25},\"salesChannel\":\"%s\",\"paymentMethod\":\"PIX\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private ControleAdmissao controle;
+    private AdmissaoFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        controle = new ControleAdmissao(true, 10, 2, 10, 10, 2, 10,
+            Duration.ofSeconds(5), Duration.ofSeconds(2), List.of("CORRETOR"), List.of("PARCEIRO"), meterRegistry);
+        filter = new AdmissaoFilter(controle);
+    }
+
+    @Test
+    public void testCanalDeBaixaPrioridadeRecusadoPrimeiro() throws Exception {
+        // Arrange: ocupa a fração do limite da prioridade baixa
+        for (int i = 0; i < 6; i++) {
+            assertTrue(controle.admitir(ControleAdmissao.Operacao.CRIACAO, PrioridadeAdmissao.ALTA).isEmpty());
+        }
+
+        // Act
+        MockHttpServletResponse recusada = executar(criacao("parceiro"), new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse admitida = executar(criacao("CORRETOR"), chain);
+
+        // Assert
+        assertEquals(429, recusada.getStatus());
+        assertEquals("2", recusada.getHeader("Retry-After"));
+        assertTrue(recusada.getContentAsString().contains("\"status\":429"));
+        assertEquals(1.0, meterRegistry.get("admissao.rejeicoes")
+            .tag("operacao", "criacao").tag("prioridade", "baixa").counter().count());
+
+        assertEquals(200, admitida.getStatus());
+        String corpoRecebido = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertEquals(String.format(CORPO, "CORRETOR"), corpoRecebido);
+        assertEquals(6, controle.limite(ControleAdmissao.Operacao.CRIACAO).getEmExecucao());
+    }
+
+    @Test
+    public void testServicoSaturadoRetorna503() throws Exception {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            assertTrue(controle.admitir(ControleAdmissao.Operacao.LEITURA, PrioridadeAdmissao.ALTA).isEmpty());
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/solicitacoes/resumo");
+        request.addHeader(RequisicaoIdentificada.CABECALHO_CANAL, "CORRETOR");
+
+        // Act
+        MockHttpServletResponse response = executar(request, new MockFilterChain());
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    public void testConexoesLongasNaoPassamPeloControle() throws Exception {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            assertTrue(controle.admitir(ControleAdmissao.Operacao.LEITURA, PrioridadeAdmissao.ALTA).isEmpty());
+        }
+
+        // Act
+        MockHttpServletResponse eventos = executar(
+            new MockHttpServletRequest("GET", "/api/solicitacoes/89846cee-c6d5-4320-92e9-16e122d5c672/eventos"),
+            new MockFilterChain());
+        MockHttpServletResponse exportacao = executar(
+            new MockHttpServletRequest("GET", "/api/solicitacoes/exportacao"), new MockFilterChain());
+
+        // Assert
+        assertEquals(200, eventos.getStatus());
+        assertEquals(200, exportacao.getStatus());
+    }
+
+    private MockHttpServletRequest criacao(String canal) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/solicitacoes");
+        request.setContentType("application/json");
+        request.setContent(String.format(CORPO, canal).getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
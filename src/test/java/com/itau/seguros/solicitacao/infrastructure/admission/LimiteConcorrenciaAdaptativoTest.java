@@ -0,0 +1,88 @@
+package com.itau.seguros.solicitacao.infrastructure.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o limite de concorrência adaptativo.
+ *
+ * Verifica o ajuste do limite pela latência, a redução em caso de
+ * sobrecarga e a fração do limite disponível para cada prioridade.
+ */
+public class LimiteConcorrenciaAdaptativoTest {
+
+    private static final long UM_MS = 1_000_000L;
+
+    @Test
+    public void testLimiteCresceComLatenciaEstavel() {
+        // Arrange
+        LimiteConcorrenciaAdaptativo limite = new LimiteConcorrenciaAdaptativo(10, 1, 100);
+
+        // Act: mantém o limite inteiro ocupado com latência constante
+        for (int i = 0; i < 50; i++) {
+            while (limite.tentarAdquirir(PrioridadeAdmissao.ALTA)) {
+                // ocupa todas as vagas
+            }
+            limite.liberar(UM_MS, false);
+        }
+
+        // Assert
+        assertTrue(limite.getLimite() > 10, "limite deveria crescer, ficou em " + limite.getLimite());
+    }
+
+    @Test
+    public void testLimiteCaiQuandoLatenciaSobe() {
+        // Arrange
+        LimiteConcorrenciaAdaptativo limite = new LimiteConcorrenciaAdaptativo(50, 1, 100);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limite.tentarAdquirir(PrioridadeAdmissao.ALTA));
+            limite.liberar(UM_MS, false);
+        }
+        int antes = limite.getLimite();
+
+        // Act: latência dez vezes maior que a de referência
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limite.tentarAdquirir(PrioridadeAdmissao.ALTA));
+            limite.liberar(10 * UM_MS, false);
+        }
+
+        // Assert
+        assertTrue(limite.getLimite() < antes, "limite deveria cair de " + antes + ", ficou em " + limite.getLimite());
+    }
+
+    @Test
+    public void testSobrecargaEFracaoPorPrioridade() {
+        // Arrange
+        LimiteConcorrenciaAdaptativo limite = new LimiteConcorrenciaAdaptativo(10, 2, 100);
+
+        // Act & Assert: prioridade baixa só ocupa 60% do limite
+        int baixa = 0;
+        while (limite.tentarAdquirir(PrioridadeAdmissao.BAIXA)) {
+            baixa++;
+        }
+        assertEquals(6, baixa);
+        assertFalse(limite.isSaturado());
+
+        // Prioridade normal ainda tem vagas, alta usa o limite inteiro
+        assertTrue(limite.tentarAdquirir(PrioridadeAdmissao.NORMAL));
+        assertTrue(limite.tentarAdquirir(PrioridadeAdmissao.NORMAL));
+        assertFalse(limite.tentarAdquirir(PrioridadeAdmissao.NORMAL));
+        assertTrue(limite.tentarAdquirir(PrioridadeAdmissao.ALTA));
+        assertTrue(limite.tentarAdquirir(PrioridadeAdmissao.ALTA));
+        assertFalse(limite.tentarAdquirir(PrioridadeAdmissao.ALTA));
+        assertTrue(limite.isSaturado());
+
+        // Falhas reduzem o limite multiplicativamente, sem passar do mínimo
+        for (int i = 0; i < 10; i++) {
+            limite.liberar(UM_MS, true);
+        }
+        assertEquals(3, limite.getLimite());
+        assertEquals(0, limite.getEmExecucao());
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limite.tentarAdquirir(PrioridadeAdmissao.ALTA));
+            limite.liberar(UM_MS, true);
+        }
+        assertEquals(2, limite.getLimite());
+    }
+}
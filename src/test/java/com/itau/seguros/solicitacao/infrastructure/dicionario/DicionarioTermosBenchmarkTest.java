@@ -0,0 +1,196 @@
+package com.itau.seguros.solicitacao.infrastructure.dicionario;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de memória e de tamanho de linha de 1 milhão de solicitações
+ * com os termos como texto e como códigos do dicionário.
+ *
+ * Em memória, compara os termos de cada agregado (produto, canal, forma
+ * de pagamento, três coberturas e uma assistência) lidos como Strings
+ * independentes, como o JDBC devolve cada coluna de texto, com as
+ * instâncias únicas do dicionário e com os códigos inteiros. No banco,
+ * compara o espaço ocupado pela tabela de solicitações e pela de
+ * coberturas com os termos em texto, com os códigos gravados pelo
+ * dicionário e com colunas INTEGER.
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class DicionarioTermosBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DicionarioTermosBenchmarkTest.class);
+
+    private static final int AGREGADOS = 1_000_000;
+
+    private static final String SQL_DICIONARIO =
+        "CREATE TABLE dicionario_termo (codigo INTEGER PRIMARY KEY, termo VARCHAR(255) NOT NULL UNIQUE)";
+
+    private static final String[] VOCABULARIO = {
+        "produto-123", "MOBILE", "CREDIT_CARD",
+        "Roubo", "Perda Total", "Colisão com Terceiros", "Guincho até 250km"
+    };
+
+    @Test
+    public void testMemoriaDeUmMilhaoDeAgregados() {
+        EmbeddedDatabase dataSource = criarBanco();
+        try {
+            new JdbcTemplate(dataSource).execute(SQL_DICIONARIO);
+            DicionarioTermos dicionario = new DicionarioTermos(dataSource, 1000);
+            String[] gravados = new String[VOCABULARIO.length];
+            int[] inteiros = new int[VOCABULARIO.length];
+            for (int j = 0; j < VOCABULARIO.length; j++) {
+                gravados[j] = dicionario.codificar(VOCABULARIO[j]);
+                inteiros[j] = Integer.parseInt(gravados[j].substring(1), 36);
+            }
+
+            long texto = medirHeap(() -> {
+                String[][] agregados = new String[AGREGADOS][];
+                for (int i = 0; i < AGREGADOS; i++) {
+                    String[] termos = new String[VOCABULARIO.length];
+                    for (int j = 0; j < termos.length; j++) {
+                        // Uma String nova por coluna lida, como devolvida pelo driver
+                        termos[j] = new String(VOCABULARIO[j].getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+                    }
+                    agregados[i] = termos;
+                }
+                return agregados;
+            });
+            long canonicos = medirHeap(() -> {
+                String[][] agregados = new String[AGREGADOS][];
+                for (int i = 0; i < AGREGADOS; i++) {
+                    String[] termos = new String[VOCABULARIO.length];
+                    for (int j = 0; j < termos.length; j++) {
+                        termos[j] = dicionario.decodificar(
+                            new String(gravados[j].getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+                    }
+                    agregados[i] = termos;
+                }
+                return agregados;
+            });
+            long codigos = medirHeap(() -> {
+                int[][] agregados = new int[AGREGADOS][];
+                for (int i = 0; i < AGREGADOS; i++) {
+                    int[] termos = new int[VOCABULARIO.length];
+                    for (int j = 0; j < termos.length; j++) {
+                        termos[j] = inteiros[j];
+                    }
+                    agregados[i] = termos;
+                }
+                return agregados;
+            });
+
+            logger.info("Termos de {} agregados em memória: texto {} MB, instâncias do dicionário {} MB, códigos {} MB",
+                       AGREGADOS, texto / 1_000_000, canonicos / 1_000_000, codigos / 1_000_000);
+
+            assertTrue(canonicos < texto / 2, "instâncias únicas deveriam ocupar menos da metade");
+        } finally {
+            dataSource.shutdown();
+        }
+    }
+
+    @Test
+    public void testTamanhoDeLinhaDeUmMilhaoDeAgregados(@TempDir Path diretorio) {
+        // Banco em arquivo: o H2 em memória não informa o espaço das tabelas
+        SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+            "jdbc:h2:file:" + diretorio.resolve("tamanho-linha").toAbsolutePath(), "sa", "");
+        try {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute(SQL_DICIONARIO);
+            DicionarioTermos dicionario = new DicionarioTermos(dataSource, 1000);
+
+            jdbcTemplate.execute("CREATE TABLE apolice_texto (id UUID PRIMARY KEY, product_id VARCHAR(255), " +
+                "sales_channel VARCHAR(255), payment_method VARCHAR(255))");
+            jdbcTemplate.execute("CREATE TABLE coberturas_texto (solicitacao_id UUID, cobertura_nome VARCHAR(255), " +
+                "cobertura_valor NUMERIC(12,2))");
+            jdbcTemplate.execute("CREATE TABLE apolice_codigo (id UUID PRIMARY KEY, product_id VARCHAR(255), " +
+                "sales_channel VARCHAR(255), payment_method VARCHAR(255))");
+            jdbcTemplate.execute("CREATE TABLE coberturas_codigo (solicitacao_id UUID, cobertura_nome VARCHAR(255), " +
+                "cobertura_valor NUMERIC(12,2))");
+            jdbcTemplate.execute("CREATE TABLE apolice_inteiro (id UUID PRIMARY KEY, product_id INTEGER, " +
+                "sales_channel INTEGER, payment_method INTEGER)");
+
+            String uuid = "CAST(CONCAT('00000000-0000-0000-0000-', LPAD(CAST(X AS VARCHAR), 12, '0')) AS UUID)";
+            jdbcTemplate.update("INSERT INTO apolice_texto SELECT " + uuid + ", ?, ?, ? FROM SYSTEM_RANGE(0, ? - 1)",
+                VOCABULARIO[0], VOCABULARIO[1], VOCABULARIO[2], AGREGADOS);
+            jdbcTemplate.update("INSERT INTO apolice_codigo SELECT " + uuid + ", ?, ?, ? FROM SYSTEM_RANGE(0, ? - 1)",
+                dicionario.codificar(VOCABULARIO[0]), dicionario.codificar(VOCABULARIO[1]),
+                dicionario.codificar(VOCABULARIO[2]), AGREGADOS);
+            jdbcTemplate.update("INSERT INTO apolice_inteiro SELECT " + uuid + ", 1, 2, 3 FROM SYSTEM_RANGE(0, ? - 1)",
+                AGREGADOS);
+            for (int j = 3; j < 6; j++) {
+                jdbcTemplate.update("INSERT INTO coberturas_texto SELECT " + uuid + ", ?, 100000.25 " +
+                    "FROM SYSTEM_RANGE(0, ? - 1)", VOCABULARIO[j], AGREGADOS);
+                jdbcTemplate.update("INSERT INTO coberturas_codigo SELECT " + uuid + ", ?, 100000.25 " +
+                    "FROM SYSTEM_RANGE(0, ? - 1)", dicionario.codificar(VOCABULARIO[j]), AGREGADOS);
+            }
+
+            long apoliceTexto = espacoUsado(jdbcTemplate, "APOLICE_TEXTO");
+            long apoliceCodigo = espacoUsado(jdbcTemplate, "APOLICE_CODIGO");
+            long apoliceInteiro = espacoUsado(jdbcTemplate, "APOLICE_INTEIRO");
+            long coberturasTexto = espacoUsado(jdbcTemplate, "COBERTURAS_TEXTO");
+            long coberturasCodigo = espacoUsado(jdbcTemplate, "COBERTURAS_CODIGO");
+
+            logger.info("Espaço de {} agregados: solicitações texto {} MB / códigos {} MB / INTEGER {} MB, " +
+                       "coberturas texto {} MB / códigos {} MB",
+                       AGREGADOS, apoliceTexto / 1_000_000, apoliceCodigo / 1_000_000, apoliceInteiro / 1_000_000,
+                       coberturasTexto / 1_000_000, coberturasCodigo / 1_000_000);
+
+            assertTrue(apoliceCodigo < apoliceTexto, "linhas com códigos deveriam ocupar menos");
+            assertTrue(coberturasCodigo < coberturasTexto, "coberturas com códigos deveriam ocupar menos");
+        } finally {
+            new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        }
+    }
+
+    private interface Alocacao {
+        Object alocar();
+    }
+
+    /**
+     * Heap retido pela estrutura alocada, medido após coletas completas.
+     */
+    private long medirHeap(Alocacao alocacao) {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        coletar();
+        long antes = memoria.getHeapMemoryUsage().getUsed();
+        Object retido = alocacao.alocar();
+        coletar();
+        long depois = memoria.getHeapMemoryUsage().getUsed();
+        assertNotNull(retido);
+        return depois - antes;
+    }
+
+    private void coletar() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+    }
+
+    private long espacoUsado(JdbcTemplate jdbcTemplate, String tabela) {
+        return jdbcTemplate.queryForObject("CALL DISK_SPACE_USED(?)", Long.class, tabela);
+    }
+
+    private EmbeddedDatabase criarBanco() {
+        return new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.itau.seguros.solicitacao.infrastructure.dicionario;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para o dicionário persistente de termos.
+ *
+ * Utiliza um H2 embarcado compartilhado entre instâncias do dicionário,
+ * como várias instâncias da aplicação usando o mesmo banco.
+ */
+public class DicionarioTermosTest {
+
+    private EmbeddedDatabase dataSource;
+
+    @BeforeEach
+    public void setup() {
+        dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        new JdbcTemplate(dataSource).execute("CREATE TABLE dicionario_termo (codigo INTEGER PRIMARY KEY, " +
+            "termo VARCHAR(255) NOT NULL UNIQUE)");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void testCodificarPersisteERecarrega() {
+        // Arrange
+        DicionarioTermos dicionario = new DicionarioTermos(dataSource, 100);
+
+        // Act
+        String produto = dicionario.codificar("produto-123");
+        String canal = dicionario.codificar("MOBILE");
+
+        // Assert
+        assertEquals("#1", produto);
+        assertEquals("#2", canal);
+        assertEquals(produto, dicionario.codificar(new String("produto-123")));
+        assertSame(dicionario.decodificar(produto), dicionario.decodificar(new String(produto)));
+
+        DicionarioTermos recarregado = new DicionarioTermos(dataSource, 100);
+        assertEquals("produto-123", recarregado.decodificar(produto));
+        assertEquals(canal, recarregado.codificar("MOBILE"));
+        assertEquals(2, recarregado.tamanho());
+        assertThrows(IllegalStateException.class, () -> recarregado.decodificar("#zz"));
+    }
+
+    @Test
+    public void testInstanciasConcorrentesCompartilhamCodigos() throws Exception {
+        // Arrange
+        DicionarioTermos primeira = new DicionarioTermos(dataSource, 1000);
+        DicionarioTermos segunda = new DicionarioTermos(dataSource, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<String[]>> resultados = new ArrayList<>();
+        try {
+            for (DicionarioTermos dicionario : List.of(primeira, segunda, primeira, segunda)) {
+                resultados.add(executor.submit(() -> {
+                    String[] codigos = new String[50];
+                    for (int i = 0; i < codigos.length; i++) {
+                        codigos[i] = dicionario.codificar("Cobertura " + i);
+                    }
+                    return codigos;
+                }));
+            }
+
+            // Assert
+            String[] esperado = resultados.get(0).get();
+            for (Future<String[]> resultado : resultados) {
+                assertArrayEquals(esperado, resultado.get());
+            }
+
+            DicionarioTermos terceira = new DicionarioTermos(dataSource, 1000);
+            assertEquals(50, terceira.tamanho());
+            assertEquals(esperado[49], terceira.codificar("Cobertura 49"));
+            assertEquals("Cobertura 7", segunda.decodificar(primeira.codificar("Cobertura 7")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDicionarioCheioGravaTermosNovosComoTexto() {
+        // Arrange
+        DicionarioTermos dicionario = new DicionarioTermos(dataSource, 2);
+        DicionarioTermos outraInstancia = new DicionarioTermos(dataSource, 2);
+        String auto = dicionario.codificar("AUTO");
+        String vida = outraInstancia.codificar("VIDA");
+
+        // Act
+        String residencial = dicionario.codificar("RESIDENCIAL");
+        String comMarcador = dicionario.codificar("#RESIDENCIAL");
+
+        // Assert: o termo gravado pela outra instância continua codificado
+        assertEquals(vida, dicionario.codificar("VIDA"));
+        assertEquals("RESIDENCIAL", residencial);
+        assertEquals("##RESIDENCIAL", comMarcador);
+        assertEquals("RESIDENCIAL", dicionario.decodificar(residencial));
+        assertEquals("#RESIDENCIAL", dicionario.decodificar(comMarcador));
+        assertEquals("AUTO", outraInstancia.decodificar(auto));
+        assertEquals(2, dicionario.tamanho());
+        assertEquals(2, new DicionarioTermos(dataSource, 2).tamanho());
+    }
+
+    @Test
+    public void testTextoGravadoAntesDoDicionarioEhLidoComoEsta() {
+        DicionarioTermos dicionario = new DicionarioTermos(dataSource, 100);
+
+        assertEquals("CREDIT_CARD", dicionario.decodificar("CREDIT_CARD"));
+        assertNull(dicionario.decodificar(null));
+        assertNull(dicionario.codificar(null));
+        assertEquals(0, dicionario.tamanho());
+    }
+}
@@ -0,0 +1,138 @@
+package com.itau.seguros.solicitacao.infrastructure.eventstore;
+
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do ciclo RECEBIDO → VALIDADO → PENDENTE → APROVADA, comparando
+ * o caminho JPA (carregar, alterar e regravar o agregado em uma transação
+ * por transição) com o event store (projeção do status na linha e append
+ * no log após o commit, também em uma transação por transição).
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import(DicionarioTermos.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StatusEventStoreBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusEventStoreBenchmarkTest.class);
+
+    private static final int SOLICITACOES = 5_000;
+    private static final int AQUECIMENTO = 1_000;
+
+    private static final StatusSolicitacao[] CICLO = {
+        StatusSolicitacao.VALIDADO, StatusSolicitacao.PENDENTE, StatusSolicitacao.APROVADA
+    };
+
+    @Autowired
+    private SolicitacaoRepository repository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    public void testCicloDeVidaJpaVersusEventStore() throws IOException {
+        // Solicitações distintas para cada caminho, já que os dois gravam o status na linha
+        List<UUID> idsJpa = criarSolicitacoes(SOLICITACOES + AQUECIMENTO);
+        List<UUID> idsEventStore = criarSolicitacoes(SOLICITACOES + AQUECIMENTO);
+
+        StatusEventStore store = new StatusEventStore(
+            true, diretorio.toString(), 8, 16 * 1024 * 1024, false, 1000, evento -> { }, repository);
+        store.iniciar();
+        for (UUID id : idsEventStore) {
+            store.registrarCriacao(id, LocalDateTime.now(), "Solicitação recebida");
+        }
+
+        executarJpa(idsJpa.subList(0, AQUECIMENTO));
+        executarEventStore(store, idsEventStore.subList(0, AQUECIMENTO));
+
+        List<UUID> medidosJpa = idsJpa.subList(AQUECIMENTO, idsJpa.size());
+        List<UUID> medidos = idsEventStore.subList(AQUECIMENTO, idsEventStore.size());
+
+        long inicioJpa = System.nanoTime();
+        executarJpa(medidosJpa);
+        long nanosJpa = System.nanoTime() - inicioJpa;
+
+        long inicioEventStore = System.nanoTime();
+        executarEventStore(store, medidos);
+        long nanosEventStore = System.nanoTime() - inicioEventStore;
+
+        int transicoes = SOLICITACOES * CICLO.length;
+        logger.info("Ciclo de vida ({} solicitações, {} transições): JPA {} transições/s, event store {} transições/s ({}x)",
+                   SOLICITACOES, transicoes,
+                   String.format("%,.0f", transicoes / (nanosJpa / 1e9)),
+                   String.format("%,.0f", transicoes / (nanosEventStore / 1e9)),
+                   String.format("%.1f", (double) nanosJpa / nanosEventStore));
+
+        assertEquals(StatusSolicitacao.APROVADA, repository.findById(medidosJpa.get(0)).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.APROVADA, repository.findById(medidos.get(0)).orElseThrow().getStatus());
+        assertEquals(StatusSolicitacao.APROVADA, store.buscar(medidos.get(0)).orElseThrow().status());
+
+        store.encerrar();
+    }
+
+    private void executarJpa(List<UUID> ids) {
+        for (UUID id : ids) {
+            for (StatusSolicitacao status : CICLO) {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    SolicitacaoApolice solicitacao = repository.findById(id).orElseThrow();
+                    solicitacao.alterarStatus(status, "Benchmark");
+                    repository.save(solicitacao);
+                });
+            }
+        }
+    }
+
+    private void executarEventStore(StatusEventStore store, List<UUID> ids) {
+        for (UUID id : ids) {
+            for (StatusSolicitacao status : CICLO) {
+                transactionTemplate.executeWithoutResult(tx -> store.transicionar(id, status, "Benchmark"));
+            }
+        }
+    }
+
+    private List<UUID> criarSolicitacoes(int quantidade) {
+        List<UUID> ids = new ArrayList<>(quantidade);
+        transactionTemplate.executeWithoutResult(tx -> {
+            for (int i = 0; i < quantidade; i++) {
+                SolicitacaoApolice solicitacao = repository.save(new SolicitacaoApolice(
+                    UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+                    Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+                    Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")
+                ));
+                ids.add(solicitacao.getId());
+            }
+        });
+        return ids;
+    }
+}
@@ -0,0 +1,316 @@
+package com.itau.seguros.solicitacao.infrastructure.eventstore;
+
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusSnapshotIndex.EstadoStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o event store de status.
+ *
+ * Verifica a validação de transições, a projeção do status na tabela, o
+ * append somente após o commit, a publicação do evento de status e a
+ * reconstrução do índice a partir do log e dos snapshots, a importação
+ * das solicitações ausentes do índice e a remoção das arquivadas.
+ */
+public class StatusEventStoreTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final List<Object> eventosPublicados = new ArrayList<>();
+    private final SolicitacaoRepository repository = mock(SolicitacaoRepository.class);
+
+    @BeforeEach
+    public void setup() {
+        when(repository.atualizarStatusSeAtual(any(), any(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    public void testTransicionarPublicaEventoEAtualizaIndice() throws IOException {
+        // Arrange
+        StatusEventStore store = abrir(1024 * 1024);
+        UUID id = UUID.randomUUID();
+        store.registrarCriacao(id, LocalDateTime.now(), "Solicitação recebida");
+
+        // Act
+        store.transicionar(id, StatusSolicitacao.VALIDADO, "Validação aprovada pela API de Fraudes");
+        store.transicionar(id, StatusSolicitacao.PENDENTE, "Pagamento confirmado, aguardando subscrição");
+        store.transicionar(id, StatusSolicitacao.APROVADA, "Subscrição autorizada");
+
+        // Assert
+        EstadoStatus estado = store.buscar(id).orElseThrow();
+        assertEquals(StatusSolicitacao.APROVADA, estado.status());
+        assertEquals(4, estado.versao());
+        assertNotNull(estado.finishedAt());
+        assertEquals(3, eventosPublicados.size());
+        assertEquals(StatusSolicitacao.APROVADA, ((StatusAlteradoEvent) eventosPublicados.get(2)).status());
+
+        store.encerrar();
+    }
+
+    @Test
+    public void testTransicaoInvalida() throws IOException {
+        // Arrange
+        StatusEventStore store = abrir(1024 * 1024);
+        UUID id = UUID.randomUUID();
+        store.registrarCriacao(id, LocalDateTime.now(), "Solicitação recebida");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+            () -> store.transicionar(id, StatusSolicitacao.APROVADA, "Subscrição autorizada"));
+        assertEquals(StatusSolicitacao.RECEBIDO, store.buscar(id).orElseThrow().status());
+        assertThrows(NoSuchElementException.class,
+            () -> store.transicionar(UUID.randomUUID(), StatusSolicitacao.VALIDADO, null));
+        assertTrue(eventosPublicados.isEmpty());
+
+        store.encerrar();
+    }
+
+    @Test
+    public void testProjetaNaTabelaEAcrescentaSomenteAposOCommit() throws IOException {
+        // Arrange
+        StatusEventStore store = abrir(1024 * 1024);
+        UUID id = UUID.randomUUID();
+        store.registrarCriacao(id, LocalDateTime.now(), "Solicitação recebida");
+
+        // Act & Assert: revertida, a transição não chega ao log nem ao índice
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.transicionar(id, StatusSolicitacao.CANCELADA, "Cancelamento solicitado pelo cliente");
+            concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(StatusSolicitacao.RECEBIDO, store.buscar(id).orElseThrow().status());
+        verify(repository).atualizarStatusSeAtual(eq(id), eq(StatusSolicitacao.RECEBIDO),
+            eq(StatusSolicitacao.CANCELADA), any(LocalDateTime.class));
+
+        // Confirmada, a transição só é aplicada depois do commit
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            EstadoStatus validado = store.transicionar(id, StatusSolicitacao.VALIDADO, "Validação aprovada pela API de Fraudes");
+            assertEquals(StatusSolicitacao.VALIDADO, validado.status());
+            assertEquals(StatusSolicitacao.RECEBIDO, store.buscar(id).orElseThrow().status());
+            concluir(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(StatusSolicitacao.VALIDADO, store.buscar(id).orElseThrow().status());
+        assertEquals(1, eventosPublicados.size());
+
+        // Linha alterada por outra transação depois da leitura do índice
+        when(repository.atualizarStatusSeAtual(any(), any(), any(), any())).thenReturn(0);
+        assertThrows(OptimisticLockingFailureException.class,
+            () -> store.transicionar(id, StatusSolicitacao.PENDENTE, "Pagamento confirmado, aguardando subscrição"));
+        assertEquals(StatusSolicitacao.VALIDADO, store.buscar(id).orElseThrow().status());
+
+        store.encerrar();
+
+        // O log reaberto contém apenas as transições confirmadas
+        assertEquals(2, abrir(1024 * 1024).buscar(id).orElseThrow().versao());
+    }
+
+    @Test
+    public void testTransicionarSeAtualComparaComOStatusEsperado() throws IOException {
+        // Arrange
+        StatusEventStore store = abrir(1024 * 1024);
+        UUID id = UUID.randomUUID();
+        store.registrarCriacao(id, LocalDateTime.now(), "Solicitação recebida");
+
+        // Act & Assert: outra entrega já projetou a validação na tabela
+        when(repository.atualizarStatusSeAtual(any(), any(), any(), any())).thenReturn(0);
+        assertTrue(store.transicionarSeAtual(id, StatusSolicitacao.RECEBIDO, StatusSolicitacao.VALIDADO,
+            "Validação aprovada pela API de Fraudes").isEmpty());
+        assertEquals(StatusSolicitacao.RECEBIDO, store.buscar(id).orElseThrow().status());
+
+        when(repository.atualizarStatusSeAtual(any(), any(), any(), any())).thenReturn(1);
+        assertEquals(StatusSolicitacao.VALIDADO, store.transicionarSeAtual(id, StatusSolicitacao.RECEBIDO,
+            StatusSolicitacao.VALIDADO, "Validação aprovada pela API de Fraudes").orElseThrow().status());
+
+        // Já fora de RECEBIDO, a entrega repetida não toca a tabela
+        assertTrue(store.transicionarSeAtual(id, StatusSolicitacao.RECEBIDO, StatusSolicitacao.REJEITADA,
+            "Solicitação rejeitada").isEmpty());
+        verify(repository, never()).atualizarStatusSeAtual(any(), any(), eq(StatusSolicitacao.REJEITADA), any());
+        assertEquals(1, eventosPublicados.size());
+        assertThrows(NoSuchElementException.class, () -> store.transicionarSeAtual(
+            UUID.randomUUID(), StatusSolicitacao.RECEBIDO, StatusSolicitacao.VALIDADO, null));
+
+        store.encerrar();
+    }
+
+    @Test
+    public void testRecuperarDoLogComMultiplosSegmentos() throws IOException {
+        // Arrange: segmentos pequenos forçam a troca de segmento
+        StatusEventStore store = abrir(512);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            store.registrarCriacao(id, LocalDateTime.now(), "Solicitação recebida");
+            store.transicionar(id, StatusSolicitacao.VALIDADO, "Validação aprovada pela API de Fraudes");
+        }
+
+        // Act: reabre sem snapshot, apenas a partir do log
+        StatusEventStore reaberto = abrir(512);
+
+        // Assert
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertTrue(arquivos.filter(p -> p.toString().endsWith(".log")).count() > 2);
+        }
+        for (UUID id : ids) {
+            EstadoStatus estado = reaberto.buscar(id).orElseThrow();
+            assertEquals(StatusSolicitacao.VALIDADO, estado.status());
+            assertEquals(2, estado.versao());
+            assertEquals("Validação aprovada pela API de Fraudes", estado.historico().get(1).observacao());
+        }
+    }
+
+    @Test
+    public void testRecuperarDoSnapshotMaisFinalDoLog() throws IOException {
+        // Arrange
+        StatusEventStore store = abrir(1024 * 1024);
+        UUID id = UUID.randomUUID();
+        store.registrarCriacao(id, LocalDateTime.now(), "Solicitação recebida");
+        store.transicionar(id, StatusSolicitacao.VALIDADO, "Validação aprovada pela API de Fraudes");
+        store.salvarSnapshot();
+
+        // Registros posteriores ao snapshot ficam apenas no log
+        store.transicionar(id, StatusSolicitacao.PENDENTE, "Pagamento confirmado, aguardando subscrição");
+        UUID outro = UUID.randomUUID();
+        store.registrarCriacao(outro, LocalDateTime.now(), "Solicitação recebida");
+
+        // Act
+        StatusEventStore reaberto = abrir(1024 * 1024);
+
+        // Assert
+        EstadoStatus estado = reaberto.buscar(id).orElseThrow();
+        assertEquals(StatusSolicitacao.PENDENTE, estado.status());
+        assertEquals(3, estado.versao());
+        assertEquals(StatusSolicitacao.RECEBIDO, reaberto.buscar(outro).orElseThrow().status());
+        assertTrue(Files.exists(diretorio.resolve("snapshot.bin")));
+    }
+
+    @Test
+    public void testBuscarImportaSolicitacaoAusenteDoIndice() throws IOException {
+        // Arrange: solicitação criada com o modo desabilitado
+        StatusEventStore store = abrir(1024 * 1024);
+        SolicitacaoApolice solicitacao = novaSolicitacao();
+        solicitacao.alterarStatus(StatusSolicitacao.VALIDADO, "Validação aprovada pela API de Fraudes");
+        UUID id = solicitacao.getId();
+        when(repository.findByIdWithHistory(id)).thenReturn(Optional.of(solicitacao));
+
+        // Act
+        store.transicionar(id, StatusSolicitacao.PENDENTE, "Pagamento confirmado, aguardando subscrição");
+
+        // Assert: o histórico da tabela vai para o log antes da transição
+        EstadoStatus estado = store.buscar(id).orElseThrow();
+        assertEquals(StatusSolicitacao.PENDENTE, estado.status());
+        assertEquals(3, estado.versao());
+        assertEquals("Validação aprovada pela API de Fraudes", estado.historico().get(1).observacao());
+        verify(repository).findByIdWithHistory(id);
+        store.registrarCriacao(id, LocalDateTime.now(), "Solicitação recebida");
+        assertEquals(3, store.buscar(id).orElseThrow().versao());
+
+        assertThrows(NoSuchElementException.class,
+            () -> store.transicionar(UUID.randomUUID(), StatusSolicitacao.VALIDADO, null));
+
+        store.encerrar();
+        assertEquals(3, abrir(1024 * 1024).buscar(id).orElseThrow().versao());
+    }
+
+    @Test
+    public void testImportarAtivasNaInicializacao() throws IOException {
+        // Arrange: status projetado na tabela sem registro no histórico
+        StatusEventStore store = abrir(1024 * 1024);
+        SolicitacaoApolice solicitacao = novaSolicitacao();
+        UUID registrada = UUID.randomUUID();
+        store.registrarCriacao(registrada, LocalDateTime.now(), "Solicitação recebida");
+        when(repository.findIdsAtivasApos(any(), any())).thenReturn(List.of(solicitacao.getId(), registrada));
+        when(repository.findAllByIdInWithHistory(List.of(solicitacao.getId()))).thenReturn(List.of(solicitacao));
+
+        // Act
+        store.importarAtivas();
+
+        // Assert
+        assertEquals(StatusSolicitacao.RECEBIDO, store.buscar(solicitacao.getId()).orElseThrow().status());
+        assertEquals(1, store.buscar(registrada).orElseThrow().versao());
+        verify(repository).findAllByIdInWithHistory(List.of(solicitacao.getId()));
+        verify(repository, never()).findByIdWithHistory(any());
+    }
+
+    @Test
+    public void testRemoverArquivadasSobreviveAReconstrucao() throws IOException {
+        // Arrange
+        StatusEventStore store = abrir(1024 * 1024);
+        UUID arquivada = UUID.randomUUID();
+        UUID ativa = UUID.randomUUID();
+        store.registrarCriacao(arquivada, LocalDateTime.now(), "Solicitação recebida");
+        store.transicionar(arquivada, StatusSolicitacao.CANCELADA, "Cancelamento solicitado pelo cliente");
+        store.registrarCriacao(ativa, LocalDateTime.now(), "Solicitação recebida");
+        store.salvarSnapshot();
+
+        // Act
+        store.remover(List.of(arquivada));
+
+        // Assert: a remoção posterior ao snapshot vale na reconstrução
+        assertTrue(store.buscar(arquivada).isEmpty());
+        store.encerrar();
+        StatusEventStore reaberto = abrir(1024 * 1024);
+        assertTrue(reaberto.buscar(arquivada).isEmpty());
+        assertEquals(StatusSolicitacao.RECEBIDO, reaberto.buscar(ativa).orElseThrow().status());
+        reaberto.salvarSnapshot();
+        reaberto.encerrar();
+        assertTrue(abrir(1024 * 1024).buscar(arquivada).isEmpty());
+    }
+
+    private static SolicitacaoApolice novaSolicitacao() {
+        return new SolicitacaoApolice(UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE",
+            "CREDIT_CARD", Dinheiro.parse("100.00"), Dinheiro.parse("50000.00"),
+            Map.of("Colisão", Dinheiro.parse("50000.00")), List.of("Guincho"));
+    }
+
+    private static void concluir(int status) {
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                sincronizacao.afterCommit();
+            }
+            sincronizacao.afterCompletion(status);
+        }
+    }
+
+    /**
+     * Método auxiliar para abrir um event store habilitado no diretório temporário.
+     */
+    private StatusEventStore abrir(int tamanhoSegmento) throws IOException {
+        StatusEventStore store = new StatusEventStore(
+            true, diretorio.toString(), 4, tamanhoSegmento, false, 1000, eventosPublicados::add, repository);
+        store.iniciar();
+        return store;
+    }
+}
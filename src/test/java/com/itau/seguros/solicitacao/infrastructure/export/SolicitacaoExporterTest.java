@@ -0,0 +1,195 @@
+package com.itau.seguros.solicitacao.infrastructure.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.seguros.solicitacao.domain.model.ColecoesSolicitacao;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import com.itau.seguros.solicitacao.infrastructure.dicionario.DicionarioTermos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a exportação de solicitações via cursor JDBC.
+ *
+ * Utiliza um H2 embarcado com o mesmo esquema gerado pelo Hibernate
+ * para verificar o agrupamento de coberturas, a tradução dos códigos do
+ * dicionário de termos e os formatos de saída.
+ */
+public class SolicitacaoExporterTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DicionarioTermos dicionario;
+    private SolicitacaoExporter exporter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setup() {
+        dataSource = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE solicitacao_apolice (id UUID PRIMARY KEY, customer_id UUID NOT NULL, " +
+            "product_id VARCHAR(255) NOT NULL, category VARCHAR(32) NOT NULL, sales_channel VARCHAR(255) NOT NULL, " +
+            "payment_method VARCHAR(255) NOT NULL, status VARCHAR(32) NOT NULL, " +
+            "total_monthly_premium_amount NUMERIC(10,2) NOT NULL, insured_amount NUMERIC(12,2) NOT NULL, " +
+            "created_at TIMESTAMP NOT NULL, finished_at TIMESTAMP, colecoes VARBINARY(65535))");
+        jdbcTemplate.execute("CREATE TABLE solicitacao_coberturas (solicitacao_id UUID NOT NULL, " +
+            "cobertura_nome VARCHAR(255) NOT NULL, cobertura_valor NUMERIC(12,2))");
+        jdbcTemplate.execute("CREATE TABLE dicionario_termo (codigo INTEGER PRIMARY KEY, " +
+            "termo VARCHAR(255) NOT NULL UNIQUE)");
+
+        dicionario = new DicionarioTermos(dataSource, 1000);
+        exporter = new SolicitacaoExporter(dataSource, dicionario, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    public void testExportarNdjsonAgrupaCoberturas() throws Exception {
+        // Arrange
+        UUID primeira = inserir(LocalDateTime.of(2025, 8, 25, 10, 0), "RECEBIDO", "Roubo", "Perda Total", "Vidros");
+        UUID segunda = inserir(LocalDateTime.of(2025, 8, 25, 11, 0), "APROVADA", "Morte");
+        inserir(LocalDateTime.of(2025, 8, 27, 9, 0), "RECEBIDO", "Roubo");
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        long total = exporter.exportar(
+            LocalDateTime.of(2025, 8, 25, 0, 0), LocalDateTime.of(2025, 8, 26, 0, 0),
+            null, FormatoExportacao.NDJSON, saida);
+
+        // Assert
+        assertEquals(2, total);
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+
+        JsonNode primeiraLinha = objectMapper.readTree(linhas[0]);
+        assertEquals(primeira.toString(), primeiraLinha.get("id").asText());
+        assertEquals("produto-123", primeiraLinha.get("productId").asText());
+        assertEquals("MOBILE", primeiraLinha.get("salesChannel").asText());
+        assertTrue(primeiraLinha.get("coverages").has("Perda Total"));
+        assertEquals(3, primeiraLinha.get("coverages").size());
+        assertTrue(primeiraLinha.get("finishedAt").isNull());
+
+        JsonNode segundaLinha = objectMapper.readTree(linhas[1]);
+        assertEquals(segunda.toString(), segundaLinha.get("id").asText());
+        assertEquals(1, segundaLinha.get("coverages").size());
+    }
+
+    @Test
+    public void testExportarCsvComFiltroDeStatus() throws Exception {
+        // Arrange
+        inserir(LocalDateTime.of(2025, 8, 25, 10, 0), "RECEBIDO", "Roubo");
+        UUID aprovada = inserir(LocalDateTime.of(2025, 8, 25, 11, 0), "APROVADA", "Morte", "Invalidez");
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        long total = exporter.exportar(
+            LocalDateTime.of(2025, 8, 25, 0, 0), LocalDateTime.of(2025, 8, 26, 0, 0),
+            StatusSolicitacao.APROVADA, FormatoExportacao.CSV, saida);
+
+        // Assert
+        assertEquals(1, total);
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[0].startsWith("id,customerId"));
+        assertTrue(linhas[1].startsWith(aprovada.toString()));
+        assertTrue(linhas[1].endsWith("Morte=100.00;Invalidez=100.00")
+            || linhas[1].endsWith("Invalidez=100.00;Morte=100.00"));
+    }
+
+    @Test
+    public void testExportarCsvEscapaCoberturas() throws Exception {
+        // Arrange
+        UUID id = inserir(LocalDateTime.of(2025, 8, 25, 10, 0), "RECEBIDO", "Danos a \"terceiros\", vidros;\nfaróis=sim");
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        exporter.exportar(
+            LocalDateTime.of(2025, 8, 25, 0, 0), LocalDateTime.of(2025, 8, 26, 0, 0),
+            null, FormatoExportacao.CSV, saida);
+
+        // Assert
+        String csv = saida.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains("\n" + id + ","));
+        assertTrue(csv.endsWith(",\"Danos a \"\"terceiros\"\", vidros\\;\nfaróis\\=sim=100.00\"\n"));
+    }
+
+    @Test
+    public void testExportarColecoesCompactas() throws Exception {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        byte[] colecoes = ColecoesSolicitacao.de(
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")).getCodificado();
+        jdbcTemplate.update("INSERT INTO solicitacao_apolice VALUES (?, ?, 'produto-123', 'AUTO', 'MOBILE', " +
+            "'CREDIT_CARD', 'RECEBIDO', 75.25, 275000.50, ?, NULL, ?)",
+            id, UUID.randomUUID(), LocalDateTime.of(2025, 8, 25, 10, 0), colecoes);
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act
+        long total = exporter.exportar(
+            LocalDateTime.of(2025, 8, 25, 0, 0), LocalDateTime.of(2025, 8, 26, 0, 0),
+            null, FormatoExportacao.NDJSON, saida);
+
+        // Assert
+        assertEquals(1, total);
+        JsonNode linha = objectMapper.readTree(saida.toString(StandardCharsets.UTF_8));
+        assertEquals(id.toString(), linha.get("id").asText());
+        assertEquals(1, linha.get("coverages").size());
+        assertEquals("100000.25", linha.get("coverages").get("Roubo").asText());
+    }
+
+    @Test
+    public void testExportarSemResultados() throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long total = exporter.exportar(
+            LocalDateTime.of(2025, 8, 25, 0, 0), LocalDateTime.of(2025, 8, 26, 0, 0),
+            null, FormatoExportacao.NDJSON, saida);
+
+        assertEquals(0, total);
+        assertEquals(0, saida.size());
+    }
+
+    /**
+     * Método auxiliar para inserir uma solicitação com coberturas de valor fixo.
+     */
+    private UUID inserir(LocalDateTime createdAt, String status, String... coberturas) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO solicitacao_apolice VALUES (?, ?, ?, 'AUTO', ?, ?, ?, 75.25, 275000.50, " +
+            "?, ?, NULL)",
+            id, UUID.randomUUID(), dicionario.codificar("produto-123"), dicionario.codificar("MOBILE"),
+            dicionario.codificar("CREDIT_CARD"), status, createdAt,
+            "APROVADA".equals(status) ? createdAt.plusHours(1) : null);
+
+        for (String cobertura : coberturas) {
+            jdbcTemplate.update("INSERT INTO solicitacao_coberturas VALUES (?, ?, 100.00)",
+                id, dicionario.codificar(cobertura));
+        }
+        return id;
+    }
+}
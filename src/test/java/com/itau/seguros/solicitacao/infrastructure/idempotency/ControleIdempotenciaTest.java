@@ -0,0 +1,262 @@
+package com.itau.seguros.solicitacao.infrastructure.idempotency;
+
+import com.itau.seguros.solicitacao.domain.model.RespostaIdempotente;
+import com.itau.seguros.solicitacao.domain.repository.RespostaIdempotenteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o controle de Idempotency-Key.
+ *
+ * Verifica a repetição da resposta sem nova execução, a reserva da chave
+ * na tabela e sua renovação, a espera de requisições concorrentes, nesta
+ * instância e em outra, e a recusa de chaves reutilizadas ou de execuções
+ * interrompidas.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ControleIdempotenciaTest {
+
+    private static final byte[] CORPO = "{\"salesChannel\":\"MOBILE\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private RespostaIdempotenteRepository repository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ControleIdempotencia controle;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        controle = new ControleIdempotencia(repository, meterRegistry,
+            Duration.ofHours(24), Duration.ofMinutes(10), 100, Duration.ofSeconds(5), Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void testRepeteRespostaSemExecutarNovamente() throws Exception {
+        // Arrange
+        when(repository.findByChaveAndExpiraEmAfter(eq("chave-1"), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        AtomicInteger execucoes = new AtomicInteger();
+        ControleIdempotencia.Execucao execucao = () -> {
+            execucoes.incrementAndGet();
+            return new ControleIdempotencia.RespostaGuardada(201, "application/json", "{\"id\":1}".getBytes());
+        };
+
+        // Act
+        ControleIdempotencia.Resultado primeira = controle.executar("chave-1", CORPO, execucao);
+        ControleIdempotencia.Resultado segunda = controle.executar("chave-1", CORPO, execucao);
+
+        // Assert
+        assertEquals(1, execucoes.get());
+        assertFalse(primeira.repetida());
+        assertTrue(segunda.repetida());
+        assertArrayEquals(primeira.resposta().corpo(), segunda.resposta().corpo());
+        assertEquals(201, segunda.resposta().status());
+
+        ArgumentCaptor<RespostaIdempotente> captor = ArgumentCaptor.forClass(RespostaIdempotente.class);
+        verify(repository).save(captor.capture());
+        assertEquals("chave-1", captor.getValue().getChave());
+        assertTrue(captor.getValue().isPendente());
+        assertEquals(64, captor.getValue().getHashRequisicao().length());
+        verify(repository).concluirReserva(eq("chave-1"), eq(201), eq("application/json"), isNull(),
+            eq("{\"id\":1}".getBytes()), any(LocalDateTime.class));
+        assertEquals(1.0, meterRegistry.get("solicitacao.idempotencia.repetidas").counter().count());
+    }
+
+    @Test
+    public void testRepeteRespostaDaTabela() throws Exception {
+        // Arrange
+        ControleIdempotencia outraInstancia = new ControleIdempotencia(repository, meterRegistry,
+            Duration.ofHours(24), Duration.ofMinutes(10), 100, Duration.ofSeconds(5), Duration.ofMinutes(1));
+        when(repository.findByChaveAndExpiraEmAfter(eq("chave-2"), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        controle.executar("chave-2", CORPO,
+            () -> new ControleIdempotencia.RespostaGuardada(201, "application/json", "{\"id\":2}".getBytes()));
+
+        ArgumentCaptor<RespostaIdempotente> captor = ArgumentCaptor.forClass(RespostaIdempotente.class);
+        verify(repository).save(captor.capture());
+        when(repository.findByChaveAndExpiraEmAfter(eq("chave-2"), any(LocalDateTime.class)))
+            .thenReturn(Optional.of(concluida("chave-2", captor.getValue().getHashRequisicao(), "{\"id\":2}")));
+
+        // Act
+        ControleIdempotencia.Resultado resultado = outraInstancia.executar("chave-2", CORPO,
+            () -> fail("não deveria executar novamente"));
+
+        // Assert
+        assertTrue(resultado.repetida());
+        assertEquals("{\"id\":2}", new String(resultado.resposta().corpo()));
+        assertEquals(List.of("/api/solicitacoes/1"), resultado.resposta().cabecalhos().get("Location"));
+    }
+
+    @Test
+    public void testConcorrentesAguardamExecucaoEmAndamento() throws Exception {
+        // Arrange
+        when(repository.findByChaveAndExpiraEmAfter(anyString(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger execucoes = new AtomicInteger();
+        ControleIdempotencia.Execucao execucao = () -> {
+            execucoes.incrementAndGet();
+            iniciou.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ControleIdempotencia.RespostaGuardada(201, "application/json", "{\"id\":3}".getBytes());
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // Act
+            Future<ControleIdempotencia.Resultado> original = executor.submit(() -> controle.executar("chave-3", CORPO, execucao));
+            assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+            Future<ControleIdempotencia.Resultado> duplicada1 = executor.submit(() -> controle.executar("chave-3", CORPO, execucao));
+            Future<ControleIdempotencia.Resultado> duplicada2 = executor.submit(() -> controle.executar("chave-3", CORPO, execucao));
+            Thread.sleep(100);
+            liberar.countDown();
+
+            // Assert
+            assertFalse(original.get(5, TimeUnit.SECONDS).repetida());
+            assertTrue(duplicada1.get(5, TimeUnit.SECONDS).repetida());
+            assertTrue(duplicada2.get(5, TimeUnit.SECONDS).repetida());
+            assertEquals(1, execucoes.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testChaveReutilizadaComOutroCorpoEErroNaoGuardado() throws Exception {
+        // Arrange
+        when(repository.findByChaveAndExpiraEmAfter(anyString(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        controle.executar("chave-4", CORPO,
+            () -> new ControleIdempotencia.RespostaGuardada(201, "application/json", "{}".getBytes()));
+
+        // Act & Assert: mesma chave, outro corpo
+        IdempotenciaException exception = assertThrows(IdempotenciaException.class,
+            () -> controle.executar("chave-4", "{\"outro\":true}".getBytes(), () -> fail("não deveria executar")));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+
+        // Erros de servidor não são guardados e podem ser repetidos
+        AtomicInteger execucoes = new AtomicInteger();
+        ControleIdempotencia.Execucao falha = () -> {
+            execucoes.incrementAndGet();
+            return new ControleIdempotencia.RespostaGuardada(500, null, new byte[0]);
+        };
+        controle.executar("chave-5", CORPO, falha);
+        assertFalse(controle.executar("chave-5", CORPO, falha).repetida());
+        assertEquals(2, execucoes.get());
+        verify(repository, times(1)).concluirReserva(anyString(), anyInt(), any(), any(), any(), any());
+        verify(repository, times(2)).deleteReserva("chave-5");
+    }
+
+    @Test
+    public void testAguardaReservaDeOutraInstancia() throws Exception {
+        // Arrange: a outra instância reserva a chave entre a busca e o INSERT desta
+        RespostaIdempotente reserva = RespostaIdempotente.reserva("chave-6", hash(), LocalDateTime.now().plusMinutes(1));
+        when(repository.findByChaveAndExpiraEmAfter(eq("chave-6"), any(LocalDateTime.class)))
+            .thenReturn(Optional.empty(), Optional.empty(), Optional.of(reserva), Optional.of(reserva),
+                        Optional.of(concluida("chave-6", hash(), "{\"id\":6}")));
+        when(repository.save(any(RespostaIdempotente.class)))
+            .thenThrow(new DataIntegrityViolationException("chave duplicada"));
+
+        // Act
+        ControleIdempotencia.Resultado resultado = controle.executar("chave-6", CORPO,
+            () -> fail("não deveria executar"));
+
+        // Assert
+        assertTrue(resultado.repetida());
+        assertEquals("{\"id\":6}", new String(resultado.resposta().corpo()));
+        verify(repository, never()).deleteReserva(anyString());
+    }
+
+    @Test
+    public void testReservaDeOutraInstanciaSemConclusaoRetorna409() throws Exception {
+        // Arrange
+        ControleIdempotencia comEsperaCurta = new ControleIdempotencia(repository, meterRegistry,
+            Duration.ofHours(24), Duration.ofMinutes(10), 100, Duration.ofMillis(300), Duration.ofMinutes(1));
+        when(repository.findByChaveAndExpiraEmAfter(eq("chave-7"), any(LocalDateTime.class))).thenReturn(
+            Optional.of(RespostaIdempotente.reserva("chave-7", hash(), LocalDateTime.now().plusMinutes(1))));
+
+        // Act & Assert
+        IdempotenciaException exception = assertThrows(IdempotenciaException.class,
+            () -> comEsperaCurta.executar("chave-7", CORPO, () -> fail("não deveria executar")));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verify(repository, never()).save(any(RespostaIdempotente.class));
+    }
+
+    @Test
+    public void testRenovaReservaDuranteAExecucao() throws Exception {
+        // Arrange
+        when(repository.findByChaveAndExpiraEmAfter(eq("chave-8"), any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        // Act: a renovação agendada roda enquanto a requisição executa
+        controle.executar("chave-8", CORPO, () -> {
+            controle.renovarReservas();
+            return new ControleIdempotencia.RespostaGuardada(202, "application/json",
+                Map.of("Location", List.of("/api/solicitacoes/8")), "{}".getBytes());
+        });
+        controle.renovarReservas();
+
+        // Assert: renovada apenas enquanto executava, e concluída com os cabeçalhos
+        verify(repository, times(1)).renovarReservas(eq(List.of("chave-8")), any(LocalDateTime.class));
+        verify(repository).concluirReserva(eq("chave-8"), eq(202), eq("application/json"),
+            eq("Location: /api/solicitacoes/8\n"), any(), any(LocalDateTime.class));
+    }
+
+    @Test
+    public void testReservaAbandonadaNaoExecutaNovamente() throws Exception {
+        // Arrange: a instância da execução original parou e a reserva expirou sem resposta
+        when(repository.findByChaveAndExpiraEmAfter(eq("chave-9"), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(repository.save(any(RespostaIdempotente.class)))
+            .thenThrow(new DataIntegrityViolationException("chave duplicada"));
+        when(repository.findById("chave-9")).thenReturn(
+            Optional.of(RespostaIdempotente.reserva("chave-9", hash(), LocalDateTime.now().minusSeconds(1))));
+
+        // Act & Assert
+        IdempotenciaException exception = assertThrows(IdempotenciaException.class,
+            () -> controle.executar("chave-9", CORPO, () -> fail("não deveria executar")));
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verify(repository, never()).deleteReserva(anyString());
+    }
+
+    private static RespostaIdempotente concluida(String chave, String hash, String corpo) {
+        return new RespostaIdempotente(chave, hash, 201, "application/json",
+                                       "Location: /api/solicitacoes/1\n", corpo.getBytes(),
+                                       LocalDateTime.now().plusHours(24));
+    }
+
+    private static String hash() throws NoSuchAlgorithmException {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CORPO));
+    }
+}
@@ -0,0 +1,92 @@
+package com.itau.seguros.solicitacao.infrastructure.idempotency;
+
+import com.itau.seguros.solicitacao.domain.repository.RespostaIdempotenteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o filtro de Idempotency-Key.
+ *
+ * Verifica a repetição dos bytes e cabeçalhos da resposta original sem
+ * chamar o controller e a validação do cabeçalho.
+ */
+public class IdempotenciaFilterTest {
+
+    private static final String CORPO = "{\"salesChannel\":\"MOBILE\"}";
+
+    private IdempotenciaFilter filter;
+
+    @BeforeEach
+    public void setup() {
+        RespostaIdempotenteRepository repository = mock(RespostaIdempotenteRepository.class);
+        when(repository.findByChaveAndExpiraEmAfter(anyString(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        filter = new IdempotenciaFilter(new ControleIdempotencia(repository, new SimpleMeterRegistry(),
+            Duration.ofHours(24), Duration.ofMinutes(10), 100, Duration.ofSeconds(5), Duration.ofMinutes(1)));
+    }
+
+    @Test
+    public void testRetentativaRecebeMesmosBytes() throws Exception {
+        // Arrange
+        AtomicInteger chamadas = new AtomicInteger();
+
+        // Act
+        MockHttpServletResponse original = executar("chave-a", chamadas);
+        MockHttpServletResponse retentativa = executar("chave-a", chamadas);
+
+        // Assert
+        assertEquals(1, chamadas.get());
+        assertEquals(201, original.getStatus());
+        assertNull(original.getHeader(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertEquals(201, retentativa.getStatus());
+        assertEquals("true", retentativa.getHeader(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertEquals("application/json", retentativa.getContentType());
+        assertEquals("/api/solicitacoes/1", retentativa.getHeader("Location"));
+        assertEquals(List.of("chave-a-1"), retentativa.getHeaders("X-Request-Id"));
+        assertArrayEquals(original.getContentAsByteArray(), retentativa.getContentAsByteArray());
+    }
+
+    @Test
+    public void testChaveInvalida() throws Exception {
+        // Act
+        MockHttpServletResponse response = executar(" ", new AtomicInteger());
+
+        // Assert
+        assertEquals(400, response.getStatus());
+    }
+
+    private MockHttpServletResponse executar(String chave, AtomicInteger chamadas) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/solicitacoes");
+        request.addHeader(IdempotenciaFilter.CABECALHO, chave);
+        request.setContentType("application/json");
+        request.setContent(CORPO.getBytes(StandardCharsets.UTF_8));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // Definido por um filtro anterior, vale só para a requisição atual
+        response.setHeader("X-Request-Id", chave + "-" + chamadas.get());
+        filter.doFilter(request, response, (req, res) -> {
+            int numero = chamadas.incrementAndGet();
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(201);
+            http.setHeader("Location", "/api/solicitacoes/" + numero);
+            http.setContentType("application/json");
+            http.getOutputStream().write(("{\"chamada\":" + numero + "}").getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+}
@@ -0,0 +1,94 @@
+package com.itau.seguros.solicitacao.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o encoder JSON de logs.
+ *
+ * Verifica que cada evento gera uma linha JSON válida, com escape de
+ * caracteres especiais, MDC e stack trace.
+ */
+public class JsonLogEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    private JsonLogEncoder encoder;
+
+    @BeforeEach
+    public void setup() {
+        encoder = new JsonLogEncoder();
+        encoder.setContext(loggerContext);
+        encoder.start();
+    }
+
+    @Test
+    public void testEncodeEventoComMdc() throws Exception {
+        // Arrange
+        LoggingEvent event = criarEvento("Solicitação {} criada com sucesso", null, "89846cee");
+        event.setMDCPropertyMap(Map.of("transactionId", "tx-1", "customerId", "cliente-1"));
+        event.setTimeStamp(1_704_110_400_007L);
+
+        // Act
+        byte[] bytes = encoder.encode(event);
+
+        // Assert
+        String linha = new String(bytes, StandardCharsets.UTF_8);
+        assertTrue(linha.endsWith("}\n"));
+
+        JsonNode json = objectMapper.readTree(linha);
+        assertEquals("2024-01-01T12:00:00.007Z", json.get("timestamp").asText());
+        assertEquals("INFO", json.get("level").asText());
+        assertEquals("com.itau.seguros.solicitacao.Teste", json.get("logger").asText());
+        assertEquals("Solicitação 89846cee criada com sucesso", json.get("message").asText());
+        assertEquals("tx-1", json.get("mdc").get("transactionId").asText());
+        assertEquals("cliente-1", json.get("mdc").get("customerId").asText());
+        assertNull(json.get("stack_trace"));
+    }
+
+    @Test
+    public void testEncodeEscapaCaracteresEspeciais() throws Exception {
+        // Arrange
+        String mensagem = "aspas \" barra \\ quebra\nlinha tab\t controle \u0001 emoji 😀 acento ção";
+        LoggingEvent event = criarEvento(mensagem, null);
+
+        // Act
+        JsonNode json = objectMapper.readTree(encoder.encode(event));
+
+        // Assert
+        assertEquals(mensagem, json.get("message").asText());
+    }
+
+    @Test
+    public void testEncodeEventoComExcecao() throws Exception {
+        // Arrange
+        LoggingEvent event = criarEvento("Erro ao processar", new IllegalStateException("falha \"grave\""));
+
+        // Act
+        JsonNode json = objectMapper.readTree(encoder.encode(event));
+
+        // Assert
+        assertTrue(json.get("stack_trace").asText().contains("java.lang.IllegalStateException: falha \"grave\""));
+        assertNull(json.get("mdc"));
+    }
+
+    /**
+     * Método auxiliar para criar um evento de log.
+     */
+    private LoggingEvent criarEvento(String mensagem, Throwable throwable, Object... argumentos) {
+        ch.qos.logback.classic.Logger logger = loggerContext.getLogger("com.itau.seguros.solicitacao.Teste");
+        return new LoggingEvent(getClass().getName(), logger, Level.INFO, mensagem, throwable, argumentos);
+    }
+}
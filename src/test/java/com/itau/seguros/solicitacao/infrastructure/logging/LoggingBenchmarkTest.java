@@ -0,0 +1,265 @@
+package com.itau.seguros.solicitacao.infrastructure.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.itau.seguros.solicitacao.api.dto.SolicitacaoRequestDTO;
+import com.itau.seguros.solicitacao.application.service.SolicitacaoService;
+import com.itau.seguros.solicitacao.application.service.StatusSolicitacaoService;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.SolicitacaoApolice;
+import com.itau.seguros.solicitacao.domain.repository.SolicitacaoRepository;
+import com.itau.seguros.solicitacao.domain.rule.RegraValidacaoCliente;
+import com.itau.seguros.solicitacao.infrastructure.archive.ArquivoSolicitacoes;
+import com.itau.seguros.solicitacao.infrastructure.eventstore.StatusEventStore;
+import com.itau.seguros.solicitacao.infrastructure.external.ApiFraudesClient;
+import com.itau.seguros.solicitacao.infrastructure.messaging.SolicitacaoEventProducer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark do custo de logging por chamada de {@code criarSolicitacao}.
+ *
+ * Compara a configuração anterior (appenders síncronos de console e
+ * arquivo com PatternLayout, flush a cada evento) com o pipeline atual
+ * (AsyncAppender na frente de cada destino e encoder JSON), descontando
+ * o tempo da chamada com logging desligado. O console é simulado por uma
+ * saída lenta, como um pipe lido por um coletor de logs, que custa
+ * {@value #LATENCIA_CONSOLE_NANOS} ns por escrita.
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class LoggingBenchmarkTest {
+
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(LoggingBenchmarkTest.class);
+
+    private static final String PACOTE = "com.itau.seguros.solicitacao.application";
+    private static final String PADRAO =
+        "%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level [%X{transactionId:-}] [%X{customerId:-}] %logger{36} - %msg%n";
+
+    private static final int RODADAS = 3;
+    private static final int AQUECIMENTO = 5_000;
+    private static final int CHAMADAS = 20_000;
+    private static final long LATENCIA_CONSOLE_NANOS = 50_000;
+    private static final int EVENTOS_ALOCACAO = 100_000;
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final Logger loggerServico = loggerContext.getLogger(PACOTE);
+    private final List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+
+    @TempDir
+    Path diretorio;
+
+    @AfterEach
+    public void restaurar() {
+        desconectarAppenders();
+        loggerServico.setLevel(null);
+        loggerServico.setAdditive(true);
+    }
+
+    @Test
+    public void testCustoDeLoggingPorCriacaoDeSolicitacao() {
+        SolicitacaoService service = criarServico();
+        SolicitacaoRequestDTO request = criarRequest();
+        loggerServico.setAdditive(false);
+
+        // Rodadas alternadas; fica o melhor tempo de cada configuração
+        double base = Double.MAX_VALUE;
+        double sincrono = Double.MAX_VALUE;
+        double assincrono = Double.MAX_VALUE;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            // Sem logging: base para descontar o custo do próprio serviço
+            loggerServico.setLevel(Level.OFF);
+            base = Math.min(base, medir(service, request));
+            loggerServico.setLevel(Level.INFO);
+
+            // Antes: console e arquivo síncronos, PatternLayout, flush imediato
+            conectar(consoleLento("console-sync", padrao()));
+            conectar(arquivo("arquivo-sync.log", padrao(), true));
+            sincrono = Math.min(sincrono, medir(service, request));
+            desconectarAppenders();
+
+            // Depois: AsyncAppender na frente de cada destino, arquivo em JSON
+            conectar(assincrono(consoleLento("console-async", padrao())));
+            conectar(assincrono(arquivo("arquivo-async.log", jsonEncoder(), false)));
+            assincrono = Math.min(assincrono, medir(service, request));
+            desconectarAppenders();
+        }
+
+        double antes = sincrono - base;
+        double depois = assincrono - base;
+
+        logger.info("Custo de logging por criarSolicitacao: síncrono {} µs, assíncrono {} µs (base sem log {} µs)",
+                   String.format("%.2f", antes / 1000), String.format("%.2f", depois / 1000),
+                   String.format("%.2f", base / 1000));
+
+        assertTrue(depois < antes, "pipeline assíncrono deveria custar menos que o síncrono");
+    }
+
+    @Test
+    public void testAlocacaoPorEventoDosEncoders() {
+        LoggingEvent event = new LoggingEvent(getClass().getName(), loggerServico, Level.INFO,
+            "Solicitação {} criada com sucesso", null, new Object[] {UUID.randomUUID()});
+        event.setMDCPropertyMap(Map.of("transactionId", UUID.randomUUID().toString(),
+                                       "customerId", UUID.randomUUID().toString()));
+        event.getFormattedMessage();
+
+        double pattern = bytesPorEvento(padrao(), event);
+        double json = bytesPorEvento(jsonEncoder(), event);
+
+        logger.info("Alocação por evento: PatternLayoutEncoder {} bytes, JsonLogEncoder {} bytes",
+                   String.format("%.0f", pattern), String.format("%.0f", json));
+
+        assertTrue(json < pattern, "encoder JSON deveria alocar menos que o PatternLayoutEncoder");
+    }
+
+    private double medir(SolicitacaoService service, SolicitacaoRequestDTO request) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            service.criarSolicitacao(request);
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CHAMADAS; i++) {
+            service.criarSolicitacao(request);
+        }
+        return (double) (System.nanoTime() - inicio) / CHAMADAS;
+    }
+
+    private double bytesPorEvento(Encoder<ILoggingEvent> encoder, ILoggingEvent event) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < EVENTOS_ALOCACAO; i++) {
+            encoder.encode(event);
+        }
+
+        long antes = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < EVENTOS_ALOCACAO; i++) {
+            encoder.encode(event);
+        }
+        return (double) (threads.getThreadAllocatedBytes(thread) - antes) / EVENTOS_ALOCACAO;
+    }
+
+    private SolicitacaoService criarServico() {
+        // stubOnly: os mocks não registram invocações, que cresceriam a cada chamada
+        SolicitacaoRepository repository = mock(SolicitacaoRepository.class, withSettings().stubOnly());
+        when(repository.save(any(SolicitacaoApolice.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        StatusEventStore statusEventStore = mock(StatusEventStore.class, withSettings().stubOnly());
+
+        return new SolicitacaoService(repository,
+            mock(ApiFraudesClient.class, withSettings().stubOnly()),
+            mock(RegraValidacaoCliente.class, withSettings().stubOnly()),
+            mock(SolicitacaoEventProducer.class, withSettings().stubOnly()),
+            mock(ArquivoSolicitacoes.class, withSettings().stubOnly()),
+            statusEventStore,
+            new StatusSolicitacaoService(repository, statusEventStore),
+            mock(ApplicationEventPublisher.class, withSettings().stubOnly()));
+    }
+
+    private SolicitacaoRequestDTO criarRequest() {
+        return new SolicitacaoRequestDTO(
+            UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO, "MOBILE", "CREDIT_CARD",
+            Dinheiro.parse("75.25"), Dinheiro.parse("275000.50"),
+            Map.of("Roubo", Dinheiro.parse("100000.25")), List.of("Guincho até 250km")
+        );
+    }
+
+    private PatternLayoutEncoder padrao() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(PADRAO);
+        encoder.start();
+        return encoder;
+    }
+
+    private JsonLogEncoder jsonEncoder() {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(loggerContext);
+        encoder.start();
+        return encoder;
+    }
+
+    private FileAppender<ILoggingEvent> arquivo(String nome, Encoder<ILoggingEvent> encoder, boolean flushImediato) {
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(loggerContext);
+        appender.setName(nome);
+        appender.setFile(diretorio.resolve(nome).toString());
+        appender.setEncoder(encoder);
+        appender.setImmediateFlush(flushImediato);
+        appender.start();
+        return appender;
+    }
+
+    private OutputStreamAppender<ILoggingEvent> consoleLento(String nome, Encoder<ILoggingEvent> encoder) {
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setName(nome);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                LockSupport.parkNanos(LATENCIA_CONSOLE_NANOS);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                LockSupport.parkNanos(LATENCIA_CONSOLE_NANOS);
+            }
+        });
+        appender.start();
+        return appender;
+    }
+
+    private AsyncAppender assincrono(Appender<ILoggingEvent> destino) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(loggerContext);
+        appender.setName("async-" + destino.getName());
+        appender.setQueueSize(8192);
+        appender.setDiscardingThreshold(819);
+        appender.setNeverBlock(true);
+        appender.addAppender(destino);
+        appender.start();
+        return appender;
+    }
+
+    private void conectar(Appender<ILoggingEvent> appender) {
+        appenders.add(appender);
+        loggerServico.addAppender(appender);
+    }
+
+    private void desconectarAppenders() {
+        for (Appender<ILoggingEvent> appender : appenders) {
+            loggerServico.detachAppender(appender);
+            appender.stop();
+        }
+        appenders.clear();
+    }
+}
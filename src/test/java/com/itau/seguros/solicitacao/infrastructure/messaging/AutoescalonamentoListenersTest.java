@@ -0,0 +1,76 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o ajuste dos listeners.
+ *
+ * Verifica que o prefetch parte do valor configurado no container e que
+ * os consumidores são recriados apenas quando o prefetch decidido muda o
+ * bastante.
+ */
+public class AutoescalonamentoListenersTest {
+
+    private static final String FILA = "solicitacao.recebida.queue";
+
+    private final RabbitListenerEndpointRegistry listenerRegistry = mock(RabbitListenerEndpointRegistry.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final MedidorLatenciaListener medidorLatencia = mock(MedidorLatenciaListener.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void testReiniciarConsumidoresSomenteComMudancaRelevanteDoPrefetch() {
+        // Arrange
+        SimpleMessageListenerContainer configurado = new SimpleMessageListenerContainer();
+        configurado.setQueueNames(FILA);
+        configurado.setPrefetchCount(50);
+        SimpleMessageListenerContainer container = spy(configurado);
+        doReturn(true).when(container).isRunning();
+        doNothing().when(container).stop();
+        doNothing().when(container).start();
+        when(listenerRegistry.getListenerContainers()).thenReturn(List.of(container));
+        when(rabbitTemplate.execute(any())).thenReturn(0L);
+        AutoescalonamentoListeners autoescalonamento = new AutoescalonamentoListeners(listenerRegistry,
+            rabbitTemplate, medidorLatencia, meterRegistry, 1, 20, 2, 40, 1, 250,
+            Duration.ofSeconds(30), Duration.ofMillis(500), List.of());
+
+        // Act & Assert: sem latência medida, mantém o prefetch do container
+        when(medidorLatencia.coletar(FILA)).thenReturn(medicao(0));
+        autoescalonamento.ajustar();
+        assertEquals(50.0, meterRegistry.get("mensageria.autoescalonamento.prefetch").gauge().value());
+        verify(container, never()).stop();
+
+        // 100ms por mensagem: prefetch 5, um décimo do atual, recria os consumidores
+        when(medidorLatencia.coletar(FILA)).thenReturn(medicao(100));
+        autoescalonamento.ajustar();
+        verify(container).setPrefetchCount(5);
+        verify(container, times(1)).stop();
+        verify(container, times(1)).start();
+
+        // 80ms por mensagem: prefetch 6, perto do anterior, só para os próximos consumidores
+        when(medidorLatencia.coletar(FILA)).thenReturn(medicao(80));
+        autoescalonamento.ajustar();
+        verify(container).setPrefetchCount(6);
+        verify(container, times(1)).stop();
+        assertEquals(1.0, meterRegistry.get("mensageria.autoescalonamento.reinicios").tag("fila", FILA)
+            .counter().count());
+    }
+
+    private static MedidorLatenciaListener.Medicao medicao(long latenciaMillis) {
+        long processadas = latenciaMillis > 0 ? 10 : 0;
+        return new MedidorLatenciaListener.Medicao(processadas,
+            processadas * TimeUnit.MILLISECONDS.toNanos(latenciaMillis));
+    }
+}
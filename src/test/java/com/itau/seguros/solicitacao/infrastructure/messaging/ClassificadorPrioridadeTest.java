@@ -0,0 +1,53 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a classificação de prioridade das solicitações.
+ *
+ * Verifica que qualquer regra da faixa alta prevalece sobre as da baixa,
+ * que as solicitações sem regra atendida ficam na faixa normal e que,
+ * desabilitada, a classificação é sempre normal.
+ */
+public class ClassificadorPrioridadeTest {
+
+    private final ClassificadorPrioridade classificador = new ClassificadorPrioridade(
+        true, "1000000.00", List.of(CategoriaSeguro.EMPRESARIAL), List.of("corretor"),
+        "10000.00", List.of("PARCEIRO"));
+
+    @Test
+    public void testClassificarPorCapitalCategoriaECanal() {
+        // Act & Assert
+        assertEquals(FaixaPrioridade.ALTA, classificador.classificar(evento(CategoriaSeguro.AUTO, "5000000.00", "MOBILE")));
+        assertEquals(FaixaPrioridade.ALTA, classificador.classificar(evento(CategoriaSeguro.EMPRESARIAL, "50000.00", "PARCEIRO")));
+        assertEquals(FaixaPrioridade.ALTA, classificador.classificar(evento(CategoriaSeguro.AUTO, "50000.00", "Corretor")));
+        assertEquals(FaixaPrioridade.BAIXA, classificador.classificar(evento(CategoriaSeguro.AUTO, "50000.00", "parceiro")));
+        assertEquals(FaixaPrioridade.BAIXA, classificador.classificar(evento(CategoriaSeguro.AUTO, "10000.00", "MOBILE")));
+        assertEquals(FaixaPrioridade.NORMAL, classificador.classificar(evento(CategoriaSeguro.AUTO, "50000.00", "MOBILE")));
+        assertEquals(FaixaPrioridade.NORMAL, classificador.classificar(evento(CategoriaSeguro.VIDA, "50000.00", null)));
+    }
+
+    @Test
+    public void testClassificacaoDesabilitadaENormal() {
+        // Arrange
+        ClassificadorPrioridade desabilitado = new ClassificadorPrioridade(
+            false, "1000000.00", List.of(CategoriaSeguro.EMPRESARIAL), List.of(), "", List.of());
+
+        // Act & Assert
+        assertEquals(FaixaPrioridade.NORMAL,
+                     desabilitado.classificar(evento(CategoriaSeguro.EMPRESARIAL, "5000000.00", "CORRETOR")));
+    }
+
+    private SolicitacaoRecebidaEvent evento(CategoriaSeguro categoria, String capital, String canal) {
+        return new SolicitacaoRecebidaEvent(UUID.randomUUID(), UUID.randomUUID(), "produto-123", categoria,
+                                            Dinheiro.parse(capital), canal);
+    }
+}
@@ -0,0 +1,106 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.itau.seguros.solicitacao.infrastructure.messaging.DimensionamentoListeners.Alocacao;
+import com.itau.seguros.solicitacao.infrastructure.messaging.DimensionamentoListeners.Amostra;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o dimensionamento dos listeners.
+ *
+ * Verifica que a fila acumulada recebe consumidores enquanto a ociosa os
+ * devolve aos poucos, que o orçamento global de threads é respeitado e
+ * que o prefetch acompanha a latência de processamento.
+ */
+public class DimensionamentoListenersTest {
+
+    private static final Duration INTERVALO = Duration.ofSeconds(10);
+
+    private final DimensionamentoListeners dimensionamento = new DimensionamentoListeners(
+        1, 20, 2, 40, 1, 250, Duration.ofSeconds(30), Duration.ofMillis(500));
+
+    @Test
+    public void testMoverConsumidoresParaFilaAcumulada() {
+        // Arrange: 3000 mensagens acumuladas a 50ms cada; a outra fila está ociosa
+        Amostra acumulada = amostra("solicitacao.recebida.queue", 3000, 100, 50, 1, 250);
+        Amostra ociosa = amostra("pagamento.confirmado.queue", 0, 0, 0, 5, 250);
+
+        // Act
+        List<Alocacao> alocacoes = dimensionamento.dimensionar(List.of(acumulada, ociosa));
+
+        // Assert: 0,5 consumidor para o fluxo + 5 para drenar em 30s
+        assertEquals(6, alocacoes.get(0).consumidores());
+        assertEquals(8, alocacoes.get(0).maximoConsumidores());
+        // A redução é de um consumidor por amostra
+        assertEquals(4, alocacoes.get(1).consumidores());
+        assertEquals("pagamento.confirmado.queue", alocacoes.get(1).fila());
+    }
+
+    @Test
+    public void testRespeitarOrcamentoDeThreads() {
+        // Arrange
+        DimensionamentoListeners limitado = new DimensionamentoListeners(
+            1, 20, 2, 10, 1, 250, Duration.ofSeconds(30), Duration.ofMillis(500));
+        List<Amostra> amostras = List.of(
+            amostra("a", 100_000, 1000, 100, 10, 5),
+            amostra("b", 2000, 100, 50, 1, 10),
+            amostra("c", 0, 0, 0, 1, 250));
+
+        // Act
+        List<Alocacao> alocacoes = limitado.dimensionar(amostras);
+
+        // Assert: cada fila fica com o mínimo e o restante é dividido entre as com demanda
+        assertEquals(List.of(5, 4, 1), alocacoes.stream().map(Alocacao::consumidores).toList());
+        assertEquals(10, alocacoes.stream().mapToInt(Alocacao::maximoConsumidores).sum());
+    }
+
+    @Test
+    public void testDividirOrcamentoPeloPeso() {
+        // Arrange: a mesma demanda nas duas filas, com pesos 3 e 1
+        DimensionamentoListeners limitado = new DimensionamentoListeners(
+            1, 20, 0, 10, 1, 250, Duration.ofSeconds(30), Duration.ofMillis(500));
+        List<Amostra> amostras = List.of(
+            amostra("solicitacao.recebida.alta.queue", 50_000, 1000, 100, 5, 5, 3),
+            amostra("solicitacao.recebida.baixa.queue", 50_000, 1000, 100, 5, 5, 1));
+
+        // Act
+        List<Alocacao> alocacoes = limitado.dimensionar(amostras);
+
+        // Assert: o orçamento é dividido na proporção dos pesos
+        assertEquals(List.of(7, 3), alocacoes.stream().map(Alocacao::consumidores).toList());
+    }
+
+    @Test
+    public void testPrefetchAcompanhaLatencia() {
+        // Act & Assert: 500ms de trabalho por consumidor
+        assertEquals(100, dimensionamento.prefetch(amostra("rapida", 10, 100, 5, 1, 250)));
+        assertEquals(1, dimensionamento.prefetch(amostra("lenta", 10, 10, 1000, 1, 250)));
+        // Sem latência medida, mantém o atual
+        assertEquals(30, dimensionamento.prefetch(amostra("parada", 10, 0, 0, 1, 30)));
+    }
+
+    @Test
+    public void testCrescerSemLatenciaQuandoHaFila() {
+        // Act & Assert: consumidores presos, sem processar no intervalo
+        assertEquals(3, dimensionamento.consumidoresDesejados(amostra("presa", 500, 0, 0, 2, 250)));
+        assertEquals(1, dimensionamento.consumidoresDesejados(amostra("vazia", 0, 0, 0, 1, 250)));
+    }
+
+    /**
+     * Método auxiliar que monta uma amostra com latência média em milissegundos.
+     */
+    private Amostra amostra(String fila, long profundidade, long processadas, long latenciaMillis,
+                            int consumidores, int prefetch) {
+        return amostra(fila, profundidade, processadas, latenciaMillis, consumidores, prefetch, 1);
+    }
+
+    private Amostra amostra(String fila, long profundidade, long processadas, long latenciaMillis,
+                            int consumidores, int prefetch, int peso) {
+        return new Amostra(fila, profundidade, processadas, processadas * latenciaMillis * 1_000_000L,
+                           INTERVALO, consumidores, prefetch, peso);
+    }
+}
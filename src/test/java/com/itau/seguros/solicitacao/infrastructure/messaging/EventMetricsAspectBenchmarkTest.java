@@ -0,0 +1,159 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark do overhead do aspecto de métricas de eventos, nos caminhos
+ * de sucesso e de erro, comparando a implementação atual com a anterior
+ * (contador de erro reconstruído e registrado a cada exceção).
+ *
+ * Mede tempo e bytes alocados por chamada, descontando a chamada ao
+ * proxy sem aspecto. Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class EventMetricsAspectBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventMetricsAspectBenchmarkTest.class);
+
+    private static final int RODADAS = 5;
+    private static final int CHAMADAS = 1_000_000;
+
+    @Test
+    public void testOverheadDoAspecto() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        BenchmarkEventConsumer semAspecto = proxy(null);
+        BenchmarkEventConsumer atual = proxy(new EventMetricsAspect(registry));
+        BenchmarkEventConsumer anterior = proxy(new AspectoAnterior(
+            Timer.builder("eventos.processamento.tempo.anterior").register(registry), registry));
+
+        Medicao base = medir(semAspecto, false);
+        Medicao baseErro = medir(semAspecto, true);
+        Medicao sucessoAtual = medir(atual, false).menos(base);
+        Medicao erroAtual = medir(atual, true).menos(baseErro);
+        Medicao sucessoAnterior = medir(anterior, false).menos(base);
+        Medicao erroAnterior = medir(anterior, true).menos(baseErro);
+
+        logger.info("Overhead do aspecto por evento - sucesso: anterior {}, atual {}; erro: anterior {}, atual {}",
+                   sucessoAnterior, sucessoAtual, erroAnterior, erroAtual);
+
+        assertTrue(erroAtual.nanos() < erroAnterior.nanos(), "caminho de erro deveria ficar mais rápido");
+        assertTrue(sucessoAtual.bytes() < sucessoAnterior.bytes(), "caminho de sucesso deveria alocar menos");
+    }
+
+    private Medicao medir(BenchmarkEventConsumer consumer, boolean falhar) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        double melhorNanos = Double.MAX_VALUE;
+        double melhorBytes = Double.MAX_VALUE;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            long bytesAntes = threads.getThreadAllocatedBytes(thread);
+            long inicio = System.nanoTime();
+            for (int i = 0; i < CHAMADAS; i++) {
+                try {
+                    consumer.processarEventoBenchmark(falhar);
+                } catch (IllegalStateException e) {
+                    // esperado no caminho de erro
+                }
+            }
+            melhorNanos = Math.min(melhorNanos, (double) (System.nanoTime() - inicio) / CHAMADAS);
+            melhorBytes = Math.min(melhorBytes, (double) (threads.getThreadAllocatedBytes(thread) - bytesAntes) / CHAMADAS);
+        }
+        return new Medicao(melhorNanos, melhorBytes);
+    }
+
+    private BenchmarkEventConsumer proxy(Object aspecto) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(new BenchmarkEventConsumer());
+        factory.setProxyTargetClass(true);
+        if (aspecto != null) {
+            factory.addAspect(aspecto);
+        }
+        return factory.getProxy();
+    }
+
+    private record Medicao(double nanos, double bytes) {
+
+        Medicao menos(Medicao base) {
+            return new Medicao(Math.max(0, nanos - base.nanos), Math.max(0, bytes - base.bytes));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f ns / %.0f B", nanos, bytes);
+        }
+    }
+
+    /**
+     * Implementação anterior do aspecto, mantida aqui apenas como referência
+     * de comparação.
+     */
+    @Aspect
+    static class AspectoAnterior {
+
+        private final Timer processamentoEventosTimer;
+        private final java.util.Map<String, Counter> eventosProcessadosCounters = new java.util.concurrent.ConcurrentHashMap<>();
+        private final MeterRegistry registry;
+
+        AspectoAnterior(Timer processamentoEventosTimer, MeterRegistry registry) {
+            this.processamentoEventosTimer = processamentoEventosTimer;
+            this.registry = registry;
+        }
+
+        @Around("execution(* com.itau.seguros.solicitacao.infrastructure.messaging.*EventConsumer.processar*(..))")
+        public Object aroundEventProcessing(ProceedingJoinPoint joinPoint) throws Throwable {
+            String methodName = joinPoint.getSignature().getName();
+            String eventType = methodName.replace("processar", "");
+
+            Counter counter = eventosProcessadosCounters.computeIfAbsent(eventType,
+                type -> Counter.builder("eventos.processados.anterior")
+                    .tag("tipo", type)
+                    .register(registry));
+
+            Timer.Sample sample = Timer.start();
+            try {
+                Object result = joinPoint.proceed();
+                counter.increment();
+                return result;
+            } catch (Exception e) {
+                Counter.builder("eventos.erros.anterior")
+                    .tag("tipo", eventType)
+                    .tag("erro", e.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+                throw e;
+            } finally {
+                sample.stop(processamentoEventosTimer);
+            }
+        }
+    }
+}
+
+/**
+ * Consumidor usado no benchmark; o nome segue o padrão interceptado pelo aspecto.
+ */
+class BenchmarkEventConsumer {
+
+    // Exceção pré-alocada para medir apenas o custo do aspecto
+    private static final IllegalStateException FALHA = new IllegalStateException("falha");
+
+    public void processarEventoBenchmark(boolean falhar) {
+        if (falhar) {
+            throw FALHA;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o aspecto de métricas de eventos.
+ *
+ * Verifica os contadores e timers por consumidor e tipo de evento, e que
+ * os meters de erro são separados por tipo de exceção.
+ */
+public class EventMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+    private TesteEventConsumer consumer;
+
+    @BeforeEach
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new TesteEventConsumer());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new EventMetricsAspect(registry));
+        consumer = factory.getProxy();
+    }
+
+    @Test
+    public void testRegistraContadorETimerPorConsumidor() {
+        // Act
+        consumer.processarPagamentoConfirmado(false);
+        consumer.processarPagamentoConfirmado(false);
+
+        // Assert
+        Counter processados = registry.get("eventos.processados").tag("tipo", "PagamentoConfirmado").counter();
+        assertEquals(2.0, processados.count());
+
+        Timer tempo = registry.get("eventos.processamento.tempo")
+            .tag("tipo", "PagamentoConfirmado")
+            .tag("consumidor", "TesteEventConsumer")
+            .timer();
+        assertEquals(2, tempo.count());
+    }
+
+    @Test
+    public void testRegistraErrosPorTipoDeExcecao() {
+        // Act
+        assertThrows(IllegalStateException.class, () -> consumer.processarPagamentoConfirmado(true));
+        assertThrows(IllegalStateException.class, () -> consumer.processarPagamentoConfirmado(true));
+        assertThrows(IllegalArgumentException.class, () -> consumer.processarSubscricaoAutorizada());
+
+        // Assert
+        assertEquals(2.0, registry.get("eventos.erros")
+            .tag("tipo", "PagamentoConfirmado").tag("erro", "IllegalStateException").counter().count());
+        assertEquals(1.0, registry.get("eventos.erros")
+            .tag("tipo", "SubscricaoAutorizada").tag("erro", "IllegalArgumentException").counter().count());
+        assertEquals(0.0, registry.get("eventos.processados").tag("tipo", "PagamentoConfirmado").counter().count());
+        assertEquals(2, registry.get("eventos.processamento.tempo").tag("tipo", "PagamentoConfirmado").timer().count());
+    }
+}
+
+/**
+ * Consumidor de teste; o nome segue o padrão interceptado pelo aspecto.
+ */
+class TesteEventConsumer {
+
+    public void processarPagamentoConfirmado(boolean falhar) {
+        if (falhar) {
+            throw new IllegalStateException("falha");
+        }
+    }
+
+    public void processarSubscricaoAutorizada() {
+        throw new IllegalArgumentException("falha");
+    }
+}
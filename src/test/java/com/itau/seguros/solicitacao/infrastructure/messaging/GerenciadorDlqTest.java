@@ -0,0 +1,77 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o encaminhamento de mensagens da DLQ.
+ *
+ * Verifica que a mensagem só sai da DLQ depois da confirmação do broker
+ * e que volta para ela quando a confirmação não chega.
+ */
+public class GerenciadorDlqTest {
+
+    private static final String FILA = "pagamento.confirmado.queue";
+    private static final long ENTREGA = 7;
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final Channel channel = mock(Channel.class);
+    private GerenciadorDlq gerenciador;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel));
+        byte[] corpo = "{\"eventType\":\"PAGAMENTO_CONFIRMADO\"}".getBytes(StandardCharsets.UTF_8);
+        when(channel.basicGet(PoliticaRetentativa.filaDlq(FILA), false)).thenReturn(new GetResponse(
+            new Envelope(ENTREGA, false, "", PoliticaRetentativa.filaDlq(FILA)),
+            new AMQP.BasicProperties.Builder().build(), corpo, 0));
+        gerenciador = new GerenciadorDlq(rabbitTemplate, new ObjectMapper(),
+            "solicitacao.recebida.queue", "solicitacao.recebida.alta.queue", "solicitacao.recebida.baixa.queue",
+            "solicitacao.validada.queue", "solicitacao.rejeitada.queue", FILA, "subscricao.autorizada.queue", 100);
+    }
+
+    @Test
+    public void testConfirmaARepublicacaoAntesDeRemoverDaDlq() throws Exception {
+        // Act
+        Optional<GerenciadorDlq.Destino> destino = gerenciador.encaminharProxima(FILA,
+            mensagem -> GerenciadorDlq.Destino.REPUBLICAR);
+
+        // Assert
+        assertEquals(Optional.of(GerenciadorDlq.Destino.REPUBLICAR), destino);
+        InOrder ordem = inOrder(channel);
+        ordem.verify(channel).confirmSelect();
+        ordem.verify(channel).basicPublish(eq(""), eq(FILA), any(AMQP.BasicProperties.class), any(byte[].class));
+        ordem.verify(channel).waitForConfirmsOrDie(anyLong());
+        ordem.verify(channel).basicAck(ENTREGA, false);
+    }
+
+    @Test
+    public void testDevolveADlqSemConfirmacao() throws Exception {
+        // Arrange
+        doThrow(new TimeoutException("sem confirmação")).when(channel).waitForConfirmsOrDie(anyLong());
+        when(channel.isOpen()).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(Exception.class,
+            () -> gerenciador.encaminharProxima(FILA, mensagem -> GerenciadorDlq.Destino.REPUBLICAR));
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(channel).basicNack(ENTREGA, false, true);
+    }
+}
@@ -0,0 +1,149 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.rabbit.support.RabbitExceptionTranslator;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o tratamento de falhas dos listeners RabbitMQ.
+ *
+ * Verifica que falhas retentáveis percorrem as filas de espera dos níveis
+ * da política, que as não retentáveis e as que esgotam os níveis vão para
+ * a DLQ com a causa nos cabeçalhos, que a republicação espera a
+ * confirmação do broker e que a mensagem nunca é devolvida à fila de origem.
+ */
+public class RetentativaMensagemInterceptorTest {
+
+    private static final String FILA = "solicitacao.recebida.queue";
+
+    private RabbitTemplate rabbitTemplate;
+    private Channel channel;
+    private SimpleMeterRegistry registry;
+    private RetentativaMensagemInterceptor interceptor;
+
+    @BeforeEach
+    public void setup() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        channel = mock(Channel.class);
+        // Como o RabbitTemplate, converte as exceções do canal em AmqpException
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation -> {
+            try {
+                return invocation.<ChannelCallback<?>>getArgument(0).doInRabbit(channel);
+            } catch (Exception e) {
+                throw RabbitExceptionTranslator.convertRabbitAccessException(e);
+            }
+        });
+        registry = new SimpleMeterRegistry();
+        PoliticaRetentativa politica = new PoliticaRetentativa(
+            List.of(Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMillis(1500)),
+            List.of("java.lang.IllegalStateException"));
+        interceptor = new RetentativaMensagemInterceptor(rabbitTemplate, politica, registry);
+    }
+
+    @Test
+    public void testFalhaRetentavelPercorreFilasDeEsperaAteADlq() throws Throwable {
+        // Arrange
+        Message mensagem = mensagem();
+        List<String> esperadas = List.of(FILA + ".retry.1s", FILA + ".retry.10s", FILA + ".retry.1500ms");
+
+        // Act & Assert
+        for (int tentativa = 1; tentativa <= esperadas.size(); tentativa++) {
+            assertNull(interceptor.invoke(falhando(mensagem, new NoSuchElementException("ainda não gravada"))));
+            verify(channel).basicPublish(eq(""), eq(esperadas.get(tentativa - 1)),
+                any(AMQP.BasicProperties.class), eq(mensagem.getBody()));
+            assertEquals(tentativa, (Integer) mensagem.getMessageProperties()
+                .getHeader(RetentativaMensagemInterceptor.HEADER_TENTATIVA));
+        }
+
+        interceptor.invoke(falhando(mensagem, new NoSuchElementException("ainda não gravada")));
+        verify(channel).basicPublish(eq(""), eq(FILA + ".dlq"), any(AMQP.BasicProperties.class), any(byte[].class));
+        verify(channel, times(4)).waitForConfirmsOrDie(anyLong());
+        assertEquals(NoSuchElementException.class.getName(), mensagem.getMessageProperties()
+            .getHeader(RetentativaMensagemInterceptor.HEADER_EXCECAO));
+        assertEquals(FILA, mensagem.getMessageProperties().getHeader(RetentativaMensagemInterceptor.HEADER_FILA_ORIGEM));
+        assertEquals(3.0, registry.get("mensageria.retentativas").tag("fila", FILA).counter().count());
+        assertEquals(1.0, registry.get("mensageria.dlq").tag("erro", "NoSuchElementException").counter().count());
+    }
+
+    @Test
+    public void testFalhaNaoRetentavelVaiDiretoParaDlq() throws Throwable {
+        // Arrange
+        Message mensagem = mensagem();
+
+        // Act
+        interceptor.invoke(falhando(mensagem,
+            new RuntimeException("envelope", new IllegalStateException("Transição de REJEITADA para VALIDADO"))));
+
+        // Assert
+        verify(channel).basicPublish(eq(""), eq(FILA + ".dlq"), any(AMQP.BasicProperties.class), any(byte[].class));
+        verify(channel, times(1)).basicPublish(any(String.class), any(String.class),
+            any(AMQP.BasicProperties.class), any(byte[].class));
+        assertEquals("envelope", mensagem.getMessageProperties()
+            .getHeader(RetentativaMensagemInterceptor.HEADER_MENSAGEM_EXCECAO));
+        assertNull(mensagem.getMessageProperties().getHeader(RetentativaMensagemInterceptor.HEADER_TENTATIVA));
+    }
+
+    @Test
+    public void testFalhaAoRepublicarRejeitaSemDevolverAFila() throws Throwable {
+        // Arrange
+        Message mensagem = mensagem();
+        doThrow(new AmqpConnectException(new RuntimeException("broker indisponível")))
+            .when(rabbitTemplate).execute(any());
+
+        // Act & Assert
+        assertThrows(AmqpRejectAndDontRequeueException.class,
+            () -> interceptor.invoke(falhando(mensagem, new NoSuchElementException("ainda não gravada"))));
+    }
+
+    @Test
+    public void testRepublicacaoSemConfirmacaoRejeitaAOriginal() throws Throwable {
+        // Arrange
+        Message mensagem = mensagem();
+        doThrow(new TimeoutException("sem confirmação")).when(channel).waitForConfirmsOrDie(anyLong());
+
+        // Act & Assert: sem confirmação, a original não é confirmada e segue para o dead-letter
+        assertThrows(AmqpRejectAndDontRequeueException.class,
+            () -> interceptor.invoke(falhando(mensagem, new NoSuchElementException("ainda não gravada"))));
+        verify(channel).confirmSelect();
+        assertTrue(registry.find("mensageria.retentativas").counters().isEmpty());
+    }
+
+    /**
+     * Método auxiliar que simula a invocação do listener pelo container,
+     * que envolve a exceção em {@link ListenerExecutionFailedException}.
+     */
+    private MethodInvocation falhando(Message mensagem, Throwable erro) throws Throwable {
+        MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getArguments()).thenReturn(new Object[] {null, mensagem});
+        when(invocation.proceed()).thenThrow(new ListenerExecutionFailedException("Listener falhou", erro, mensagem));
+        return invocation;
+    }
+
+    private Message mensagem() {
+        MessageProperties propriedades = new MessageProperties();
+        propriedades.setConsumerQueue(FILA);
+        return new Message("{}".getBytes(), propriedades);
+    }
+}
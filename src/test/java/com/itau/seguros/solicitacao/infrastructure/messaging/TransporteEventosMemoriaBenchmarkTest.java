@@ -0,0 +1,145 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRecebidaEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.infrastructure.json.DinheiroModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.context.ApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmark da vazão do transporte de eventos em memória, com consumo
+ * unitário e em lotes, comparada à conversão JSON de ida e volta que toda
+ * mensagem faz no caminho do RabbitMQ (sem contar a rede e o broker, que
+ * não estão disponíveis no teste; é um limite superior da vazão dele).
+ *
+ * Executado apenas com {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TransporteEventosMemoriaBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransporteEventosMemoriaBenchmarkTest.class);
+
+    private static final String FILA = "solicitacao.recebida.queue";
+    private static final String ROUTING_KEY = "solicitacao.recebida";
+    private static final int RODADAS = 5;
+    private static final int EVENTOS = 500_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .registerModule(new DinheiroModule());
+
+    @Test
+    public void testVazaoDoTransporteEmMemoria() throws InterruptedException {
+        SolicitacaoRecebidaEvent evento = new SolicitacaoRecebidaEvent(
+            UUID.randomUUID(), UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO,
+            Dinheiro.parse("275000.50"), "MOBILE");
+
+        double conversaoJson = medirConversaoJson(evento);
+        double memoriaUnitaria = medirMemoria(evento, 1);
+        double memoriaLotes = medirMemoria(evento, 256);
+
+        logger.info("Vazão em eventos/s - conversão JSON do RabbitMQ (sem rede): {}; "
+                   + "memória com lote 1: {}; memória com lote 256: {}",
+                   String.format("%.0f", conversaoJson), String.format("%.0f", memoriaUnitaria),
+                   String.format("%.0f", memoriaLotes));
+
+        assertTrue(memoriaLotes > conversaoJson, "transporte em memória deveria superar a conversão JSON");
+    }
+
+    private double medirConversaoJson(SolicitacaoRecebidaEvent evento) {
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
+        double melhor = 0;
+        long soma = 0;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < EVENTOS; i++) {
+                Message mensagem = converter.toMessage(evento, new MessageProperties());
+                soma += lerMapa(mensagem.getBody()).size();
+            }
+            melhor = Math.max(melhor, vazao(inicio));
+        }
+        assertTrue(soma > 0);
+        return melhor;
+    }
+
+    private double medirMemoria(SolicitacaoRecebidaEvent evento, int tamanhoLote) throws InterruptedException {
+        PoliticaRetentativa politica = new PoliticaRetentativa(List.of(Duration.ofSeconds(1)), List.of());
+        Binding binding = new Binding(FILA, Binding.DestinationType.QUEUE, "solicitacao.exchange", ROUTING_KEY, null);
+        TransporteEventosMemoria transporte = new TransporteEventosMemoria(
+            mock(ApplicationContext.class), objectMapper, politica, new SimpleMeterRegistry(), List.of(binding),
+            8192, tamanhoLote, Duration.ofSeconds(5));
+
+        double melhor = 0;
+        try {
+            ContadorEventos contador = new ContadorEventos();
+            transporte.registrar(FILA, 1, contador);
+            for (int rodada = 0; rodada < RODADAS; rodada++) {
+                CountDownLatch concluidos = contador.aguardar(EVENTOS);
+                long inicio = System.nanoTime();
+                for (int i = 0; i < EVENTOS; i++) {
+                    transporte.publicar(ROUTING_KEY, evento);
+                }
+                assertTrue(concluidos.await(60, TimeUnit.SECONDS));
+                melhor = Math.max(melhor, vazao(inicio));
+            }
+        } finally {
+            transporte.encerrar();
+        }
+        return melhor;
+    }
+
+    private Map<?, ?> lerMapa(byte[] corpo) {
+        try {
+            return objectMapper.readValue(corpo, Map.class);
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double vazao(long inicio) {
+        return EVENTOS / ((System.nanoTime() - inicio) / 1e9);
+    }
+
+    /**
+     * Listener que libera o latch da rodada ao receber o último evento.
+     */
+    private static final class ContadorEventos implements java.util.function.Consumer<Object> {
+
+        private volatile CountDownLatch concluidos;
+        private long restantes;
+
+        CountDownLatch aguardar(int eventos) {
+            restantes = eventos;
+            concluidos = new CountDownLatch(1);
+            return concluidos;
+        }
+
+        @Override
+        public void accept(Object evento) {
+            if (--restantes == 0) {
+                concluidos.countDown();
+            }
+        }
+    }
+}
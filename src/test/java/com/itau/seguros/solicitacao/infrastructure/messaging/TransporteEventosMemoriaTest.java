@@ -0,0 +1,230 @@
+package com.itau.seguros.solicitacao.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.seguros.solicitacao.domain.event.SolicitacaoRejeitadaEvent;
+import com.itau.seguros.solicitacao.domain.model.CategoriaSeguro;
+import com.itau.seguros.solicitacao.domain.model.Dinheiro;
+import com.itau.seguros.solicitacao.domain.model.TipoCliente;
+import com.itau.seguros.solicitacao.infrastructure.json.DinheiroModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes unitários para o transporte de eventos em memória.
+ *
+ * Verifica a entrega aos listeners descobertos pelo {@link RabbitListener},
+ * com conversão do evento para o tipo do parâmetro, a entrega somente
+ * após o commit, a recusa da publicação com a fila cheia e as
+ * retentativas pela política.
+ */
+public class TransporteEventosMemoriaTest {
+
+    private static final String FILA = "pagamento.confirmado.queue";
+    private static final String ROUTING_KEY = "pagamento.confirmado";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .registerModule(new DinheiroModule());
+    private final List<TransporteEventosMemoria> transportes = new ArrayList<>();
+    private AnnotationConfigApplicationContext contexto;
+
+    @AfterEach
+    public void encerrar() throws InterruptedException {
+        for (TransporteEventosMemoria transporte : transportes) {
+            transporte.encerrar();
+        }
+        if (contexto != null) {
+            contexto.close();
+        }
+    }
+
+    @Test
+    public void testEntregarAoListenerNaOrdemConvertendoOEvento() throws InterruptedException {
+        // Arrange
+        contexto = new AnnotationConfigApplicationContext();
+        contexto.setEnvironment(new MockEnvironment().withProperty("app.rabbitmq.queues.pagamento-confirmado", FILA));
+        contexto.registerBean(OuvinteMapa.class);
+        contexto.refresh();
+        TransporteEventosMemoria transporte = transporte(contexto, 100, Duration.ofSeconds(1), List.of(Duration.ofMillis(10)));
+        transporte.afterSingletonsInstantiated();
+        OuvinteMapa ouvinte = contexto.getBean(OuvinteMapa.class);
+
+        List<UUID> publicados = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            publicados.add(UUID.randomUUID());
+        }
+
+        // Act
+        for (UUID id : publicados) {
+            transporte.publicar(ROUTING_KEY, evento(id));
+        }
+        transporte.publicar("solicitacao.validada", evento(UUID.randomUUID()));
+
+        // Assert
+        assertTrue(ouvinte.recebidos.await(5, TimeUnit.SECONDS));
+        assertEquals(publicados.stream().map(UUID::toString).toList(), ouvinte.ids);
+        assertEquals(1.0, registry.get("mensageria.memoria.sem.destino").counter().count());
+    }
+
+    @Test
+    public void testRecusarPublicacaoComFilaCheia() throws InterruptedException {
+        // Arrange
+        TransporteEventosMemoria transporte = transporte(mock(ApplicationContext.class), 2, Duration.ofMillis(50),
+                                                         List.of(Duration.ofMillis(10)));
+        CountDownLatch emProcessamento = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        transporte.registrar(FILA, 1, evento -> {
+            emProcessamento.countDown();
+            aguardar(liberar);
+        });
+
+        // Act & Assert
+        transporte.publicar(ROUTING_KEY, "primeiro");
+        assertTrue(emProcessamento.await(5, TimeUnit.SECONDS));
+        transporte.publicar(ROUTING_KEY, "segundo");
+        transporte.publicar(ROUTING_KEY, "terceiro");
+        assertThrows(FilaEventosCheiaException.class, () -> transporte.publicar(ROUTING_KEY, "quarto"));
+        assertEquals(1.0, registry.get("mensageria.memoria.recusadas").tag("fila", FILA).counter().count());
+        assertEquals(2.0, registry.get("mensageria.memoria.pendentes").tag("fila", FILA).gauge().value());
+        assertTrue(new PoliticaRetentativa(List.of(Duration.ofSeconds(1)), List.of("java.lang.IllegalStateException"))
+            .isRetentavel(new FilaEventosCheiaException("cheia")));
+        liberar.countDown();
+    }
+
+    @Test
+    public void testEntregarSomenteAposOCommitEDevolverVagaNaReversao() throws InterruptedException {
+        // Arrange
+        TransporteEventosMemoria transporte = transporte(mock(ApplicationContext.class), 1, Duration.ofMillis(50),
+                                                         List.of(Duration.ofMillis(10)));
+        List<Object> recebidos = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch recebido = new CountDownLatch(1);
+        transporte.registrar(FILA, 1, evento -> {
+            recebidos.add(evento);
+            recebido.countDown();
+        });
+
+        // Act & Assert: revertida, a vaga volta e nada é entregue
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transporte.publicar(ROUTING_KEY, "revertido");
+            assertThrows(FilaEventosCheiaException.class, () -> transporte.publicar(ROUTING_KEY, "excedente"));
+            concluir(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Confirmada, a entrega só acontece depois do commit
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transporte.publicar(ROUTING_KEY, "confirmado");
+            assertFalse(recebido.await(100, TimeUnit.MILLISECONDS));
+            concluir(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(recebido.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("confirmado"), recebidos);
+    }
+
+    @Test
+    public void testRetentarFalhasRetentaveisEDescartarAsDemais() throws InterruptedException {
+        // Arrange
+        TransporteEventosMemoria transporte = transporte(mock(ApplicationContext.class), 10, Duration.ofSeconds(1),
+                                                         List.of(Duration.ofMillis(10), Duration.ofMillis(20)));
+        AtomicInteger chamadas = new AtomicInteger();
+        CountDownLatch processados = new CountDownLatch(2);
+        transporte.registrar(FILA, 1, evento -> {
+            if ("invalido".equals(evento)) {
+                processados.countDown();
+                throw new IllegalStateException("Transição de REJEITADA para APROVADA");
+            }
+            if (chamadas.incrementAndGet() < 3) {
+                throw new NoSuchElementException("ainda não gravada");
+            }
+            processados.countDown();
+        });
+
+        // Act
+        transporte.publicar(List.of(new TransporteEventos.Envio(ROUTING_KEY, "valido"),
+                                    new TransporteEventos.Envio(ROUTING_KEY, "invalido")));
+
+        // Assert
+        assertTrue(processados.await(5, TimeUnit.SECONDS));
+        assertEquals(3, chamadas.get());
+        assertEquals(2.0, registry.get("mensageria.retentativas").tag("fila", FILA).counter().count());
+        assertEquals(1.0, registry.get("mensageria.memoria.descartadas")
+            .tag("erro", "IllegalStateException").counter().count());
+    }
+
+    /**
+     * Método auxiliar que cria o transporte com a fila de pagamentos ligada
+     * à routing key de teste.
+     */
+    private TransporteEventosMemoria transporte(ApplicationContext contexto, int capacidade, Duration esperaMaxima,
+                                                List<Duration> atrasos) {
+        PoliticaRetentativa politica = new PoliticaRetentativa(atrasos, List.of("java.lang.IllegalStateException"));
+        Binding binding = new Binding(FILA, Binding.DestinationType.QUEUE, "solicitacao.exchange", ROUTING_KEY, null);
+        TransporteEventosMemoria transporte = new TransporteEventosMemoria(
+            contexto, objectMapper, politica, registry, List.of(binding), capacidade, 4, esperaMaxima);
+        transportes.add(transporte);
+        return transporte;
+    }
+
+    private SolicitacaoRejeitadaEvent evento(UUID id) {
+        return new SolicitacaoRejeitadaEvent(id, UUID.randomUUID(), "produto-123", CategoriaSeguro.AUTO,
+                                             Dinheiro.parse("275000.50"), TipoCliente.REGULAR, "Capital acima do limite");
+    }
+
+    private static void concluir(int status) {
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            sincronizacao.afterCompletion(status);
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Listener no formato dos consumers de pagamento e subscrição.
+     */
+    static class OuvinteMapa {
+
+        final List<String> ids = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch recebidos = new CountDownLatch(50);
+
+        @RabbitListener(queues = "${app.rabbitmq.queues.pagamento-confirmado}", concurrency = "1")
+        public void processarPagamento(Map<String, Object> event) {
+            ids.add((String) event.get("solicitacaoId"));
+            recebidos.countDown();
+        }
+    }
+}
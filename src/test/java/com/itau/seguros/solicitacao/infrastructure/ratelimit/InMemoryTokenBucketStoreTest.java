@@ -0,0 +1,96 @@
+package com.itau.seguros.solicitacao.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para os baldes de tokens em memória.
+ *
+ * Usa um relógio controlado para verificar rajada, reposição e remoção
+ * de baldes ociosos.
+ */
+public class InMemoryTokenBucketStoreTest {
+
+    private static final long UM_SEGUNDO = 1_000_000_000L;
+
+    private AtomicLong relogio;
+    private InMemoryTokenBucketStore store;
+
+    @BeforeEach
+    public void setup() {
+        relogio = new AtomicLong(42 * UM_SEGUNDO);
+        store = new InMemoryTokenBucketStore(relogio::get);
+    }
+
+    @Test
+    public void testRajadaLimitadaPelaCapacidade() {
+        // Arrange
+        LimiteTaxa limite = new LimiteTaxa(10, 5);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, store.tentarConsumir("canal:PARCEIRO", limite));
+        }
+        long espera = store.tentarConsumir("canal:PARCEIRO", limite);
+        assertEquals(UM_SEGUNDO / 10, espera);
+
+        // Outra chave tem o próprio balde
+        assertEquals(0, store.tentarConsumir("canal:MOBILE", limite));
+    }
+
+    @Test
+    public void testReposicaoPelaTaxa() {
+        // Arrange
+        LimiteTaxa limite = new LimiteTaxa(10, 5);
+        for (int i = 0; i < 5; i++) {
+            store.tentarConsumir("canal:PARCEIRO", limite);
+        }
+
+        // Act: 300ms repõem três tokens
+        relogio.addAndGet(300_000_000L);
+
+        // Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, store.tentarConsumir("canal:PARCEIRO", limite));
+        }
+        assertTrue(store.tentarConsumir("canal:PARCEIRO", limite) > 0);
+    }
+
+    @Test
+    public void testDevolverToken() {
+        // Arrange
+        LimiteTaxa limite = new LimiteTaxa(10, 2);
+        store.tentarConsumir("cliente:a", limite);
+        store.tentarConsumir("cliente:a", limite);
+
+        // Act
+        store.devolver("cliente:a", limite);
+        store.devolver("cliente:inexistente", limite);
+
+        // Assert
+        assertEquals(0, store.tentarConsumir("cliente:a", limite));
+        assertTrue(store.tentarConsumir("cliente:a", limite) > 0);
+        assertEquals(1, store.tamanho());
+    }
+
+    @Test
+    public void testRemoverOciosos() {
+        // Arrange
+        LimiteTaxa limite = new LimiteTaxa(1, 10);
+        store.tentarConsumir("cliente:a", limite);
+        relogio.addAndGet(60 * UM_SEGUNDO);
+        store.tentarConsumir("cliente:b", limite);
+
+        // Act
+        int removidos = store.removerOciosos(Duration.ofSeconds(30));
+
+        // Assert
+        assertEquals(1, removidos);
+        assertEquals(1, store.tamanho());
+    }
+}
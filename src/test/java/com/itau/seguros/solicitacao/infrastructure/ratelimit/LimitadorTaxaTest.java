@@ -0,0 +1,116 @@
+package com.itau.seguros.solicitacao.infrastructure.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o limitador de taxa por canal e por cliente.
+ *
+ * Verifica o isolamento entre canais, o limite por cliente, os contadores
+ * exportados e a resposta 429 do filtro.
+ */
+public class LimitadorTaxaTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LimitadorTaxa limitador;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        limitador = new LimitadorTaxa(true, "1/5", List.of("PARCEIRO=1/2"), true, "1/3",
+            Duration.ofMinutes(10), new InMemoryTokenBucketStore(), meterRegistry);
+    }
+
+    @Test
+    public void testCanalInundadoNaoAfetaOsDemais() {
+        // Act: o parceiro esgota o próprio balde
+        assertEquals(0, limitador.consumir("parceiro", null));
+        assertEquals(0, limitador.consumir("PARCEIRO", null));
+        assertTrue(limitador.consumir("PARCEIRO", null) > 0);
+
+        // Assert: outros canais usam o limite padrão
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limitador.consumir("MOBILE", null));
+        }
+        assertTrue(limitador.consumir("MOBILE", null) > 0);
+
+        assertEquals(1.0, meterRegistry.get("ratelimit.limitadas")
+            .tag("canal", "PARCEIRO").tag("escopo", "canal").counter().count());
+        assertEquals(1.0, meterRegistry.get("ratelimit.limitadas")
+            .tag("canal", "outros").tag("escopo", "canal").counter().count());
+        assertEquals(2.0, meterRegistry.get("ratelimit.baldes").gauge().value());
+    }
+
+    @Test
+    public void testLimitePorCliente() {
+        // Arrange
+        String cliente = UUID.randomUUID().toString();
+
+        // Act & Assert: o cliente esgota o balde antes do canal
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limitador.consumir("MOBILE", cliente));
+        }
+        assertTrue(limitador.consumir("MOBILE", cliente) > 0);
+        assertEquals(0, limitador.consumir("MOBILE", UUID.randomUUID().toString()));
+
+        // IDs inválidos ficam para a validação do controller
+        assertEquals(0, limitador.consumir(null, "invalido"));
+
+        assertEquals(1.0, meterRegistry.get("ratelimit.limitadas")
+            .tag("escopo", "cliente").counter().count());
+    }
+
+    @Test
+    public void testRecusaDoCanalDevolveTokenDoCliente() {
+        // Arrange: outro cliente esgota o balde do parceiro
+        assertEquals(0, limitador.consumir("PARCEIRO", UUID.randomUUID().toString()));
+        assertEquals(0, limitador.consumir("PARCEIRO", UUID.randomUUID().toString()));
+        String cliente = UUID.randomUUID().toString();
+
+        // Act: recusas pelo canal não consomem o balde do cliente
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limitador.consumir("PARCEIRO", cliente) > 0);
+        }
+
+        // Assert
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limitador.consumir("MOBILE", cliente));
+        }
+        assertTrue(limitador.consumir("MOBILE", cliente) > 0);
+        assertEquals(5.0, meterRegistry.get("ratelimit.limitadas")
+            .tag("canal", "PARCEIRO").tag("escopo", "canal").counter().count());
+    }
+
+    @Test
+    public void testFiltroRetorna429ComRetryAfter() throws Exception {
+        // Arrange
+        RateLimitFilter filter = new RateLimitFilter(limitador);
+        String corpo = "{\"customerId\":\"" + UUID.randomUUID() + "\",\"salesChannel\":\"PARCEIRO\"}";
+
+        // Act
+        MockHttpServletResponse ultima = null;
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/solicitacoes");
+            request.setContentType("application/json");
+            request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+            ultima = new MockHttpServletResponse();
+            filter.doFilter(request, ultima, new MockFilterChain());
+        }
+
+        // Assert
+        assertEquals(429, ultima.getStatus());
+        assertEquals("1", ultima.getHeader("Retry-After"));
+        assertTrue(ultima.getContentAsString().contains("Limite de requisições excedido"));
+    }
+}
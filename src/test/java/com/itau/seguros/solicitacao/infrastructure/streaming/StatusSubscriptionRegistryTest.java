@@ -0,0 +1,76 @@
+package com.itau.seguros.solicitacao.infrastructure.streaming;
+
+import com.itau.seguros.solicitacao.domain.event.StatusAlteradoEvent;
+import com.itau.seguros.solicitacao.domain.model.StatusSolicitacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o registro de assinantes de status.
+ *
+ * Verifica o controle de assinaturas e o encerramento das conexões
+ * quando a solicitação atinge um estado final.
+ */
+public class StatusSubscriptionRegistryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatusSubscriptionRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new StatusSubscriptionRegistry(60000, meterRegistry);
+    }
+
+    @Test
+    public void testAssinarECancelar() {
+        // Arrange
+        UUID solicitacaoId = UUID.randomUUID();
+
+        // Act
+        SseEmitter primeiro = registry.assinar(solicitacaoId);
+        SseEmitter segundo = registry.assinar(solicitacaoId);
+
+        // Assert
+        assertEquals(2, registry.getTotalAssinantes());
+        assertEquals(2.0, meterRegistry.get("solicitacao.eventos.assinantes").gauge().value());
+
+        registry.cancelar(solicitacaoId, primeiro);
+        registry.cancelar(solicitacaoId, primeiro);
+        assertEquals(1, registry.getTotalAssinantes());
+
+        registry.cancelar(solicitacaoId, segundo);
+        assertEquals(0, registry.getTotalAssinantes());
+    }
+
+    @Test
+    public void testNotificarSemAssinantes() {
+        // Act & Assert
+        assertDoesNotThrow(() -> registry.notificar(new StatusAlteradoEvent(
+            UUID.randomUUID(), StatusSolicitacao.VALIDADO, LocalDateTime.now(), "Validação aprovada")));
+    }
+
+    @Test
+    public void testNotificarEstadoFinalEncerraAssinaturas() {
+        // Arrange
+        UUID solicitacaoId = UUID.randomUUID();
+        UUID outraSolicitacaoId = UUID.randomUUID();
+        registry.assinar(solicitacaoId);
+        registry.assinar(outraSolicitacaoId);
+
+        // Act
+        registry.notificar(new StatusAlteradoEvent(
+            solicitacaoId, StatusSolicitacao.CANCELADA, LocalDateTime.now(), "Cancelamento solicitado pelo cliente"));
+
+        // Assert - nova transição para a mesma solicitação não encontra assinantes
+        assertDoesNotThrow(() -> registry.notificar(new StatusAlteradoEvent(
+            solicitacaoId, StatusSolicitacao.CANCELADA, LocalDateTime.now(), null)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.itau.seguros.solicitacao.infrastructure.web;
+
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o filtro de tamanho máximo do corpo.
+ *
+ * Verifica a recusa com 413 pelo Content-Length declarado e pela leitura
+ * sem ele, e o repasse do corpo identificado aos filtros seguintes.
+ */
+public class LimiteCorpoFilterTest {
+
+    private static final String CORPO = "{\"customerId\":\"adc56d77-348c-4bf0-908f-22d402ee715c\","
+        + "\"salesChannel\":\"MOBILE\",\"paymentMethod\":\"PIX\"}";
+
+    private final LimiteCorpoFilter filter = new LimiteCorpoFilter(256);
+
+    @Test
+    public void testCorpoDentroDoLimiteIdentificadoUmaVez() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = criacao(CORPO.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        RequisicaoIdentificada identificada = RequisicaoIdentificada.de(request);
+        assertEquals("MOBILE", identificada.getSalesChannel());
+        assertEquals("adc56d77-348c-4bf0-908f-22d402ee715c", identificada.getCustomerId());
+        assertEquals(CORPO, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testCorpoAcimaDoLimiteRecusadoCom413() throws Exception {
+        // Arrange: um corpo com Content-Length e outro sem, lido até o limite
+        MockHttpServletRequest declarado = criacao(new byte[257]);
+        ContadorBytes entrada = new ContadorBytes(new byte[10 * 1024 * 1024]);
+        MockHttpServletRequest semTamanho = new MockHttpServletRequest("POST", "/api/solicitacoes") {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new DelegatingServletInputStream(entrada);
+            }
+        };
+
+        // Act
+        MockFilterChain chainDeclarado = new MockFilterChain();
+        MockHttpServletResponse recusadaDeclarado = new MockHttpServletResponse();
+        filter.doFilter(declarado, recusadaDeclarado, chainDeclarado);
+        MockFilterChain chainSemTamanho = new MockFilterChain();
+        MockHttpServletResponse recusadaSemTamanho = new MockHttpServletResponse();
+        filter.doFilter(semTamanho, recusadaSemTamanho, chainSemTamanho);
+
+        // Assert
+        assertEquals(413, recusadaDeclarado.getStatus());
+        assertNull(chainDeclarado.getRequest());
+        assertEquals(413, recusadaSemTamanho.getStatus());
+        assertNull(chainSemTamanho.getRequest());
+        assertEquals(257, entrada.lidos);
+    }
+
+    private MockHttpServletRequest criacao(byte[] corpo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/solicitacoes");
+        request.setContentType("application/json");
+        request.setContent(corpo);
+        return request;
+    }
+
+    /**
+     * Entrada que conta os bytes efetivamente lidos.
+     */
+    private static final class ContadorBytes extends ByteArrayInputStream {
+
+        int lidos;
+
+        ContadorBytes(byte[] dados) {
+            super(dados);
+        }
+
+        @Override
+        public synchronized int read() {
+            int b = super.read();
+            lidos += b >= 0 ? 1 : 0;
+            return b;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            int n = super.read(b, off, len);
+            lidos += Math.max(n, 0);
+            return n;
+        }
+    }
+}
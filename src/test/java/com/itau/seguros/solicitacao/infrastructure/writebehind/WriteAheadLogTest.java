@@ -0,0 +1,102 @@
+package com.itau.seguros.solicitacao.infrastructure.writebehind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o log de escrita antecipada.
+ *
+ * Verifica a recuperação dos registros após a reabertura, o descarte de
+ * uma escrita interrompida e a remoção dos segmentos confirmados.
+ */
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    public void testRecuperaRegistrosAposReabertura() throws IOException {
+        // Arrange
+        try (WriteAheadLog wal = new WriteAheadLog(diretorio, 1024 * 1024, true)) {
+            WriteAheadLog.Posicao posicao = null;
+            for (int i = 0; i < 3; i++) {
+                posicao = wal.escrever(bytes("registro-" + i));
+            }
+            wal.sincronizar(posicao);
+        }
+
+        // Act
+        try (WriteAheadLog wal = new WriteAheadLog(diretorio, 1024 * 1024, true)) {
+            List<WriteAheadLog.Registro> registros = wal.recuperar();
+
+            // Assert
+            assertEquals(3, registros.size());
+            assertEquals("registro-0", texto(registros.get(0)));
+            assertEquals("registro-2", texto(registros.get(2)));
+        }
+    }
+
+    @Test
+    public void testIgnoraRegistroIncompletoNoFimDoSegmento() throws IOException {
+        // Arrange
+        try (WriteAheadLog wal = new WriteAheadLog(diretorio, 1024 * 1024, false)) {
+            wal.escrever(bytes("completo"));
+            wal.escrever(bytes("interrompido"));
+        }
+        Path segmento = segmentos().get(0);
+        byte[] conteudo = Files.readAllBytes(segmento);
+        Files.write(segmento, Arrays.copyOf(conteudo, conteudo.length - 3),
+                    StandardOpenOption.TRUNCATE_EXISTING);
+
+        // Act
+        try (WriteAheadLog wal = new WriteAheadLog(diretorio, 1024 * 1024, false)) {
+            List<WriteAheadLog.Registro> registros = wal.recuperar();
+
+            // Assert
+            assertEquals(1, registros.size());
+            assertEquals("completo", texto(registros.get(0)));
+        }
+    }
+
+    @Test
+    public void testConfirmarApagaSegmentosAnteriores() throws IOException {
+        // Arrange: segmentos pequenos, um registro por segmento
+        try (WriteAheadLog wal = new WriteAheadLog(diretorio, 16, false)) {
+            wal.escrever(bytes("primeiro-registro"));
+            wal.escrever(bytes("segundo-registro"));
+            WriteAheadLog.Posicao ultimo = wal.escrever(bytes("terceiro-registro"));
+            assertTrue(segmentos().size() >= 3);
+
+            // Act
+            wal.confirmarAte(ultimo);
+
+            // Assert
+            assertEquals(1, segmentos().size());
+        }
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String texto) {
+        return texto.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String texto(WriteAheadLog.Registro registro) {
+        return new String(registro.conteudo(), StandardCharsets.UTF_8);
+    }
+}